@@ -0,0 +1,101 @@
+package org.ops4j.mpjp.benchmarks;
+
+import java.util.Map;
+
+import javax.json.JsonNumber;
+import javax.json.JsonString;
+import javax.json.JsonValue;
+import javax.json.stream.JsonGenerator;
+import javax.json.stream.JsonParser;
+import javax.json.stream.JsonParser.Event;
+
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Helpers for producing generator events and consuming parser events.
+ *
+ * @author hwellmann
+ *
+ */
+public final class Events {
+
+    private Events() {
+        // preventing instantiation
+    }
+
+    /**
+     * Writes the given value to a generator, with one generator call per value, like a data binding library would.
+     *
+     * @param value
+     *            JSON value
+     * @param generator
+     *            generator
+     */
+    public static void replay(JsonValue value, JsonGenerator generator) {
+        switch (value.getValueType()) {
+        case OBJECT:
+            generator.writeStartObject();
+            for (Map.Entry<String, JsonValue> entry : value.asJsonObject().entrySet()) {
+                generator.writeKey(entry.getKey());
+                replay(entry.getValue(), generator);
+            }
+            generator.writeEnd();
+            break;
+        case ARRAY:
+            generator.writeStartArray();
+            for (JsonValue item : value.asJsonArray()) {
+                replay(item, generator);
+            }
+            generator.writeEnd();
+            break;
+        case STRING:
+            generator.write(((JsonString) value).getString());
+            break;
+        case NUMBER:
+            JsonNumber number = (JsonNumber) value;
+            if (number.isIntegral()) {
+                generator.write(number.longValue());
+            } else {
+                generator.write(number.doubleValue());
+            }
+            break;
+        case TRUE:
+            generator.write(true);
+            break;
+        case FALSE:
+            generator.write(false);
+            break;
+        default:
+            generator.writeNull();
+        }
+    }
+
+    /**
+     * Consumes all events of the given parser, retrieving the values of all keys, strings and numbers.
+     *
+     * @param parser
+     *            parser
+     * @param blackhole
+     *            JMH black hole
+     */
+    public static void consume(JsonParser parser, Blackhole blackhole) {
+        while (parser.hasNext()) {
+            Event event = parser.next();
+            switch (event) {
+            case KEY_NAME:
+            case VALUE_STRING:
+                blackhole.consume(parser.getString());
+                break;
+            case VALUE_NUMBER:
+                if (parser.isIntegralNumber()) {
+                    blackhole.consume(parser.getLong());
+                } else {
+                    blackhole.consume(parser.getBigDecimal());
+                }
+                break;
+            default:
+                blackhole.consume(event);
+            }
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package org.ops4j.mpjp.benchmarks;
+
+import java.io.ByteArrayOutputStream;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import javax.json.stream.JsonGenerator;
+import javax.json.stream.JsonGeneratorFactory;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.ops4j.mpjp.api.MessagePackConfig;
+import org.ops4j.mpjp.impl.JsonValueJsonGenerator;
+import org.ops4j.mpjp.impl.MessagePackJsonGenerator;
+import org.ops4j.mpjp.impl.MessagePackStreamingJsonGenerator;
+
+/**
+ * Generator benchmarks. All generators except {@link MessagePackJsonGenerator} receive one call per value.
+ *
+ * @author hwellmann
+ *
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GeneratorBenchmark {
+
+    /**
+     * Streaming generator factories with and without a key cache.
+     */
+    @State(Scope.Benchmark)
+    public static class KeyCacheState {
+
+        JsonGeneratorFactory cached;
+        JsonGeneratorFactory uncached;
+
+        @Setup
+        public void setUp(PayloadState state) {
+            cached = state.messagePackProvider.createGeneratorFactory(config(1024));
+            uncached = state.messagePackProvider.createGeneratorFactory(config(0));
+        }
+
+        private static Map<String, Object> config(int keyCacheSize) {
+            Map<String, Object> config = new HashMap<>();
+            config.put(MessagePackConfig.GENERATOR_STREAMING, true);
+            config.put(MessagePackConfig.GENERATOR_KEY_CACHE_SIZE, keyCacheSize);
+            return config;
+        }
+    }
+
+    /**
+     * Writes a complete JSON-P tree to MessagePack.
+     */
+    @Benchmark
+    public ByteArrayOutputStream messagePackJsonGenerator(PayloadState state) {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        MessagePackJsonGenerator generator = new MessagePackJsonGenerator(baos);
+        generator.write(state.tree);
+        generator.close();
+        return baos;
+    }
+
+    /**
+     * Builds an intermediate JSON-P tree from generator events and writes it to MessagePack. This is the default
+     * generator of {@code MessagePackJsonProvider}.
+     */
+    @Benchmark
+    public ByteArrayOutputStream jsonValueJsonGenerator(PayloadState state) {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        JsonGenerator generator = new JsonValueJsonGenerator(new MessagePackJsonGenerator(baos),
+                state.messagePackProvider);
+        Events.replay(state.tree, generator);
+        generator.close();
+        return baos;
+    }
+
+    /**
+     * Writes generator events directly to MessagePack.
+     */
+    @Benchmark
+    public ByteArrayOutputStream streamingJsonGenerator(PayloadState state) {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        JsonGenerator generator = new MessagePackStreamingJsonGenerator(baos);
+        Events.replay(state.tree, generator);
+        generator.close();
+        return baos;
+    }
+
+    /**
+     * Writes generator events to text JSON, as a baseline.
+     */
+    @Benchmark
+    public ByteArrayOutputStream textJsonGenerator(PayloadState state) {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        JsonGenerator generator = state.textProvider.createGenerator(baos);
+        Events.replay(state.tree, generator);
+        generator.close();
+        return baos;
+    }
+
+    /**
+     * Writes generator events directly to MessagePack, with map keys taken from the key cache of the factory.
+     */
+    @Benchmark
+    public ByteArrayOutputStream streamingJsonGeneratorKeyCache(PayloadState state, KeyCacheState keyCache) {
+        return replay(state, keyCache.cached);
+    }
+
+    /**
+     * Writes generator events directly to MessagePack, encoding each map key.
+     */
+    @Benchmark
+    public ByteArrayOutputStream streamingJsonGeneratorNoKeyCache(PayloadState state, KeyCacheState keyCache) {
+        return replay(state, keyCache.uncached);
+    }
+
+    private static ByteArrayOutputStream replay(PayloadState state, JsonGeneratorFactory factory) {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        JsonGenerator generator = factory.createGenerator(baos);
+        Events.replay(state.tree, generator);
+        generator.close();
+        return baos;
+    }
+}
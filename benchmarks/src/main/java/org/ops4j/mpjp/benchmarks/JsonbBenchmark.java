@@ -0,0 +1,74 @@
+package org.ops4j.mpjp.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.ops4j.mpjp.benchmarks.model.Document;
+
+/**
+ * End-to-end data binding benchmarks, comparing JSON-B with MessagePack to the direct MessagePack binder, to JSON-B
+ * with text JSON and to Jackson with MessagePack.
+ *
+ * @author hwellmann
+ *
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonbBenchmark {
+
+    @Benchmark
+    public ByteArrayOutputStream toMessagePack(PayloadState state) {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        state.messagePackJsonb.toJson(state.document, baos);
+        return baos;
+    }
+
+    @Benchmark
+    public Document fromMessagePack(PayloadState state) {
+        return state.messagePackJsonb.fromJson(new ByteArrayInputStream(state.messagePack), Document.class);
+    }
+
+    @Benchmark
+    public byte[] toMessagePackBinder(PayloadState state) {
+        return state.messagePackBinder.toMessagePack(state.document);
+    }
+
+    @Benchmark
+    public Document fromMessagePackBinder(PayloadState state) {
+        return state.messagePackBinder.fromMessagePack(state.messagePack, Document.class);
+    }
+
+    @Benchmark
+    public ByteArrayOutputStream toText(PayloadState state) {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        state.textJsonb.toJson(state.document, baos);
+        return baos;
+    }
+
+    @Benchmark
+    public Document fromText(PayloadState state) {
+        return state.textJsonb.fromJson(new ByteArrayInputStream(state.text), Document.class);
+    }
+
+    @Benchmark
+    public byte[] toJacksonMessagePack(PayloadState state) throws IOException {
+        return state.jackson.writeValueAsBytes(state.document);
+    }
+
+    @Benchmark
+    public Document fromJacksonMessagePack(PayloadState state) throws IOException {
+        return state.jackson.readValue(state.jacksonMessagePack, Document.class);
+    }
+}
@@ -0,0 +1,100 @@
+package org.ops4j.mpjp.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import javax.json.JsonArray;
+import javax.json.bind.Jsonb;
+import javax.json.bind.JsonbBuilder;
+import javax.json.stream.JsonParser;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.ops4j.mpjp.api.MessagePackJsonProvider;
+import org.ops4j.mpjp.api.MessagePackParserFactory;
+import org.ops4j.mpjp.benchmarks.model.Record;
+
+/**
+ * Sequential and parallel decoding of a large top-level array of records, using the common fork/join pool.
+ *
+ * @author hwellmann
+ *
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParallelArrayBenchmark {
+
+    /**
+     * Records serialized as top-level array.
+     */
+    @State(Scope.Benchmark)
+    public static class ArrayState {
+
+        private static final Type RECORD_LIST = new ArrayList<Record>() {
+            private static final long serialVersionUID = 1L;
+        }.getClass().getGenericSuperclass();
+
+        MessagePackJsonProvider provider;
+        MessagePackParserFactory factory;
+        Jsonb jsonb;
+        byte[] messagePack;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            provider = new MessagePackJsonProvider();
+            factory = provider.createParserFactory(null);
+            jsonb = JsonbBuilder.newBuilder().withProvider(provider).build();
+            ByteArrayOutputStream baos = new ByteArrayOutputStream();
+            jsonb.toJson(Payloads.create(Shape.FLAT, Size.LARGE).records, baos);
+            messagePack = baos.toByteArray();
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws Exception {
+            jsonb.close();
+        }
+    }
+
+    @Benchmark
+    public List<Record> sequentialBind(ArrayState state) {
+        return state.jsonb.fromJson(new ByteArrayInputStream(state.messagePack), ArrayState.RECORD_LIST);
+    }
+
+    @Benchmark
+    public List<Record> parallelBind(ArrayState state) {
+        return state.factory.readArray(ByteBuffer.wrap(state.messagePack), state.jsonb, Record.class,
+                ForkJoinPool.commonPool());
+    }
+
+    @Benchmark
+    public JsonArray sequentialTree(ArrayState state) {
+        try (JsonParser parser = state.factory.createParser(state.messagePack)) {
+            parser.next();
+            return parser.getArray();
+        }
+    }
+
+    @Benchmark
+    public JsonArray parallelTree(ArrayState state) {
+        return state.factory.readArray(ByteBuffer.wrap(state.messagePack), ForkJoinPool.commonPool());
+    }
+}
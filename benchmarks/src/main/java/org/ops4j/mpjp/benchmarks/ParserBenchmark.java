@@ -0,0 +1,99 @@
+package org.ops4j.mpjp.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.util.concurrent.TimeUnit;
+
+import javax.json.JsonValue;
+import javax.json.stream.JsonParser;
+import javax.json.stream.JsonParser.Event;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.ops4j.mpjp.impl.JsonValueJsonParser;
+import org.ops4j.mpjp.impl.MessagePackJsonParser;
+
+/**
+ * Parser benchmarks. Event-based parsers are fully consumed, including all keys, strings and numbers.
+ *
+ * @author hwellmann
+ *
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParserBenchmark {
+
+    /**
+     * Reads MessagePack into a JSON-P tree.
+     */
+    @Benchmark
+    public JsonValue messagePackJsonParser(PayloadState state) {
+        return new MessagePackJsonParser(new ByteArrayInputStream(state.messagePack), state.textProvider)
+                .readJsonValue();
+    }
+
+    /**
+     * Reads parser events directly from MessagePack. This is the parser of {@code MessagePackJsonProvider}.
+     */
+    @Benchmark
+    public void streamingJsonParser(PayloadState state, Blackhole blackhole) {
+        try (JsonParser parser = state.messagePackProvider
+                .createParser(new ByteArrayInputStream(state.messagePack))) {
+            Events.consume(parser, blackhole);
+        }
+    }
+
+    /**
+     * Reads parser events directly from a MessagePack byte array, without an input stream.
+     */
+    @Benchmark
+    public void streamingJsonParserFromBytes(PayloadState state, Blackhole blackhole) {
+        try (JsonParser parser = state.messagePackProvider.createParser(state.messagePack)) {
+            Events.consume(parser, blackhole);
+        }
+    }
+
+    /**
+     * Reads the first event and skips the rest of the top-level structure, without decoding any values.
+     */
+    @Benchmark
+    public Event streamingJsonParserSkip(PayloadState state) {
+        try (JsonParser parser = state.messagePackProvider.createParser(state.messagePack)) {
+            Event event = parser.next();
+            if (event == Event.START_ARRAY) {
+                parser.skipArray();
+            } else {
+                parser.skipObject();
+            }
+            return event;
+        }
+    }
+
+    /**
+     * Reads parser events from a JSON-P tree.
+     */
+    @Benchmark
+    public void jsonValueJsonParser(PayloadState state, Blackhole blackhole) {
+        try (JsonParser parser = new JsonValueJsonParser(state.tree)) {
+            Events.consume(parser, blackhole);
+        }
+    }
+
+    /**
+     * Reads parser events from text JSON, as a baseline.
+     */
+    @Benchmark
+    public void textJsonParser(PayloadState state, Blackhole blackhole) {
+        try (JsonParser parser = state.textProvider.createParser(new ByteArrayInputStream(state.text))) {
+            Events.consume(parser, blackhole);
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package org.ops4j.mpjp.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import javax.json.JsonObject;
+import javax.json.JsonReader;
+import javax.json.bind.Jsonb;
+import javax.json.bind.JsonbBuilder;
+import javax.json.bind.JsonbConfig;
+import javax.json.spi.JsonProvider;
+
+import org.msgpack.jackson.dataformat.MessagePackFactory;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.ops4j.mpjp.api.MessagePackBinder;
+import org.ops4j.mpjp.api.MessagePackJsonProvider;
+import org.ops4j.mpjp.benchmarks.model.Document;
+
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+/**
+ * Shared state for all benchmarks: a synthetic payload in its various representations, together with the providers
+ * and mappers under test.
+ *
+ * @author hwellmann
+ *
+ */
+@State(Scope.Benchmark)
+public class PayloadState {
+
+    @Param
+    public Shape shape;
+
+    @Param
+    public Size size;
+
+    /** Default text JSON provider. */
+    public JsonProvider textProvider;
+
+    /** MessagePack provider under test. */
+    public MessagePackJsonProvider messagePackProvider;
+
+    /** JSON-B with MessagePack provider. */
+    public Jsonb messagePackJsonb;
+
+    /** Direct binder with MessagePack provider. */
+    public MessagePackBinder messagePackBinder;
+
+    /** JSON-B with default text JSON provider. */
+    public Jsonb textJsonb;
+
+    /** Jackson with MessagePack data format. */
+    public ObjectMapper jackson;
+
+    /** Payload as Java object. */
+    public Document document;
+
+    /** Payload as JSON-P tree. */
+    public JsonObject tree;
+
+    /** Payload serialized by {@link #messagePackJsonb}. */
+    public byte[] messagePack;
+
+    /** Payload serialized by {@link #textJsonb}. */
+    public byte[] text;
+
+    /** Payload serialized by {@link #jackson}. */
+    public byte[] jacksonMessagePack;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        textProvider = JsonProvider.provider();
+        messagePackProvider = new MessagePackJsonProvider(textProvider);
+        messagePackJsonb = JsonbBuilder.newBuilder().withProvider(messagePackProvider).build();
+        messagePackBinder = messagePackProvider.createBinder(new JsonbConfig());
+        textJsonb = JsonbBuilder.newBuilder().withProvider(textProvider).build();
+        jackson = new ObjectMapper(new MessagePackFactory())
+                .registerModule(new JavaTimeModule())
+                .setSerializationInclusion(Include.NON_NULL);
+
+        document = Payloads.create(shape, size);
+
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        messagePackJsonb.toJson(document, baos);
+        messagePack = baos.toByteArray();
+
+        baos = new ByteArrayOutputStream();
+        textJsonb.toJson(document, baos);
+        text = baos.toByteArray();
+
+        try (JsonReader reader = textProvider.createReader(new ByteArrayInputStream(text))) {
+            tree = reader.readObject();
+        }
+
+        jacksonMessagePack = jackson.writeValueAsBytes(document);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        messagePackJsonb.close();
+        textJsonb.close();
+    }
+}
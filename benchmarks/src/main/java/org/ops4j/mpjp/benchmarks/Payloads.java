@@ -0,0 +1,107 @@
+package org.ops4j.mpjp.benchmarks;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.ops4j.mpjp.benchmarks.model.Blob;
+import org.ops4j.mpjp.benchmarks.model.Document;
+import org.ops4j.mpjp.benchmarks.model.Event;
+import org.ops4j.mpjp.benchmarks.model.Node;
+import org.ops4j.mpjp.benchmarks.model.Record;
+
+/**
+ * Creates synthetic payloads. The same shape and size always produce the same payload.
+ *
+ * @author hwellmann
+ *
+ */
+public final class Payloads {
+
+    private static final int NESTING_DEPTH = 16;
+    private static final int VALUES_PER_COUNT = 128;
+    private static final int BLOB_SIZE = 1024;
+    private static final int EVENTS_PER_COUNT = 8;
+
+    private Payloads() {
+        // preventing instantiation
+    }
+
+    public static Document create(Shape shape, Size size) {
+        Random random = new Random(42);
+        int count = size.getCount();
+        Document document = new Document();
+        switch (shape) {
+        case FLAT:
+            document.records = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                document.records.add(createRecord(random, i));
+            }
+            break;
+        case DEEP:
+            document.nodes = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                document.nodes.add(createNode(i, 0));
+            }
+            break;
+        case WIDE:
+            document.values = new double[count * VALUES_PER_COUNT];
+            for (int i = 0; i < document.values.length; i++) {
+                document.values[i] = random.nextDouble();
+            }
+            break;
+        case BINARY:
+            document.blobs = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                Blob blob = new Blob();
+                blob.name = "blob" + i;
+                blob.data = new byte[BLOB_SIZE];
+                random.nextBytes(blob.data);
+                document.blobs.add(blob);
+            }
+            break;
+        case EXTENSION:
+            document.events = createEvents(random, count * EVENTS_PER_COUNT);
+            break;
+        default:
+            throw new IllegalArgumentException(shape.toString());
+        }
+        return document;
+    }
+
+    private static Record createRecord(Random random, int index) {
+        Record record = new Record();
+        record.id = 1_000_000_000L + index;
+        record.firstName = "First" + random.nextInt(1000);
+        record.lastName = "Last" + random.nextInt(1000);
+        record.email = record.firstName.toLowerCase() + "@example.com";
+        record.age = 18 + random.nextInt(80);
+        record.score = random.nextDouble() * 100;
+        record.active = random.nextBoolean();
+        record.comment = "Lorem ipsum dolor sit amet, consectetur adipiscing elit";
+        return record;
+    }
+
+    private static Node createNode(int index, int level) {
+        Node node = new Node();
+        node.name = "node" + index + "." + level;
+        node.level = level;
+        if (level < NESTING_DEPTH - 1) {
+            node.child = createNode(index, level + 1);
+        }
+        return node;
+    }
+
+    private static List<Event> createEvents(Random random, int count) {
+        List<Event> events = new ArrayList<>(count);
+        LocalDate epoch = LocalDate.of(2000, 1, 1);
+        for (int i = 0; i < count; i++) {
+            Event event = new Event();
+            event.name = "event" + i;
+            event.date = epoch.plusDays(random.nextInt(10_000));
+            events.add(event);
+        }
+        return events;
+    }
+}
@@ -0,0 +1,133 @@
+package org.ops4j.mpjp.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+import javax.json.JsonArray;
+import javax.json.JsonArrayBuilder;
+import javax.json.JsonPointer;
+import javax.json.JsonStructure;
+import javax.json.JsonValue;
+import javax.json.bind.Jsonb;
+import javax.json.bind.JsonbBuilder;
+import javax.json.spi.JsonProvider;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.ops4j.mpjp.api.MessagePackFieldExtractor;
+import org.ops4j.mpjp.api.MessagePackJsonProvider;
+import org.ops4j.mpjp.api.MessagePackParserFactory;
+import org.ops4j.mpjp.api.MessagePackProjection;
+import org.ops4j.mpjp.impl.MessagePackJsonParser;
+
+/**
+ * Selecting the email address of each record in a {@code FLAT} payload, by a projection or by a full parse followed by
+ * JSON Pointer lookups on the delegate provider, and selecting the email address of the last record by a field
+ * extractor or by a full parse.
+ *
+ * @author hwellmann
+ *
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProjectionBenchmark {
+
+    /**
+     * Records serialized as document.
+     */
+    @State(Scope.Benchmark)
+    public static class ProjectionState {
+
+        @Param
+        public Size size;
+
+        JsonProvider textProvider;
+        MessagePackParserFactory factory;
+        MessagePackProjection projection;
+        JsonPointer records;
+        JsonPointer email;
+        JsonPointer lastEmail;
+        MessagePackFieldExtractor extractor;
+        Jsonb jsonb;
+        byte[] messagePack;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            textProvider = JsonProvider.provider();
+            MessagePackJsonProvider provider = new MessagePackJsonProvider(textProvider);
+            factory = provider.createParserFactory(null);
+            projection = MessagePackProjection.of("/records/*/email");
+            records = textProvider.createPointer("/records");
+            email = textProvider.createPointer("/email");
+            String lastPointer = "/records/" + (size.getCount() - 1) + "/email";
+            lastEmail = textProvider.createPointer(lastPointer);
+            extractor = provider.createFieldExtractor(lastPointer);
+            jsonb = JsonbBuilder.newBuilder().withProvider(provider).build();
+            ByteArrayOutputStream baos = new ByteArrayOutputStream();
+            jsonb.toJson(Payloads.create(Shape.FLAT, size), baos);
+            messagePack = baos.toByteArray();
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws Exception {
+            jsonb.close();
+        }
+    }
+
+    /**
+     * Decodes only the selected members, skipping all others.
+     */
+    @Benchmark
+    public JsonValue projection(ProjectionState state) {
+        return state.factory.readProjection(ByteBuffer.wrap(state.messagePack), state.projection);
+    }
+
+    /**
+     * Decodes the entire payload and looks up the selected members by JSON Pointers.
+     */
+    @Benchmark
+    public JsonValue fullParseWithPointer(ProjectionState state) {
+        JsonStructure document = (JsonStructure) new MessagePackJsonParser(
+                new ByteArrayInputStream(state.messagePack), state.textProvider).readJsonValue();
+        JsonArray records = (JsonArray) state.records.getValue(document);
+        JsonArrayBuilder emails = state.textProvider.createArrayBuilder();
+        for (JsonValue record : records) {
+            emails.add(state.email.getValue((JsonStructure) record));
+        }
+        return emails.build();
+    }
+
+    /**
+     * Scans the raw bytes for a single string, without decoding anything else.
+     */
+    @Benchmark
+    public String fieldExtractor(ProjectionState state) {
+        return state.extractor.getString(state.messagePack);
+    }
+
+    /**
+     * Decodes the entire payload and looks up a single string by a JSON Pointer.
+     */
+    @Benchmark
+    public JsonValue fullParseOfField(ProjectionState state) {
+        JsonStructure document = (JsonStructure) new MessagePackJsonParser(
+                new ByteArrayInputStream(state.messagePack), state.textProvider).readJsonValue();
+        return state.lastEmail.getValue(document);
+    }
+}
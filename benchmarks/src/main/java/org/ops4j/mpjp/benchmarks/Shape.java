@@ -0,0 +1,25 @@
+package org.ops4j.mpjp.benchmarks;
+
+/**
+ * Shapes of synthetic payloads.
+ *
+ * @author hwellmann
+ *
+ */
+public enum Shape {
+
+    /** List of records with scalar properties. */
+    FLAT,
+
+    /** List of deeply nested objects. */
+    DEEP,
+
+    /** A single wide array of numbers. */
+    WIDE,
+
+    /** List of objects with large byte arrays. */
+    BINARY,
+
+    /** List of objects with a property mapped to a MessagePack extension type. */
+    EXTENSION
+}
@@ -0,0 +1,29 @@
+package org.ops4j.mpjp.benchmarks;
+
+/**
+ * Sizes of synthetic payloads. The count is the number of top-level list elements for most shapes.
+ *
+ * @author hwellmann
+ *
+ */
+public enum Size {
+
+    /** Roughly 100 bytes to 1 KB. */
+    SMALL(1),
+
+    /** Roughly 10 to 100 KB. */
+    MEDIUM(64),
+
+    /** Roughly 1 to 10 MB. */
+    LARGE(4096);
+
+    private final int count;
+
+    Size(int count) {
+        this.count = count;
+    }
+
+    public int getCount() {
+        return count;
+    }
+}
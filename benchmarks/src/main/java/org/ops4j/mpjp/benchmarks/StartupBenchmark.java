@@ -0,0 +1,125 @@
+package org.ops4j.mpjp.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.concurrent.TimeUnit;
+
+import javax.json.stream.JsonGenerator;
+import javax.json.stream.JsonParser;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.ops4j.mpjp.api.MessagePackJsonProvider;
+
+/**
+ * Costs of creating parsers and generators, including provider and factory setup. The {@code cold} benchmarks measure
+ * the first call in a fresh JVM, the {@code warm} benchmarks measure subsequent calls.
+ *
+ * @author hwellmann
+ *
+ */
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class StartupBenchmark {
+
+    /** Map with one string property. */
+    private static final byte[] MESSAGE_PACK = { (byte) 0x81, (byte) 0xa1, 'a', (byte) 0xa1, 'b' };
+
+    /**
+     * Provider shared by all invocations.
+     */
+    @State(Scope.Benchmark)
+    public static class ProviderState {
+
+        MessagePackJsonProvider provider;
+
+        @Setup
+        public void setUp() {
+            provider = new MessagePackJsonProvider();
+        }
+    }
+
+    private static void parse(MessagePackJsonProvider provider, Blackhole blackhole) {
+        try (JsonParser parser = provider.createParser(new ByteArrayInputStream(MESSAGE_PACK))) {
+            while (parser.hasNext()) {
+                blackhole.consume(parser.next());
+            }
+        }
+    }
+
+    private static byte[] generate(MessagePackJsonProvider provider) {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (JsonGenerator generator = provider.createGeneratorFactory(null).createGenerator(baos)) {
+            generator.writeStartObject().write("a", "b").writeEnd();
+        }
+        return baos.toByteArray();
+    }
+
+    /**
+     * Creates a provider and a parser in a fresh JVM.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 0)
+    @Measurement(iterations = 1)
+    @Fork(10)
+    public void coldCreateParser(Blackhole blackhole) {
+        parse(new MessagePackJsonProvider(), blackhole);
+    }
+
+    /**
+     * Creates a provider and a generator in a fresh JVM.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 0)
+    @Measurement(iterations = 1)
+    @Fork(10)
+    public byte[] coldCreateGenerator() {
+        return generate(new MessagePackJsonProvider());
+    }
+
+    /**
+     * Creates a parser from a shared provider.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @Warmup(iterations = 5, time = 1)
+    @Measurement(iterations = 5, time = 1)
+    @Fork(1)
+    public void warmCreateParser(ProviderState state, Blackhole blackhole) {
+        parse(state.provider, blackhole);
+    }
+
+    /**
+     * Creates a generator from a shared provider.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @Warmup(iterations = 5, time = 1)
+    @Measurement(iterations = 5, time = 1)
+    @Fork(1)
+    public byte[] warmCreateGenerator(ProviderState state) {
+        return generate(state.provider);
+    }
+
+    /**
+     * Creates a new provider and a parser, as a short-lived worker would do per request.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @Warmup(iterations = 5, time = 1)
+    @Measurement(iterations = 5, time = 1)
+    @Fork(1)
+    public void warmCreateProviderAndParser(Blackhole blackhole) {
+        parse(new MessagePackJsonProvider(), blackhole);
+    }
+}
@@ -0,0 +1,14 @@
+package org.ops4j.mpjp.benchmarks.model;
+
+/**
+ * A named chunk of binary data.
+ *
+ * @author hwellmann
+ *
+ */
+public class Blob {
+
+    public String name;
+
+    public byte[] data;
+}
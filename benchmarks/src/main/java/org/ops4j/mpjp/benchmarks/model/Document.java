@@ -0,0 +1,22 @@
+package org.ops4j.mpjp.benchmarks.model;
+
+import java.util.List;
+
+/**
+ * Root of all synthetic payloads. Depending on the payload shape, only one of the properties is set.
+ *
+ * @author hwellmann
+ *
+ */
+public class Document {
+
+    public List<Record> records;
+
+    public List<Node> nodes;
+
+    public double[] values;
+
+    public List<Blob> blobs;
+
+    public List<Event> events;
+}
@@ -0,0 +1,19 @@
+package org.ops4j.mpjp.benchmarks.model;
+
+import java.time.LocalDate;
+
+import javax.json.bind.annotation.JsonbTypeAdapter;
+
+/**
+ * An event with a date, which is serialized as a MessagePack extension type by JSON-B.
+ *
+ * @author hwellmann
+ *
+ */
+public class Event {
+
+    public String name;
+
+    @JsonbTypeAdapter(LocalDateAdapter.class)
+    public LocalDate date;
+}
@@ -0,0 +1,34 @@
+package org.ops4j.mpjp.benchmarks.model;
+
+import static org.ops4j.mpjp.api.ExtensionTypes.KEY_PAYLOAD;
+import static org.ops4j.mpjp.api.ExtensionTypes.KEY_TYPE;
+
+import java.time.LocalDate;
+
+import javax.json.Json;
+import javax.json.JsonObject;
+import javax.json.bind.adapter.JsonbAdapter;
+
+/**
+ * Maps a {@link LocalDate} to a MessagePack extension type with an ISO date string as payload.
+ *
+ * @author hwellmann
+ *
+ */
+public class LocalDateAdapter implements JsonbAdapter<LocalDate, JsonObject> {
+
+    /**
+     * Extension type for dates.
+     */
+    public static final int TYPE = 1;
+
+    @Override
+    public JsonObject adaptToJson(LocalDate date) {
+        return Json.createObjectBuilder().add(KEY_TYPE, TYPE).add(KEY_PAYLOAD, date.toString()).build();
+    }
+
+    @Override
+    public LocalDate adaptFromJson(JsonObject obj) {
+        return LocalDate.parse(obj.getString(KEY_PAYLOAD));
+    }
+}
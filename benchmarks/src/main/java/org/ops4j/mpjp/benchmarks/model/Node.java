@@ -0,0 +1,16 @@
+package org.ops4j.mpjp.benchmarks.model;
+
+/**
+ * A node of a deeply nested chain.
+ *
+ * @author hwellmann
+ *
+ */
+public class Node {
+
+    public String name;
+
+    public int level;
+
+    public Node child;
+}
@@ -0,0 +1,26 @@
+package org.ops4j.mpjp.benchmarks.model;
+
+/**
+ * A flat record with scalar properties only.
+ *
+ * @author hwellmann
+ *
+ */
+public class Record {
+
+    public long id;
+
+    public String firstName;
+
+    public String lastName;
+
+    public String email;
+
+    public int age;
+
+    public double score;
+
+    public boolean active;
+
+    public String comment;
+}
@@ -0,0 +1,33 @@
+package org.ops4j.mpjp.api;
+
+/**
+ * Strategies for writing {@code BigDecimal} values with a non-zero scale, which have no equivalent in MessagePack.
+ * Integral values are always written as MessagePack integers, if they fit into 64 bits. Larger integers are written by
+ * the {@code STRING} and {@code EXTENSION} strategies, and rejected by the {@code DOUBLE} strategy.
+ *
+ * @author hwellmann
+ *
+ * @see MessagePackConfig#BIG_DECIMAL_STRATEGY
+ */
+public enum BigDecimalStrategy {
+
+    /**
+     * Writes a {@code float64} value. This may lose precision. Integers exceeding 64 bits are rejected with a
+     * {@code JsonException}.
+     */
+    DOUBLE,
+
+    /**
+     * Writes a string with the canonical representation of the value. This is lossless, but the value is read back as
+     * a string.
+     */
+    STRING,
+
+    /**
+     * Writes an extension type with the type configured by {@link MessagePackConfig#BIG_DECIMAL_EXTENSION_TYPE}. The
+     * payload is the scale as a 32-bit big-endian integer, followed by the big-endian two's-complement representation
+     * of the unscaled value. This is lossless, and parsers using the same configuration read the value back as a
+     * number.
+     */
+    EXTENSION
+}
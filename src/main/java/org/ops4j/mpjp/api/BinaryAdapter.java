@@ -0,0 +1,52 @@
+package org.ops4j.mpjp.api;
+
+import java.util.Base64;
+
+import javax.json.JsonString;
+import javax.json.JsonValue;
+import javax.json.bind.adapter.JsonbAdapter;
+
+/**
+ * JSON-B adapter writing {@code byte[]} properties as MessagePack {@code bin} values, without a Base64 round trip.
+ * <p>
+ * Text JSON generators write the Base64 encoding of the bytes. Binary values are read without copying. Strings are
+ * decoded from Base64, so data written by a text JSON provider can be read as well.
+ *
+ * <pre>
+ * JsonbConfig config = new JsonbConfig().withAdapters(new BinaryAdapter());
+ * </pre>
+ *
+ * @author hwellmann
+ *
+ */
+public class BinaryAdapter implements JsonbAdapter<byte[], JsonValue> {
+
+    @Override
+    public JsonValue adaptToJson(byte[] bytes) {
+        return BinaryJsonString.of(bytes);
+    }
+
+    @Override
+    public byte[] adaptFromJson(JsonValue value) {
+        return toBytes(value);
+    }
+
+    /**
+     * Gets the bytes of a binary value or of a Base64 string.
+     *
+     * @param value
+     *            JSON value
+     * @return bytes
+     * @throws IllegalArgumentException
+     *             if the value is neither a binary value nor a Base64 string
+     */
+    static byte[] toBytes(JsonValue value) {
+        if (value instanceof BinaryJsonString) {
+            return ((BinaryJsonString) value).getBytes();
+        }
+        if (value instanceof JsonString) {
+            return Base64.getDecoder().decode(((JsonString) value).getString());
+        }
+        throw new IllegalArgumentException("Expected binary value, found " + value.getValueType());
+    }
+}
@@ -0,0 +1,114 @@
+package org.ops4j.mpjp.api;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Base64;
+
+import javax.json.JsonString;
+
+/**
+ * A {@link JsonString} backed by the raw bytes of a MessagePack {@code bin} value.
+ * <p>
+ * Parsers of the MessagePack provider return binary values as instances of this class from {@code getValue()} and in
+ * {@code JsonValue} trees. The string value is the Base64 encoding of the bytes, which is only computed when
+ * {@link #getString()} is called. Generators of the MessagePack provider write instances of this class as
+ * {@code bin} values, all other generators write the Base64 encoding.
+ * <p>
+ * The bytes are not copied and must not be modified.
+ *
+ * @author hwellmann
+ *
+ */
+public final class BinaryJsonString implements JsonString {
+
+    private final byte[] bytes;
+
+    private String string;
+
+    private BinaryJsonString(byte[] bytes) {
+        this.bytes = bytes;
+    }
+
+    /**
+     * Creates a binary value backed by the given array, without copying it.
+     *
+     * @param bytes
+     *            binary data
+     * @return JSON string
+     */
+    public static BinaryJsonString of(byte[] bytes) {
+        return new BinaryJsonString(bytes);
+    }
+
+    /**
+     * Creates a binary value with a copy of the remaining bytes of the given buffer. The position of the buffer is not
+     * changed.
+     *
+     * @param buffer
+     *            binary data
+     * @return JSON string
+     */
+    public static BinaryJsonString of(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.duplicate().get(bytes);
+        return new BinaryJsonString(bytes);
+    }
+
+    /**
+     * Gets the binary data.
+     *
+     * @return bytes, not copied
+     */
+    public byte[] getBytes() {
+        return bytes;
+    }
+
+    @Override
+    public ValueType getValueType() {
+        return ValueType.STRING;
+    }
+
+    /**
+     * Gets the Base64 encoding of the binary data, which is computed on the first call.
+     *
+     * @return Base64 string
+     */
+    @Override
+    public String getString() {
+        String result = string;
+        if (result == null) {
+            result = Base64.getEncoder().encodeToString(bytes);
+            string = result;
+        }
+        return result;
+    }
+
+    @Override
+    public CharSequence getChars() {
+        return getString();
+    }
+
+    @Override
+    public int hashCode() {
+        return getString().hashCode();
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj instanceof BinaryJsonString) {
+            return Arrays.equals(bytes, ((BinaryJsonString) obj).bytes);
+        }
+        if (obj instanceof JsonString) {
+            return getString().equals(((JsonString) obj).getString());
+        }
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return '"' + getString() + '"';
+    }
+}
@@ -0,0 +1,32 @@
+package org.ops4j.mpjp.api;
+
+import java.nio.ByteBuffer;
+
+import javax.json.JsonValue;
+import javax.json.bind.adapter.JsonbAdapter;
+
+/**
+ * JSON-B adapter writing {@code ByteBuffer} properties as MessagePack {@code bin} values, like {@link BinaryAdapter}.
+ * <p>
+ * The remaining bytes of a buffer are written, without changing its position. Buffers are read as heap buffers
+ * wrapping the binary data, without copying.
+ *
+ * @author hwellmann
+ *
+ */
+public class ByteBufferAdapter implements JsonbAdapter<ByteBuffer, JsonValue> {
+
+    @Override
+    public JsonValue adaptToJson(ByteBuffer buffer) {
+        if (buffer.hasArray() && buffer.arrayOffset() == 0 && buffer.position() == 0
+                && buffer.limit() == buffer.array().length) {
+            return BinaryJsonString.of(buffer.array());
+        }
+        return BinaryJsonString.of(buffer);
+    }
+
+    @Override
+    public ByteBuffer adaptFromJson(JsonValue value) {
+        return ByteBuffer.wrap(BinaryAdapter.toBytes(value));
+    }
+}
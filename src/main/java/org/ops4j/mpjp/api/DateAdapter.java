@@ -0,0 +1,26 @@
+package org.ops4j.mpjp.api;
+
+import java.util.Date;
+
+import javax.json.JsonValue;
+import javax.json.bind.adapter.JsonbAdapter;
+
+/**
+ * JSON-B adapter writing {@code java.util.Date} properties as values of the MessagePack timestamp extension type, like
+ * {@link InstantAdapter}. Dates with whole seconds are written in the 4-byte {@code timestamp32} form.
+ *
+ * @author hwellmann
+ *
+ */
+public class DateAdapter implements JsonbAdapter<Date, JsonValue> {
+
+    @Override
+    public JsonValue adaptToJson(Date date) {
+        return ExtensionValue.ofTimestamp(date.toInstant());
+    }
+
+    @Override
+    public Date adaptFromJson(JsonValue value) {
+        return Date.from(InstantAdapter.toInstant(value));
+    }
+}
@@ -0,0 +1,74 @@
+package org.ops4j.mpjp.api;
+
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+
+import javax.json.JsonValue;
+import javax.json.bind.adapter.JsonbAdapter;
+
+/**
+ * JSON-B adapter writing properties of a Java type as MessagePack extension values, using the codec of an
+ * {@link ExtensionTypeRegistry}.
+ * <p>
+ * JSON-B resolves the Java type from the type arguments of the adapter class, so each adapter must be created as a
+ * subclass with a concrete type argument, usually an anonymous one:
+ *
+ * <pre>
+ * JsonbConfig config = new JsonbConfig().withAdapters(new ExtensionAdapter&lt;LocalDate&gt;(registry) {});
+ * </pre>
+ * <p>
+ * Text JSON generators write the object view described in {@link ExtensionTypes}, which can be read by this adapter as
+ * well.
+ *
+ * @author hwellmann
+ *
+ * @param <T>
+ *            Java type
+ */
+public abstract class ExtensionAdapter<T> implements JsonbAdapter<T, JsonValue> {
+
+    private final ExtensionTypeRegistry registry;
+
+    private final Class<T> javaType;
+
+    private final ExtensionCodec<T> codec;
+
+    private final byte type;
+
+    /**
+     * Creates an adapter for the type argument of the concrete subclass.
+     *
+     * @param registry
+     *            registry with a codec for the Java type
+     * @throws IllegalArgumentException
+     *             if the type argument is not a class, or if there is no codec for it
+     */
+    protected ExtensionAdapter(ExtensionTypeRegistry registry) {
+        this.registry = registry;
+        this.javaType = resolveJavaType();
+        this.codec = registry.getCodec(javaType);
+        this.type = registry.getExtensionType(javaType);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Class<T> resolveJavaType() {
+        Type superclass = getClass().getGenericSuperclass();
+        if (superclass instanceof ParameterizedType) {
+            Type argument = ((ParameterizedType) superclass).getActualTypeArguments()[0];
+            if (argument instanceof Class) {
+                return (Class<T>) argument;
+            }
+        }
+        throw new IllegalArgumentException(getClass().getName() + " must have a class as type argument");
+    }
+
+    @Override
+    public JsonValue adaptToJson(T value) {
+        return ExtensionValue.of(type, codec.encode(value));
+    }
+
+    @Override
+    public T adaptFromJson(JsonValue value) {
+        return registry.fromExtension(value, javaType);
+    }
+}
@@ -0,0 +1,46 @@
+package org.ops4j.mpjp.api;
+
+/**
+ * Converts Java objects of a given type to and from the payload of a MessagePack extension type.
+ * <p>
+ * Codecs are registered with an extension type code in an {@link ExtensionTypeRegistry}. Codecs must be stateless and
+ * thread-safe. Compact binary codecs for common types are provided by {@link ExtensionCodecs}.
+ *
+ * @author hwellmann
+ *
+ * @param <T>
+ *            Java type
+ */
+public interface ExtensionCodec<T> {
+
+    /**
+     * Gets the Java type handled by this codec.
+     *
+     * @return Java type
+     */
+    Class<T> getJavaType();
+
+    /**
+     * Encodes the given value.
+     *
+     * @param value
+     *            value, not null
+     * @return payload
+     */
+    byte[] encode(T value);
+
+    /**
+     * Decodes a value from a slice of the given array.
+     *
+     * @param bytes
+     *            byte array
+     * @param offset
+     *            offset of the payload
+     * @param length
+     *            length of the payload
+     * @return value
+     * @throws IllegalArgumentException
+     *             if the payload is invalid
+     */
+    T decode(byte[] bytes, int offset, int length);
+}
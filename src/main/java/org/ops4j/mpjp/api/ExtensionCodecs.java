@@ -0,0 +1,289 @@
+package org.ops4j.mpjp.api;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Compact fixed-width binary codecs for common Java types. All integers are encoded in big-endian byte order.
+ * <ul>
+ * <li>{@link #localDate()}: epoch day as {@code int32}, 4 bytes. This covers about 5.8 million years in each
+ * direction.</li>
+ * <li>{@link #instant()}: epoch seconds as {@code int64} and nanoseconds as {@code int32}, 12 bytes.</li>
+ * <li>{@link #uuid()}: most and least significant bits as {@code int64}, 16 bytes.</li>
+ * <li>{@link #bigDecimal()}: scale as {@code int32}, followed by the unscaled value in two's complement. This is the
+ * format of {@link BigDecimalStrategy#EXTENSION}.</li>
+ * </ul>
+ * <p>
+ * In addition, {@link #timestamp()} encodes {@code Instant} values in the variable-width format of the predefined
+ * timestamp extension type {@link ExtensionTypes#TIMESTAMP}.
+ *
+ * @author hwellmann
+ *
+ */
+public class ExtensionCodecs {
+
+    private static final int INT_LENGTH = 4;
+
+    private static final int LONG_LENGTH = 8;
+
+    private static final ExtensionCodec<LocalDate> LOCAL_DATE = new LocalDateCodec();
+
+    private static final ExtensionCodec<Instant> INSTANT = new InstantCodec();
+
+    private static final ExtensionCodec<UUID> UUID_CODEC = new UuidCodec();
+
+    private static final ExtensionCodec<BigDecimal> BIG_DECIMAL = new BigDecimalCodec();
+
+    private static final ExtensionCodec<Instant> TIMESTAMP = new TimestampCodec();
+
+    private static final long TIMESTAMP64_SECONDS_MASK = 0x3ffffffffL;
+
+    private static final int TIMESTAMP64_NANOS_SHIFT = 34;
+
+    private static final long MAX_NANOS = 999_999_999L;
+
+    /**
+     * Codec for {@code LocalDate}.
+     */
+    private static final class LocalDateCodec implements ExtensionCodec<LocalDate> {
+
+        @Override
+        public Class<LocalDate> getJavaType() {
+            return LocalDate.class;
+        }
+
+        @Override
+        public byte[] encode(LocalDate value) {
+            byte[] payload = new byte[INT_LENGTH];
+            putInt(payload, 0, Math.toIntExact(value.toEpochDay()));
+            return payload;
+        }
+
+        @Override
+        public LocalDate decode(byte[] bytes, int offset, int length) {
+            checkLength(LocalDate.class, INT_LENGTH, length);
+            return LocalDate.ofEpochDay(getInt(bytes, offset));
+        }
+    }
+
+    /**
+     * Codec for {@code Instant}.
+     */
+    private static final class InstantCodec implements ExtensionCodec<Instant> {
+
+        @Override
+        public Class<Instant> getJavaType() {
+            return Instant.class;
+        }
+
+        @Override
+        public byte[] encode(Instant value) {
+            byte[] payload = new byte[LONG_LENGTH + INT_LENGTH];
+            putLong(payload, 0, value.getEpochSecond());
+            putInt(payload, LONG_LENGTH, value.getNano());
+            return payload;
+        }
+
+        @Override
+        public Instant decode(byte[] bytes, int offset, int length) {
+            checkLength(Instant.class, LONG_LENGTH + INT_LENGTH, length);
+            return Instant.ofEpochSecond(getLong(bytes, offset), getInt(bytes, offset + LONG_LENGTH));
+        }
+    }
+
+    /**
+     * Codec for {@code UUID}.
+     */
+    private static final class UuidCodec implements ExtensionCodec<UUID> {
+
+        @Override
+        public Class<UUID> getJavaType() {
+            return UUID.class;
+        }
+
+        @Override
+        public byte[] encode(UUID value) {
+            byte[] payload = new byte[2 * LONG_LENGTH];
+            putLong(payload, 0, value.getMostSignificantBits());
+            putLong(payload, LONG_LENGTH, value.getLeastSignificantBits());
+            return payload;
+        }
+
+        @Override
+        public UUID decode(byte[] bytes, int offset, int length) {
+            checkLength(UUID.class, 2 * LONG_LENGTH, length);
+            return new UUID(getLong(bytes, offset), getLong(bytes, offset + LONG_LENGTH));
+        }
+    }
+
+    /**
+     * Codec for {@code BigDecimal}.
+     */
+    private static final class BigDecimalCodec implements ExtensionCodec<BigDecimal> {
+
+        @Override
+        public Class<BigDecimal> getJavaType() {
+            return BigDecimal.class;
+        }
+
+        @Override
+        public byte[] encode(BigDecimal value) {
+            byte[] unscaled = value.unscaledValue().toByteArray();
+            byte[] payload = new byte[INT_LENGTH + unscaled.length];
+            putInt(payload, 0, value.scale());
+            System.arraycopy(unscaled, 0, payload, INT_LENGTH, unscaled.length);
+            return payload;
+        }
+
+        @Override
+        public BigDecimal decode(byte[] bytes, int offset, int length) {
+            if (length <= INT_LENGTH) {
+                throw new IllegalArgumentException("Invalid BigDecimal payload of length " + length);
+            }
+            BigInteger unscaled = new BigInteger(slice(bytes, offset + INT_LENGTH, length - INT_LENGTH));
+            return new BigDecimal(unscaled, getInt(bytes, offset));
+        }
+    }
+
+    /**
+     * Codec for {@code Instant} in the timestamp format of the MessagePack specification.
+     */
+    private static final class TimestampCodec implements ExtensionCodec<Instant> {
+
+        @Override
+        public Class<Instant> getJavaType() {
+            return Instant.class;
+        }
+
+        @Override
+        public byte[] encode(Instant value) {
+            long seconds = value.getEpochSecond();
+            int nanos = value.getNano();
+            if ((seconds >>> TIMESTAMP64_NANOS_SHIFT) != 0) {
+                byte[] payload = new byte[INT_LENGTH + LONG_LENGTH];
+                putInt(payload, 0, nanos);
+                putLong(payload, INT_LENGTH, seconds);
+                return payload;
+            }
+            if (nanos == 0 && (seconds >>> Integer.SIZE) == 0) {
+                byte[] payload = new byte[INT_LENGTH];
+                putInt(payload, 0, (int) seconds);
+                return payload;
+            }
+            byte[] payload = new byte[LONG_LENGTH];
+            putLong(payload, 0, ((long) nanos << TIMESTAMP64_NANOS_SHIFT) | seconds);
+            return payload;
+        }
+
+        @Override
+        public Instant decode(byte[] bytes, int offset, int length) {
+            switch (length) {
+            case INT_LENGTH:
+                return Instant.ofEpochSecond(getInt(bytes, offset) & 0xffffffffL);
+            case LONG_LENGTH:
+                long value = getLong(bytes, offset);
+                return toInstant(value & TIMESTAMP64_SECONDS_MASK, value >>> TIMESTAMP64_NANOS_SHIFT);
+            case INT_LENGTH + LONG_LENGTH:
+                return toInstant(getLong(bytes, offset + INT_LENGTH), getInt(bytes, offset) & 0xffffffffL);
+            default:
+                throw new IllegalArgumentException("Invalid timestamp payload of length " + length);
+            }
+        }
+
+        private static Instant toInstant(long seconds, long nanos) {
+            // the specification limits nanoseconds, while Instant would silently carry them over to seconds
+            if (nanos > MAX_NANOS) {
+                throw new IllegalArgumentException("Invalid timestamp nanoseconds " + nanos);
+            }
+            return Instant.ofEpochSecond(seconds, nanos);
+        }
+    }
+
+    private ExtensionCodecs() {
+        // preventing instantiation
+    }
+
+    /**
+     * Gets the codec for {@code LocalDate}.
+     *
+     * @return codec
+     */
+    public static ExtensionCodec<LocalDate> localDate() {
+        return LOCAL_DATE;
+    }
+
+    /**
+     * Gets the codec for {@code Instant}.
+     *
+     * @return codec
+     */
+    public static ExtensionCodec<Instant> instant() {
+        return INSTANT;
+    }
+
+    /**
+     * Gets the codec for {@code UUID}.
+     *
+     * @return codec
+     */
+    public static ExtensionCodec<UUID> uuid() {
+        return UUID_CODEC;
+    }
+
+    /**
+     * Gets the codec for {@code BigDecimal}.
+     *
+     * @return codec
+     */
+    public static ExtensionCodec<BigDecimal> bigDecimal() {
+        return BIG_DECIMAL;
+    }
+
+    /**
+     * Gets the codec for {@code Instant} in the format of the timestamp extension type
+     * {@link ExtensionTypes#TIMESTAMP}. Each value is encoded in the most compact form: {@code timestamp32} (4 bytes)
+     * for whole seconds from 1970 to 2106, {@code timestamp64} (8 bytes) for seconds from 1970 to 2514 with
+     * nanoseconds, and {@code timestamp96} (12 bytes) otherwise.
+     *
+     * @return codec
+     */
+    public static ExtensionCodec<Instant> timestamp() {
+        return TIMESTAMP;
+    }
+
+    private static void checkLength(Class<?> type, int expected, int length) {
+        if (length != expected) {
+            throw new IllegalArgumentException("Invalid " + type.getSimpleName() + " payload of length " + length);
+        }
+    }
+
+    private static byte[] slice(byte[] bytes, int offset, int length) {
+        byte[] result = new byte[length];
+        System.arraycopy(bytes, offset, result, 0, length);
+        return result;
+    }
+
+    static int getInt(byte[] bytes, int offset) {
+        return (bytes[offset] << 24) | ((bytes[offset + 1] & 0xff) << 16) | ((bytes[offset + 2] & 0xff) << 8)
+                | (bytes[offset + 3] & 0xff);
+    }
+
+    static long getLong(byte[] bytes, int offset) {
+        return ((long) getInt(bytes, offset) << 32) | (getInt(bytes, offset + INT_LENGTH) & 0xffffffffL);
+    }
+
+    static void putInt(byte[] bytes, int offset, int value) {
+        bytes[offset] = (byte) (value >>> 24);
+        bytes[offset + 1] = (byte) (value >>> 16);
+        bytes[offset + 2] = (byte) (value >>> 8);
+        bytes[offset + 3] = (byte) value;
+    }
+
+    static void putLong(byte[] bytes, int offset, long value) {
+        putInt(bytes, offset, (int) (value >>> 32));
+        putInt(bytes, offset + INT_LENGTH, (int) value);
+    }
+}
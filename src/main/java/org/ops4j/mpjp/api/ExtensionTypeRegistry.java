@@ -0,0 +1,188 @@
+package org.ops4j.mpjp.api;
+
+import static org.ops4j.mpjp.api.ExtensionTypes.KEY_PAYLOAD;
+import static org.ops4j.mpjp.api.ExtensionTypes.KEY_TYPE;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.json.JsonObject;
+import javax.json.JsonValue;
+
+/**
+ * A registry of {@link ExtensionCodec}s by extension type code and by Java type.
+ * <p>
+ * The registry converts Java objects to {@link ExtensionValue}s and back, so a value is encoded to its binary payload
+ * exactly once and is never formatted as a string. Generators of the MessagePack provider write extension values
+ * directly, and parsers return them without copying the payload. {@link ExtensionAdapter}s bind registered types to
+ * JSON-B properties:
+ *
+ * <pre>
+ * ExtensionTypeRegistry registry = new ExtensionTypeRegistry()
+ *     .register(1, ExtensionCodecs.localDate())
+ *     .register(2, ExtensionCodecs.uuid());
+ * JsonbConfig config = new JsonbConfig().withAdapters(
+ *     new ExtensionAdapter&lt;LocalDate&gt;(registry) {},
+ *     new ExtensionAdapter&lt;UUID&gt;(registry) {});
+ * </pre>
+ * <p>
+ * Codecs should be registered before the registry is used. After that, the registry may be shared by multiple
+ * threads.
+ *
+ * @author hwellmann
+ *
+ */
+public class ExtensionTypeRegistry {
+
+    private static final int TYPE_COUNT = 256;
+
+    private final ExtensionCodec<?>[] codecs = new ExtensionCodec<?>[TYPE_COUNT];
+
+    private final Map<Class<?>, Byte> types = new HashMap<>();
+
+    /**
+     * Registers a codec for the given extension type.
+     *
+     * @param type
+     *            extension type, in the range -128 to 127
+     * @param codec
+     *            codec
+     * @return this registry
+     * @throws IllegalArgumentException
+     *             if the type is out of range, or if a codec is already registered for the type or for the Java type
+     *             of the codec
+     */
+    public ExtensionTypeRegistry register(int type, ExtensionCodec<?> codec) {
+        if (type < Byte.MIN_VALUE || type > Byte.MAX_VALUE) {
+            throw new IllegalArgumentException("extension type must be in range -128 to 127: " + type);
+        }
+        if (codecs[type & 0xff] != null) {
+            throw new IllegalArgumentException("codec already registered for extension type " + type);
+        }
+        if (types.containsKey(codec.getJavaType())) {
+            throw new IllegalArgumentException("codec already registered for " + codec.getJavaType().getName());
+        }
+        codecs[type & 0xff] = codec;
+        types.put(codec.getJavaType(), (byte) type);
+        return this;
+    }
+
+    /**
+     * Gets the codec for the given extension type.
+     *
+     * @param type
+     *            extension type
+     * @return codec, or null if not registered
+     */
+    public ExtensionCodec<?> getCodec(int type) {
+        if (type < Byte.MIN_VALUE || type > Byte.MAX_VALUE) {
+            return null;
+        }
+        return codecs[type & 0xff];
+    }
+
+    /**
+     * Gets the codec for the given Java type.
+     *
+     * @param javaType
+     *            Java type
+     * @param <T>
+     *            Java type
+     * @return codec, or null if not registered
+     */
+    @SuppressWarnings("unchecked")
+    public <T> ExtensionCodec<T> getCodec(Class<T> javaType) {
+        Byte type = types.get(javaType);
+        return (type == null) ? null : (ExtensionCodec<T>) codecs[type & 0xff];
+    }
+
+    /**
+     * Gets the extension type registered for the given Java type.
+     *
+     * @param javaType
+     *            Java type
+     * @return extension type
+     * @throws IllegalArgumentException
+     *             if there is no codec for the given type
+     */
+    public byte getExtensionType(Class<?> javaType) {
+        Byte type = types.get(javaType);
+        if (type == null) {
+            throw new IllegalArgumentException("no codec registered for " + javaType.getName());
+        }
+        return type;
+    }
+
+    /**
+     * Encodes the given value as an extension value, using the codec registered for its class.
+     *
+     * @param value
+     *            value, not null
+     * @return extension value
+     * @throws IllegalArgumentException
+     *             if there is no codec for the class of the value
+     */
+    @SuppressWarnings("unchecked")
+    public ExtensionValue toExtension(Object value) {
+        byte type = getExtensionType(value.getClass());
+        ExtensionCodec<Object> codec = (ExtensionCodec<Object>) codecs[type & 0xff];
+        return ExtensionValue.of(type, codec.encode(value));
+    }
+
+    /**
+     * Decodes the given extension value, using the codec registered for its type.
+     *
+     * @param value
+     *            extension value
+     * @return decoded value
+     * @throws IllegalArgumentException
+     *             if there is no codec for the type, or if the payload is invalid
+     */
+    public Object fromExtension(ExtensionValue value) {
+        ExtensionCodec<?> codec = codecs[value.getExtensionType() & 0xff];
+        if (codec == null) {
+            throw new IllegalArgumentException("no codec registered for extension type " + value.getExtensionType());
+        }
+        return codec.decode(value.array(), value.arrayOffset(), value.getPayloadLength());
+    }
+
+    /**
+     * Decodes the given JSON value to the given Java type. The value must be an {@link ExtensionValue} or an object of
+     * the form described in {@link ExtensionTypes}, with the extension type registered for the Java type.
+     *
+     * @param value
+     *            JSON value
+     * @param javaType
+     *            Java type
+     * @param <T>
+     *            Java type
+     * @return decoded value
+     * @throws IllegalArgumentException
+     *             if there is no codec for the Java type, if the value is not an extension value of the registered
+     *             type, or if the payload is invalid
+     */
+    public <T> T fromExtension(JsonValue value, Class<T> javaType) {
+        byte type = getExtensionType(javaType);
+        ExtensionValue extension = asExtension(value);
+        if (extension.getExtensionType() != type) {
+            throw new IllegalArgumentException("Expected extension type " + type + " for " + javaType.getName()
+                    + ", found " + extension.getExtensionType());
+        }
+        return javaType.cast(fromExtension(extension));
+    }
+
+    private static ExtensionValue asExtension(JsonValue value) {
+        if (value instanceof ExtensionValue) {
+            return (ExtensionValue) value;
+        }
+        if (value instanceof JsonObject) {
+            JsonObject object = (JsonObject) value;
+            if (object.size() == 2 && object.containsKey(KEY_TYPE) && object.containsKey(KEY_PAYLOAD)) {
+                return ExtensionValue.of(object.getInt(KEY_TYPE),
+                        object.getString(KEY_PAYLOAD).getBytes(StandardCharsets.ISO_8859_1));
+            }
+        }
+        throw new IllegalArgumentException("Expected extension value, found " + value.getValueType());
+    }
+}
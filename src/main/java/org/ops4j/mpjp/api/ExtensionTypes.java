@@ -4,7 +4,11 @@ package org.ops4j.mpjp.api;
  * Property keys for extension types.
  * <p>
  * The intermediate representation of an extension type is a {@code JsonObject} of the form
- * <code>{"$mpjp$type": 99, "$mpjp$payload": "UserDefinedPayload"}</code>.
+ * <code>{"$mpjp$type": 99, "$mpjp$payload": "UserDefinedPayload"}</code>, where the payload bytes are represented as an
+ * ISO-8859-1 string.
+ * <p>
+ * Parsers return extension types as {@link ExtensionValue}s, which also provide this object view. JSON-B adapters
+ * should produce and consume {@code ExtensionValue}s to avoid the string conversion.
  *
  * @author hwellmann
  *
@@ -21,6 +25,12 @@ public class ExtensionTypes {
      */
     public static final String KEY_PAYLOAD = "$mpjp$payload";
 
+    /**
+     * The timestamp extension type predefined by the MessagePack specification, see
+     * {@link ExtensionCodecs#timestamp()}.
+     */
+    public static final byte TIMESTAMP = -1;
+
     private ExtensionTypes() {
         // preventing instantiation
     }
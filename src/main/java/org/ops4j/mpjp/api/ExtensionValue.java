@@ -0,0 +1,310 @@
+package org.ops4j.mpjp.api;
+
+import static org.ops4j.mpjp.api.ExtensionTypes.KEY_PAYLOAD;
+import static org.ops4j.mpjp.api.ExtensionTypes.KEY_TYPE;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.AbstractMap;
+import java.util.Arrays;
+import java.util.Set;
+
+import javax.json.JsonArray;
+import javax.json.JsonNumber;
+import javax.json.JsonObject;
+import javax.json.JsonString;
+import javax.json.JsonValue;
+
+import org.ops4j.mpjp.impl.DelegateProviders;
+
+/**
+ * A MessagePack extension type value, holding the type and a slice of a byte array with the payload.
+ * <p>
+ * Parsers of the MessagePack provider return extension types as instances of this class, and generators of the
+ * MessagePack provider write instances of this class directly, without any map lookup or string conversion.
+ * <p>
+ * For compatibility with other JSON-P implementations, an extension value is also a {@code JsonObject} with the
+ * members {@link ExtensionTypes#KEY_TYPE} and {@link ExtensionTypes#KEY_PAYLOAD}, where the payload is represented
+ * as an ISO-8859-1 string. This object view is only created when one of the {@code JsonObject} or {@code Map} methods
+ * is called.
+ * <p>
+ * The payload is not copied and must not be modified.
+ *
+ * @author hwellmann
+ *
+ */
+public final class ExtensionValue extends AbstractMap<String, JsonValue> implements JsonObject {
+
+    private final byte type;
+    private final byte[] bytes;
+    private final int offset;
+    private final int length;
+
+    private JsonObject object;
+
+    private ExtensionValue(byte type, byte[] bytes) {
+        this(type, bytes, 0, bytes.length);
+    }
+
+    private ExtensionValue(byte type, byte[] bytes, int offset, int length) {
+        this.type = type;
+        this.bytes = bytes;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    /**
+     * Creates an extension value with the given payload, without copying it.
+     *
+     * @param type
+     *            extension type, in the range -128 to 127
+     * @param payload
+     *            payload
+     * @return extension value
+     */
+    public static ExtensionValue of(int type, byte[] payload) {
+        return of(type, payload, 0, payload.length);
+    }
+
+    /**
+     * Creates an extension value with a slice of the given array as payload, without copying it.
+     *
+     * @param type
+     *            extension type, in the range -128 to 127
+     * @param bytes
+     *            byte array
+     * @param offset
+     *            offset of the payload
+     * @param length
+     *            length of the payload
+     * @return extension value
+     * @throws IllegalArgumentException
+     *             if the type is out of range
+     */
+    public static ExtensionValue of(int type, byte[] bytes, int offset, int length) {
+        if (type < Byte.MIN_VALUE || type > Byte.MAX_VALUE) {
+            throw new IllegalArgumentException("extension type must be in range -128 to 127: " + type);
+        }
+        if (offset < 0 || length < 0 || offset + length > bytes.length) {
+            throw new IndexOutOfBoundsException("offset " + offset + ", length " + length);
+        }
+        return new ExtensionValue((byte) type, bytes, offset, length);
+    }
+
+    /**
+     * Creates a value of the timestamp extension type {@link ExtensionTypes#TIMESTAMP}, in the most compact form.
+     *
+     * @param instant
+     *            instant
+     * @return extension value
+     */
+    public static ExtensionValue ofTimestamp(Instant instant) {
+        return new ExtensionValue(ExtensionTypes.TIMESTAMP, ExtensionCodecs.timestamp().encode(instant));
+    }
+
+    /**
+     * Gets the extension type.
+     *
+     * @return type
+     */
+    public byte getExtensionType() {
+        return type;
+    }
+
+    /**
+     * Gets a read-only view of the payload.
+     *
+     * @return payload buffer
+     */
+    public ByteBuffer getPayload() {
+        return ByteBuffer.wrap(bytes, offset, length).slice().asReadOnlyBuffer();
+    }
+
+    /**
+     * Gets the payload as a byte array. The array is not copied if the payload covers the entire backing array.
+     *
+     * @return payload bytes
+     */
+    public byte[] getPayloadBytes() {
+        if (offset == 0 && length == bytes.length) {
+            return bytes;
+        }
+        return Arrays.copyOfRange(bytes, offset, offset + length);
+    }
+
+    /**
+     * Gets the payload as an ISO-8859-1 string, as in the {@code JsonObject} view.
+     *
+     * @return payload string
+     */
+    public String getPayloadString() {
+        return new String(bytes, offset, length, StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * Checks if this is a value of the timestamp extension type {@link ExtensionTypes#TIMESTAMP}.
+     *
+     * @return true for a timestamp
+     */
+    public boolean isTimestamp() {
+        return type == ExtensionTypes.TIMESTAMP;
+    }
+
+    /**
+     * Decodes a value of the timestamp extension type {@link ExtensionTypes#TIMESTAMP} directly from the payload.
+     *
+     * @return instant
+     * @throws IllegalStateException
+     *             if this is not a timestamp
+     * @throws IllegalArgumentException
+     *             if the payload is not a valid timestamp
+     */
+    public Instant getTimestamp() {
+        if (!isTimestamp()) {
+            throw new IllegalStateException("extension type " + type + " is not a timestamp");
+        }
+        return ExtensionCodecs.timestamp().decode(bytes, offset, length);
+    }
+
+    /**
+     * Gets the backing array of the payload.
+     *
+     * @return backing array
+     */
+    public byte[] array() {
+        return bytes;
+    }
+
+    /**
+     * Gets the offset of the payload in the backing array.
+     *
+     * @return offset
+     */
+    public int arrayOffset() {
+        return offset;
+    }
+
+    /**
+     * Gets the length of the payload.
+     *
+     * @return number of bytes
+     */
+    public int getPayloadLength() {
+        return length;
+    }
+
+    private JsonObject object() {
+        JsonObject result = object;
+        if (result == null) {
+            result = DelegateProviders.provider().createObjectBuilder()
+                    .add(KEY_TYPE, type)
+                    .add(KEY_PAYLOAD, getPayloadString())
+                    .build();
+            object = result;
+        }
+        return result;
+    }
+
+    @Override
+    public ValueType getValueType() {
+        return ValueType.OBJECT;
+    }
+
+    @Override
+    public Set<Entry<String, JsonValue>> entrySet() {
+        return object().entrySet();
+    }
+
+    @Override
+    public JsonValue get(Object key) {
+        return object().get(key);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return KEY_TYPE.equals(key) || KEY_PAYLOAD.equals(key);
+    }
+
+    @Override
+    public int size() {
+        return 2;
+    }
+
+    @Override
+    public JsonArray getJsonArray(String name) {
+        return object().getJsonArray(name);
+    }
+
+    @Override
+    public JsonObject getJsonObject(String name) {
+        return object().getJsonObject(name);
+    }
+
+    @Override
+    public JsonNumber getJsonNumber(String name) {
+        return object().getJsonNumber(name);
+    }
+
+    @Override
+    public JsonString getJsonString(String name) {
+        return object().getJsonString(name);
+    }
+
+    @Override
+    public String getString(String name) {
+        return KEY_PAYLOAD.equals(name) ? getPayloadString() : object().getString(name);
+    }
+
+    @Override
+    public String getString(String name, String defaultValue) {
+        return KEY_PAYLOAD.equals(name) ? getPayloadString() : object().getString(name, defaultValue);
+    }
+
+    @Override
+    public int getInt(String name) {
+        return KEY_TYPE.equals(name) ? type : object().getInt(name);
+    }
+
+    @Override
+    public int getInt(String name, int defaultValue) {
+        return KEY_TYPE.equals(name) ? type : object().getInt(name, defaultValue);
+    }
+
+    @Override
+    public boolean getBoolean(String name) {
+        return object().getBoolean(name);
+    }
+
+    @Override
+    public boolean getBoolean(String name, boolean defaultValue) {
+        return object().getBoolean(name, defaultValue);
+    }
+
+    @Override
+    public boolean isNull(String name) {
+        return object().isNull(name);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj instanceof ExtensionValue) {
+            ExtensionValue other = (ExtensionValue) obj;
+            return type == other.type && getPayload().equals(other.getPayload());
+        }
+        return super.equals(obj);
+    }
+
+    @Override
+    public int hashCode() {
+        return object().hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return object().toString();
+    }
+}
@@ -0,0 +1,71 @@
+package org.ops4j.mpjp.api;
+
+import static org.ops4j.mpjp.api.ExtensionTypes.KEY_PAYLOAD;
+import static org.ops4j.mpjp.api.ExtensionTypes.KEY_TYPE;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeFormatter;
+
+import javax.json.JsonObject;
+import javax.json.JsonString;
+import javax.json.JsonValue;
+import javax.json.bind.adapter.JsonbAdapter;
+
+/**
+ * JSON-B adapter writing {@code Instant} properties as values of the MessagePack timestamp extension type, in the
+ * most compact form, see {@link ExtensionCodecs#timestamp()}.
+ * <p>
+ * Timestamps are decoded directly from the payload, without any string formatting or parsing. Text JSON generators
+ * write the object view described in {@link ExtensionTypes}. ISO-8601 strings with an offset are accepted as well, so
+ * data written by a text JSON provider without this adapter can be read.
+ *
+ * <pre>
+ * JsonbConfig config = new JsonbConfig().withAdapters(new InstantAdapter());
+ * </pre>
+ *
+ * @author hwellmann
+ *
+ */
+public class InstantAdapter implements JsonbAdapter<Instant, JsonValue> {
+
+    @Override
+    public JsonValue adaptToJson(Instant instant) {
+        return ExtensionValue.ofTimestamp(instant);
+    }
+
+    @Override
+    public Instant adaptFromJson(JsonValue value) {
+        return toInstant(value);
+    }
+
+    /**
+     * Gets the instant of a timestamp extension value or of an ISO-8601 string.
+     *
+     * @param value
+     *            JSON value
+     * @return instant
+     * @throws IllegalArgumentException
+     *             if the value is neither a timestamp nor a string
+     * @throws java.time.format.DateTimeParseException
+     *             if the value is a string which cannot be parsed
+     */
+    static Instant toInstant(JsonValue value) {
+        if (value instanceof ExtensionValue) {
+            ExtensionValue extension = (ExtensionValue) value;
+            if (extension.isTimestamp()) {
+                return extension.getTimestamp();
+            }
+        } else if (value instanceof JsonString) {
+            return DateTimeFormatter.ISO_OFFSET_DATE_TIME.parse(((JsonString) value).getString(), Instant::from);
+        } else if (value instanceof JsonObject) {
+            JsonObject object = (JsonObject) value;
+            if (object.size() == 2 && object.getInt(KEY_TYPE, 0) == ExtensionTypes.TIMESTAMP
+                    && object.containsKey(KEY_PAYLOAD)) {
+                byte[] payload = object.getString(KEY_PAYLOAD).getBytes(StandardCharsets.ISO_8859_1);
+                return ExtensionCodecs.timestamp().decode(payload, 0, payload.length);
+            }
+        }
+        throw new IllegalArgumentException("Expected timestamp, found " + value);
+    }
+}
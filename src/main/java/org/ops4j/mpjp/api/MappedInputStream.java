@@ -0,0 +1,147 @@
+package org.ops4j.mpjp.api;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * An input stream for a file which is recognized by {@link MessagePackParserFactory#createParser(InputStream)}. Such
+ * parsers map the file into memory instead of reading it via the stream.
+ * <p>
+ * This allows APIs which only accept input streams, like JSON-B, to parse memory-mapped files:
+ *
+ * <pre>
+ * try (InputStream is = MappedInputStream.open(path)) {
+ *     Archive archive = jsonb.fromJson(is, Archive.class);
+ * }
+ * </pre>
+ *
+ * Other consumers read this stream like a plain file input stream. Single bytes are read from a mapped region of the
+ * file, bulk reads from the channel.
+ *
+ * @author hwellmann
+ *
+ */
+public class MappedInputStream extends InputStream {
+
+    /** Size of the file regions mapped for single-byte reads. */
+    private static final int WINDOW_SIZE = 1 << 16;
+
+    private final FileChannel channel;
+    private final boolean closeChannel;
+
+    /** Region of the file for single-byte reads, positioned at the stream position, or null. */
+    private MappedByteBuffer window;
+
+    /** File position of the window. */
+    private long windowStart;
+
+    /**
+     * Creates a stream for the given channel, starting at its current position. The channel is not closed when
+     * closing this stream.
+     *
+     * @param channel
+     *            file channel
+     */
+    public MappedInputStream(FileChannel channel) {
+        this(channel, false);
+    }
+
+    private MappedInputStream(FileChannel channel, boolean closeChannel) {
+        this.channel = channel;
+        this.closeChannel = closeChannel;
+    }
+
+    /**
+     * Opens a stream for the given file.
+     *
+     * @param path
+     *            file path
+     * @return input stream
+     * @throws IOException
+     *             if the file cannot be opened
+     */
+    public static MappedInputStream open(Path path) throws IOException {
+        return new MappedInputStream(FileChannel.open(path, StandardOpenOption.READ), true);
+    }
+
+    /**
+     * Gets the file channel of this stream, positioned at the stream position.
+     *
+     * @return file channel
+     * @throws IOException
+     *             if the channel position cannot be set
+     */
+    public FileChannel getChannel() throws IOException {
+        sync();
+        return channel;
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (window == null || !window.hasRemaining()) {
+            long position = sync();
+            long remaining = channel.size() - position;
+            if (remaining <= 0) {
+                return -1;
+            }
+            window = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(WINDOW_SIZE, remaining));
+            windowStart = position;
+        }
+        return window.get() & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        sync();
+        return channel.read(ByteBuffer.wrap(b, off, len));
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        long position = sync();
+        long skipped = Math.max(0, Math.min(n, channel.size() - position));
+        channel.position(position + skipped);
+        return skipped;
+    }
+
+    @Override
+    public int available() throws IOException {
+        long position = sync();
+        return (int) Math.min(Integer.MAX_VALUE, Math.max(0, channel.size() - position));
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (window != null) {
+            sync();
+        }
+        if (closeChannel) {
+            channel.close();
+        }
+    }
+
+    /**
+     * Moves the channel to the stream position and discards the window of single-byte reads.
+     *
+     * @return stream position
+     * @throws IOException
+     *             if the channel position cannot be read or set
+     */
+    private long sync() throws IOException {
+        if (window == null) {
+            return channel.position();
+        }
+        long position = windowStart + window.position();
+        window = null;
+        channel.position(position);
+        return position;
+    }
+}
@@ -0,0 +1,102 @@
+package org.ops4j.mpjp.api;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+
+/**
+ * Binds Java objects directly to and from MessagePack, bypassing the JSON-P event layer for plain Java beans.
+ * <p>
+ * For each class, a codec is built once from the bean properties, using method handles for all accessors. Codecs
+ * write and read MessagePack without any intermediate events, strings or {@code JsonValue}s, with the same output as
+ * JSON-B with the MessagePack provider.
+ * <p>
+ * Codecs support the following property types: primitives and their wrappers, {@code String}, {@code BigDecimal},
+ * {@code BigInteger}, enums, {@code JsonValue}s, other supported beans, lists and sets of supported types, and arrays
+ * of numeric primitives. The annotations {@code @JsonbProperty}, {@code @JsonbTransient} and
+ * {@code @JsonbTypeAdapter} are honoured, as well as adapters registered in the {@code JsonbConfig}.
+ * <p>
+ * All other types, beans with any other JSON-B annotation, and all types when the {@code JsonbConfig} has any other
+ * customization, are bound by JSON-B. A binder is thread-safe.
+ *
+ * <pre>
+ * MessagePackBinder binder = new MessagePackJsonProvider().createBinder(new JsonbConfig());
+ * byte[] bytes = binder.toMessagePack(person);
+ * Person read = binder.fromMessagePack(bytes, Person.class);
+ * </pre>
+ *
+ * @author hwellmann
+ *
+ * @see MessagePackJsonProvider#createBinder(javax.json.bind.JsonbConfig)
+ */
+public interface MessagePackBinder {
+
+    /**
+     * Writes the given object to the given stream. The stream is not closed.
+     *
+     * @param object
+     *            object, may be null
+     * @param os
+     *            output stream
+     * @throws javax.json.JsonException
+     *             on write error
+     * @throws javax.json.bind.JsonbException
+     *             if the object cannot be serialized
+     */
+    void toMessagePack(Object object, OutputStream os);
+
+    /**
+     * Writes the given object to a byte array.
+     *
+     * @param object
+     *            object, may be null
+     * @return MessagePack data
+     * @throws javax.json.bind.JsonbException
+     *             if the object cannot be serialized
+     */
+    byte[] toMessagePack(Object object);
+
+    /**
+     * Reads an object of the given type from the given stream. The stream is not closed. It may be read beyond the
+     * end of the value.
+     *
+     * @param is
+     *            input stream
+     * @param type
+     *            runtime type, e.g. a parameterized list type
+     * @param <T>
+     *            result type
+     * @return object, or null for a MessagePack {@code nil}
+     * @throws javax.json.JsonException
+     *             on read error
+     * @throws javax.json.bind.JsonbException
+     *             if the data cannot be bound to the given type
+     */
+    <T> T fromMessagePack(InputStream is, Type type);
+
+    /**
+     * Reads an object of the given type from the given byte array.
+     *
+     * @param bytes
+     *            MessagePack data
+     * @param type
+     *            runtime type, e.g. a parameterized list type
+     * @param <T>
+     *            result type
+     * @return object, or null for a MessagePack {@code nil}
+     * @throws javax.json.JsonException
+     *             on truncated data
+     * @throws javax.json.bind.JsonbException
+     *             if the data cannot be bound to the given type
+     */
+    <T> T fromMessagePack(byte[] bytes, Type type);
+
+    /**
+     * Checks if values of the given type are bound directly, without JSON-B.
+     *
+     * @param type
+     *            runtime type
+     * @return true if this binder has a codec for the given type
+     */
+    boolean isAccelerated(Type type);
+}
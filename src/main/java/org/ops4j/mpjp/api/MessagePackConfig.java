@@ -0,0 +1,79 @@
+package org.ops4j.mpjp.api;
+
+/**
+ * Configuration properties of the MessagePack JSON provider.
+ * <p>
+ * These properties can be passed to the factory methods of {@link MessagePackJsonProvider} taking a configuration
+ * map, or to the constructor of the provider, to be used as defaults for all factories.
+ * <p>
+ * Boolean and integer properties accept a {@code Boolean} or {@code Number} or a string value. Enum properties
+ * accept an enum constant or its name.
+ *
+ * @author hwellmann
+ *
+ */
+public class MessagePackConfig {
+
+    /**
+     * Enables generators writing MessagePack in a single pass, without building an intermediate {@code JsonValue}.
+     * <p>
+     * Since the sizes of maps and arrays are not known in advance, a streaming generator uses the fixed-width
+     * {@code map32} and {@code array32} header formats. Default: {@code false}.
+     */
+    public static final String GENERATOR_STREAMING = "org.ops4j.mpjp.generator.streaming";
+
+    /**
+     * Makes streaming generators shrink all reserved map and array headers to the smallest possible format, in a
+     * single pass over the buffered output of each top-level value. The output is then identical to the output of the
+     * default generator. Default: {@code false}.
+     */
+    public static final String GENERATOR_COMPACT_HEADERS = "org.ops4j.mpjp.generator.compactHeaders";
+
+    /**
+     * Number of map keys cached by the generators of a factory in their encoded form, or {@code 0} to disable the
+     * cache. Keys of up to 64 characters are cached, so repeated keys are encoded to UTF-8 only once. Default:
+     * {@code 1024}.
+     */
+    public static final String GENERATOR_KEY_CACHE_SIZE = "org.ops4j.mpjp.generator.keyCache.size";
+
+    /**
+     * Strategy for writing {@code BigDecimal} values with a non-zero scale, see {@link BigDecimalStrategy}. This also
+     * applies to integers exceeding 64 bits, which are rejected by {@link BigDecimalStrategy#DOUBLE}. Default:
+     * {@link BigDecimalStrategy#DOUBLE}.
+     */
+    public static final String BIG_DECIMAL_STRATEGY = "org.ops4j.mpjp.bigDecimal.strategy";
+
+    /**
+     * Extension type used by {@link BigDecimalStrategy#EXTENSION}, in the range 0 to 127. Default: {@code 0}.
+     */
+    public static final String BIG_DECIMAL_EXTENSION_TYPE = "org.ops4j.mpjp.bigDecimal.extensionType";
+
+    /**
+     * Pooling mode for parsers and generators created by a factory, see {@link PoolMode}. Pooled instances must not be
+     * used after they have been closed. Default: {@link PoolMode#NONE}.
+     */
+    public static final String POOL = "org.ops4j.mpjp.pool";
+
+    /**
+     * Maximum number of idle parsers and of idle generators per factory in {@link PoolMode#BOUNDED} mode. Default:
+     * {@code 16}.
+     */
+    public static final String POOL_SIZE = "org.ops4j.mpjp.pool.size";
+
+    /**
+     * Size in bytes of the regions of a file mapped into memory at a time by
+     * {@link MessagePackParserFactory#createParser(java.nio.file.Path)}. Default: {@code 1073741824} (1 GiB).
+     */
+    public static final String MAPPED_WINDOW_SIZE = "org.ops4j.mpjp.mapped.windowSize";
+
+    /**
+     * Number of map keys cached by the parsers of a factory, or {@code 0} to disable the cache. Keys of up to 64 bytes
+     * are cached by their UTF-8 bytes, so repeated keys are decoded only once and are represented by identical
+     * {@code String} instances. Default: {@code 1024}.
+     */
+    public static final String KEY_CACHE_SIZE = "org.ops4j.mpjp.parser.keyCache.size";
+
+    private MessagePackConfig() {
+        // preventing instantiation
+    }
+}
@@ -0,0 +1,92 @@
+package org.ops4j.mpjp.api;
+
+import java.io.Closeable;
+import java.lang.reflect.Type;
+
+import javax.json.JsonValue;
+import javax.json.bind.Jsonb;
+import javax.json.stream.JsonParser;
+
+/**
+ * Reads a sequence of concatenated top-level MessagePack values from a single input stream, as used for logs and
+ * message queues.
+ * <p>
+ * All documents are read by the same parser and unpacker. Documents not read completely are skipped when moving on to
+ * the next document.
+ *
+ * @author hwellmann
+ *
+ * @see MessagePackParserFactory#createDocumentReader(java.io.InputStream)
+ */
+public interface MessagePackDocumentReader extends Closeable {
+
+    /**
+     * Checks if there is another document.
+     *
+     * @return true if there is another document
+     * @throws javax.json.JsonException
+     *             on read error
+     */
+    boolean hasNext();
+
+    /**
+     * Gets a parser for the next document. The parser will report the end of input at the end of the document. It is
+     * shared by all documents and must not be used after calling any other method of this reader. Closing the parser
+     * has no effect.
+     *
+     * @return parser positioned before the first event of the next document
+     * @throws java.util.NoSuchElementException
+     *             if there are no more documents
+     */
+    JsonParser nextParser();
+
+    /**
+     * Reads the next document.
+     *
+     * @return JSON value
+     * @throws java.util.NoSuchElementException
+     *             if there are no more documents
+     */
+    JsonValue readValue();
+
+    /**
+     * Reads the next document and binds it to the given type. The given JSON-B instance must be configured with a
+     * {@link MessagePackJsonProvider}.
+     *
+     * @param jsonb
+     *            JSON-B instance
+     * @param type
+     *            target type
+     * @param <T>
+     *            target type
+     * @return bound object
+     * @throws java.util.NoSuchElementException
+     *             if there are no more documents
+     */
+    <T> T readValue(Jsonb jsonb, Type type);
+
+    /**
+     * Reads the next document and binds it to the given class. The given JSON-B instance must be configured with a
+     * {@link MessagePackJsonProvider}.
+     *
+     * @param jsonb
+     *            JSON-B instance
+     * @param type
+     *            target class
+     * @param <T>
+     *            target type
+     * @return bound object
+     * @throws java.util.NoSuchElementException
+     *             if there are no more documents
+     */
+    <T> T readValue(Jsonb jsonb, Class<T> type);
+
+    /**
+     * Closes this reader and the underlying input stream.
+     *
+     * @throws javax.json.JsonException
+     *             on I/O error
+     */
+    @Override
+    void close();
+}
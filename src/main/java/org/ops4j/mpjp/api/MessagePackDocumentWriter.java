@@ -0,0 +1,68 @@
+package org.ops4j.mpjp.api;
+
+import java.io.Closeable;
+import java.io.Flushable;
+
+import javax.json.JsonValue;
+import javax.json.bind.Jsonb;
+import javax.json.stream.JsonGenerator;
+
+/**
+ * Appends a sequence of top-level MessagePack values to a single output stream, as used for logs and message queues.
+ * <p>
+ * All documents are written by the same generator, and each document is written to the stream as soon as it is
+ * complete.
+ *
+ * @author hwellmann
+ *
+ * @see MessagePackGeneratorFactory#createDocumentWriter(java.io.OutputStream)
+ */
+public interface MessagePackDocumentWriter extends Closeable, Flushable {
+
+    /**
+     * Gets a generator for the next document. The generator is shared by all documents and must not be used after
+     * calling any other method of this writer. Closing the generator only flushes the stream.
+     *
+     * @return generator
+     * @throws javax.json.stream.JsonGenerationException
+     *             if the previous document is incomplete
+     */
+    JsonGenerator nextGenerator();
+
+    /**
+     * Writes the given value as next document.
+     *
+     * @param value
+     *            JSON value
+     */
+    void write(JsonValue value);
+
+    /**
+     * Serializes the given object as next document. The given JSON-B instance must be configured with a
+     * {@link MessagePackJsonProvider}.
+     *
+     * @param jsonb
+     *            JSON-B instance
+     * @param object
+     *            object to be serialized
+     */
+    void write(Jsonb jsonb, Object object);
+
+    /**
+     * Flushes the underlying output stream.
+     *
+     * @throws javax.json.JsonException
+     *             on I/O error
+     */
+    @Override
+    void flush();
+
+    /**
+     * Closes this writer and the underlying output stream.
+     *
+     * @throws javax.json.stream.JsonGenerationException
+     *             if the current document is incomplete
+     */
+    @Override
+    void close();
+}
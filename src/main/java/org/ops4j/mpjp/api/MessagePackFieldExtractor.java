@@ -0,0 +1,138 @@
+package org.ops4j.mpjp.api;
+
+import java.nio.ByteBuffer;
+
+import javax.json.JsonException;
+
+/**
+ * Extracts a single scalar value at a given JSON Pointer from raw MessagePack data, without a parser and without
+ * building any {@code JsonValue}s. This is the fastest way to read a routing key or a similar member of a message
+ * without decoding it.
+ * <p>
+ * Reference tokens consisting of digits select array elements when applied to an array, and map keys otherwise.
+ * <p>
+ * Extractors are immutable and may be shared by multiple threads. The position, limit and byte order of the given
+ * buffers are not modified.
+ *
+ * <pre>
+ * MessagePackFieldExtractor extractor = provider.createFieldExtractor("/headers/routing");
+ * String routing = extractor.getString(bytes);
+ * </pre>
+ *
+ * @author hwellmann
+ *
+ * @see MessagePackJsonProvider#createFieldExtractor(String)
+ */
+public interface MessagePackFieldExtractor {
+
+    /**
+     * Finds the position of the selected value in the remaining bytes of the given buffer.
+     *
+     * @param buffer
+     *            MessagePack data
+     * @return absolute position of the selected value, or -1 if there is no such value
+     * @throws JsonException
+     *             if the data is truncated
+     */
+    int find(ByteBuffer buffer);
+
+    /**
+     * Extracts the selected string value.
+     *
+     * @param bytes
+     *            MessagePack data
+     * @return string, or null if there is no such value or if the value is null
+     * @throws JsonException
+     *             if the selected value is not a string
+     */
+    String getString(byte[] bytes);
+
+    /**
+     * Extracts the selected string value.
+     *
+     * @param buffer
+     *            MessagePack data
+     * @return string, or null if there is no such value or if the value is null
+     * @throws JsonException
+     *             if the selected value is not a string
+     */
+    String getString(ByteBuffer buffer);
+
+    /**
+     * Extracts the selected integer value.
+     *
+     * @param bytes
+     *            MessagePack data
+     * @param defaultValue
+     *            result if there is no such value
+     * @return integer value
+     * @throws JsonException
+     *             if the selected value is not an integer or does not fit into a long
+     */
+    long getLong(byte[] bytes, long defaultValue);
+
+    /**
+     * Extracts the selected integer value.
+     *
+     * @param buffer
+     *            MessagePack data
+     * @param defaultValue
+     *            result if there is no such value
+     * @return integer value
+     * @throws JsonException
+     *             if the selected value is not an integer or does not fit into a long
+     */
+    long getLong(ByteBuffer buffer, long defaultValue);
+
+    /**
+     * Extracts the selected numeric value.
+     *
+     * @param bytes
+     *            MessagePack data
+     * @param defaultValue
+     *            result if there is no such value
+     * @return floating point value
+     * @throws JsonException
+     *             if the selected value is not a number
+     */
+    double getDouble(byte[] bytes, double defaultValue);
+
+    /**
+     * Extracts the selected numeric value.
+     *
+     * @param buffer
+     *            MessagePack data
+     * @param defaultValue
+     *            result if there is no such value
+     * @return floating point value
+     * @throws JsonException
+     *             if the selected value is not a number
+     */
+    double getDouble(ByteBuffer buffer, double defaultValue);
+
+    /**
+     * Extracts the selected boolean value.
+     *
+     * @param bytes
+     *            MessagePack data
+     * @param defaultValue
+     *            result if there is no such value
+     * @return boolean value
+     * @throws JsonException
+     *             if the selected value is not a boolean
+     */
+    boolean getBoolean(byte[] bytes, boolean defaultValue);
+
+    /**
+     * Extracts the selected boolean value.
+     *
+     * @param buffer
+     *            MessagePack data
+     * @param defaultValue
+     *            result if there is no such value
+     * @return boolean value
+     * @throws JsonException
+     *             if the selected value is not a boolean
+     */
+    boolean getBoolean(ByteBuffer buffer, boolean defaultValue);
+}
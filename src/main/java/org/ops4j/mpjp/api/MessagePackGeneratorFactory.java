@@ -0,0 +1,24 @@
+package org.ops4j.mpjp.api;
+
+import java.io.OutputStream;
+
+import javax.json.stream.JsonGeneratorFactory;
+
+/**
+ * A {@link JsonGeneratorFactory} with additional methods for writing MessagePack.
+ *
+ * @author hwellmann
+ *
+ */
+public interface MessagePackGeneratorFactory extends JsonGeneratorFactory {
+
+    /**
+     * Creates a writer for a sequence of concatenated top-level values. The documents are written with compact
+     * headers, independent of {@link MessagePackConfig#GENERATOR_STREAMING}.
+     *
+     * @param out
+     *            output stream
+     * @return document writer
+     */
+    MessagePackDocumentWriter createDocumentWriter(OutputStream out);
+}
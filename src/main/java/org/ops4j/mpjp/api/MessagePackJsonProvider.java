@@ -6,11 +6,17 @@ import java.io.Reader;
 import java.io.Writer;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
 
 import javax.json.JsonArrayBuilder;
 import javax.json.JsonBuilderFactory;
+import javax.json.JsonException;
 import javax.json.JsonNumber;
 import javax.json.JsonObjectBuilder;
 import javax.json.JsonReader;
@@ -19,43 +25,95 @@ import javax.json.JsonString;
 import javax.json.JsonValue;
 import javax.json.JsonWriter;
 import javax.json.JsonWriterFactory;
+import javax.json.bind.Jsonb;
+import javax.json.bind.JsonbBuilder;
+import javax.json.bind.JsonbConfig;
 import javax.json.spi.JsonProvider;
 import javax.json.stream.JsonGenerator;
-import javax.json.stream.JsonGeneratorFactory;
 import javax.json.stream.JsonParser;
-import javax.json.stream.JsonParserFactory;
 
+import org.ops4j.mpjp.impl.DelegateProviders;
+import org.ops4j.mpjp.impl.LazyJsonValues;
+import org.ops4j.mpjp.impl.MessagePackJsonBinder;
+import org.ops4j.mpjp.impl.MessagePackJsonFieldExtractor;
 import org.ops4j.mpjp.impl.MessagePackJsonGenerator;
 import org.ops4j.mpjp.impl.MessagePackJsonGeneratorFactory;
 import org.ops4j.mpjp.impl.MessagePackJsonParserFactory;
+import org.ops4j.mpjp.impl.MessagePackJsonReaderFactory;
+import org.ops4j.mpjp.impl.MessagePackJsonWriterFactory;
 
 /**
  * Alternative {@link JsonProvider} which serialízes to and from MessagePack instead of JSON.
  * <p>
- * The generators and parsers generated by this provider internally use a {@link JsonValue} as intermediate
- * representation. A generator internally creates a JSON object which is then serialized to the binary MessagePack
- * format in a second pass.
+ * The generators created by this provider internally use a {@link JsonValue} as intermediate representation. A
+ * generator internally creates a JSON object which is then serialized to the binary MessagePack format in a second
+ * pass.
  * <p>
- * Conversely, a parser first serializes a binary MessagePack stream to a {@code JsonValue} which is then traversed in a
- * second pass to generate parser events.
+ * Parsers read parser events directly from the binary MessagePack stream. A {@code JsonValue} is only created for
+ * subtrees explicitly requested by the caller.
+ * <p>
+ * Readers and writers decode and encode a complete {@code JsonValue} tree in a single pass, without parser or generator
+ * events. Text JSON readers, writers and parsers based on a {@code Reader} or {@code Writer} are not supported.
  * <p>
  * For this reason, this provider depends on a default provider to work with {@link JsonValue} and its derived classes.
  * By design, this class cannot be located via the {@code java.util.ServiceLoader}, since it is not a stand-alone
  * implementation of the JSON-P API.
+ * <p>
+ * Parser and generator factories are cached per distinct configuration, so that repeated calls, e.g. by JSON-B, do not
+ * pay the setup cost again, and parsers and generators pooled by these factories (see {@link MessagePackConfig#POOL})
+ * can be reused across calls. Configuration maps used as cache keys are copied and should not contain mutable values.
+ * The default delegate provider is looked up once per context class loader.
  *
  * @author hwellmann
  *
  */
 public class MessagePackJsonProvider extends JsonProvider {
 
+    /** Maximum number of cached parser factories and of cached generator factories. */
+    private static final int MAX_CACHED_FACTORIES = 32;
+
     private final JsonProvider delegate;
 
+    private final Map<String, ?> defaultConfig;
+
+    private final ConcurrentMap<Map<String, ?>, MessagePackParserFactory> parserFactories = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Map<String, ?>, MessagePackGeneratorFactory> generatorFactories =
+            new ConcurrentHashMap<>();
+
     public MessagePackJsonProvider() {
-        this.delegate = JsonProvider.provider();
+        this(DelegateProviders.provider());
     }
 
     public MessagePackJsonProvider(JsonProvider delegate) {
+        this(delegate, Collections.emptyMap());
+    }
+
+    /**
+     * Creates a provider with default configuration properties for all parser and generator factories. The defaults
+     * can be overridden by the configuration passed to an individual factory.
+     * <p>
+     * This is useful in combination with JSON-B, which does not pass any user-defined properties to the JSON-P
+     * provider.
+     *
+     * @param config
+     *            default configuration, see {@link MessagePackConfig}
+     */
+    public MessagePackJsonProvider(Map<String, ?> config) {
+        this(DelegateProviders.provider(), config);
+    }
+
+    /**
+     * Creates a provider with the given delegate and default configuration properties for all parser and generator
+     * factories.
+     *
+     * @param delegate
+     *            provider for {@code JsonValue} instances and builders
+     * @param config
+     *            default configuration, see {@link MessagePackConfig}
+     */
+    public MessagePackJsonProvider(JsonProvider delegate, Map<String, ?> config) {
         this.delegate = delegate;
+        this.defaultConfig = config;
     }
 
     @Override
@@ -79,8 +137,8 @@ public class MessagePackJsonProvider extends JsonProvider {
     }
 
     @Override
-    public JsonGeneratorFactory createGeneratorFactory(Map<String, ?> config) {
-        return new MessagePackJsonGeneratorFactory(config, this);
+    public MessagePackGeneratorFactory createGeneratorFactory(Map<String, ?> config) {
+        return cachedFactory(generatorFactories, config, c -> new MessagePackJsonGeneratorFactory(c, this));
     }
 
     @Override
@@ -98,39 +156,188 @@ public class MessagePackJsonProvider extends JsonProvider {
         return createParserFactory(Collections.emptyMap()).createParser(is);
     }
 
+    /**
+     * Creates a parser for the given MessagePack data, without copying it.
+     *
+     * @param bytes
+     *            MessagePack data
+     * @return JSON parser
+     * @see MessagePackParserFactory#createParser(byte[])
+     */
+    public JsonParser createParser(byte[] bytes) {
+        return createParserFactory(Collections.emptyMap()).createParser(bytes);
+    }
+
+    /**
+     * Creates a parser for the remaining bytes of the given heap or direct buffer, without copying them.
+     *
+     * @param buffer
+     *            MessagePack data
+     * @return JSON parser
+     * @see MessagePackParserFactory#createParser(ByteBuffer)
+     */
+    public JsonParser createParser(ByteBuffer buffer) {
+        return createParserFactory(Collections.emptyMap()).createParser(buffer);
+    }
+
+    /**
+     * Creates a reader for a sequence of concatenated top-level values.
+     *
+     * @param is
+     *            input stream
+     * @return document reader
+     * @see MessagePackParserFactory#createDocumentReader(InputStream)
+     */
+    public MessagePackDocumentReader createDocumentReader(InputStream is) {
+        return createParserFactory(Collections.emptyMap()).createDocumentReader(is);
+    }
+
+    /**
+     * Creates a writer for a sequence of concatenated top-level values.
+     *
+     * @param os
+     *            output stream
+     * @return document writer
+     * @see MessagePackGeneratorFactory#createDocumentWriter(OutputStream)
+     */
+    public MessagePackDocumentWriter createDocumentWriter(OutputStream os) {
+        return createGeneratorFactory(Collections.emptyMap()).createDocumentWriter(os);
+    }
+
     @Override
-    public JsonParserFactory createParserFactory(Map<String, ?> config) {
-        return new MessagePackJsonParserFactory(config, delegate);
+    public MessagePackParserFactory createParserFactory(Map<String, ?> config) {
+        return cachedFactory(parserFactories, config, c -> new MessagePackJsonParserFactory(c, delegate));
+    }
+
+    private <F> F cachedFactory(ConcurrentMap<Map<String, ?>, F> cache, Map<String, ?> config,
+            Function<Map<String, ?>, F> creator) {
+        Map<String, ?> key = (config == null) ? Collections.emptyMap() : config;
+        F factory = cache.get(key);
+        if (factory != null) {
+            return factory;
+        }
+        factory = creator.apply(withDefaults(key));
+        if (cache.size() < MAX_CACHED_FACTORIES) {
+            F existing = cache.putIfAbsent(new HashMap<>(key), factory);
+            if (existing != null) {
+                return existing;
+            }
+        }
+        return factory;
+    }
+
+    private Map<String, ?> withDefaults(Map<String, ?> config) {
+        if (config.isEmpty()) {
+            return defaultConfig;
+        }
+        if (defaultConfig.isEmpty()) {
+            return config;
+        }
+        Map<String, Object> merged = new HashMap<>(defaultConfig);
+        merged.putAll(config);
+        return merged;
+    }
+
+    /**
+     * Creates a binder for Java objects, with a JSON-B instance using this provider for all types not supported by the
+     * binder. The binder uses the default configuration of this provider. This requires a JSON-B implementation at
+     * runtime.
+     *
+     * @param config
+     *            JSON-B configuration
+     * @return binder
+     * @see MessagePackBinder
+     */
+    public MessagePackBinder createBinder(JsonbConfig config) {
+        Jsonb jsonb = JsonbBuilder.newBuilder().withConfig(config).withProvider(this).build();
+        return new MessagePackJsonBinder(withDefaults(Collections.emptyMap()), delegate, config, jsonb);
+    }
+
+    /**
+     * Creates an extractor for the scalar value at the given JSON Pointer. The pointer is compiled once, so the
+     * extractor should be reused for all messages.
+     *
+     * @param pointer
+     *            JSON Pointer
+     * @return extractor
+     * @throws JsonException
+     *             if the pointer is invalid
+     * @see MessagePackFieldExtractor
+     */
+    public MessagePackFieldExtractor createFieldExtractor(String pointer) {
+        return MessagePackJsonFieldExtractor.compile(pointer);
+    }
+
+    /**
+     * Creates a lazy view of a MessagePack value. Maps and arrays are returned as {@code JsonObject} and
+     * {@code JsonArray} views which only decode the members accessed by the caller. The given array must not be
+     * modified while the view is in use.
+     *
+     * @param bytes
+     *            MessagePack data
+     * @return JSON value
+     */
+    public JsonValue createLazyValue(byte[] bytes) {
+        return createLazyValue(ByteBuffer.wrap(bytes));
+    }
+
+    /**
+     * Creates a lazy view of the MessagePack value contained in the remaining bytes of the given buffer. Maps and
+     * arrays are returned as {@code JsonObject} and {@code JsonArray} views which only decode the members accessed by
+     * the caller. The buffer contents must not be modified while the view is in use.
+     *
+     * @param buffer
+     *            MessagePack data
+     * @return JSON value
+     */
+    public JsonValue createLazyValue(ByteBuffer buffer) {
+        return LazyJsonValues.createValue(buffer, delegate);
     }
 
     @Override
     public JsonReader createReader(Reader reader) {
-        return delegate.createReader(reader);
+        throw new UnsupportedOperationException("Reader is not supported by this reader, please use InputStream");
     }
 
     @Override
     public JsonReader createReader(InputStream is) {
-        return delegate.createReader(is);
+        return createReaderFactory(Collections.emptyMap()).createReader(is);
     }
 
+    /**
+     * Creates a reader factory with the configuration of the parser factory for the given configuration. Readers
+     * decode MessagePack directly into a {@code JsonValue} tree.
+     *
+     * @param config
+     *            configuration, see {@link MessagePackConfig}
+     * @return reader factory
+     */
     @Override
     public JsonReaderFactory createReaderFactory(Map<String, ?> config) {
-        return delegate.createReaderFactory(config);
+        return new MessagePackJsonReaderFactory((MessagePackJsonParserFactory) createParserFactory(config));
     }
 
     @Override
     public JsonWriter createWriter(Writer writer) {
-        return delegate.createWriter(writer);
+        throw new UnsupportedOperationException("Writer is not supported by this writer, please use OutputStream");
     }
 
     @Override
     public JsonWriter createWriter(OutputStream os) {
-        return delegate.createWriter(os);
+        return createWriterFactory(Collections.emptyMap()).createWriter(os);
     }
 
+    /**
+     * Creates a writer factory with the configuration of the generator factory for the given configuration. Writers
+     * encode a {@code JsonValue} tree directly to MessagePack.
+     *
+     * @param config
+     *            configuration, see {@link MessagePackConfig}
+     * @return writer factory
+     */
     @Override
     public JsonWriterFactory createWriterFactory(Map<String, ?> config) {
-        return delegate.createWriterFactory(config);
+        return new MessagePackJsonWriterFactory((MessagePackJsonGeneratorFactory) createGeneratorFactory(config));
     }
 
     @Override
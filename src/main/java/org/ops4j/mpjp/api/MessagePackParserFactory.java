@@ -0,0 +1,160 @@
+package org.ops4j.mpjp.api;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import javax.json.JsonArray;
+import javax.json.JsonValue;
+import javax.json.bind.Jsonb;
+import javax.json.stream.JsonParser;
+import javax.json.stream.JsonParserFactory;
+
+/**
+ * A {@link JsonParserFactory} with additional methods for parsing MessagePack data already held in memory.
+ * <p>
+ * These parsers decode directly from the given array or buffer, without copying it to an intermediate buffer. The
+ * data must not be modified while the parser is in use.
+ * <p>
+ * Files are mapped into memory in regions of the size given by {@link MessagePackConfig#MAPPED_WINDOW_SIZE}, so files
+ * larger than 2 GB can be parsed. {@link #createParser(InputStream)} maps files passed as a
+ * {@link MappedInputStream}.
+ *
+ * @author hwellmann
+ *
+ */
+public interface MessagePackParserFactory extends JsonParserFactory {
+
+    /**
+     * Creates a parser for the given array.
+     *
+     * @param bytes
+     *            MessagePack data
+     * @return JSON parser
+     */
+    JsonParser createParser(byte[] bytes);
+
+    /**
+     * Creates a parser for a range of the given array.
+     *
+     * @param bytes
+     *            MessagePack data
+     * @param offset
+     *            offset of first byte
+     * @param length
+     *            number of bytes
+     * @return JSON parser
+     */
+    JsonParser createParser(byte[] bytes, int offset, int length);
+
+    /**
+     * Creates a parser for the remaining bytes of the given heap or direct buffer. The position of the buffer is not
+     * changed.
+     * <p>
+     * Direct buffers are copied to the heap if msgpack-core cannot access them on the current platform, which
+     * requires access to JDK internals on Java 9 and later.
+     *
+     * @param buffer
+     *            MessagePack data
+     * @return JSON parser
+     */
+    JsonParser createParser(ByteBuffer buffer);
+
+    /**
+     * Creates a parser for the given file, which is mapped into memory. The file is closed when the parser is closed.
+     *
+     * @param path
+     *            file with MessagePack data
+     * @return JSON parser
+     * @throws javax.json.JsonException
+     *             if the file cannot be opened
+     */
+    JsonParser createParser(Path path);
+
+    /**
+     * Creates a parser for the given file channel, starting at its current position. The file is mapped into memory.
+     * The channel is not closed when the parser is closed, and its position is not changed.
+     *
+     * @param channel
+     *            file channel with MessagePack data
+     * @return JSON parser
+     * @throws javax.json.JsonException
+     *             if the channel cannot be read
+     */
+    JsonParser createParser(FileChannel channel);
+
+    /**
+     * Creates a reader for a sequence of concatenated top-level values.
+     *
+     * @param is
+     *            input stream
+     * @return document reader
+     */
+    MessagePackDocumentReader createDocumentReader(InputStream is);
+
+    /**
+     * Reads the top-level array contained in the remaining bytes of the given buffer, decoding its elements in
+     * parallel. The element boundaries are located by a pre-scan of the array, which does not decode any values.
+     *
+     * @param buffer
+     *            MessagePack data
+     * @param pool
+     *            pool for decoding tasks
+     * @return JSON array
+     * @throws javax.json.JsonException
+     *             if the buffer does not contain an array
+     */
+    JsonArray readArray(ByteBuffer buffer, ForkJoinPool pool);
+
+    /**
+     * Reads the top-level array contained in the remaining bytes of the given buffer, binding its elements to the
+     * given class in parallel. The given JSON-B instance must be configured with a {@link MessagePackJsonProvider}.
+     *
+     * @param buffer
+     *            MessagePack data
+     * @param jsonb
+     *            JSON-B instance
+     * @param type
+     *            element class
+     * @param pool
+     *            pool for decoding tasks
+     * @param <T>
+     *            element type
+     * @return list of elements, in original order
+     * @throws javax.json.JsonException
+     *             if the buffer does not contain an array
+     */
+    <T> List<T> readArray(ByteBuffer buffer, Jsonb jsonb, Class<T> type, ForkJoinPool pool);
+
+    /**
+     * Reads the parts of the top-level structure from the given input stream selected by the given projection.
+     * Subtrees not selected are skipped without decoding. The stream is closed.
+     *
+     * @param is
+     *            input stream
+     * @param projection
+     *            selected paths
+     * @return pruned top-level structure
+     * @throws javax.json.JsonException
+     *             if the stream does not contain a structure
+     */
+    JsonValue readProjection(InputStream is, MessagePackProjection projection);
+
+    /**
+     * Reads the parts of the top-level structure contained in the remaining bytes of the given buffer selected by the
+     * given projection. Subtrees not selected are skipped without decoding. The position of the buffer is not
+     * changed.
+     *
+     * @param buffer
+     *            MessagePack data
+     * @param projection
+     *            selected paths
+     * @return pruned top-level structure
+     * @throws javax.json.JsonException
+     *             if the buffer does not contain a structure
+     */
+    JsonValue readProjection(ByteBuffer buffer, MessagePackProjection projection);
+}
@@ -0,0 +1,172 @@
+package org.ops4j.mpjp.api;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.json.JsonException;
+
+import org.ops4j.mpjp.impl.JsonPointers;
+
+/**
+ * A set of JSON Pointer (RFC 6901) paths selecting the parts of a document to be decoded by
+ * {@link MessagePackParserFactory#readProjection(java.io.InputStream, MessagePackProjection)}. All other subtrees are
+ * skipped without decoding.
+ * <p>
+ * In addition to RFC 6901, the segment {@code *} matches all elements of an array. For example, the paths
+ * {@code /header/tenant} and {@code /items/*}{@code /sku} select the tenant of the header and the SKU of each item.
+ * The segment {@code *} only applies to arrays, so an object member with the literal name {@code *} cannot be
+ * selected.
+ * <p>
+ * A projection is a tree of nodes, one for each path prefix. It is immutable and may be shared by multiple threads.
+ *
+ * @author hwellmann
+ *
+ */
+public final class MessagePackProjection {
+
+    private static final String WILDCARD = "*";
+
+    /**
+     * Mutable node collecting the paths of a projection, converted to an immutable projection when complete.
+     */
+    private static final class Node {
+
+        private final Map<String, Node> members = new HashMap<>();
+        private boolean complete;
+        private Node wildcard;
+
+        void add(List<String> segments, int index) {
+            if (complete) {
+                return;
+            }
+            if (index == segments.size()) {
+                complete = true;
+                members.clear();
+                wildcard = null;
+                return;
+            }
+            String segment = segments.get(index);
+            Node child;
+            if (WILDCARD.equals(segment)) {
+                if (wildcard == null) {
+                    wildcard = new Node();
+                }
+                child = wildcard;
+            } else {
+                child = members.computeIfAbsent(segment, key -> new Node());
+            }
+            child.add(segments, index + 1);
+        }
+
+        MessagePackProjection build() {
+            Map<String, MessagePackProjection> projections = new HashMap<>();
+            members.forEach((name, node) -> projections.put(name, node.build()));
+            return new MessagePackProjection(complete, projections, (wildcard == null) ? null : wildcard.build());
+        }
+    }
+
+    private final boolean complete;
+    private final Map<String, MessagePackProjection> members;
+    private final MessagePackProjection wildcard;
+
+    private MessagePackProjection(boolean complete, Map<String, MessagePackProjection> members,
+            MessagePackProjection wildcard) {
+        this.complete = complete;
+        this.members = members;
+        this.wildcard = wildcard;
+    }
+
+    /**
+     * Creates a projection for the given JSON Pointers.
+     *
+     * @param pointers
+     *            JSON Pointers, possibly with wildcard segments
+     * @return projection
+     * @throws JsonException
+     *             if a pointer is invalid
+     */
+    public static MessagePackProjection of(String... pointers) {
+        return of(Arrays.asList(pointers));
+    }
+
+    /**
+     * Creates a projection for the given JSON Pointers.
+     *
+     * @param pointers
+     *            JSON Pointers, possibly with wildcard segments
+     * @return projection
+     * @throws JsonException
+     *             if a pointer is invalid
+     */
+    public static MessagePackProjection of(Collection<String> pointers) {
+        Node root = new Node();
+        for (String pointer : pointers) {
+            root.add(JsonPointers.parse(pointer), 0);
+        }
+        return root.build();
+    }
+
+    /**
+     * Checks if this node is the end of a path, so the entire value is selected.
+     *
+     * @return true if the entire value is selected
+     */
+    public boolean isComplete() {
+        return complete;
+    }
+
+    /**
+     * Gets the node for the given object member. Wildcard paths do not apply to object members.
+     *
+     * @param name
+     *            member name
+     * @return node, or null if the member is not selected
+     */
+    public MessagePackProjection member(String name) {
+        return members.get(name);
+    }
+
+    /**
+     * Gets the node for the given array element, combining the paths for the given index and wildcard paths.
+     *
+     * @param index
+     *            element index
+     * @return node, or null if the element is not selected
+     */
+    public MessagePackProjection element(int index) {
+        if (members.isEmpty()) {
+            return wildcard;
+        }
+        MessagePackProjection indexed = members.get(Integer.toString(index));
+        if (indexed == null) {
+            return wildcard;
+        }
+        if (wildcard == null) {
+            return indexed;
+        }
+        return merge(indexed, wildcard);
+    }
+
+    private static MessagePackProjection merge(MessagePackProjection left, MessagePackProjection right) {
+        if (left.complete) {
+            return left;
+        }
+        if (right.complete) {
+            return right;
+        }
+        Map<String, MessagePackProjection> merged = new HashMap<>(left.members);
+        right.members.forEach((name, node) -> merged.merge(name, node, MessagePackProjection::merge));
+        MessagePackProjection mergedWildcard;
+        if (left.wildcard == null) {
+            mergedWildcard = right.wildcard;
+        } else if (right.wildcard == null) {
+            mergedWildcard = left.wildcard;
+        } else {
+            mergedWildcard = merge(left.wildcard, right.wildcard);
+        }
+        return new MessagePackProjection(false, merged, mergedWildcard);
+    }
+}
@@ -0,0 +1,34 @@
+package org.ops4j.mpjp.api;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+
+import javax.json.JsonString;
+import javax.json.JsonValue;
+import javax.json.bind.adapter.JsonbAdapter;
+
+/**
+ * JSON-B adapter writing {@code OffsetDateTime} properties as values of the MessagePack timestamp extension type, like
+ * {@link InstantAdapter}.
+ * <p>
+ * A timestamp represents an instant without an offset, so values are read with offset UTC. ISO-8601 strings are read
+ * with their original offset.
+ *
+ * @author hwellmann
+ *
+ */
+public class OffsetDateTimeAdapter implements JsonbAdapter<OffsetDateTime, JsonValue> {
+
+    @Override
+    public JsonValue adaptToJson(OffsetDateTime dateTime) {
+        return ExtensionValue.ofTimestamp(dateTime.toInstant());
+    }
+
+    @Override
+    public OffsetDateTime adaptFromJson(JsonValue value) {
+        if (value instanceof JsonString) {
+            return OffsetDateTime.parse(((JsonString) value).getString());
+        }
+        return OffsetDateTime.ofInstant(InstantAdapter.toInstant(value), ZoneOffset.UTC);
+    }
+}
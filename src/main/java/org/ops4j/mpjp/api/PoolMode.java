@@ -0,0 +1,31 @@
+package org.ops4j.mpjp.api;
+
+/**
+ * Pooling modes for parsers and generators created by a factory.
+ *
+ * @author hwellmann
+ *
+ * @see MessagePackConfig#POOL
+ */
+public enum PoolMode {
+
+    /**
+     * Creates a new instance for each call.
+     */
+    NONE,
+
+    /**
+     * Keeps one instance per thread and factory. The instance is reused by the next call on the same thread if it has
+     * been closed. JSON-B closes its generators, but not its parsers, so only generators are reused with JSON-B.
+     * <p>
+     * Thread-local instances are only released when their thread terminates, so this mode should not be used with
+     * short-lived factories.
+     */
+    THREAD_LOCAL,
+
+    /**
+     * Keeps a bounded number of idle instances per factory, shared by all threads. Instances are returned to the pool
+     * when closed. The pool size is configured by {@link MessagePackConfig#POOL_SIZE}.
+     */
+    BOUNDED
+}
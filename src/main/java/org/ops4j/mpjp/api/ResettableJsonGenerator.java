@@ -0,0 +1,23 @@
+package org.ops4j.mpjp.api;
+
+import java.io.OutputStream;
+
+import javax.json.stream.JsonGenerator;
+
+/**
+ * A {@link JsonGenerator} which can be rebound to a new output stream, reusing its internal buffers.
+ *
+ * @author hwellmann
+ *
+ */
+public interface ResettableJsonGenerator extends JsonGenerator {
+
+    /**
+     * Discards the current state of this generator, including any output not yet written, and prepares it for
+     * writing to the given stream. The previous stream is not closed.
+     *
+     * @param os
+     *            output stream for MessagePack data
+     */
+    void reset(OutputStream os);
+}
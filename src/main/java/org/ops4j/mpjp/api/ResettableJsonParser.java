@@ -0,0 +1,23 @@
+package org.ops4j.mpjp.api;
+
+import java.io.InputStream;
+
+import javax.json.stream.JsonParser;
+
+/**
+ * A {@link JsonParser} which can be rebound to a new input stream, reusing its internal buffers.
+ *
+ * @author hwellmann
+ *
+ */
+public interface ResettableJsonParser extends JsonParser {
+
+    /**
+     * Discards the current state of this parser and prepares it for reading from the given stream. The previous
+     * stream is not closed.
+     *
+     * @param is
+     *            input stream with MessagePack data
+     */
+    void reset(InputStream is);
+}
@@ -0,0 +1,46 @@
+package org.ops4j.mpjp.impl;
+
+import java.io.IOException;
+
+import javax.json.bind.JsonbException;
+import javax.json.bind.adapter.JsonbAdapter;
+
+/**
+ * Codec applying a JSON-B adapter, writing and reading the adapted values with the codec for the adapted type.
+ *
+ * @author hwellmann
+ *
+ */
+final class AdapterCodec implements ValueCodec {
+
+    private final JsonbAdapter<Object, Object> adapter;
+    private final ValueCodec adaptedCodec;
+
+    AdapterCodec(JsonbAdapter<Object, Object> adapter, ValueCodec adaptedCodec) {
+        this.adapter = adapter;
+        this.adaptedCodec = adaptedCodec;
+    }
+
+    @Override
+    public void write(BindingWriter writer, Object value) throws IOException {
+        Object adapted;
+        try {
+            adapted = adapter.adaptToJson(value);
+            // CHECKSTYLE:SKIP
+        } catch (Exception exc) {
+            throw new JsonbException(exc.getMessage(), exc);
+        }
+        writer.write(adaptedCodec, adapted);
+    }
+
+    @Override
+    public Object read(BindingReader reader) throws IOException {
+        Object adapted = adaptedCodec.read(reader);
+        try {
+            return adapter.adaptFromJson(adapted);
+            // CHECKSTYLE:SKIP
+        } catch (Exception exc) {
+            throw new JsonbException(exc.getMessage(), exc);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package org.ops4j.mpjp.impl;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.json.bind.JsonbException;
+
+/**
+ * Codec for a plain Java bean, writing its readable properties as a MessagePack map in JSON-B order.
+ * <p>
+ * A bean codec is created before the codecs of its properties and initialized afterwards, so that recursive types
+ * can refer to it.
+ *
+ * @author hwellmann
+ *
+ */
+final class BeanCodec implements ValueCodec {
+
+    private final Class<?> type;
+
+    /** Default constructor of type {@code ()Object}. */
+    private final MethodHandle constructor;
+
+    private PropertyCodec[] readableProperties;
+    private Map<String, PropertyCodec> writableProperties;
+
+    BeanCodec(Class<?> type, MethodHandle constructor) {
+        this.type = type;
+        this.constructor = constructor;
+    }
+
+    /**
+     * Initializes this codec with the codecs of all properties.
+     *
+     * @param properties
+     *            property codecs in serialization order
+     */
+    void init(List<PropertyCodec> properties) {
+        this.readableProperties = properties.stream().filter(PropertyCodec::isReadable).toArray(PropertyCodec[]::new);
+        this.writableProperties = new HashMap<>();
+        for (PropertyCodec property : properties) {
+            if (property.isWritable()) {
+                writableProperties.put(property.getReadName(), property);
+            }
+        }
+    }
+
+    @Override
+    public void write(BindingWriter writer, Object value) throws IOException {
+        if (value.getClass() != type) {
+            // a subclass has properties of its own
+            writer.writeObject(value);
+            return;
+        }
+        // each getter is invoked once, before the map header with the number of non-null values
+        Object[] values = new Object[readableProperties.length];
+        int size = 0;
+        for (int i = 0; i < values.length; i++) {
+            values[i] = readableProperties[i].get(value);
+            if (values[i] != null) {
+                size++;
+            }
+        }
+        writer.packer().packMapHeader(size);
+        for (int i = 0; i < values.length; i++) {
+            readableProperties[i].write(writer, value, values[i]);
+        }
+    }
+
+    @Override
+    public Object read(BindingReader reader) throws IOException {
+        int size = reader.readMapHeader();
+        Object bean;
+        try {
+            bean = (Object) constructor.invokeExact();
+            // CHECKSTYLE:SKIP
+        } catch (Throwable exc) {
+            if (exc instanceof Error) {
+                throw (Error) exc;
+            }
+            throw new JsonbException("Cannot create instance of " + type.getName(), exc);
+        }
+        for (int i = 0; i < size; i++) {
+            PropertyCodec property = writableProperties.get(reader.readKey());
+            if (property == null) {
+                reader.skipValue();
+            } else {
+                property.read(reader, bean);
+            }
+        }
+        return bean;
+    }
+}
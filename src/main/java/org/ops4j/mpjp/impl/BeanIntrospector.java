@@ -0,0 +1,299 @@
+package org.ops4j.mpjp.impl;
+
+import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.AccessibleObject;
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Executable;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.json.bind.adapter.JsonbAdapter;
+import javax.json.bind.annotation.JsonbCreator;
+import javax.json.bind.annotation.JsonbProperty;
+import javax.json.bind.annotation.JsonbTransient;
+import javax.json.bind.annotation.JsonbTypeAdapter;
+
+/**
+ * Finds the properties of plain Java beans, following the default mapping of JSON-B.
+ * <p>
+ * Properties are public fields and public getters and setters. Static and transient fields are ignored. Like Yasson,
+ * the properties of each superclass precede the properties of its subclasses, and the properties declared by each
+ * class are sorted by name.
+ * <p>
+ * The annotations {@code @JsonbProperty}, {@code @JsonbTransient} and {@code @JsonbTypeAdapter} on properties are
+ * supported. Classes with any other JSON-B annotation on the class, its package or any of its members, and classes
+ * without a non-private default constructor, are not supported.
+ *
+ * @author hwellmann
+ *
+ */
+final class BeanIntrospector {
+
+    private static final String ANNOTATION_PACKAGE = JsonbProperty.class.getPackage().getName();
+
+    private static final String GET = "get";
+    private static final String IS = "is";
+    private static final String SET = "set";
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    /**
+     * Accessors of a property found so far.
+     */
+    private static final class Candidate {
+        final String javaName;
+        final int level;
+        Field field;
+        Method getter;
+        Method setter;
+        BeanProperty property;
+
+        Candidate(String javaName, int level) {
+            this.javaName = javaName;
+            this.level = level;
+        }
+    }
+
+    /**
+     * Thrown internally for unsupported classes.
+     */
+    private static final class UnsupportedException extends Exception {
+
+        private static final long serialVersionUID = 1L;
+
+        UnsupportedException(String message) {
+            super(message, null, false, false);
+        }
+    }
+
+    private BeanIntrospector() {
+        // preventing instantiation
+    }
+
+    /**
+     * Gets the default constructor of the given bean class.
+     *
+     * @param type
+     *            bean class
+     * @return constructor handle of type {@code ()Object}, or null if the class is not a supported bean
+     */
+    static MethodHandle findConstructor(Class<?> type) {
+        if (type.isInterface() || type.isArray() || type.isPrimitive() || type.isEnum() || type.isAnonymousClass()
+                || type.isLocalClass() || Modifier.isAbstract(type.getModifiers())
+                || (type.isMemberClass() && !Modifier.isStatic(type.getModifiers()))
+                || type.getName().startsWith("java.") || type.getName().startsWith("javax.")) {
+            return null;
+        }
+        try {
+            Constructor<?> constructor = type.getDeclaredConstructor();
+            if (Modifier.isPrivate(constructor.getModifiers())) {
+                return null;
+            }
+            constructor.setAccessible(true);
+            return LOOKUP.unreflectConstructor(constructor).asType(MethodType.methodType(Object.class));
+            // CHECKSTYLE:SKIP
+        } catch (NoSuchMethodException | IllegalAccessException | RuntimeException exc) {
+            return null;
+        }
+    }
+
+    /**
+     * Finds the properties of the given bean class.
+     *
+     * @param type
+     *            bean class
+     * @return properties in serialization order, or null if the class is not supported
+     */
+    static List<BeanProperty> findProperties(Class<?> type) {
+        try {
+            return introspect(type);
+            // CHECKSTYLE:SKIP
+        } catch (UnsupportedException | ReflectiveOperationException | RuntimeException exc) {
+            return null;
+        }
+    }
+
+    private static List<BeanProperty> introspect(Class<?> type) throws ReflectiveOperationException,
+            UnsupportedException {
+        List<Class<?>> hierarchy = new ArrayList<>();
+        for (Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+            hierarchy.add(0, c);
+        }
+        Map<String, Candidate> candidates = new LinkedHashMap<>();
+        for (int level = 0; level < hierarchy.size(); level++) {
+            collectCandidates(hierarchy.get(level), level, candidates);
+        }
+        List<Candidate> found = new ArrayList<>();
+        for (Candidate candidate : candidates.values()) {
+            if (!isTransient(candidate)) {
+                candidate.property = toProperty(candidate);
+                if (candidate.property != null) {
+                    found.add(candidate);
+                }
+            }
+        }
+        found.sort(Comparator.comparingInt((Candidate c) -> c.level).thenComparing(c -> c.property.getWriteName()));
+        List<BeanProperty> properties = new ArrayList<>(found.size());
+        for (Candidate candidate : found) {
+            properties.add(candidate.property);
+        }
+        return properties;
+    }
+
+    private static void collectCandidates(Class<?> type, int level, Map<String, Candidate> candidates)
+            throws UnsupportedException {
+        checkAnnotations(type);
+        if (type.getPackage() != null) {
+            checkAnnotations(type.getPackage());
+        }
+        for (Constructor<?> constructor : type.getDeclaredConstructors()) {
+            checkCreator(constructor);
+        }
+        for (Field field : type.getDeclaredFields()) {
+            int modifiers = field.getModifiers();
+            if (!Modifier.isStatic(modifiers) && !Modifier.isTransient(modifiers) && !field.isSynthetic()) {
+                candidate(candidates, field.getName(), level).field = field;
+            }
+        }
+        for (Method method : type.getDeclaredMethods()) {
+            int modifiers = method.getModifiers();
+            if (Modifier.isStatic(modifiers)) {
+                checkCreator(method);
+            } else if (Modifier.isPublic(modifiers) && !method.isBridge() && !method.isSynthetic()) {
+                addAccessor(candidates, method, level);
+            }
+        }
+    }
+
+    private static void addAccessor(Map<String, Candidate> candidates, Method method, int level) {
+        String name = method.getName();
+        int parameterCount = method.getParameterCount();
+        Class<?> returnType = method.getReturnType();
+        if (parameterCount == 0 && name.length() > GET.length() && name.startsWith(GET) && returnType != void.class) {
+            candidate(candidates, decapitalize(name, GET.length()), level).getter = method;
+        } else if (parameterCount == 0 && name.length() > IS.length() && name.startsWith(IS)
+                && (returnType == boolean.class || returnType == Boolean.class)) {
+            candidate(candidates, decapitalize(name, IS.length()), level).getter = method;
+        } else if (parameterCount == 1 && name.length() > SET.length() && name.startsWith(SET)
+                && returnType == void.class) {
+            candidate(candidates, decapitalize(name, SET.length()), level).setter = method;
+        }
+    }
+
+    private static Candidate candidate(Map<String, Candidate> candidates, String javaName, int level) {
+        return candidates.computeIfAbsent(javaName, n -> new Candidate(n, level));
+    }
+
+    private static String decapitalize(String name, int prefixLength) {
+        return Character.toLowerCase(name.charAt(prefixLength)) + name.substring(prefixLength + 1);
+    }
+
+    private static boolean isTransient(Candidate candidate) {
+        return isAnnotated(candidate.field, JsonbTransient.class) || isAnnotated(candidate.getter, JsonbTransient.class)
+                || isAnnotated(candidate.setter, JsonbTransient.class);
+    }
+
+    private static boolean isAnnotated(AccessibleObject member, Class<? extends Annotation> annotation) {
+        return member != null && member.isAnnotationPresent(annotation);
+    }
+
+    private static BeanProperty toProperty(Candidate candidate) throws ReflectiveOperationException,
+            UnsupportedException {
+        checkAnnotations(candidate.field);
+        checkAnnotations(candidate.getter);
+        checkAnnotations(candidate.setter);
+
+        Field field = candidate.field;
+        boolean publicField = field != null && Modifier.isPublic(field.getModifiers());
+        MethodHandle getter = null;
+        Type readType = null;
+        Class<?> rawType = null;
+        if (candidate.getter != null) {
+            candidate.getter.setAccessible(true);
+            getter = LOOKUP.unreflect(candidate.getter);
+            readType = candidate.getter.getGenericReturnType();
+            rawType = candidate.getter.getReturnType();
+        } else if (publicField) {
+            field.setAccessible(true);
+            getter = LOOKUP.unreflectGetter(field);
+            readType = field.getGenericType();
+            rawType = field.getType();
+        }
+        MethodHandle setter = null;
+        Type writeType = null;
+        if (candidate.setter != null) {
+            candidate.setter.setAccessible(true);
+            setter = LOOKUP.unreflect(candidate.setter);
+            writeType = candidate.setter.getGenericParameterTypes()[0];
+            rawType = candidate.setter.getParameterTypes()[0];
+        } else if (publicField && !Modifier.isFinal(field.getModifiers())) {
+            field.setAccessible(true);
+            setter = LOOKUP.unreflectSetter(field);
+            writeType = field.getGenericType();
+            rawType = field.getType();
+        }
+        if (getter == null && setter == null) {
+            return null;
+        }
+        if (readType != null && writeType != null && !readType.equals(writeType)) {
+            throw new UnsupportedException("accessor types of " + candidate.javaName + " differ");
+        }
+        String name = propertyName(field, candidate.javaName);
+        return new BeanProperty(propertyName(candidate.getter, name), propertyName(candidate.setter, name),
+                (readType == null) ? writeType : readType, rawType, getter, setter, findAdapter(candidate));
+    }
+
+    private static String propertyName(AccessibleObject member, String defaultName) throws UnsupportedException {
+        JsonbProperty annotation = (member == null) ? null : member.getAnnotation(JsonbProperty.class);
+        if (annotation == null) {
+            return defaultName;
+        }
+        if (annotation.nillable()) {
+            throw new UnsupportedException("nillable property");
+        }
+        return annotation.value().isEmpty() ? defaultName : annotation.value();
+    }
+
+    private static JsonbAdapter<?, ?> findAdapter(Candidate candidate) throws ReflectiveOperationException {
+        for (AccessibleObject member : new AccessibleObject[] { candidate.getter, candidate.field,
+            candidate.setter }) {
+            JsonbTypeAdapter annotation = (member == null) ? null : member.getAnnotation(JsonbTypeAdapter.class);
+            if (annotation != null) {
+                Constructor<?> constructor = annotation.value().getDeclaredConstructor();
+                constructor.setAccessible(true);
+                return (JsonbAdapter<?, ?>) constructor.newInstance();
+            }
+        }
+        return null;
+    }
+
+    private static void checkCreator(Executable executable) throws UnsupportedException {
+        if (executable.isAnnotationPresent(JsonbCreator.class)) {
+            throw new UnsupportedException("creator");
+        }
+    }
+
+    private static void checkAnnotations(AnnotatedElement element) throws UnsupportedException {
+        if (element == null) {
+            return;
+        }
+        for (Annotation annotation : element.getAnnotations()) {
+            Class<? extends Annotation> annotationType = annotation.annotationType();
+            if (annotationType.getName().startsWith(ANNOTATION_PACKAGE) && annotationType != JsonbProperty.class
+                    && annotationType != JsonbTransient.class && annotationType != JsonbTypeAdapter.class) {
+                throw new UnsupportedException(annotationType.getName());
+            }
+        }
+    }
+}
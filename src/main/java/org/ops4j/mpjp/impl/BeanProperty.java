@@ -0,0 +1,97 @@
+package org.ops4j.mpjp.impl;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.reflect.Type;
+
+import javax.json.bind.adapter.JsonbAdapter;
+
+/**
+ * A bean property found by a {@link BeanIntrospector}, with method handles for its accessors.
+ *
+ * @author hwellmann
+ *
+ */
+final class BeanProperty {
+
+    private final String writeName;
+    private final String readName;
+    private final Type type;
+    private final Class<?> rawType;
+    private final MethodHandle getter;
+    private final MethodHandle setter;
+    private final JsonbAdapter<?, ?> adapter;
+
+    BeanProperty(String writeName, String readName, Type type, Class<?> rawType, MethodHandle getter,
+            MethodHandle setter, JsonbAdapter<?, ?> adapter) {
+        this.writeName = writeName;
+        this.readName = readName;
+        this.type = type;
+        this.rawType = rawType;
+        this.getter = getter;
+        this.setter = setter;
+        this.adapter = adapter;
+    }
+
+    /**
+     * Gets the map key used for serialization.
+     *
+     * @return name
+     */
+    String getWriteName() {
+        return writeName;
+    }
+
+    /**
+     * Gets the map key used for deserialization.
+     *
+     * @return name
+     */
+    String getReadName() {
+        return readName;
+    }
+
+    /**
+     * Gets the generic type of the property.
+     *
+     * @return type
+     */
+    Type getType() {
+        return type;
+    }
+
+    /**
+     * Gets the raw type of the property.
+     *
+     * @return raw type
+     */
+    Class<?> getRawType() {
+        return rawType;
+    }
+
+    /**
+     * Gets the getter, taking the bean.
+     *
+     * @return getter handle, or null if the property is not readable
+     */
+    MethodHandle getGetter() {
+        return getter;
+    }
+
+    /**
+     * Gets the setter, taking the bean and the value.
+     *
+     * @return setter handle, or null if the property is not writable
+     */
+    MethodHandle getSetter() {
+        return setter;
+    }
+
+    /**
+     * Gets the adapter declared by {@code @JsonbTypeAdapter}.
+     *
+     * @return adapter, or null
+     */
+    JsonbAdapter<?, ?> getAdapter() {
+        return adapter;
+    }
+}
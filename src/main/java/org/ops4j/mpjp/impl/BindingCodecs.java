@@ -0,0 +1,260 @@
+package org.ops4j.mpjp.impl;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+import javax.json.JsonValue;
+import javax.json.bind.JsonbConfig;
+import javax.json.bind.adapter.JsonbAdapter;
+import javax.json.bind.config.PropertyOrderStrategy;
+
+/**
+ * Creates and caches the codecs of a {@link MessagePackJsonBinder}.
+ * <p>
+ * Codecs are created on first use. A type is unsupported if any type it depends on is unsupported. Unsupported types
+ * are cached as well, so that each type is introspected at most once.
+ *
+ * @author hwellmann
+ *
+ */
+final class BindingCodecs {
+
+    private final ConcurrentMap<Type, Optional<ValueCodec>> codecs = new ConcurrentHashMap<>();
+
+    /** Codecs created by the current call of {@link #create(Type)}, not yet published. */
+    private final Map<Type, ValueCodec> pending = new HashMap<>();
+
+    /** Adapters from the {@code JsonbConfig}, by original type. */
+    private final Map<Type, JsonbAdapter<?, ?>> adapters = new HashMap<>();
+
+    private BindingCodecs() {
+        // use factory method
+    }
+
+    /**
+     * Creates the codecs for the given JSON-B configuration.
+     *
+     * @param config
+     *            JSON-B configuration
+     * @return codecs, or null if the configuration has any customization not supported by codecs
+     */
+    static BindingCodecs of(JsonbConfig config) {
+        BindingCodecs bindingCodecs = new BindingCodecs();
+        for (Map.Entry<String, Object> entry : config.getAsMap().entrySet()) {
+            if (!bindingCodecs.configure(entry.getKey(), entry.getValue())) {
+                return null;
+            }
+        }
+        return bindingCodecs;
+    }
+
+    private boolean configure(String key, Object value) {
+        switch (key) {
+        case JsonbConfig.FORMATTING:
+        case JsonbConfig.ENCODING:
+            return true;
+        case JsonbConfig.NULL_VALUES:
+            return Boolean.FALSE.equals(value);
+        case JsonbConfig.PROPERTY_ORDER_STRATEGY:
+            return PropertyOrderStrategy.LEXICOGRAPHICAL.equals(value);
+        case JsonbConfig.ADAPTERS:
+            for (JsonbAdapter<?, ?> adapter : (JsonbAdapter<?, ?>[]) value) {
+                Type[] types = adapterTypes(adapter.getClass());
+                if (types == null) {
+                    return false;
+                }
+                adapters.put(types[0], adapter);
+            }
+            return true;
+        default:
+            return false;
+        }
+    }
+
+    /**
+     * Gets the codec for the given type, creating it if needed.
+     *
+     * @param type
+     *            Java type
+     * @return codec, or null if the type is not supported
+     */
+    ValueCodec codecFor(Type type) {
+        Optional<ValueCodec> codec = codecs.get(type);
+        if (codec == null) {
+            codec = create(type);
+        }
+        return codec.orElse(null);
+    }
+
+    private synchronized Optional<ValueCodec> create(Type type) {
+        Optional<ValueCodec> codec = codecs.get(type);
+        if (codec != null) {
+            return codec;
+        }
+        codec = Optional.ofNullable(lookup(type));
+        if (codec.isPresent()) {
+            pending.forEach((t, c) -> codecs.put(t, Optional.of(c)));
+        }
+        pending.clear();
+        codecs.put(type, codec);
+        return codec;
+    }
+
+    private ValueCodec lookup(Type type) {
+        Optional<ValueCodec> codec = codecs.get(type);
+        if (codec != null) {
+            return codec.orElse(null);
+        }
+        ValueCodec pendingCodec = pending.get(type);
+        if (pendingCodec != null) {
+            return pendingCodec;
+        }
+        pendingCodec = resolve(type);
+        if (pendingCodec != null) {
+            pending.put(type, pendingCodec);
+        }
+        return pendingCodec;
+    }
+
+    @SuppressWarnings("unchecked")
+    private ValueCodec resolve(Type type) {
+        JsonbAdapter<?, ?> adapter = adapters.get(type);
+        if (adapter != null) {
+            return adapterCodec(adapter);
+        }
+        if (type instanceof Class) {
+            Class<?> rawType = (Class<?>) type;
+            ValueCodec codec = ScalarCodec.of(rawType);
+            if (codec != null) {
+                return codec;
+            }
+            if (Enum.class.isAssignableFrom(rawType) && rawType != Enum.class) {
+                // constants with a body are instances of an anonymous subclass
+                Class<?> enumType = rawType.isEnum() ? rawType : rawType.getSuperclass();
+                return new EnumCodec((Class<? extends Enum<?>>) enumType);
+            }
+            if (JsonValue.class.isAssignableFrom(rawType)) {
+                return new JsonValueCodec(rawType);
+            }
+            if (rawType.isArray()) {
+                return PrimitiveArrayCodec.of(rawType.getComponentType());
+            }
+            return beanCodec(rawType);
+        }
+        if (type instanceof ParameterizedType) {
+            ParameterizedType parameterizedType = (ParameterizedType) type;
+            Supplier<Collection<Object>> factory = collectionFactory(parameterizedType.getRawType());
+            if (factory == null) {
+                return null;
+            }
+            ValueCodec elementCodec = lookup(parameterizedType.getActualTypeArguments()[0]);
+            return (elementCodec == null) ? null : new CollectionCodec(factory, elementCodec);
+        }
+        return null;
+    }
+
+    private static Supplier<Collection<Object>> collectionFactory(Type rawType) {
+        if (rawType == List.class || rawType == Collection.class || rawType == ArrayList.class) {
+            return ArrayList::new;
+        }
+        if (rawType == Set.class || rawType == HashSet.class) {
+            return HashSet::new;
+        }
+        if (rawType == LinkedHashSet.class) {
+            return LinkedHashSet::new;
+        }
+        return null;
+    }
+
+    private ValueCodec beanCodec(Class<?> type) {
+        MethodHandle constructor = BeanIntrospector.findConstructor(type);
+        if (constructor == null) {
+            return null;
+        }
+        List<BeanProperty> properties = BeanIntrospector.findProperties(type);
+        if (properties == null) {
+            return null;
+        }
+        BeanCodec codec = new BeanCodec(type, constructor);
+        pending.put(type, codec);
+        List<PropertyCodec> propertyCodecs = new ArrayList<>(properties.size());
+        for (BeanProperty property : properties) {
+            ValueCodec valueCodec = null;
+            if (property.getAdapter() != null) {
+                valueCodec = adapterCodec(property.getAdapter());
+            } else if (!PropertyCodec.isPrimitive(property.getRawType())) {
+                valueCodec = lookup(property.getType());
+            }
+            // primitive properties without adapter have dedicated property codecs
+            if (valueCodec == null
+                    && (property.getAdapter() != null || !PropertyCodec.isPrimitive(property.getRawType()))) {
+                return null;
+            }
+            propertyCodecs.add(PropertyCodec.of(property, valueCodec));
+        }
+        codec.init(propertyCodecs);
+        return codec;
+    }
+
+    @SuppressWarnings("unchecked")
+    private ValueCodec adapterCodec(JsonbAdapter<?, ?> adapter) {
+        Type[] types = adapterTypes(adapter.getClass());
+        if (types == null) {
+            return null;
+        }
+        ValueCodec adaptedCodec = lookup(types[1]);
+        return (adaptedCodec == null) ? null : new AdapterCodec((JsonbAdapter<Object, Object>) adapter, adaptedCodec);
+    }
+
+    /**
+     * Finds the original and the adapted type of the given adapter class, resolving type variables bound by
+     * superclasses.
+     *
+     * @param adapterClass
+     *            adapter class
+     * @return original and adapted type, or null if they cannot be resolved
+     */
+    static Type[] adapterTypes(Class<?> adapterClass) {
+        Map<TypeVariable<?>, Type> bindings = new HashMap<>();
+        for (Class<?> c = adapterClass; c != null;) {
+            for (Type itf : c.getGenericInterfaces()) {
+                if (itf instanceof ParameterizedType && ((ParameterizedType) itf).getRawType() == JsonbAdapter.class) {
+                    Type[] arguments = ((ParameterizedType) itf).getActualTypeArguments();
+                    Type[] types = { bind(arguments[0], bindings), bind(arguments[1], bindings) };
+                    return (types[0] == null || types[1] == null) ? null : types;
+                }
+            }
+            Type superclass = c.getGenericSuperclass();
+            if (superclass instanceof ParameterizedType) {
+                ParameterizedType parameterizedType = (ParameterizedType) superclass;
+                c = (Class<?>) parameterizedType.getRawType();
+                TypeVariable<?>[] variables = c.getTypeParameters();
+                Type[] arguments = parameterizedType.getActualTypeArguments();
+                for (int i = 0; i < variables.length; i++) {
+                    bindings.put(variables[i], bind(arguments[i], bindings));
+                }
+            } else {
+                c = (Class<?>) superclass;
+            }
+        }
+        return null;
+    }
+
+    private static Type bind(Type type, Map<TypeVariable<?>, Type> bindings) {
+        return (type instanceof TypeVariable) ? bindings.get(type) : type;
+    }
+}
@@ -0,0 +1,216 @@
+package org.ops4j.mpjp.impl;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+import javax.json.JsonNumber;
+import javax.json.JsonString;
+import javax.json.JsonValue;
+import javax.json.bind.JsonbException;
+
+import org.msgpack.core.MessageIntegerOverflowException;
+import org.msgpack.core.MessageUnpacker;
+import org.msgpack.value.ValueType;
+
+/**
+ * State of a single {@link MessagePackJsonBinder#fromMessagePack(byte[], java.lang.reflect.Type)} call, shared by all
+ * codecs involved.
+ * <p>
+ * Scalars are read directly from the unpacker in the common case, i.e. when the MessagePack type matches the Java
+ * type. Other representations accepted by JSON-B, like decimal extension types or numeric strings, are read as a
+ * {@code JsonValue} and converted.
+ *
+ * @author hwellmann
+ *
+ */
+final class BindingReader {
+
+    private static final String CANNOT_BIND = "Cannot bind ";
+    private static final String TO = " to ";
+
+    private final MessageUnpacker unpacker;
+    private final MessagePackJsonParser valueReader;
+
+    BindingReader(MessageUnpacker unpacker, MessagePackJsonParser valueReader) {
+        this.unpacker = unpacker;
+        this.valueReader = valueReader;
+    }
+
+    /**
+     * Reads a value with the given codec.
+     *
+     * @param codec
+     *            codec
+     * @return value, or null for {@code nil}
+     * @throws IOException
+     *             on read error
+     */
+    Object read(ValueCodec codec) throws IOException {
+        if (readNil()) {
+            return null;
+        }
+        return codec.read(this);
+    }
+
+    /**
+     * Consumes the next value if it is {@code nil}.
+     *
+     * @return true if the next value was {@code nil}
+     * @throws IOException
+     *             on read error
+     */
+    boolean readNil() throws IOException {
+        if (unpacker.getNextFormat().getValueType() == ValueType.NIL) {
+            unpacker.unpackNil();
+            return true;
+        }
+        return false;
+    }
+
+    void skipValue() throws IOException {
+        unpacker.skipValue();
+    }
+
+    String readKey() throws IOException {
+        return valueReader.readKey();
+    }
+
+    int readMapHeader() throws IOException {
+        expect(ValueType.MAP);
+        return unpacker.unpackMapHeader();
+    }
+
+    int readArrayHeader() throws IOException {
+        expect(ValueType.ARRAY);
+        return unpacker.unpackArrayHeader();
+    }
+
+    private void expect(ValueType expected) throws IOException {
+        ValueType valueType = unpacker.getNextFormat().getValueType();
+        if (valueType != expected) {
+            throw new JsonbException("Expected " + expected + ", found " + valueType);
+        }
+    }
+
+    JsonValue readJsonValue() {
+        return valueReader.readJsonValue();
+    }
+
+    String readString() throws IOException {
+        if (unpacker.getNextFormat().getValueType() == ValueType.STRING) {
+            return unpacker.unpackString();
+        }
+        JsonValue value = readJsonValue();
+        if (value instanceof JsonString) {
+            return ((JsonString) value).getString();
+        }
+        return value.toString();
+    }
+
+    boolean readBoolean() throws IOException {
+        switch (unpacker.getNextFormat().getValueType()) {
+        case BOOLEAN:
+            return unpacker.unpackBoolean();
+        case STRING:
+            return Boolean.parseBoolean(unpacker.unpackString());
+        default:
+            throw mismatch(readJsonValue(), boolean.class);
+        }
+    }
+
+    long readLong() throws IOException {
+        switch (unpacker.getNextFormat().getValueType()) {
+        case INTEGER:
+            try {
+                return unpacker.unpackLong();
+            } catch (MessageIntegerOverflowException exc) {
+                throw new JsonbException("Integer overflow: " + exc.getBigInteger(), exc);
+            }
+        case FLOAT:
+            double value = unpacker.unpackDouble();
+            if ((long) value == value) {
+                return (long) value;
+            }
+            throw new JsonbException(CANNOT_BIND + value + " to long");
+        default:
+            return toBigDecimal(readJsonValue(), long.class).longValueExact();
+        }
+    }
+
+    /**
+     * Reads an integer in the given range.
+     *
+     * @param min
+     *            minimum value
+     * @param max
+     *            maximum value
+     * @param javaType
+     *            Java type for error messages
+     * @return value
+     * @throws IOException
+     *             on read error
+     */
+    long readLong(long min, long max, Class<?> javaType) throws IOException {
+        long value = readLong();
+        if (value < min || value > max) {
+            throw new JsonbException(CANNOT_BIND + value + TO + javaType.getName());
+        }
+        return value;
+    }
+
+    double readDouble() throws IOException {
+        switch (unpacker.getNextFormat().getValueType()) {
+        case FLOAT:
+            return unpacker.unpackDouble();
+        case INTEGER:
+            try {
+                return unpacker.unpackLong();
+            } catch (MessageIntegerOverflowException exc) {
+                return exc.getBigInteger().doubleValue();
+            }
+        default:
+            return toBigDecimal(readJsonValue(), double.class).doubleValue();
+        }
+    }
+
+    BigDecimal readBigDecimal() throws IOException {
+        switch (unpacker.getNextFormat().getValueType()) {
+        case INTEGER:
+            try {
+                return BigDecimal.valueOf(unpacker.unpackLong());
+            } catch (MessageIntegerOverflowException exc) {
+                return new BigDecimal(exc.getBigInteger());
+            }
+        case FLOAT:
+            return BigDecimal.valueOf(unpacker.unpackDouble());
+        default:
+            return toBigDecimal(readJsonValue(), BigDecimal.class);
+        }
+    }
+
+    BigInteger readBigInteger() throws IOException {
+        if (unpacker.getNextFormat().getValueType() == ValueType.INTEGER) {
+            return unpacker.unpackBigInteger();
+        }
+        return readBigDecimal().toBigIntegerExact();
+    }
+
+    private static BigDecimal toBigDecimal(JsonValue value, Class<?> javaType) {
+        if (value instanceof JsonNumber) {
+            return ((JsonNumber) value).bigDecimalValue();
+        }
+        if (value instanceof JsonString) {
+            try {
+                return new BigDecimal(((JsonString) value).getString());
+            } catch (NumberFormatException exc) {
+                throw new JsonbException(CANNOT_BIND + value + TO + javaType.getName(), exc);
+            }
+        }
+        throw mismatch(value, javaType);
+    }
+
+    private static JsonbException mismatch(JsonValue value, Class<?> javaType) {
+        return new JsonbException(CANNOT_BIND + value.getValueType() + TO + javaType.getName());
+    }
+}
@@ -0,0 +1,160 @@
+package org.ops4j.mpjp.impl;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+import javax.json.JsonValue;
+import javax.json.bind.Jsonb;
+
+import org.msgpack.core.MessagePacker;
+
+/**
+ * State of a single {@link MessagePackJsonBinder#toMessagePack(Object)} call, shared by all codecs involved.
+ *
+ * @author hwellmann
+ *
+ */
+final class BindingWriter {
+
+    /** Number of bits of the largest integers represented exactly by a double. */
+    private static final int MAX_SAFE_BITS = 53;
+
+    private static final long MAX_SAFE_INTEGER = (1L << MAX_SAFE_BITS) - 1;
+
+    private final MessagePacker packer;
+    private final BindingCodecs codecs;
+    private final NumberCodec numberCodec;
+    private final JsonValueEncoder encoder;
+    private final Jsonb jsonb;
+
+    BindingWriter(MessagePacker packer, BindingCodecs codecs, NumberCodec numberCodec, JsonValueEncoder encoder,
+            Jsonb jsonb) {
+        this.packer = packer;
+        this.codecs = codecs;
+        this.numberCodec = numberCodec;
+        this.encoder = encoder;
+        this.jsonb = jsonb;
+    }
+
+    MessagePacker packer() {
+        return packer;
+    }
+
+    /**
+     * Writes a value of any type, using the codec for its runtime class. Values without a codec are serialized by
+     * JSON-B and embedded as a complete MessagePack value.
+     *
+     * @param value
+     *            value, may be null
+     * @throws IOException
+     *             on write error
+     */
+    void writeObject(Object value) throws IOException {
+        if (value == null) {
+            packer.packNil();
+            return;
+        }
+        ValueCodec codec = codecs.codecFor(value.getClass());
+        if (codec == null) {
+            ByteArrayOutputStream baos = new ByteArrayOutputStream();
+            jsonb.toJson(value, baos);
+            packer.writePayload(baos.toByteArray());
+        } else {
+            codec.write(this, value);
+        }
+    }
+
+    /**
+     * Writes a value with the given codec.
+     *
+     * @param codec
+     *            codec
+     * @param value
+     *            value, may be null
+     * @throws IOException
+     *             on write error
+     */
+    void write(ValueCodec codec, Object value) throws IOException {
+        if (value == null) {
+            packer.packNil();
+        } else {
+            codec.write(this, value);
+        }
+    }
+
+    void writeInt(int value) throws IOException {
+        packer.packInt(value);
+    }
+
+    /**
+     * Writes a long like JSON-B, which writes values beyond the integer range of a double as strings.
+     *
+     * @param value
+     *            value
+     * @throws IOException
+     *             on write error
+     */
+    void writeLong(long value) throws IOException {
+        if (value < -MAX_SAFE_INTEGER || value > MAX_SAFE_INTEGER) {
+            packer.packString(Long.toString(value));
+        } else {
+            packer.packLong(value);
+        }
+    }
+
+    void writeDouble(double value) throws IOException {
+        packer.packDouble(value);
+    }
+
+    /**
+     * Writes a float like JSON-B, which writes the decimal representation of its string value.
+     *
+     * @param value
+     *            value
+     * @throws IOException
+     *             on write error
+     */
+    void writeFloat(float value) throws IOException {
+        numberCodec.packBigDecimal(packer, new BigDecimal(Float.toString(value)));
+    }
+
+    /**
+     * Writes a decimal like JSON-B, which writes values which do not fit into a double as strings.
+     *
+     * @param value
+     *            value
+     * @throws IOException
+     *             on write error
+     */
+    void writeBigDecimal(BigDecimal value) throws IOException {
+        int scale = value.scale();
+        if (value.unscaledValue().bitLength() > MAX_SAFE_BITS || value.toBigInteger().bitLength() > MAX_SAFE_BITS
+                || scale < Double.MIN_EXPONENT || scale > Double.MAX_EXPONENT) {
+            packer.packString(value.toString());
+        } else {
+            numberCodec.packBigDecimal(packer, value);
+        }
+    }
+
+    /**
+     * Writes an integer like JSON-B, which writes values beyond the integer range of a double as strings.
+     *
+     * @param value
+     *            value
+     * @throws IOException
+     *             on write error
+     */
+    void writeBigInteger(BigInteger value) throws IOException {
+        if (value.bitLength() > MAX_SAFE_BITS) {
+            packer.packString(value.toString());
+        } else {
+            numberCodec.packBigInteger(packer, value);
+        }
+    }
+
+    void writeJsonValue(JsonValue value) throws IOException {
+        encoder.encode(packer, value);
+    }
+}
@@ -0,0 +1,41 @@
+package org.ops4j.mpjp.impl;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.function.Supplier;
+
+/**
+ * Codec for collections with elements of a given type.
+ *
+ * @author hwellmann
+ *
+ */
+final class CollectionCodec implements ValueCodec {
+
+    private final Supplier<Collection<Object>> factory;
+    private final ValueCodec elementCodec;
+
+    CollectionCodec(Supplier<Collection<Object>> factory, ValueCodec elementCodec) {
+        this.factory = factory;
+        this.elementCodec = elementCodec;
+    }
+
+    @Override
+    public void write(BindingWriter writer, Object value) throws IOException {
+        Collection<?> collection = (Collection<?>) value;
+        writer.packer().packArrayHeader(collection.size());
+        for (Object element : collection) {
+            writer.write(elementCodec, element);
+        }
+    }
+
+    @Override
+    public Object read(BindingReader reader) throws IOException {
+        int size = reader.readArrayHeader();
+        Collection<Object> collection = factory.get();
+        for (int i = 0; i < size; i++) {
+            collection.add(reader.read(elementCodec));
+        }
+        return collection;
+    }
+}
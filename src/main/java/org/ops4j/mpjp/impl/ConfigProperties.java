@@ -0,0 +1,50 @@
+package org.ops4j.mpjp.impl;
+
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Typed access to configuration properties passed to factories.
+ *
+ * @author hwellmann
+ *
+ */
+final class ConfigProperties {
+
+    private ConfigProperties() {
+        // preventing instantiation
+    }
+
+    static boolean getBoolean(Map<String, ?> config, String key, boolean defaultValue) {
+        Object value = (config == null) ? null : config.get(key);
+        if (value == null) {
+            return defaultValue;
+        }
+        if (value instanceof Boolean) {
+            return (Boolean) value;
+        }
+        return Boolean.parseBoolean(value.toString());
+    }
+
+    static int getInt(Map<String, ?> config, String key, int defaultValue) {
+        Object value = (config == null) ? null : config.get(key);
+        if (value == null) {
+            return defaultValue;
+        }
+        if (value instanceof Number) {
+            return ((Number) value).intValue();
+        }
+        return Integer.parseInt(value.toString());
+    }
+
+    static <E extends Enum<E>> E getEnum(Map<String, ?> config, String key, Class<E> enumType, E defaultValue) {
+        Object value = (config == null) ? null : config.get(key);
+        if (value == null) {
+            return defaultValue;
+        }
+        if (enumType.isInstance(value)) {
+            return enumType.cast(value);
+        }
+        return Enum.valueOf(enumType, value.toString().toUpperCase(Locale.ROOT));
+    }
+}
@@ -0,0 +1,45 @@
+package org.ops4j.mpjp.impl;
+
+import java.lang.ref.SoftReference;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import javax.json.spi.JsonProvider;
+
+/**
+ * Caches the default {@link JsonProvider} per context class loader, since {@link JsonProvider#provider()} performs a
+ * service loader lookup on each call.
+ * <p>
+ * Class loaders are weakly referenced, and providers are softly referenced. A provider loaded by a class loader
+ * refers to its class loader, so the cache does not prevent class loaders from being unloaded, but delays unloading
+ * until the garbage collector clears soft references under memory pressure.
+ *
+ * @author hwellmann
+ *
+ */
+public final class DelegateProviders {
+
+    private static final Map<ClassLoader, SoftReference<JsonProvider>> PROVIDERS = new WeakHashMap<>();
+
+    private DelegateProviders() {
+        // preventing instantiation
+    }
+
+    /**
+     * Gets the default provider for the context class loader of the current thread.
+     *
+     * @return default provider
+     */
+    public static JsonProvider provider() {
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        synchronized (PROVIDERS) {
+            SoftReference<JsonProvider> ref = PROVIDERS.get(classLoader);
+            JsonProvider provider = (ref == null) ? null : ref.get();
+            if (provider == null) {
+                provider = JsonProvider.provider();
+                PROVIDERS.put(classLoader, new SoftReference<>(provider));
+            }
+            return provider;
+        }
+    }
+}
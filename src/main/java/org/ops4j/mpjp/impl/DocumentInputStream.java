@@ -0,0 +1,31 @@
+package org.ops4j.mpjp.impl;
+
+import java.io.InputStream;
+
+import javax.json.JsonException;
+import javax.json.stream.JsonParser;
+
+/**
+ * Placeholder stream passed to JSON-B by a {@link StreamingDocumentReader}. The parser factory recognizes this stream
+ * and returns the shared parser of the reader, positioned at the next document.
+ *
+ * @author hwellmann
+ *
+ */
+final class DocumentInputStream extends InputStream {
+
+    private final StreamingDocumentReader reader;
+
+    DocumentInputStream(StreamingDocumentReader reader) {
+        this.reader = reader;
+    }
+
+    JsonParser nextParser() {
+        return reader.nextParser();
+    }
+
+    @Override
+    public int read() {
+        throw new JsonException("Document readers require a JSON-B instance with a MessagePackJsonProvider");
+    }
+}
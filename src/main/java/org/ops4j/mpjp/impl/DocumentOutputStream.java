@@ -0,0 +1,31 @@
+package org.ops4j.mpjp.impl;
+
+import java.io.OutputStream;
+
+import javax.json.stream.JsonGenerationException;
+import javax.json.stream.JsonGenerator;
+
+/**
+ * Placeholder stream passed to JSON-B by a {@link StreamingDocumentWriter}. The generator factory recognizes this
+ * stream and returns the shared generator of the writer.
+ *
+ * @author hwellmann
+ *
+ */
+final class DocumentOutputStream extends OutputStream {
+
+    private final StreamingDocumentWriter writer;
+
+    DocumentOutputStream(StreamingDocumentWriter writer) {
+        this.writer = writer;
+    }
+
+    JsonGenerator nextGenerator() {
+        return writer.nextGenerator();
+    }
+
+    @Override
+    public void write(int b) {
+        throw new JsonGenerationException("Document writers require a JSON-B instance with a MessagePackJsonProvider");
+    }
+}
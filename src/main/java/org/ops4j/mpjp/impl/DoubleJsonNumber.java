@@ -0,0 +1,101 @@
+package org.ops4j.mpjp.impl;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+import javax.json.JsonNumber;
+
+/**
+ * A {@link JsonNumber} backed by a {@code double}. Generators write this value as {@code float64}, independent of the
+ * configured {@link org.ops4j.mpjp.api.BigDecimalStrategy}.
+ * <p>
+ * All methods except {@link #doubleValue()} behave like the {@code JsonNumber} created by
+ * {@code JsonProvider.createValue(double)}, which is backed by {@code BigDecimal.valueOf(double)}.
+ *
+ * @author hwellmann
+ *
+ */
+final class DoubleJsonNumber implements JsonNumber {
+
+    private final double value;
+
+    DoubleJsonNumber(double value) {
+        this.value = value;
+    }
+
+    @Override
+    public ValueType getValueType() {
+        return ValueType.NUMBER;
+    }
+
+    @Override
+    public boolean isIntegral() {
+        return bigDecimalValue().scale() == 0;
+    }
+
+    @Override
+    public int intValue() {
+        return bigDecimalValue().intValue();
+    }
+
+    @Override
+    public int intValueExact() {
+        return bigDecimalValue().intValueExact();
+    }
+
+    @Override
+    public long longValue() {
+        return bigDecimalValue().longValue();
+    }
+
+    @Override
+    public long longValueExact() {
+        return bigDecimalValue().longValueExact();
+    }
+
+    @Override
+    public BigInteger bigIntegerValue() {
+        return bigDecimalValue().toBigInteger();
+    }
+
+    @Override
+    public BigInteger bigIntegerValueExact() {
+        return bigDecimalValue().toBigIntegerExact();
+    }
+
+    @Override
+    public double doubleValue() {
+        return value;
+    }
+
+    @Override
+    public BigDecimal bigDecimalValue() {
+        return BigDecimal.valueOf(value);
+    }
+
+    @Override
+    public Number numberValue() {
+        return bigDecimalValue();
+    }
+
+    @Override
+    public int hashCode() {
+        return bigDecimalValue().hashCode();
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj instanceof JsonNumber) {
+            return bigDecimalValue().equals(((JsonNumber) obj).bigDecimalValue());
+        }
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return bigDecimalValue().toString();
+    }
+}
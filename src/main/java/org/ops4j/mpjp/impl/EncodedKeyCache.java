@@ -0,0 +1,135 @@
+package org.ops4j.mpjp.impl;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import org.msgpack.core.MessagePacker;
+import org.ops4j.mpjp.api.MessagePackConfig;
+
+/**
+ * A bounded cache of map keys pre-encoded as complete MessagePack strings, i.e. header and UTF-8 bytes, so that
+ * repeated keys are written by a single array copy instead of being encoded again.
+ * <p>
+ * The cache is direct-mapped: each key has exactly one slot, determined by its hash code, and a new key replaces any
+ * other key in its slot. The encoded form is identical to the output of {@link MessagePacker#packString(String)}.
+ * <p>
+ * A cache is shared by all generators of a factory. Entries are immutable, so concurrent readers see either a
+ * complete entry or no entry, and a concurrent update may at worst replace an entry which is still in use.
+ *
+ * @author hwellmann
+ *
+ */
+final class EncodedKeyCache {
+
+    /**
+     * Maximum length in characters of cached keys. Longer keys are encoded without caching.
+     */
+    static final int MAX_KEY_LENGTH = 64;
+
+    private static final int DEFAULT_SIZE = 1024;
+
+    private static final int MAX_SIZE = 1 << 20;
+
+    /**
+     * Immutable cache entry.
+     */
+    private static final class Entry {
+        final String key;
+        final byte[] encoded;
+
+        Entry(String key, byte[] encoded) {
+            this.key = key;
+            this.encoded = encoded;
+        }
+    }
+
+    private final Entry[] entries;
+    private final int mask;
+
+    EncodedKeyCache(int size) {
+        if (size < 1 || size > MAX_SIZE) {
+            throw new IllegalArgumentException("key cache size must be in range 1 to " + MAX_SIZE + ": " + size);
+        }
+        int capacity = Integer.highestOneBit(size);
+        if (capacity < size) {
+            capacity <<= 1;
+        }
+        this.entries = new Entry[capacity];
+        this.mask = capacity - 1;
+    }
+
+    /**
+     * Creates a key cache with the size given by {@link MessagePackConfig#GENERATOR_KEY_CACHE_SIZE}.
+     *
+     * @param config
+     *            configuration map
+     * @return key cache, or null if disabled
+     */
+    static EncodedKeyCache of(Map<String, ?> config) {
+        int size = ConfigProperties.getInt(config, MessagePackConfig.GENERATOR_KEY_CACHE_SIZE, DEFAULT_SIZE);
+        return (size == 0) ? null : new EncodedKeyCache(size);
+    }
+
+    /**
+     * Writes the given key to the given packer, using the cached encoding if available.
+     *
+     * @param packer
+     *            packer
+     * @param key
+     *            map key
+     * @throws IOException
+     *             on write error
+     */
+    void writeKey(MessagePacker packer, String key) throws IOException {
+        if (key.length() > MAX_KEY_LENGTH) {
+            packer.packString(key);
+            return;
+        }
+        int hash = key.hashCode();
+        int index = (hash ^ (hash >>> 16)) & mask;
+        Entry entry = entries[index];
+        if (entry == null || !(entry.key == key || entry.key.equals(key))) {
+            entry = new Entry(key, encode(key));
+            entries[index] = entry;
+        }
+        packer.writePayload(entry.encoded);
+    }
+
+    /**
+     * Encodes a string with the smallest header format, like {@link MessagePacker#packString(String)} with the default
+     * packer configuration.
+     *
+     * @param key
+     *            string
+     * @return header and UTF-8 bytes
+     */
+    static byte[] encode(String key) {
+        byte[] utf8 = key.getBytes(StandardCharsets.UTF_8);
+        int length = utf8.length;
+        int headerLength;
+        if (length < (1 << 5)) {
+            headerLength = 1;
+        } else if (length < (1 << 8)) {
+            headerLength = 2;
+        } else {
+            headerLength = 3;
+        }
+        byte[] encoded = new byte[headerLength + length];
+        switch (headerLength) {
+        case 1:
+            encoded[0] = (byte) (0xa0 | length);
+            break;
+        case 2:
+            encoded[0] = (byte) 0xd9;
+            encoded[1] = (byte) length;
+            break;
+        default:
+            encoded[0] = (byte) 0xda;
+            encoded[1] = (byte) (length >>> 8);
+            encoded[2] = (byte) length;
+        }
+        System.arraycopy(utf8, 0, encoded, headerLength, length);
+        return encoded;
+    }
+}
@@ -0,0 +1,36 @@
+package org.ops4j.mpjp.impl;
+
+import java.io.IOException;
+
+import javax.json.bind.JsonbException;
+
+/**
+ * Codec for enum types, writing the constant names.
+ *
+ * @author hwellmann
+ *
+ */
+final class EnumCodec implements ValueCodec {
+
+    private final Class<? extends Enum<?>> enumType;
+
+    EnumCodec(Class<? extends Enum<?>> enumType) {
+        this.enumType = enumType;
+    }
+
+    @Override
+    public void write(BindingWriter writer, Object value) throws IOException {
+        writer.packer().packString(((Enum<?>) value).name());
+    }
+
+    @Override
+    public Object read(BindingReader reader) throws IOException {
+        String name = reader.readString();
+        for (Enum<?> constant : enumType.getEnumConstants()) {
+            if (constant.name().equals(name)) {
+                return constant;
+            }
+        }
+        throw new JsonbException("No constant " + name + " in " + enumType.getName());
+    }
+}
@@ -0,0 +1,129 @@
+package org.ops4j.mpjp.impl;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+import org.msgpack.core.buffer.MessageBuffer;
+import org.msgpack.core.buffer.MessageBufferOutput;
+
+/**
+ * A {@link MessageBufferOutput} writing to a single contiguous byte array which grows on demand.
+ * <p>
+ * The buffers handed out to the packer are views of the backing array, so all bytes written so far can be patched in
+ * place, even before the packer has flushed them.
+ *
+ * @author hwellmann
+ *
+ */
+public class GrowableBufferOutput implements MessageBufferOutput {
+
+    private static final int DEFAULT_CAPACITY = 8192;
+
+    private byte[] array;
+    private int position;
+
+    public GrowableBufferOutput() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public GrowableBufferOutput(int initialCapacity) {
+        this.array = new byte[initialCapacity];
+    }
+
+    @Override
+    public MessageBuffer next(int minimumSize) {
+        ensureCapacity(minimumSize);
+        return MessageBuffer.wrap(array, position, array.length - position);
+    }
+
+    @Override
+    public void writeBuffer(int length) {
+        position += length;
+    }
+
+    @Override
+    public void write(byte[] buffer, int offset, int length) {
+        ensureCapacity(length);
+        System.arraycopy(buffer, offset, array, position, length);
+        position += length;
+    }
+
+    @Override
+    public void add(byte[] buffer, int offset, int length) {
+        write(buffer, offset, length);
+    }
+
+    private void ensureCapacity(int length) {
+        int required = position + length;
+        if (required > array.length) {
+            array = Arrays.copyOf(array, Math.max(required, 2 * array.length));
+        }
+    }
+
+    /**
+     * Gets the backing array. The returned reference is only valid until the next write operation.
+     *
+     * @return backing array
+     */
+    public byte[] array() {
+        return array;
+    }
+
+    /**
+     * Gets the number of bytes committed to this buffer.
+     *
+     * @return size in bytes
+     */
+    public int size() {
+        return position;
+    }
+
+    /**
+     * Overwrites four bytes at the given offset with a big-endian integer.
+     *
+     * @param offset
+     *            offset in backing array
+     * @param value
+     *            integer value
+     */
+    public void putInt(int offset, int value) {
+        array[offset] = (byte) (value >>> 24);
+        array[offset + 1] = (byte) (value >>> 16);
+        array[offset + 2] = (byte) (value >>> 8);
+        array[offset + 3] = (byte) value;
+    }
+
+    /**
+     * Discards all bytes after the given size.
+     *
+     * @param size
+     *            new size, not greater than the current size
+     */
+    public void truncate(int size) {
+        position = size;
+    }
+
+    /**
+     * Writes all committed bytes to the given stream and empties this buffer.
+     *
+     * @param os
+     *            output stream
+     * @throws IOException
+     *             on write error
+     */
+    public void writeTo(OutputStream os) throws IOException {
+        os.write(array, 0, position);
+        position = 0;
+    }
+
+    @Override
+    public void flush() {
+        // nothing to flush
+    }
+
+    @Override
+    public void close() {
+        // nothing to close
+    }
+}
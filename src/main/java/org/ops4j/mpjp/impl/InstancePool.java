@@ -0,0 +1,121 @@
+package org.ops4j.mpjp.impl;
+
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+import org.ops4j.mpjp.api.MessagePackConfig;
+import org.ops4j.mpjp.api.PoolMode;
+
+/**
+ * A pool of reusable parsers or generators, owned by a factory.
+ * <p>
+ * A factory first tries to {@link #acquire()} an instance and resets it. Otherwise, it creates a new instance and
+ * {@link #register(Poolable)}s it. Instances {@link #release(Poolable)} themselves when closed.
+ *
+ * @param <T>
+ *            instance type
+ *
+ * @author hwellmann
+ *
+ */
+abstract class InstancePool<T extends Poolable> {
+
+    static final int DEFAULT_SIZE = 16;
+
+    /**
+     * Creates a pool for the mode given by {@link MessagePackConfig#POOL}.
+     *
+     * @param config
+     *            factory configuration
+     * @return pool, or null for {@link PoolMode#NONE}
+     */
+    static <T extends Poolable> InstancePool<T> of(Map<String, ?> config) {
+        PoolMode mode = ConfigProperties.getEnum(config, MessagePackConfig.POOL, PoolMode.class, PoolMode.NONE);
+        switch (mode) {
+        case THREAD_LOCAL:
+            return new ThreadLocalPool<>();
+        case BOUNDED:
+            return new BoundedPool<>(ConfigProperties.getInt(config, MessagePackConfig.POOL_SIZE, DEFAULT_SIZE));
+        default:
+            return null;
+        }
+    }
+
+    /**
+     * Takes a reusable instance from this pool.
+     *
+     * @return instance to be reset, or null if the caller shall create a new instance
+     */
+    abstract T acquire();
+
+    /**
+     * Registers a new instance created by the caller.
+     *
+     * @param instance
+     *            new instance
+     */
+    abstract void register(T instance);
+
+    /**
+     * Returns an instance to the pool.
+     *
+     * @param instance
+     *            closed instance
+     */
+    abstract void release(T instance);
+
+    /**
+     * Keeps the most recently created instance per thread.
+     */
+    private static final class ThreadLocalPool<T extends Poolable> extends InstancePool<T> {
+
+        private final ThreadLocal<T> instances = new ThreadLocal<>();
+
+        @Override
+        T acquire() {
+            T instance = instances.get();
+            return (instance != null && instance.isReusable()) ? instance : null;
+        }
+
+        @Override
+        void register(T instance) {
+            instances.set(instance);
+        }
+
+        @Override
+        void release(T instance) {
+            // instance stays in its thread-local slot
+        }
+    }
+
+    /**
+     * Keeps a bounded number of idle instances, shared by all threads.
+     */
+    private static final class BoundedPool<T extends Poolable> extends InstancePool<T> {
+
+        private final BlockingQueue<T> idle;
+
+        BoundedPool(int size) {
+            if (size < 1) {
+                throw new IllegalArgumentException("pool size must be positive: " + size);
+            }
+            this.idle = new ArrayBlockingQueue<>(size);
+        }
+
+        @Override
+        T acquire() {
+            return idle.poll();
+        }
+
+        @Override
+        void register(T instance) {
+            // instance joins the pool when released
+        }
+
+        @Override
+        void release(T instance) {
+            idle.offer(instance);
+        }
+    }
+}
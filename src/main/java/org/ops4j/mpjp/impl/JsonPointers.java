@@ -0,0 +1,82 @@
+package org.ops4j.mpjp.impl;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import javax.json.JsonException;
+
+/**
+ * Static helpers for JSON Pointers (RFC 6901).
+ *
+ * @author hwellmann
+ *
+ */
+public final class JsonPointers {
+
+    private static final String SEPARATOR = "/";
+    private static final Pattern INVALID_ESCAPE = Pattern.compile("~([^01]|$)");
+
+    private JsonPointers() {
+        // preventing instantiation
+    }
+
+    /**
+     * Splits the given JSON Pointer into its reference tokens, replacing the escape sequences {@code ~1} and
+     * {@code ~0}.
+     *
+     * @param pointer
+     *            JSON Pointer
+     * @return reference tokens, empty for the whole document
+     * @throws JsonException
+     *             if the pointer is invalid
+     */
+    public static List<String> parse(String pointer) {
+        if (pointer.isEmpty()) {
+            return Collections.emptyList();
+        }
+        if (!pointer.startsWith(SEPARATOR)) {
+            throw invalidPointer(pointer);
+        }
+        String[] tokens = pointer.substring(1).split(SEPARATOR, -1);
+        for (int i = 0; i < tokens.length; i++) {
+            tokens[i] = unescape(tokens[i], pointer);
+        }
+        return Arrays.asList(tokens);
+    }
+
+    /**
+     * Parses the given reference token as array index.
+     *
+     * @param token
+     *            reference token
+     * @return array index, or -1 if the token is not an array index
+     */
+    public static int toIndex(String token) {
+        int length = token.length();
+        if (length == 0 || length > 9 || (length > 1 && token.charAt(0) == '0')) {
+            return -1;
+        }
+        for (int i = 0; i < length; i++) {
+            if (!Character.isDigit(token.charAt(i))) {
+                return -1;
+            }
+        }
+        return Integer.parseInt(token);
+    }
+
+    private static String unescape(String token, String pointer) {
+        if (token.indexOf('~') < 0) {
+            return token;
+        }
+        if (INVALID_ESCAPE.matcher(token).find()) {
+            throw invalidPointer(pointer);
+        }
+        return token.replace("~1", SEPARATOR).replace("~0", "~");
+    }
+
+    private static JsonException invalidPointer(String pointer) {
+        return new JsonException("Invalid JSON Pointer: " + pointer);
+    }
+}
@@ -0,0 +1,36 @@
+package org.ops4j.mpjp.impl;
+
+import java.io.IOException;
+
+import javax.json.JsonValue;
+import javax.json.bind.JsonbException;
+
+/**
+ * Codec for {@code JsonValue} types, using a {@link JsonValueEncoder} and a {@link MessagePackJsonParser}. This is
+ * also used for the results of JSON-B adapters adapting to {@code JsonValue}, e.g. for extension values.
+ *
+ * @author hwellmann
+ *
+ */
+final class JsonValueCodec implements ValueCodec {
+
+    private final Class<?> valueType;
+
+    JsonValueCodec(Class<?> valueType) {
+        this.valueType = valueType;
+    }
+
+    @Override
+    public void write(BindingWriter writer, Object value) throws IOException {
+        writer.writeJsonValue((JsonValue) value);
+    }
+
+    @Override
+    public Object read(BindingReader reader) throws IOException {
+        JsonValue value = reader.readJsonValue();
+        if (!valueType.isInstance(value)) {
+            throw new JsonbException("Cannot bind " + value.getValueType() + " to " + valueType.getName());
+        }
+        return value;
+    }
+}
@@ -0,0 +1,138 @@
+package org.ops4j.mpjp.impl;
+
+import static org.ops4j.mpjp.api.ExtensionTypes.KEY_PAYLOAD;
+import static org.ops4j.mpjp.api.ExtensionTypes.KEY_TYPE;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import javax.json.JsonArray;
+import javax.json.JsonNumber;
+import javax.json.JsonObject;
+import javax.json.JsonString;
+import javax.json.JsonValue;
+
+import org.msgpack.core.MessagePacker;
+import org.ops4j.mpjp.api.BinaryJsonString;
+import org.ops4j.mpjp.api.ExtensionValue;
+
+/**
+ * Encodes a complete {@link JsonValue} tree to a {@link MessagePacker} by a recursive walk, without any generator
+ * state. Since all sizes are known in advance, there is nothing to validate.
+ * <p>
+ * {@link ExtensionValue}s and other objects consisting of the members
+ * {@link org.ops4j.mpjp.api.ExtensionTypes#KEY_TYPE} and {@link org.ops4j.mpjp.api.ExtensionTypes#KEY_PAYLOAD} are
+ * written as extension types, and {@link BinaryJsonString}s as {@code bin} values. Map keys are written from the
+ * given key cache, if any.
+ * <p>
+ * Encoders are immutable and may be shared by all generators of a factory.
+ *
+ * @author hwellmann
+ *
+ */
+final class JsonValueEncoder {
+
+    private final NumberCodec numberCodec;
+    private final EncodedKeyCache keyCache;
+
+    JsonValueEncoder(NumberCodec numberCodec, EncodedKeyCache keyCache) {
+        this.numberCodec = numberCodec;
+        this.keyCache = keyCache;
+    }
+
+    /**
+     * Writes the given value.
+     *
+     * @param packer
+     *            packer
+     * @param value
+     *            JSON value
+     * @throws IOException
+     *             on write error
+     */
+    void encode(MessagePacker packer, JsonValue value) throws IOException {
+        switch (value.getValueType()) {
+        case ARRAY:
+            JsonArray array = (JsonArray) value;
+            packer.packArrayHeader(array.size());
+            for (JsonValue element : array) {
+                encode(packer, element);
+            }
+            break;
+        case OBJECT:
+            encodeObject(packer, (JsonObject) value);
+            break;
+        case STRING:
+            if (value instanceof BinaryJsonString) {
+                byte[] bytes = ((BinaryJsonString) value).getBytes();
+                packer.packBinaryHeader(bytes.length);
+                packer.writePayload(bytes);
+            } else {
+                packer.packString(((JsonString) value).getString());
+            }
+            break;
+        case NUMBER:
+            numberCodec.packNumber(packer, (JsonNumber) value);
+            break;
+        case TRUE:
+            packer.packBoolean(true);
+            break;
+        case FALSE:
+            packer.packBoolean(false);
+            break;
+        case NULL:
+            packer.packNil();
+            break;
+        default:
+            throw new IllegalArgumentException("Unknown value type: " + value.getValueType());
+        }
+    }
+
+    private void encodeObject(MessagePacker packer, JsonObject object) throws IOException {
+        if (object instanceof ExtensionValue) {
+            ExtensionValue extension = (ExtensionValue) object;
+            packer.packExtensionTypeHeader(extension.getExtensionType(), extension.getPayloadLength());
+            packer.writePayload(extension.array(), extension.arrayOffset(), extension.getPayloadLength());
+            return;
+        }
+        if (isExtension(object)) {
+            String payload = object.getString(KEY_PAYLOAD);
+            packer.packExtensionTypeHeader((byte) object.getInt(KEY_TYPE), payload.length());
+            packer.writePayload(payload.getBytes(StandardCharsets.ISO_8859_1));
+            return;
+        }
+        packer.packMapHeader(object.size());
+        for (Map.Entry<String, JsonValue> member : object.entrySet()) {
+            writeKey(packer, member.getKey());
+            encode(packer, member.getValue());
+        }
+    }
+
+    private static boolean isExtension(JsonObject object) {
+        if (object.size() != 2) {
+            return false;
+        }
+        JsonValue type = object.get(KEY_TYPE);
+        JsonValue payload = object.get(KEY_PAYLOAD);
+        return type instanceof JsonNumber && payload instanceof JsonString;
+    }
+
+    /**
+     * Writes the given map key.
+     *
+     * @param packer
+     *            packer
+     * @param key
+     *            map key
+     * @throws IOException
+     *             on write error
+     */
+    void writeKey(MessagePacker packer, String key) throws IOException {
+        if (keyCache == null) {
+            packer.packString(key);
+        } else {
+            keyCache.writeKey(packer, key);
+        }
+    }
+}
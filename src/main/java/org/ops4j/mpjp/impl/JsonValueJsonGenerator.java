@@ -1,5 +1,6 @@
 package org.ops4j.mpjp.impl;
 
+import java.io.OutputStream;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.util.ArrayDeque;
@@ -12,14 +13,18 @@ import javax.json.spi.JsonProvider;
 import javax.json.stream.JsonGenerationException;
 import javax.json.stream.JsonGenerator;
 
+import org.ops4j.mpjp.api.ResettableJsonGenerator;
+
 /**
  * A {@link JsonGenerator} which generates an intermediate {@link JsonValue} which is finally serialized by means of a
  * delegate generator.
+ * <p>
+ * The generator can be reset if the delegate is a {@link ResettableJsonGenerator}.
  *
  * @author hwellmann
  *
  */
-public class JsonValueJsonGenerator implements JsonGenerator {
+public class JsonValueJsonGenerator implements ResettableJsonGenerator, Poolable {
 
     private static class Context {
         boolean first = true;
@@ -45,11 +50,40 @@ public class JsonValueJsonGenerator implements JsonGenerator {
 
     private final JsonGenerator delegate;
 
+    private InstancePool<JsonValueJsonGenerator> pool;
+    private boolean closed;
+
     public JsonValueJsonGenerator(JsonGenerator delegate, JsonProvider provider) {
         this.delegate = delegate;
         this.provider = provider;
     }
 
+    void setPool(InstancePool<JsonValueJsonGenerator> pool) {
+        this.pool = pool;
+    }
+
+    @Override
+    public void reset(OutputStream os) {
+        if (!(delegate instanceof ResettableJsonGenerator)) {
+            throw new IllegalStateException("delegate generator cannot be reset");
+        }
+        ((ResettableJsonGenerator) delegate).reset(os);
+        currentContext = new Context(Scope.IN_NONE);
+        stack.clear();
+        jsonValue = null;
+        closed = false;
+    }
+
+    /**
+     * Checks if this generator may be reset and reused, which is the case after closing it.
+     *
+     * @return true if generator may be reused
+     */
+    @Override
+    public boolean isReusable() {
+        return closed && delegate instanceof ResettableJsonGenerator;
+    }
+
     public JsonValue getJsonValue() {
         if (currentContext.scope != Scope.IN_NONE) {
             throw new IllegalStateException();
@@ -217,6 +251,8 @@ public class JsonValueJsonGenerator implements JsonGenerator {
             currentContext.objectBuilder.add(key, value);
         } else if (currentContext.scope == Scope.IN_ARRAY) {
             currentContext.arrayBuilder.add(value);
+        } else {
+            this.jsonValue = value;
         }
         return this;
     }
@@ -262,41 +298,17 @@ public class JsonValueJsonGenerator implements JsonGenerator {
 
     @Override
     public JsonGenerator write(int value) {
-        checkContextForValue();
-        if (currentContext.scope == Scope.IN_FIELD) {
-            String key = currentContext.key;
-            popFieldContext();
-            currentContext.objectBuilder.add(key, value);
-        } else if (currentContext.scope == Scope.IN_ARRAY) {
-            currentContext.arrayBuilder.add(value);
-        }
-        return this;
+        return write(new LongJsonNumber(value));
     }
 
     @Override
     public JsonGenerator write(long value) {
-        checkContextForValue();
-        if (currentContext.scope == Scope.IN_FIELD) {
-            String key = currentContext.key;
-            popFieldContext();
-            currentContext.objectBuilder.add(key, value);
-        } else if (currentContext.scope == Scope.IN_ARRAY) {
-            currentContext.arrayBuilder.add(value);
-        }
-        return this;
+        return write(new LongJsonNumber(value));
     }
 
     @Override
     public JsonGenerator write(double value) {
-        checkContextForValue();
-        if (currentContext.scope == Scope.IN_FIELD) {
-            String key = currentContext.key;
-            popFieldContext();
-            currentContext.objectBuilder.add(key, value);
-        } else if (currentContext.scope == Scope.IN_ARRAY) {
-            currentContext.arrayBuilder.add(value);
-        }
-        return this;
+        return write(new DoubleJsonNumber(value));
     }
 
     @Override
@@ -327,8 +339,15 @@ public class JsonValueJsonGenerator implements JsonGenerator {
 
     @Override
     public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
         delegate.write(jsonValue);
         delegate.close();
+        if (pool != null) {
+            pool.release(this);
+        }
     }
 
     @Override
@@ -0,0 +1,147 @@
+package org.ops4j.mpjp.impl;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+
+import org.msgpack.core.MessageUnpacker;
+import org.msgpack.core.buffer.MessageBuffer;
+import org.msgpack.value.ValueType;
+import org.ops4j.mpjp.api.MessagePackConfig;
+
+/**
+ * A bounded cache of map keys, returning canonical {@code String} instances for the raw UTF-8 bytes of short keys.
+ * <p>
+ * The cache is direct-mapped: each key has exactly one slot, determined by the hash of its bytes, and a new key
+ * replaces any other key in its slot. Hits are verified by comparing the bytes.
+ * <p>
+ * A cache is shared by all parsers of a factory. Entries are immutable, so concurrent readers see either a complete
+ * entry or no entry, and a concurrent update may at worst replace an entry which is still in use.
+ *
+ * @author hwellmann
+ *
+ */
+final class KeyCache {
+
+    /**
+     * Maximum length in bytes of cached keys. Longer keys are decoded without caching.
+     */
+    static final int MAX_KEY_LENGTH = 64;
+
+    private static final int DEFAULT_SIZE = 1024;
+
+    private static final int MAX_SIZE = 1 << 20;
+
+    /**
+     * Immutable cache entry.
+     */
+    private static final class Entry {
+        final int hash;
+        final byte[] bytes;
+        final String key;
+
+        Entry(int hash, byte[] bytes, String key) {
+            this.hash = hash;
+            this.bytes = bytes;
+            this.key = key;
+        }
+    }
+
+    private final Entry[] entries;
+    private final int mask;
+
+    KeyCache(int size) {
+        if (size < 1 || size > MAX_SIZE) {
+            throw new IllegalArgumentException("key cache size must be in range 1 to " + MAX_SIZE + ": " + size);
+        }
+        int capacity = Integer.highestOneBit(size);
+        if (capacity < size) {
+            capacity <<= 1;
+        }
+        this.entries = new Entry[capacity];
+        this.mask = capacity - 1;
+    }
+
+    /**
+     * Creates a key cache with the size given by {@link MessagePackConfig#KEY_CACHE_SIZE}.
+     *
+     * @param config
+     *            configuration map
+     * @return key cache, or null if disabled
+     */
+    static KeyCache of(Map<String, ?> config) {
+        int size = ConfigProperties.getInt(config, MessagePackConfig.KEY_CACHE_SIZE, DEFAULT_SIZE);
+        return (size == 0) ? null : new KeyCache(size);
+    }
+
+    /**
+     * Reads a map key from the given unpacker. Keys not exceeding {@link #MAX_KEY_LENGTH} bytes are read into the given
+     * buffer and looked up in the cache.
+     * <p>
+     * The buffer is wrapped once by the caller, since {@code MessageUnpacker.readPayload(byte[], int, int)} wraps its
+     * target array on each call.
+     *
+     * @param unpacker
+     *            unpacker positioned at a key
+     * @param buffer
+     *            array-backed buffer of at least {@link #MAX_KEY_LENGTH} bytes, owned by the caller
+     * @return key
+     * @throws IOException
+     *             on read error
+     * @throws org.msgpack.core.MessageTypeException
+     *             if the key is not a string
+     */
+    String readKey(MessageUnpacker unpacker, MessageBuffer buffer) throws IOException {
+        if (unpacker.getNextFormat().getValueType() != ValueType.STRING) {
+            return unpacker.unpackString();
+        }
+        int length = unpacker.unpackRawStringHeader();
+        if (length > MAX_KEY_LENGTH) {
+            return new String(unpacker.readPayload(length), StandardCharsets.UTF_8);
+        }
+        unpacker.readPayload(buffer, 0, length);
+        return get(buffer.array(), length);
+    }
+
+    /**
+     * Gets the canonical key for the given UTF-8 bytes, adding it to the cache if needed.
+     *
+     * @param bytes
+     *            buffer with UTF-8 bytes, starting at index 0
+     * @param length
+     *            number of bytes
+     * @return key
+     */
+    String get(byte[] bytes, int length) {
+        int hash = hash(bytes, length);
+        int index = hash & mask;
+        Entry entry = entries[index];
+        if (entry != null && entry.hash == hash && matches(entry.bytes, bytes, length)) {
+            return entry.key;
+        }
+        String key = new String(bytes, 0, length, StandardCharsets.UTF_8);
+        entries[index] = new Entry(hash, Arrays.copyOf(bytes, length), key);
+        return key;
+    }
+
+    private static int hash(byte[] bytes, int length) {
+        int hash = length;
+        for (int i = 0; i < length; i++) {
+            hash = 31 * hash + bytes[i];
+        }
+        return hash ^ (hash >>> 16);
+    }
+
+    private static boolean matches(byte[] cached, byte[] bytes, int length) {
+        if (cached.length != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (cached[i] != bytes[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
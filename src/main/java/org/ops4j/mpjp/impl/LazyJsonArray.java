@@ -0,0 +1,195 @@
+package org.ops4j.mpjp.impl;
+
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.util.AbstractList;
+import java.util.List;
+
+import javax.json.JsonArray;
+import javax.json.JsonNumber;
+import javax.json.JsonObject;
+import javax.json.JsonString;
+import javax.json.JsonValue;
+import javax.json.JsonWriter;
+import javax.json.spi.JsonProvider;
+
+import org.msgpack.core.MessageFormat;
+
+/**
+ * A read-only {@link JsonArray} backed by a MessagePack array in a {@link ByteBuffer}.
+ * <p>
+ * On first access, the offsets of all elements are recorded in an index. Elements are only decoded when accessed, and
+ * then cached. Nested maps and arrays are again lazy views.
+ * <p>
+ * Instances are safe for concurrent reads, provided the buffer contents are not modified.
+ *
+ * @author hwellmann
+ *
+ */
+public class LazyJsonArray extends AbstractList<JsonValue> implements JsonArray {
+
+    private final ByteBuffer buffer;
+    private final int position;
+    private final JsonProvider provider;
+
+    private Index index;
+
+    /**
+     * Immutable index of element offsets. The value cache is filled lazily.
+     */
+    private static class Index {
+        final int[] offsets;
+        final JsonValue[] values;
+
+        Index(int[] offsets) {
+            this.offsets = offsets;
+            this.values = new JsonValue[offsets.length];
+        }
+    }
+
+    LazyJsonArray(ByteBuffer buffer, int position, JsonProvider provider) {
+        this.buffer = buffer;
+        this.position = position;
+        this.provider = provider;
+    }
+
+    private Index index() {
+        Index result = index;
+        if (result == null) {
+            result = buildIndex();
+            index = result;
+        }
+        return result;
+    }
+
+    private Index buildIndex() {
+        MessageFormat format = MessagePackBytes.format(buffer, position);
+        int size = MessagePackBytes.containerSize(buffer, position, format);
+        int[] offsets = new int[size];
+        int pos = position + MessagePackBytes.headerLength(format);
+        for (int i = 0; i < size; i++) {
+            offsets[i] = pos;
+            pos = MessagePackBytes.skip(buffer, pos);
+        }
+        return new Index(offsets);
+    }
+
+    @Override
+    public JsonValue get(int i) {
+        Index idx = index();
+        JsonValue value = idx.values[i];
+        if (value == null) {
+            value = LazyJsonValues.readValue(buffer, idx.offsets[i], provider);
+            idx.values[i] = value;
+        }
+        return value;
+    }
+
+    @Override
+    public int size() {
+        return index().offsets.length;
+    }
+
+    @Override
+    public JsonObject getJsonObject(int i) {
+        return (JsonObject) get(i);
+    }
+
+    @Override
+    public JsonArray getJsonArray(int i) {
+        return (JsonArray) get(i);
+    }
+
+    @Override
+    public JsonNumber getJsonNumber(int i) {
+        return (JsonNumber) get(i);
+    }
+
+    @Override
+    public JsonString getJsonString(int i) {
+        return (JsonString) get(i);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <T extends JsonValue> List<T> getValuesAs(Class<T> clazz) {
+        return (List<T>) this;
+    }
+
+    @Override
+    public String getString(int i) {
+        return getJsonString(i).getString();
+    }
+
+    @Override
+    public String getString(int i, String defaultValue) {
+        if (i >= 0 && i < size()) {
+            JsonValue value = get(i);
+            if (value instanceof JsonString) {
+                return ((JsonString) value).getString();
+            }
+        }
+        return defaultValue;
+    }
+
+    @Override
+    public int getInt(int i) {
+        return getJsonNumber(i).intValue();
+    }
+
+    @Override
+    public int getInt(int i, int defaultValue) {
+        if (i >= 0 && i < size()) {
+            JsonValue value = get(i);
+            if (value instanceof JsonNumber) {
+                return ((JsonNumber) value).intValue();
+            }
+        }
+        return defaultValue;
+    }
+
+    @Override
+    public boolean getBoolean(int i) {
+        JsonValue value = get(i);
+        if (value == JsonValue.TRUE) {
+            return true;
+        }
+        if (value == JsonValue.FALSE) {
+            return false;
+        }
+        throw new ClassCastException();
+    }
+
+    @Override
+    public boolean getBoolean(int i, boolean defaultValue) {
+        if (i >= 0 && i < size()) {
+            JsonValue value = get(i);
+            if (value == JsonValue.TRUE) {
+                return true;
+            }
+            if (value == JsonValue.FALSE) {
+                return false;
+            }
+        }
+        return defaultValue;
+    }
+
+    @Override
+    public boolean isNull(int i) {
+        return get(i).equals(JsonValue.NULL);
+    }
+
+    @Override
+    public ValueType getValueType() {
+        return ValueType.ARRAY;
+    }
+
+    @Override
+    public String toString() {
+        StringWriter sw = new StringWriter();
+        try (JsonWriter writer = provider.createWriter(sw)) {
+            writer.write(this);
+        }
+        return sw.toString();
+    }
+}
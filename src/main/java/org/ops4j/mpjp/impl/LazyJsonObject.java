@@ -0,0 +1,282 @@
+package org.ops4j.mpjp.impl;
+
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import javax.json.JsonArray;
+import javax.json.JsonException;
+import javax.json.JsonNumber;
+import javax.json.JsonObject;
+import javax.json.JsonString;
+import javax.json.JsonValue;
+import javax.json.JsonWriter;
+import javax.json.spi.JsonProvider;
+
+import org.msgpack.core.MessageFormat;
+
+/**
+ * A read-only {@link JsonObject} backed by a MessagePack map in a {@link ByteBuffer}.
+ * <p>
+ * On first access, the keys are decoded and the offsets of all values are recorded in an index. Values are only
+ * decoded when accessed, and then cached. Nested maps and arrays are again lazy views.
+ * <p>
+ * Instances are safe for concurrent reads, provided the buffer contents are not modified.
+ *
+ * @author hwellmann
+ *
+ */
+public class LazyJsonObject extends AbstractMap<String, JsonValue> implements JsonObject {
+
+    /**
+     * Minimum number of entries for building a hash index of the keys. Smaller objects are searched linearly.
+     */
+    private static final int HASH_THRESHOLD = 16;
+
+    private final ByteBuffer buffer;
+    private final int position;
+    private final JsonProvider provider;
+
+    private Index index;
+    private Set<Map.Entry<String, JsonValue>> entrySet;
+
+    /**
+     * Immutable index of keys and value offsets. The value cache is filled lazily.
+     */
+    private static class Index {
+        final String[] keys;
+        final int[] offsets;
+        final JsonValue[] values;
+        final Map<String, Integer> positions;
+
+        Index(String[] keys, int[] offsets) {
+            this.keys = keys;
+            this.offsets = offsets;
+            this.values = new JsonValue[keys.length];
+            if (keys.length >= HASH_THRESHOLD) {
+                this.positions = new HashMap<>(2 * keys.length);
+                for (int i = 0; i < keys.length; i++) {
+                    positions.putIfAbsent(keys[i], i);
+                }
+            } else {
+                this.positions = null;
+            }
+        }
+    }
+
+    LazyJsonObject(ByteBuffer buffer, int position, JsonProvider provider) {
+        this.buffer = buffer;
+        this.position = position;
+        this.provider = provider;
+    }
+
+    private Index index() {
+        Index result = index;
+        if (result == null) {
+            result = buildIndex();
+            index = result;
+        }
+        return result;
+    }
+
+    private Index buildIndex() {
+        MessageFormat format = MessagePackBytes.format(buffer, position);
+        int size = MessagePackBytes.containerSize(buffer, position, format);
+        String[] keys = new String[size];
+        int[] offsets = new int[size];
+        int pos = position + MessagePackBytes.headerLength(format);
+        for (int i = 0; i < size; i++) {
+            MessageFormat keyFormat = MessagePackBytes.format(buffer, pos);
+            // ValueType of JsonValue shadows the MessagePack type
+            if (keyFormat.getValueType() != org.msgpack.value.ValueType.STRING) {
+                throw new JsonException("Expected string key at offset " + pos + ", found " + keyFormat.getValueType());
+            }
+            int headerLength = MessagePackBytes.headerLength(keyFormat);
+            int length = MessagePackBytes.payloadLength(buffer, pos, keyFormat);
+            keys[i] = MessagePackBytes.readString(buffer, pos + headerLength, length);
+            pos += headerLength + length;
+            offsets[i] = pos;
+            pos = MessagePackBytes.skip(buffer, pos);
+        }
+        return new Index(keys, offsets);
+    }
+
+    private int indexOf(Index idx, Object key) {
+        if (idx.positions != null) {
+            Integer i = idx.positions.get(key);
+            return (i == null) ? -1 : i;
+        }
+        String[] keys = idx.keys;
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i].equals(key)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private JsonValue valueAt(Index idx, int i) {
+        JsonValue value = idx.values[i];
+        if (value == null) {
+            value = LazyJsonValues.readValue(buffer, idx.offsets[i], provider);
+            idx.values[i] = value;
+        }
+        return value;
+    }
+
+    @Override
+    public JsonValue get(Object key) {
+        Index idx = index();
+        int i = indexOf(idx, key);
+        return (i < 0) ? null : valueAt(idx, i);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return indexOf(index(), key) >= 0;
+    }
+
+    @Override
+    public int size() {
+        return index().keys.length;
+    }
+
+    @Override
+    public Set<Map.Entry<String, JsonValue>> entrySet() {
+        if (entrySet == null) {
+            entrySet = new EntrySet();
+        }
+        return entrySet;
+    }
+
+    private class EntrySet extends AbstractSet<Map.Entry<String, JsonValue>> {
+
+        @Override
+        public Iterator<Map.Entry<String, JsonValue>> iterator() {
+            Index idx = index();
+            return new Iterator<Map.Entry<String, JsonValue>>() {
+
+                private int next;
+
+                @Override
+                public boolean hasNext() {
+                    return next < idx.keys.length;
+                }
+
+                @Override
+                public Map.Entry<String, JsonValue> next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    int i = next++;
+                    return new SimpleImmutableEntry<>(idx.keys[i], valueAt(idx, i));
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return LazyJsonObject.this.size();
+        }
+    }
+
+    @Override
+    public JsonArray getJsonArray(String name) {
+        return (JsonArray) get(name);
+    }
+
+    @Override
+    public JsonObject getJsonObject(String name) {
+        return (JsonObject) get(name);
+    }
+
+    @Override
+    public JsonNumber getJsonNumber(String name) {
+        return (JsonNumber) get(name);
+    }
+
+    @Override
+    public JsonString getJsonString(String name) {
+        return (JsonString) get(name);
+    }
+
+    @Override
+    public String getString(String name) {
+        return getJsonString(name).getString();
+    }
+
+    @Override
+    public String getString(String name, String defaultValue) {
+        JsonValue value = get(name);
+        if (value instanceof JsonString) {
+            return ((JsonString) value).getString();
+        }
+        return defaultValue;
+    }
+
+    @Override
+    public int getInt(String name) {
+        return getJsonNumber(name).intValue();
+    }
+
+    @Override
+    public int getInt(String name, int defaultValue) {
+        JsonValue value = get(name);
+        if (value instanceof JsonNumber) {
+            return ((JsonNumber) value).intValue();
+        }
+        return defaultValue;
+    }
+
+    @Override
+    public boolean getBoolean(String name) {
+        JsonValue value = get(name);
+        if (value == null) {
+            throw new NullPointerException();
+        }
+        if (value == JsonValue.TRUE) {
+            return true;
+        }
+        if (value == JsonValue.FALSE) {
+            return false;
+        }
+        throw new ClassCastException();
+    }
+
+    @Override
+    public boolean getBoolean(String name, boolean defaultValue) {
+        JsonValue value = get(name);
+        if (value == JsonValue.TRUE) {
+            return true;
+        }
+        if (value == JsonValue.FALSE) {
+            return false;
+        }
+        return defaultValue;
+    }
+
+    @Override
+    public boolean isNull(String name) {
+        return get(name).equals(JsonValue.NULL);
+    }
+
+    @Override
+    public ValueType getValueType() {
+        return ValueType.OBJECT;
+    }
+
+    @Override
+    public String toString() {
+        StringWriter sw = new StringWriter();
+        try (JsonWriter writer = provider.createWriter(sw)) {
+            writer.write(this);
+        }
+        return sw.toString();
+    }
+}
@@ -0,0 +1,87 @@
+package org.ops4j.mpjp.impl;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import javax.json.JsonValue;
+import javax.json.spi.JsonProvider;
+
+import org.msgpack.core.MessageFormat;
+import org.msgpack.core.MessageNeverUsedFormatException;
+import org.ops4j.mpjp.api.BinaryJsonString;
+import org.ops4j.mpjp.api.ExtensionValue;
+
+/**
+ * Creates {@link JsonValue}s from MessagePack data in a {@link ByteBuffer}. Maps and arrays are returned as lazy
+ * views, see {@link LazyJsonObject} and {@link LazyJsonArray}.
+ *
+ * @author hwellmann
+ *
+ */
+public final class LazyJsonValues {
+
+    private LazyJsonValues() {
+        // preventing instantiation
+    }
+
+    /**
+     * Creates a lazy view of the MessagePack value contained in the remaining bytes of the given buffer. The buffer
+     * contents must not be modified while the view is in use.
+     *
+     * @param buffer
+     *            buffer with MessagePack data
+     * @param provider
+     *            provider for scalar values
+     * @return JSON value
+     */
+    public static JsonValue createValue(ByteBuffer buffer, JsonProvider provider) {
+        return readValue(buffer.slice().order(ByteOrder.BIG_ENDIAN), 0, provider);
+    }
+
+    /**
+     * Reads the value at the given position.
+     *
+     * @param buffer
+     *            buffer in big-endian order
+     * @param position
+     *            position of value
+     * @param provider
+     *            provider for scalar values
+     * @return JSON value
+     */
+    static JsonValue readValue(ByteBuffer buffer, int position, JsonProvider provider) {
+        MessageFormat format = MessagePackBytes.format(buffer, position);
+        switch (format.getValueType()) {
+        case NIL:
+            return JsonValue.NULL;
+        case BOOLEAN:
+            return (buffer.get(position) == (byte) 0xc3) ? JsonValue.TRUE : JsonValue.FALSE;
+        case INTEGER:
+            long value = MessagePackBytes.readLong(buffer, position, format);
+            if (format == MessageFormat.UINT64 && value < 0) {
+                return provider.createValue(MessagePackBytes.readBigInteger(buffer, position, format));
+            }
+            return new LongJsonNumber(value);
+        case FLOAT:
+            return new DoubleJsonNumber(MessagePackBytes.readDouble(buffer, position, format));
+        case STRING:
+            return provider.createValue(MessagePackBytes.readString(buffer,
+                    position + MessagePackBytes.headerLength(format),
+                    MessagePackBytes.payloadLength(buffer, position, format)));
+        case BINARY:
+            byte[] bytes = MessagePackBytes.readBytes(buffer, position + MessagePackBytes.headerLength(format),
+                    MessagePackBytes.payloadLength(buffer, position, format));
+            return BinaryJsonString.of(bytes);
+        case ARRAY:
+            return new LazyJsonArray(buffer, position, provider);
+        case MAP:
+            return new LazyJsonObject(buffer, position, provider);
+        case EXTENSION:
+            byte[] payload = MessagePackBytes.readBytes(buffer, position + MessagePackBytes.headerLength(format),
+                    MessagePackBytes.payloadLength(buffer, position, format));
+            return ExtensionValue.of(MessagePackBytes.extensionType(buffer, position, format), payload);
+        default:
+            throw new MessageNeverUsedFormatException("Unknown value type");
+        }
+    }
+}
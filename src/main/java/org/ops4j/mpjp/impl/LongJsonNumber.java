@@ -0,0 +1,101 @@
+package org.ops4j.mpjp.impl;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+import javax.json.JsonNumber;
+
+/**
+ * A {@link JsonNumber} backed by a {@code long}. Generators write this value without converting it to a
+ * {@code BigInteger}.
+ *
+ * @author hwellmann
+ *
+ */
+final class LongJsonNumber implements JsonNumber {
+
+    private final long value;
+
+    LongJsonNumber(long value) {
+        this.value = value;
+    }
+
+    @Override
+    public ValueType getValueType() {
+        return ValueType.NUMBER;
+    }
+
+    @Override
+    public boolean isIntegral() {
+        return true;
+    }
+
+    @Override
+    public int intValue() {
+        return (int) value;
+    }
+
+    @Override
+    public int intValueExact() {
+        return Math.toIntExact(value);
+    }
+
+    @Override
+    public long longValue() {
+        return value;
+    }
+
+    @Override
+    public long longValueExact() {
+        return value;
+    }
+
+    @Override
+    public BigInteger bigIntegerValue() {
+        return BigInteger.valueOf(value);
+    }
+
+    @Override
+    public BigInteger bigIntegerValueExact() {
+        return BigInteger.valueOf(value);
+    }
+
+    @Override
+    public double doubleValue() {
+        return value;
+    }
+
+    @Override
+    public BigDecimal bigDecimalValue() {
+        return BigDecimal.valueOf(value);
+    }
+
+    @Override
+    public Number numberValue() {
+        return value;
+    }
+
+    @Override
+    public int hashCode() {
+        return bigDecimalValue().hashCode();
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj instanceof LongJsonNumber) {
+            return value == ((LongJsonNumber) obj).value;
+        }
+        if (obj instanceof JsonNumber) {
+            return bigDecimalValue().equals(((JsonNumber) obj).bigDecimalValue());
+        }
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return Long.toString(value);
+    }
+}
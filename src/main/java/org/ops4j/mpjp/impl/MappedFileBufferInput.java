@@ -0,0 +1,97 @@
+package org.ops4j.mpjp.impl;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+
+import org.msgpack.core.buffer.MessageBuffer;
+import org.msgpack.core.buffer.MessageBufferInput;
+
+/**
+ * A {@link MessageBufferInput} reading a file region by region via memory mapping. Each region is mapped read-only and
+ * handed to the unpacker as a whole, so the file contents are not copied.
+ * <p>
+ * If msgpack-core cannot wrap direct buffers on the current platform, the mapped regions are copied in chunks to a
+ * reusable heap buffer instead.
+ *
+ * @author hwellmann
+ *
+ */
+class MappedFileBufferInput implements MessageBufferInput {
+
+    private static final int CHUNK_SIZE = 64 * 1024;
+
+    private final FileChannel channel;
+    private final Closeable owner;
+    private final long windowSize;
+    private final long end;
+    private final byte[] chunk;
+
+    /** File position of the next region to be mapped. */
+    private long position;
+    private MappedByteBuffer window;
+
+    /**
+     * Creates an input for the given channel, starting at its current position.
+     *
+     * @param channel
+     *            file channel
+     * @param owner
+     *            resource to be closed when closing this input, or null
+     * @param windowSize
+     *            maximum size of mapped regions
+     * @param copy
+     *            copy mapped regions to heap?
+     * @throws IOException
+     *             on read error
+     */
+    MappedFileBufferInput(FileChannel channel, Closeable owner, long windowSize, boolean copy)
+        throws IOException {
+        if (windowSize <= 0) {
+            throw new IllegalArgumentException("window size must be positive: " + windowSize);
+        }
+        this.channel = channel;
+        this.owner = owner;
+        this.windowSize = windowSize;
+        this.end = channel.size();
+        this.position = channel.position();
+        this.chunk = copy ? new byte[CHUNK_SIZE] : null;
+    }
+
+    @Override
+    public MessageBuffer next() throws IOException {
+        if (chunk == null) {
+            MappedByteBuffer mapped = mapNextWindow();
+            return (mapped == null) ? null : MessageBuffer.wrap(mapped);
+        }
+        if (window == null || !window.hasRemaining()) {
+            window = mapNextWindow();
+            if (window == null) {
+                return null;
+            }
+        }
+        int length = Math.min(window.remaining(), chunk.length);
+        window.get(chunk, 0, length);
+        return MessageBuffer.wrap(chunk, 0, length);
+    }
+
+    private MappedByteBuffer mapNextWindow() throws IOException {
+        if (position >= end) {
+            return null;
+        }
+        long length = Math.min(windowSize, end - position);
+        MappedByteBuffer mapped = channel.map(MapMode.READ_ONLY, position, length);
+        position += length;
+        return mapped;
+    }
+
+    @Override
+    public void close() throws IOException {
+        window = null;
+        if (owner != null) {
+            owner.close();
+        }
+    }
+}
@@ -0,0 +1,331 @@
+package org.ops4j.mpjp.impl;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import org.msgpack.core.MessageFormat;
+import org.msgpack.core.MessageNeverUsedFormatException;
+
+/**
+ * Static helpers for reading MessagePack data directly from a {@link ByteBuffer}, without an unpacker.
+ * <p>
+ * All methods take absolute positions and never modify the position or limit of the buffer, so a buffer can be shared
+ * between concurrent readers.
+ * <p>
+ * For headers, the term <em>length</em> refers to the number of bytes, whereas <em>size</em> refers to the number of
+ * entries of a map or the number of elements of an array.
+ *
+ * @author hwellmann
+ *
+ */
+public final class MessagePackBytes {
+
+    private MessagePackBytes() {
+        // preventing instantiation
+    }
+
+    /**
+     * Gets the format of the value at the given position.
+     *
+     * @param buffer
+     *            buffer
+     * @param position
+     *            position of value
+     * @return format
+     */
+    public static MessageFormat format(ByteBuffer buffer, int position) {
+        return MessageFormat.valueOf(buffer.get(position));
+    }
+
+    /**
+     * Skips the value at the given position, including all nested values. This method only evaluates headers and does
+     * not decode any values. Nested structures are skipped iteratively, so arbitrary nesting depths are supported.
+     *
+     * @param buffer
+     *            buffer
+     * @param position
+     *            position of value
+     * @return position following the value
+     */
+    public static int skip(ByteBuffer buffer, int position) {
+        int pos = position;
+        long pending = 1;
+        while (pending > 0) {
+            pending--;
+            MessageFormat format = format(buffer, pos);
+            switch (format.getValueType()) {
+            case MAP:
+                pending += 2L * containerSize(buffer, pos, format);
+                pos += headerLength(format);
+                break;
+            case ARRAY:
+                pending += containerSize(buffer, pos, format);
+                pos += headerLength(format);
+                break;
+            default:
+                pos += headerLength(format) + payloadLength(buffer, pos, format);
+            }
+        }
+        return pos;
+    }
+
+    /**
+     * Gets the length of the header of a value with the given format, i.e. the number of bytes preceding the payload
+     * of a string, binary or extension value, or preceding the first element of a structure. For all other values,
+     * this is the total length of the value.
+     *
+     * @param format
+     *            format
+     * @return header length in bytes
+     */
+    public static int headerLength(MessageFormat format) {
+        switch (format) {
+        case POSFIXINT:
+        case NEGFIXINT:
+        case FIXMAP:
+        case FIXARRAY:
+        case FIXSTR:
+        case NIL:
+        case BOOLEAN:
+            return 1;
+        case UINT8:
+        case INT8:
+        case STR8:
+        case BIN8:
+        case FIXEXT1:
+        case FIXEXT2:
+        case FIXEXT4:
+        case FIXEXT8:
+        case FIXEXT16:
+            return 2;
+        case UINT16:
+        case INT16:
+        case STR16:
+        case BIN16:
+        case ARRAY16:
+        case MAP16:
+        case EXT8:
+            return 3;
+        case EXT16:
+            return 4;
+        case UINT32:
+        case INT32:
+        case FLOAT32:
+        case STR32:
+        case BIN32:
+        case ARRAY32:
+        case MAP32:
+            return 5;
+        case EXT32:
+            return 6;
+        case UINT64:
+        case INT64:
+        case FLOAT64:
+            return 9;
+        default:
+            throw new MessageNeverUsedFormatException("Unknown value type");
+        }
+    }
+
+    /**
+     * Gets the payload length of a string, binary or extension value. The payload length of all other values is zero.
+     *
+     * @param buffer
+     *            buffer
+     * @param position
+     *            position of value
+     * @param format
+     *            format of value
+     * @return payload length in bytes
+     */
+    public static int payloadLength(ByteBuffer buffer, int position, MessageFormat format) {
+        switch (format) {
+        case FIXSTR:
+            return buffer.get(position) & 0x1f;
+        case STR8:
+        case BIN8:
+        case EXT8:
+            return buffer.get(position + 1) & 0xff;
+        case STR16:
+        case BIN16:
+        case EXT16:
+            return buffer.getShort(position + 1) & 0xffff;
+        case STR32:
+        case BIN32:
+        case EXT32:
+            return toLength(buffer.getInt(position + 1));
+        case FIXEXT1:
+            return 1;
+        case FIXEXT2:
+            return 2;
+        case FIXEXT4:
+            return 4;
+        case FIXEXT8:
+            return 8;
+        case FIXEXT16:
+            return 16;
+        default:
+            return 0;
+        }
+    }
+
+    /**
+     * Gets the number of entries of a map or the number of elements of an array.
+     *
+     * @param buffer
+     *            buffer
+     * @param position
+     *            position of value
+     * @param format
+     *            format of value
+     * @return number of map entries or array elements
+     */
+    public static int containerSize(ByteBuffer buffer, int position, MessageFormat format) {
+        switch (format) {
+        case FIXMAP:
+        case FIXARRAY:
+            return buffer.get(position) & 0x0f;
+        case MAP16:
+        case ARRAY16:
+            return buffer.getShort(position + 1) & 0xffff;
+        case MAP32:
+        case ARRAY32:
+            return toLength(buffer.getInt(position + 1));
+        default:
+            throw new IllegalArgumentException("not a structure: " + format);
+        }
+    }
+
+    private static int toLength(int value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("length exceeds 2^31 - 1");
+        }
+        return value;
+    }
+
+    /**
+     * Gets the type of an extension value.
+     *
+     * @param buffer
+     *            buffer
+     * @param position
+     *            position of value
+     * @param format
+     *            format of value
+     * @return extension type
+     */
+    public static byte extensionType(ByteBuffer buffer, int position, MessageFormat format) {
+        return buffer.get(position + headerLength(format) - 1);
+    }
+
+    /**
+     * Reads an integer value. Unsigned 64-bit values exceeding {@code Long.MAX_VALUE} are returned as negative numbers.
+     *
+     * @param buffer
+     *            buffer
+     * @param position
+     *            position of value
+     * @param format
+     *            format of value
+     * @return integer value
+     */
+    public static long readLong(ByteBuffer buffer, int position, MessageFormat format) {
+        switch (format) {
+        case POSFIXINT:
+        case NEGFIXINT:
+            return buffer.get(position);
+        case UINT8:
+            return buffer.get(position + 1) & 0xff;
+        case UINT16:
+            return buffer.getShort(position + 1) & 0xffff;
+        case UINT32:
+            return buffer.getInt(position + 1) & 0xffffffffL;
+        case INT8:
+            return buffer.get(position + 1);
+        case INT16:
+            return buffer.getShort(position + 1);
+        case INT32:
+            return buffer.getInt(position + 1);
+        case UINT64:
+        case INT64:
+            return buffer.getLong(position + 1);
+        default:
+            throw new IllegalArgumentException("not an integer: " + format);
+        }
+    }
+
+    /**
+     * Reads an integer value which may exceed the range of a {@code long}.
+     *
+     * @param buffer
+     *            buffer
+     * @param position
+     *            position of value
+     * @param format
+     *            format of value
+     * @return integer value
+     */
+    public static BigInteger readBigInteger(ByteBuffer buffer, int position, MessageFormat format) {
+        long value = readLong(buffer, position, format);
+        if (format == MessageFormat.UINT64 && value < 0) {
+            return BigInteger.valueOf(value & Long.MAX_VALUE).setBit(Long.SIZE - 1);
+        }
+        return BigInteger.valueOf(value);
+    }
+
+    /**
+     * Reads a floating point value.
+     *
+     * @param buffer
+     *            buffer
+     * @param position
+     *            position of value
+     * @param format
+     *            format of value
+     * @return floating point value
+     */
+    public static double readDouble(ByteBuffer buffer, int position, MessageFormat format) {
+        if (format == MessageFormat.FLOAT32) {
+            return buffer.getFloat(position + 1);
+        }
+        return buffer.getDouble(position + 1);
+    }
+
+    /**
+     * Decodes a UTF-8 string of the given length.
+     *
+     * @param buffer
+     *            buffer
+     * @param offset
+     *            offset of first byte
+     * @param length
+     *            length in bytes
+     * @return string
+     */
+    public static String readString(ByteBuffer buffer, int offset, int length) {
+        if (buffer.hasArray()) {
+            return new String(buffer.array(), buffer.arrayOffset() + offset, length, StandardCharsets.UTF_8);
+        }
+        return new String(readBytes(buffer, offset, length), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Copies the given number of bytes into a new array.
+     *
+     * @param buffer
+     *            buffer
+     * @param offset
+     *            offset of first byte
+     * @param length
+     *            length in bytes
+     * @return byte array
+     */
+    public static byte[] readBytes(ByteBuffer buffer, int offset, int length) {
+        byte[] bytes = new byte[length];
+        ByteBuffer view = buffer.duplicate();
+        view.position(offset);
+        view.get(bytes);
+        return bytes;
+    }
+}
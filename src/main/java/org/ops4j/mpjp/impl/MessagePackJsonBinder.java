@@ -0,0 +1,176 @@
+package org.ops4j.mpjp.impl;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Map;
+
+import javax.json.JsonException;
+import javax.json.bind.Jsonb;
+import javax.json.bind.JsonbConfig;
+import javax.json.bind.JsonbException;
+import javax.json.spi.JsonProvider;
+
+import org.msgpack.core.MessageBufferPacker;
+import org.msgpack.core.MessagePack;
+import org.msgpack.core.MessagePackException;
+import org.msgpack.core.MessagePacker;
+import org.msgpack.core.MessageUnpacker;
+import org.ops4j.mpjp.api.MessagePackBinder;
+
+/**
+ * A {@link MessagePackBinder} with codecs for plain Java beans, falling back to JSON-B for all other types.
+ * <p>
+ * Values of a supported type nested in an unsupported type are bound by JSON-B. Values of an unsupported runtime
+ * subclass nested in a supported type are serialized by JSON-B and embedded in the MessagePack output.
+ *
+ * @author hwellmann
+ *
+ */
+public class MessagePackJsonBinder implements MessagePackBinder {
+
+    private final JsonProvider provider;
+    private final NumberCodec numberCodec;
+    private final KeyCache keyCache;
+    private final JsonValueEncoder encoder;
+    private final Jsonb jsonb;
+
+    /** Codecs, or null if all types are bound by JSON-B. */
+    private final BindingCodecs codecs;
+
+    /**
+     * Creates a binder.
+     *
+     * @param config
+     *            configuration of the MessagePack provider used by the given JSON-B instance, see
+     *            {@link org.ops4j.mpjp.api.MessagePackConfig}
+     * @param provider
+     *            provider for {@code JsonValue} instances
+     * @param jsonbConfig
+     *            configuration of the given JSON-B instance
+     * @param jsonb
+     *            JSON-B instance with the MessagePack provider, for unsupported types
+     */
+    public MessagePackJsonBinder(Map<String, ?> config, JsonProvider provider, JsonbConfig jsonbConfig, Jsonb jsonb) {
+        this.provider = provider;
+        this.numberCodec = NumberCodec.of(config);
+        this.keyCache = KeyCache.of(config);
+        this.encoder = new JsonValueEncoder(numberCodec, EncodedKeyCache.of(config));
+        this.jsonb = jsonb;
+        this.codecs = BindingCodecs.of(jsonbConfig);
+    }
+
+    @Override
+    public void toMessagePack(Object object, OutputStream os) {
+        ValueCodec codec = rootCodec(object);
+        if (codec == null) {
+            // JSON-B closes the stream, so it writes to a buffer
+            ByteArrayOutputStream baos = new ByteArrayOutputStream();
+            jsonb.toJson(object, baos);
+            try {
+                baos.writeTo(os);
+                os.flush();
+            } catch (IOException exc) {
+                throw new JsonException(exc.getMessage(), exc);
+            }
+            return;
+        }
+        MessagePacker packer = MessagePack.newDefaultPacker(os);
+        write(packer, codec, object);
+        try {
+            packer.flush();
+        } catch (IOException exc) {
+            throw new JsonException(exc.getMessage(), exc);
+        }
+    }
+
+    @Override
+    public byte[] toMessagePack(Object object) {
+        ValueCodec codec = rootCodec(object);
+        if (codec == null) {
+            ByteArrayOutputStream baos = new ByteArrayOutputStream();
+            jsonb.toJson(object, baos);
+            return baos.toByteArray();
+        }
+        MessageBufferPacker packer = MessagePack.newDefaultBufferPacker();
+        write(packer, codec, object);
+        return packer.toByteArray();
+    }
+
+    private void write(MessagePacker packer, ValueCodec codec, Object object) {
+        try {
+            codec.write(new BindingWriter(packer, codecs, numberCodec, encoder, jsonb), object);
+        } catch (IOException exc) {
+            throw new JsonException(exc.getMessage(), exc);
+        }
+    }
+
+    /**
+     * Gets the codec for a top-level object. Collections are supported if all their elements have the same supported
+     * runtime class.
+     *
+     * @param object
+     *            object
+     * @return codec, or null
+     */
+    private ValueCodec rootCodec(Object object) {
+        if (codecs == null || object == null) {
+            return null;
+        }
+        if (!(object instanceof Collection)) {
+            return codecs.codecFor(object.getClass());
+        }
+        Class<?> elementType = null;
+        for (Object element : (Collection<?>) object) {
+            if (element != null) {
+                if (elementType != null && element.getClass() != elementType) {
+                    return null;
+                }
+                elementType = element.getClass();
+            }
+        }
+        ValueCodec elementCodec = (elementType == null) ? null : codecs.codecFor(elementType);
+        return (elementCodec == null) ? null : new CollectionCodec(ArrayList::new, elementCodec);
+    }
+
+    @Override
+    public <T> T fromMessagePack(InputStream is, Type type) {
+        ValueCodec codec = (codecs == null) ? null : codecs.codecFor(type);
+        if (codec == null) {
+            return jsonb.fromJson(is, type);
+        }
+        return read(MessagePack.newDefaultUnpacker(is), codec);
+    }
+
+    @Override
+    public <T> T fromMessagePack(byte[] bytes, Type type) {
+        ValueCodec codec = (codecs == null) ? null : codecs.codecFor(type);
+        if (codec == null) {
+            return jsonb.fromJson(new ByteArrayInputStream(bytes), type);
+        }
+        return read(MessagePack.newDefaultUnpacker(bytes), codec);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T read(MessageUnpacker unpacker, ValueCodec codec) {
+        BindingReader reader = new BindingReader(unpacker,
+                new MessagePackJsonParser(unpacker, provider, numberCodec, keyCache));
+        try {
+            return (T) reader.read(codec);
+        } catch (IOException | MessagePackException exc) {
+            throw new JsonException(exc.getMessage(), exc);
+        } catch (ArithmeticException exc) {
+            throw new JsonbException(exc.getMessage(), exc);
+        }
+    }
+
+    @Override
+    public boolean isAccelerated(Type type) {
+        return codecs != null && codecs.codecFor(type) != null;
+    }
+}
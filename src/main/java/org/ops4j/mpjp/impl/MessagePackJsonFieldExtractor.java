@@ -0,0 +1,242 @@
+package org.ops4j.mpjp.impl;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import javax.json.JsonException;
+
+import org.msgpack.core.MessageFormat;
+import org.msgpack.value.ValueType;
+import org.ops4j.mpjp.api.MessagePackFieldExtractor;
+
+/**
+ * Extracts a single scalar value from raw MessagePack data by scanning the bytes, without an unpacker.
+ * <p>
+ * The path is compiled once, with all member names encoded as UTF-8. Extraction is a linear scan over the headers of
+ * the data. Map keys are compared to the compiled names byte by byte, and all values not on the path are skipped
+ * using {@link MessagePackBytes}. A miss does not allocate any objects.
+ * <p>
+ * MessagePack data is always read in big-endian order, whatever the order of the buffer.
+ *
+ * @author hwellmann
+ *
+ */
+public final class MessagePackJsonFieldExtractor implements MessagePackFieldExtractor {
+
+    private final String pointer;
+    private final byte[][] names;
+    private final int[] indices;
+
+    private MessagePackJsonFieldExtractor(String pointer, List<String> tokens) {
+        this.pointer = pointer;
+        this.names = new byte[tokens.size()][];
+        this.indices = new int[tokens.size()];
+        for (int i = 0; i < names.length; i++) {
+            String token = tokens.get(i);
+            names[i] = token.getBytes(StandardCharsets.UTF_8);
+            indices[i] = JsonPointers.toIndex(token);
+        }
+    }
+
+    /**
+     * Compiles an extractor for the given JSON Pointer.
+     *
+     * @param pointer
+     *            JSON Pointer
+     * @return extractor
+     * @throws JsonException
+     *             if the pointer is invalid
+     */
+    public static MessagePackJsonFieldExtractor compile(String pointer) {
+        return new MessagePackJsonFieldExtractor(pointer, JsonPointers.parse(pointer));
+    }
+
+    @Override
+    public int find(ByteBuffer buffer) {
+        return locate(bigEndian(buffer));
+    }
+
+    private static ByteBuffer bigEndian(ByteBuffer buffer) {
+        return (buffer.order() == ByteOrder.BIG_ENDIAN) ? buffer : buffer.duplicate().order(ByteOrder.BIG_ENDIAN);
+    }
+
+    private int locate(ByteBuffer buffer) {
+        try {
+            int pos = find(buffer, buffer.position());
+            if (pos >= 0 && MessagePackBytes.skip(buffer, pos) > buffer.limit()) {
+                throw new IndexOutOfBoundsException(Integer.toString(buffer.limit()));
+            }
+            return pos;
+        } catch (IndexOutOfBoundsException exc) {
+            throw new JsonException("Truncated MessagePack data", exc);
+        }
+    }
+
+    private int find(ByteBuffer buffer, int position) {
+        int pos = position;
+        for (int level = 0; level < names.length; level++) {
+            MessageFormat format = MessagePackBytes.format(buffer, pos);
+            switch (format.getValueType()) {
+            case MAP:
+                pos = findMember(buffer, pos, format, names[level]);
+                break;
+            case ARRAY:
+                pos = findElement(buffer, pos, format, indices[level]);
+                break;
+            default:
+                return -1;
+            }
+            if (pos < 0) {
+                return -1;
+            }
+        }
+        return pos;
+    }
+
+    private static int findMember(ByteBuffer buffer, int position, MessageFormat format, byte[] name) {
+        int size = MessagePackBytes.containerSize(buffer, position, format);
+        int pos = position + MessagePackBytes.headerLength(format);
+        for (int i = 0; i < size; i++) {
+            MessageFormat keyFormat = MessagePackBytes.format(buffer, pos);
+            boolean match = false;
+            if (keyFormat.getValueType() == ValueType.STRING) {
+                int length = MessagePackBytes.payloadLength(buffer, pos, keyFormat);
+                int offset = pos + MessagePackBytes.headerLength(keyFormat);
+                match = equalBytes(buffer, offset, length, name);
+                pos = offset + length;
+            } else {
+                pos = MessagePackBytes.skip(buffer, pos);
+            }
+            if (match) {
+                return pos;
+            }
+            pos = MessagePackBytes.skip(buffer, pos);
+        }
+        return -1;
+    }
+
+    private static int findElement(ByteBuffer buffer, int position, MessageFormat format, int index) {
+        int size = MessagePackBytes.containerSize(buffer, position, format);
+        if (index < 0 || index >= size) {
+            return -1;
+        }
+        int pos = position + MessagePackBytes.headerLength(format);
+        for (int i = 0; i < index; i++) {
+            pos = MessagePackBytes.skip(buffer, pos);
+        }
+        return pos;
+    }
+
+    private static boolean equalBytes(ByteBuffer buffer, int offset, int length, byte[] name) {
+        if (length != name.length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (buffer.get(offset + i) != name[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public String getString(byte[] bytes) {
+        return getString(ByteBuffer.wrap(bytes));
+    }
+
+    @Override
+    public String getString(ByteBuffer buffer) {
+        ByteBuffer view = bigEndian(buffer);
+        int pos = locate(view);
+        if (pos < 0) {
+            return null;
+        }
+        MessageFormat format = MessagePackBytes.format(view, pos);
+        switch (format.getValueType()) {
+        case NIL:
+            return null;
+        case STRING:
+            int length = MessagePackBytes.payloadLength(view, pos, format);
+            return MessagePackBytes.readString(view, pos + MessagePackBytes.headerLength(format), length);
+        default:
+            throw unexpectedType(ValueType.STRING, format);
+        }
+    }
+
+    @Override
+    public long getLong(byte[] bytes, long defaultValue) {
+        return getLong(ByteBuffer.wrap(bytes), defaultValue);
+    }
+
+    @Override
+    public long getLong(ByteBuffer buffer, long defaultValue) {
+        ByteBuffer view = bigEndian(buffer);
+        int pos = locate(view);
+        if (pos < 0) {
+            return defaultValue;
+        }
+        MessageFormat format = MessagePackBytes.format(view, pos);
+        if (format.getValueType() != ValueType.INTEGER) {
+            throw unexpectedType(ValueType.INTEGER, format);
+        }
+        long value = MessagePackBytes.readLong(view, pos, format);
+        if (format == MessageFormat.UINT64 && value < 0) {
+            throw new JsonException("Integer overflow at " + pointer + ": "
+                    + MessagePackBytes.readBigInteger(view, pos, format));
+        }
+        return value;
+    }
+
+    @Override
+    public double getDouble(byte[] bytes, double defaultValue) {
+        return getDouble(ByteBuffer.wrap(bytes), defaultValue);
+    }
+
+    @Override
+    public double getDouble(ByteBuffer buffer, double defaultValue) {
+        ByteBuffer view = bigEndian(buffer);
+        int pos = locate(view);
+        if (pos < 0) {
+            return defaultValue;
+        }
+        MessageFormat format = MessagePackBytes.format(view, pos);
+        switch (format.getValueType()) {
+        case FLOAT:
+            return MessagePackBytes.readDouble(view, pos, format);
+        case INTEGER:
+            return MessagePackBytes.readBigInteger(view, pos, format).doubleValue();
+        default:
+            throw unexpectedType(ValueType.FLOAT, format);
+        }
+    }
+
+    @Override
+    public boolean getBoolean(byte[] bytes, boolean defaultValue) {
+        return getBoolean(ByteBuffer.wrap(bytes), defaultValue);
+    }
+
+    @Override
+    public boolean getBoolean(ByteBuffer buffer, boolean defaultValue) {
+        ByteBuffer view = bigEndian(buffer);
+        int pos = locate(view);
+        if (pos < 0) {
+            return defaultValue;
+        }
+        MessageFormat format = MessagePackBytes.format(view, pos);
+        if (format != MessageFormat.BOOLEAN) {
+            throw unexpectedType(ValueType.BOOLEAN, format);
+        }
+        return view.get(pos) == (byte) 0xc3;
+    }
+
+    private JsonException unexpectedType(ValueType expected, MessageFormat actual) {
+        return new JsonException("Expected " + expected + " at " + pointer + ", found " + actual.getValueType());
+    }
+
+    @Override
+    public String toString() {
+        return pointer;
+    }
+}
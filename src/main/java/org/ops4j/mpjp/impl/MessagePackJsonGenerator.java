@@ -1,28 +1,21 @@
 package org.ops4j.mpjp.impl;
 
-import static org.ops4j.mpjp.api.ExtensionTypes.KEY_PAYLOAD;
-import static org.ops4j.mpjp.api.ExtensionTypes.KEY_TYPE;
 import static org.ops4j.mpjp.impl.CheckedRunnable.unchecked;
 
-import java.io.IOException;
 import java.io.OutputStream;
 import java.math.BigDecimal;
 import java.math.BigInteger;
-import java.nio.charset.StandardCharsets;
 import java.util.ArrayDeque;
 import java.util.Deque;
-import java.util.Map;
 
-import javax.json.JsonArray;
-import javax.json.JsonNumber;
-import javax.json.JsonObject;
-import javax.json.JsonString;
 import javax.json.JsonValue;
 import javax.json.stream.JsonGenerationException;
 import javax.json.stream.JsonGenerator;
 
 import org.msgpack.core.MessagePack;
 import org.msgpack.core.MessagePacker;
+import org.msgpack.core.buffer.OutputStreamBufferOutput;
+import org.ops4j.mpjp.api.ResettableJsonGenerator;
 
 /**
  * A {@link JsonGenerator} which actually generates MessagePack instead of JSON.
@@ -36,7 +29,7 @@ import org.msgpack.core.MessagePacker;
  * @author hwellmann
  *
  */
-public class MessagePackJsonGenerator implements JsonGenerator {
+public class MessagePackJsonGenerator implements ResettableJsonGenerator {
 
     private static class Context {
         boolean first = true;
@@ -48,13 +41,34 @@ public class MessagePackJsonGenerator implements JsonGenerator {
         }
     }
 
+    private final OutputStreamBufferOutput output;
     private final MessagePacker packer;
+    private final NumberCodec numberCodec;
+    private final JsonValueEncoder encoder;
 
     private Context currentContext = new Context(Scope.IN_NONE);
     private final Deque<Context> stack = new ArrayDeque<>();
 
     public MessagePackJsonGenerator(OutputStream os) {
-        this.packer = MessagePack.newDefaultPacker(os);
+        this(os, NumberCodec.DEFAULT, null);
+    }
+
+    MessagePackJsonGenerator(OutputStream os, NumberCodec numberCodec, EncodedKeyCache keyCache) {
+        this.output = new OutputStreamBufferOutput(os);
+        this.packer = MessagePack.DEFAULT_PACKER_CONFIG.newPacker(output);
+        this.numberCodec = numberCodec;
+        this.encoder = new JsonValueEncoder(numberCodec, keyCache);
+    }
+
+    @Override
+    public void reset(OutputStream os) {
+        packer.clear();
+        unchecked(() -> {
+            output.reset(os);
+            packer.reset(output);
+        });
+        currentContext = new Context(Scope.IN_NONE);
+        stack.clear();
     }
 
     @Override
@@ -71,7 +85,7 @@ public class MessagePackJsonGenerator implements JsonGenerator {
     public JsonGenerator writeKey(String name) {
         checkContextForObject();
 
-        unchecked(() -> packer.packString(name));
+        unchecked(() -> encoder.writeKey(packer, name));
 
         stack.push(currentContext);
         currentContext = new Context(Scope.IN_FIELD);
@@ -172,92 +186,17 @@ public class MessagePackJsonGenerator implements JsonGenerator {
         return this;
     }
 
+    /**
+     * Writes the given value, walking complete trees by a {@link JsonValueEncoder} without any per-member context.
+     */
     @Override
     public JsonGenerator write(JsonValue value) {
         checkContextForValue();
-
-        switch (value.getValueType()) {
-        case ARRAY:
-            JsonArray array = (JsonArray) value;
-            unchecked(() -> writeArrayStart(array));
-            for (JsonValue child : array) {
-                write(child);
-            }
-            writeEnd();
-            break;
-        case OBJECT:
-            JsonObject object = (JsonObject) value;
-            if (object.containsKey(KEY_TYPE)) {
-                writeExtensionType(object);
-            } else {
-                writeObject(object);
-            }
-            break;
-        case STRING:
-            JsonString str = (JsonString) value;
-            write(str.getString());
-            break;
-        case NUMBER:
-            JsonNumber number = (JsonNumber) value;
-            unchecked(() -> writeNumber(number));
-            popFieldContext();
-            break;
-        case TRUE:
-            write(true);
-            break;
-        case FALSE:
-            write(false);
-            break;
-        case NULL:
-            writeNull();
-            break;
-        default:
-            throw new IllegalArgumentException("Unknown value type: " + value.getValueType());
-        }
-
+        popFieldContext();
+        unchecked(() -> encoder.encode(packer, value));
         return this;
     }
 
-    private void writeExtensionType(JsonObject object) {
-        int type = object.getInt(KEY_TYPE);
-        String payload = object.getString(KEY_PAYLOAD);
-        unchecked(() -> writeExtensionType(type, payload));
-        writeEnd();
-    }
-
-    private void writeExtensionType(int type, String payload) throws IOException {
-        packer.packExtensionTypeHeader((byte) type, payload.length());
-        packer.writePayload(payload.getBytes(StandardCharsets.ISO_8859_1));
-    }
-
-    private void writeObject(JsonObject object) {
-        unchecked(() -> writeObjectStart(object));
-        for (Map.Entry<String, JsonValue> member : object.entrySet()) {
-            write(member.getKey(), member.getValue());
-        }
-        writeEnd();
-    }
-
-    private MessagePacker writeObjectStart(JsonObject object) throws IOException {
-        stack.push(currentContext);
-        currentContext = new Context(Scope.IN_OBJECT);
-        return packer.packMapHeader(object.size());
-    }
-
-    private void writeArrayStart(JsonArray array) throws IOException {
-        stack.push(currentContext);
-        currentContext = new Context(Scope.IN_ARRAY);
-        packer.packArrayHeader(array.size());
-    }
-
-    private void writeNumber(JsonNumber number) throws IOException {
-        if (number.isIntegral()) {
-            packer.packBigInteger(number.bigIntegerValue());
-        } else {
-            packer.packDouble(number.doubleValue());
-        }
-    }
-
     @Override
     public JsonGenerator write(String value) {
         checkContextForValue();
@@ -268,14 +207,17 @@ public class MessagePackJsonGenerator implements JsonGenerator {
 
     @Override
     public JsonGenerator write(BigDecimal value) {
-        throw new UnsupportedOperationException();
+        checkContextForValue();
+        popFieldContext();
+        unchecked(() -> numberCodec.packBigDecimal(packer, value));
+        return this;
     }
 
     @Override
     public JsonGenerator write(BigInteger value) {
         checkContextForValue();
         popFieldContext();
-        unchecked(() -> packer.packBigInteger(value));
+        unchecked(() -> numberCodec.packBigInteger(packer, value));
         return this;
     }
 
@@ -5,24 +5,43 @@ import java.io.Writer;
 import java.nio.charset.Charset;
 import java.util.Map;
 
+import javax.json.JsonWriter;
 import javax.json.spi.JsonProvider;
 import javax.json.stream.JsonGenerator;
-import javax.json.stream.JsonGeneratorFactory;
+
+import org.ops4j.mpjp.api.MessagePackConfig;
+import org.ops4j.mpjp.api.MessagePackDocumentWriter;
+import org.ops4j.mpjp.api.MessagePackGeneratorFactory;
 
 /**
- * Factory for {@link MessagePackJsonGenerator}s, wrapped in a {@link JsonValueJsonGenerator}.
+ * Factory for {@link MessagePackJsonGenerator}s, wrapped in a {@link JsonValueJsonGenerator}, or for
+ * {@link MessagePackStreamingJsonGenerator}s, if enabled by {@link MessagePackConfig#GENERATOR_STREAMING}.
+ * <p>
+ * Closed generators are reset and reused if enabled by {@link MessagePackConfig#POOL}.
  *
  * @author hwellmann
  *
  */
-public class MessagePackJsonGeneratorFactory implements JsonGeneratorFactory {
+public class MessagePackJsonGeneratorFactory implements MessagePackGeneratorFactory {
 
     private final Map<String, ?> config;
     private final JsonProvider provider;
+    private final boolean streaming;
+    private final boolean compactHeaders;
+    private final NumberCodec numberCodec;
+    private final EncodedKeyCache keyCache;
+    private final InstancePool<MessagePackStreamingJsonGenerator> streamingPool;
+    private final InstancePool<JsonValueJsonGenerator> pool;
 
     public MessagePackJsonGeneratorFactory(Map<String, ?> config, JsonProvider provider) {
         this.config = config;
         this.provider = provider;
+        this.streaming = ConfigProperties.getBoolean(config, MessagePackConfig.GENERATOR_STREAMING, false);
+        this.compactHeaders = ConfigProperties.getBoolean(config, MessagePackConfig.GENERATOR_COMPACT_HEADERS, false);
+        this.numberCodec = NumberCodec.of(config);
+        this.keyCache = EncodedKeyCache.of(config);
+        this.streamingPool = streaming ? InstancePool.of(config) : null;
+        this.pool = streaming ? null : InstancePool.of(config);
     }
 
     @Override
@@ -32,10 +51,62 @@ public class MessagePackJsonGeneratorFactory implements JsonGeneratorFactory {
 
     @Override
     public JsonGenerator createGenerator(OutputStream out) {
-        JsonGenerator delegate = new MessagePackJsonGenerator(out);
+        if (out instanceof DocumentOutputStream) {
+            return ((DocumentOutputStream) out).nextGenerator();
+        }
+        if (streaming) {
+            return createStreamingGenerator(out);
+        }
+        if (pool == null) {
+            return newGenerator(out);
+        }
+        JsonValueJsonGenerator generator = pool.acquire();
+        if (generator == null) {
+            generator = newGenerator(out);
+            generator.setPool(pool);
+            pool.register(generator);
+        } else {
+            generator.reset(out);
+        }
+        return generator;
+    }
+
+    private JsonValueJsonGenerator newGenerator(OutputStream out) {
+        JsonGenerator delegate = new MessagePackJsonGenerator(out, numberCodec, keyCache);
         return new JsonValueJsonGenerator(delegate, provider);
     }
 
+    private JsonGenerator createStreamingGenerator(OutputStream out) {
+        if (streamingPool == null) {
+            return new MessagePackStreamingJsonGenerator(out, compactHeaders, numberCodec, keyCache);
+        }
+        MessagePackStreamingJsonGenerator generator = streamingPool.acquire();
+        if (generator == null) {
+            generator = new MessagePackStreamingJsonGenerator(out, compactHeaders, numberCodec, keyCache);
+            generator.setPool(streamingPool);
+            streamingPool.register(generator);
+        } else {
+            generator.reset(out);
+        }
+        return generator;
+    }
+
+    @Override
+    public MessagePackDocumentWriter createDocumentWriter(OutputStream out) {
+        return new StreamingDocumentWriter(out, numberCodec, keyCache);
+    }
+
+    /**
+     * Creates a writer encoding a single {@code JsonValue} tree to the given stream.
+     *
+     * @param out
+     *            output stream
+     * @return JSON writer
+     */
+    JsonWriter createWriter(OutputStream out) {
+        return new MessagePackJsonWriter(out, numberCodec, keyCache);
+    }
+
     @Override
     public JsonGenerator createGenerator(OutputStream out, Charset charset) {
         return createGenerator(out);
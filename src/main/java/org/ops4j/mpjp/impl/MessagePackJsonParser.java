@@ -1,24 +1,26 @@
 package org.ops4j.mpjp.impl;
 
-import static org.ops4j.mpjp.api.ExtensionTypes.KEY_PAYLOAD;
-import static org.ops4j.mpjp.api.ExtensionTypes.KEY_TYPE;
 import static org.ops4j.mpjp.impl.CheckedCallable.callUnchecked;
 
 import java.io.IOException;
 import java.io.InputStream;
-import java.nio.charset.StandardCharsets;
-import java.util.Base64;
 
+import javax.json.JsonArray;
 import javax.json.JsonArrayBuilder;
+import javax.json.JsonObject;
 import javax.json.JsonObjectBuilder;
 import javax.json.JsonValue;
 import javax.json.spi.JsonProvider;
 
 import org.msgpack.core.ExtensionTypeHeader;
 import org.msgpack.core.MessageFormat;
+import org.msgpack.core.MessageIntegerOverflowException;
 import org.msgpack.core.MessageNeverUsedFormatException;
 import org.msgpack.core.MessagePack;
 import org.msgpack.core.MessageUnpacker;
+import org.msgpack.core.buffer.MessageBuffer;
+import org.ops4j.mpjp.api.BinaryJsonString;
+import org.ops4j.mpjp.api.ExtensionValue;
 
 /**
  * Reads a MessagePack stream into a {@link JsonValue}.
@@ -28,13 +30,35 @@ import org.msgpack.core.MessageUnpacker;
  */
 public class MessagePackJsonParser {
 
-    private MessageUnpacker unpacker;
+    private final MessageUnpacker unpacker;
 
-    private JsonProvider provider;
+    private final JsonProvider provider;
+
+    private final NumberCodec numberCodec;
+
+    private final KeyCache keyCache;
+
+    private final MessageBuffer keyBuffer;
 
     public MessagePackJsonParser(InputStream is, JsonProvider provider) {
-        this.unpacker = MessagePack.newDefaultUnpacker(is);
+        this(MessagePack.newDefaultUnpacker(is), provider);
+    }
+
+    public MessagePackJsonParser(MessageUnpacker unpacker, JsonProvider provider) {
+        this(unpacker, provider, NumberCodec.DEFAULT);
+    }
+
+    MessagePackJsonParser(MessageUnpacker unpacker, JsonProvider provider, NumberCodec numberCodec) {
+        this(unpacker, provider, numberCodec, null);
+    }
+
+    MessagePackJsonParser(MessageUnpacker unpacker, JsonProvider provider, NumberCodec numberCodec,
+            KeyCache keyCache) {
+        this.unpacker = unpacker;
         this.provider = provider;
+        this.numberCodec = numberCodec;
+        this.keyCache = keyCache;
+        this.keyBuffer = (keyCache == null) ? null : MessageBuffer.wrap(new byte[KeyCache.MAX_KEY_LENGTH]);
     }
 
     public JsonValue readJsonValue() {
@@ -51,51 +75,93 @@ public class MessagePackJsonParser {
             boolean b = unpacker.unpackBoolean();
             return b ? JsonValue.TRUE : JsonValue.FALSE;
         case INTEGER:
-            switch (mf) {
-            case UINT64:
-                return provider.createValue(unpacker.unpackBigInteger());
-            default:
-                return provider.createValue(unpacker.unpackLong());
+            try {
+                return new LongJsonNumber(unpacker.unpackLong());
+            } catch (MessageIntegerOverflowException exc) {
+                return provider.createValue(exc.getBigInteger());
             }
         case FLOAT:
-            return provider.createValue(unpacker.unpackDouble());
+            return new DoubleJsonNumber(unpacker.unpackDouble());
         case STRING: {
             return provider.createValue(unpacker.unpackString());
         }
         case BINARY: {
             int length = unpacker.unpackBinaryHeader();
-            String encoded = Base64.getEncoder().encodeToString(unpacker.readPayload(length));
-            return provider.createValue(encoded);
-        }
-        case ARRAY: {
-            int size = unpacker.unpackArrayHeader();
-            JsonArrayBuilder builder = provider.createArrayBuilder();
-            for (int i = 0; i < size; i++) {
-                builder.add(readJsonValue());
-            }
-            return builder.build();
-        }
-        case MAP: {
-            int size = unpacker.unpackMapHeader();
-            JsonObjectBuilder builder = provider.createObjectBuilder();
-            for (int i = 0; i < size; i++) {
-                String key = unpacker.unpackString();
-                JsonValue value = readJsonValue();
-                builder.add(key, value);
-            }
-            return builder.build();
+            return BinaryJsonString.of(unpacker.readPayload(length));
         }
-        case EXTENSION: {
+        case ARRAY:
+            return readArray(unpacker.unpackArrayHeader());
+        case MAP:
+            return readObject(unpacker.unpackMapHeader());
+        case EXTENSION:
             ExtensionTypeHeader extHeader = unpacker.unpackExtensionTypeHeader();
-            int type = extHeader.getType();
             byte[] payload = unpacker.readPayload(extHeader.getLength());
-            JsonObjectBuilder builder = provider.createObjectBuilder();
-            builder.add(KEY_TYPE, type);
-            builder.add(KEY_PAYLOAD, new String(payload, StandardCharsets.ISO_8859_1));
-            return builder.build();
-        }
+            if (numberCodec.isDecimalExtension(extHeader.getType())) {
+                return provider.createValue(NumberCodec.decodeDecimal(payload));
+            }
+            return createExtension(extHeader.getType(), payload);
         default:
             throw new MessageNeverUsedFormatException("Unknown value type");
         }
     }
+
+    /**
+     * Reads the given number of array elements, assuming the array header has already been consumed.
+     *
+     * @param size
+     *            number of elements
+     * @return JSON array
+     */
+    JsonArray readArray(int size) {
+        JsonArrayBuilder builder = provider.createArrayBuilder();
+        for (int i = 0; i < size; i++) {
+            builder.add(readJsonValue());
+        }
+        return builder.build();
+    }
+
+    /**
+     * Reads the given number of map entries, assuming the map header has already been consumed.
+     *
+     * @param size
+     *            number of entries
+     * @return JSON object
+     */
+    JsonObject readObject(int size) {
+        JsonObjectBuilder builder = provider.createObjectBuilder();
+        for (int i = 0; i < size; i++) {
+            String key = callUnchecked(this::readKey);
+            JsonValue value = readJsonValue();
+            builder.add(key, value);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Reads a map key, using the key cache if enabled.
+     *
+     * @return key
+     * @throws IOException
+     *             on read error
+     */
+    String readKey() throws IOException {
+        if (keyCache == null) {
+            return unpacker.unpackString();
+        }
+        return keyCache.readKey(unpacker, keyBuffer);
+    }
+
+    /**
+     * Creates the intermediate representation of an extension type value.
+     *
+     * @param type
+     *            extension type
+     * @param payload
+     *            payload
+     * @return JSON object with type and payload
+     * @see org.ops4j.mpjp.api.ExtensionTypes
+     */
+    ExtensionValue createExtension(int type, byte[] payload) {
+        return ExtensionValue.of(type, payload);
+    }
 }
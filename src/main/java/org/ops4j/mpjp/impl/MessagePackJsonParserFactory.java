@@ -1,34 +1,71 @@
 package org.ops4j.mpjp.impl;
 
+import java.io.Closeable;
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
 
 import javax.json.JsonArray;
+import javax.json.JsonArrayBuilder;
 import javax.json.JsonException;
 import javax.json.JsonObject;
+import javax.json.JsonReader;
 import javax.json.JsonValue;
+import javax.json.bind.Jsonb;
 import javax.json.spi.JsonProvider;
 import javax.json.stream.JsonParser;
 import javax.json.stream.JsonParserFactory;
 
+import org.msgpack.core.MessagePack;
+import org.msgpack.core.MessageUnpacker;
+import org.msgpack.core.buffer.ArrayBufferInput;
+import org.msgpack.core.buffer.ByteBufferInput;
+import org.msgpack.core.buffer.InputStreamBufferInput;
+import org.msgpack.core.buffer.MessageBuffer;
+import org.msgpack.core.buffer.MessageBufferInput;
+import org.ops4j.mpjp.api.MappedInputStream;
+import org.ops4j.mpjp.api.MessagePackConfig;
+import org.ops4j.mpjp.api.MessagePackDocumentReader;
+import org.ops4j.mpjp.api.MessagePackParserFactory;
+import org.ops4j.mpjp.api.MessagePackProjection;
+
 /**
- * Factory for {@link MessagePackJsonParser}s, wrapped in a {@link JsonValueJsonParser}.
+ * Factory for {@link MessagePackStreamingJsonParser}s.
+ * <p>
+ * Parsers are reset and reused if enabled by {@link MessagePackConfig#POOL}.
  *
  * @author hwellmann
  *
  */
-public class MessagePackJsonParserFactory implements JsonParserFactory {
+public class MessagePackJsonParserFactory implements MessagePackParserFactory {
+
+    private static final boolean DIRECT_BUFFER_SUPPORTED = isDirectBufferSupported();
+
+    private static final int DEFAULT_WINDOW_SIZE = 1 << 30;
 
     private final Map<String, ?> config;
     private final JsonProvider provider;
-    private final JsonParserFactory parserFactory;
+    private volatile JsonParserFactory parserFactory;
+    private final NumberCodec numberCodec;
+    private final KeyCache keyCache;
+    private final InstancePool<MessagePackStreamingJsonParser> pool;
+    private final int windowSize;
 
     public MessagePackJsonParserFactory(Map<String, ?> config, JsonProvider provider) {
         this.config = config;
         this.provider = provider;
-        this.parserFactory = provider.createParserFactory(config);
+        this.numberCodec = NumberCodec.of(config);
+        this.keyCache = KeyCache.of(config);
+        this.pool = InstancePool.of(config);
+        this.windowSize = ConfigProperties.getInt(config, MessagePackConfig.MAPPED_WINDOW_SIZE, DEFAULT_WINDOW_SIZE);
     }
 
     @Override
@@ -38,18 +75,184 @@ public class MessagePackJsonParserFactory implements JsonParserFactory {
 
     @Override
     public JsonParser createParser(InputStream is) {
-        MessagePackJsonParser reader = new MessagePackJsonParser(is, provider);
-        JsonValue jsonValue = reader.readJsonValue();
-        switch (jsonValue.getValueType()) {
-        case ARRAY:
-            return new JsonValueJsonParser(jsonValue.asJsonArray());
-        case OBJECT:
-            return new JsonValueJsonParser(jsonValue.asJsonObject());
-        default:
-            throw new JsonException("Cannot parse top-level value of type " + jsonValue.getValueType());
+        if (is instanceof DocumentInputStream) {
+            return ((DocumentInputStream) is).nextParser();
+        }
+        if (is instanceof MappedInputStream) {
+            try {
+                return createMappedParser(((MappedInputStream) is).getChannel(), is);
+            } catch (IOException exc) {
+                throw new JsonException(exc.getMessage(), exc);
+            }
+        }
+        MessagePackStreamingJsonParser parser = (pool == null) ? null : pool.acquire();
+        if (parser == null) {
+            return newParser(new InputStreamBufferInput(is));
+        }
+        parser.reset(is);
+        return parser;
+    }
+
+    @Override
+    public JsonParser createParser(byte[] bytes) {
+        return createParser(new ArrayBufferInput(bytes));
+    }
+
+    @Override
+    public JsonParser createParser(byte[] bytes, int offset, int length) {
+        return createParser(new ArrayBufferInput(bytes, offset, length));
+    }
+
+    @Override
+    public JsonParser createParser(ByteBuffer buffer) {
+        return createParser(toBufferInput(buffer));
+    }
+
+    /**
+     * Creates an unpacker input for the remaining bytes of the given buffer. Direct buffers are copied if not
+     * supported by msgpack-core.
+     *
+     * @param buffer
+     *            heap or direct buffer
+     * @return unpacker input
+     */
+    static MessageBufferInput toBufferInput(ByteBuffer buffer) {
+        if (buffer.isDirect() && !DIRECT_BUFFER_SUPPORTED) {
+            byte[] bytes = new byte[buffer.remaining()];
+            buffer.duplicate().get(bytes);
+            return new ArrayBufferInput(bytes);
+        }
+        return new ByteBufferInput(buffer);
+    }
+
+    @Override
+    public JsonParser createParser(Path path) {
+        FileChannel channel = null;
+        try {
+            channel = FileChannel.open(path, StandardOpenOption.READ);
+            return createMappedParser(channel, channel);
+        } catch (IOException exc) {
+            closeQuietly(channel);
+            throw new JsonException(exc.getMessage(), exc);
+        }
+    }
+
+    @Override
+    public JsonParser createParser(FileChannel channel) {
+        try {
+            return createMappedParser(channel, null);
+        } catch (IOException exc) {
+            throw new JsonException(exc.getMessage(), exc);
+        }
+    }
+
+    @Override
+    public MessagePackDocumentReader createDocumentReader(InputStream is) {
+        return new StreamingDocumentReader(is, provider, numberCodec, keyCache);
+    }
+
+    /**
+     * Creates a reader decoding a single value from the given stream into a {@code JsonValue} tree.
+     *
+     * @param is
+     *            input stream
+     * @return JSON reader
+     */
+    JsonReader createReader(InputStream is) {
+        return new MessagePackJsonReader(MessagePack.newDefaultUnpacker(is), provider, numberCodec, keyCache);
+    }
+
+    @Override
+    public JsonArray readArray(ByteBuffer buffer, ForkJoinPool forkJoinPool) {
+        List<JsonValue> values = new ParallelArrayReader(buffer).decode(forkJoinPool, (input, result, from, count) -> {
+            MessagePackJsonParser reader = new MessagePackJsonParser(
+                    MessagePack.DEFAULT_UNPACKER_CONFIG.newUnpacker(input), provider, numberCodec, keyCache);
+            for (int i = 0; i < count; i++) {
+                result.set(from + i, reader.readJsonValue());
+            }
+        });
+        JsonArrayBuilder builder = provider.createArrayBuilder();
+        values.forEach(builder::add);
+        return builder.build();
+    }
+
+    @Override
+    public <T> List<T> readArray(ByteBuffer buffer, Jsonb jsonb, Class<T> type, ForkJoinPool forkJoinPool) {
+        return new ParallelArrayReader(buffer).decode(forkJoinPool, (input, result, from, count) -> {
+            StreamingDocumentReader reader = new StreamingDocumentReader(
+                    MessagePack.DEFAULT_UNPACKER_CONFIG.newUnpacker(input), provider, numberCodec, keyCache);
+            for (int i = 0; i < count; i++) {
+                result.set(from + i, reader.readValue(jsonb, type));
+            }
+        });
+    }
+
+    @Override
+    public JsonValue readProjection(InputStream is, MessagePackProjection projection) {
+        return readProjection(new InputStreamBufferInput(is), projection);
+    }
+
+    @Override
+    public JsonValue readProjection(ByteBuffer buffer, MessagePackProjection projection) {
+        return readProjection(toBufferInput(buffer), projection);
+    }
+
+    private JsonValue readProjection(MessageBufferInput input, MessagePackProjection projection) {
+        try (MessageUnpacker unpacker = MessagePack.DEFAULT_UNPACKER_CONFIG.newUnpacker(input)) {
+            return new ProjectionReader(unpacker, provider, numberCodec, keyCache).read(projection);
+        } catch (IOException exc) {
+            throw new JsonException(exc.getMessage(), exc);
         }
     }
 
+    private JsonParser createMappedParser(FileChannel channel, Closeable owner) throws IOException {
+        return createParser(new MappedFileBufferInput(channel, owner, windowSize, !DIRECT_BUFFER_SUPPORTED));
+    }
+
+    private static void closeQuietly(Closeable closeable) {
+        if (closeable != null) {
+            try {
+                closeable.close();
+            } catch (IOException exc) {
+                // ignore secondary exception
+            }
+        }
+    }
+
+    /**
+     * Checks if msgpack-core can decode from direct buffers. This requires access to JDK internals which may be
+     * denied on Java 9 and later.
+     *
+     * @return true if direct buffers are supported
+     */
+    private static boolean isDirectBufferSupported() {
+        try {
+            MessageBuffer.wrap(ByteBuffer.allocateDirect(1));
+            return true;
+        } catch (UnsupportedOperationException exc) {
+            return false;
+        }
+    }
+
+    private JsonParser createParser(MessageBufferInput input) {
+        MessagePackStreamingJsonParser parser = (pool == null) ? null : pool.acquire();
+        if (parser == null) {
+            return newParser(input);
+        }
+        parser.reset(input);
+        return parser;
+    }
+
+    private MessagePackStreamingJsonParser newParser(MessageBufferInput input) {
+        MessagePackStreamingJsonParser parser = new MessagePackStreamingJsonParser(input, provider, numberCodec,
+                keyCache);
+        if (pool != null) {
+            parser.setPool(pool);
+            pool.register(parser);
+        }
+        return parser;
+    }
+
     @Override
     public JsonParser createParser(InputStream is, Charset charset) {
         return createParser(is);
@@ -57,12 +260,26 @@ public class MessagePackJsonParserFactory implements JsonParserFactory {
 
     @Override
     public JsonParser createParser(JsonObject obj) {
-        return parserFactory.createParser(obj);
+        return getParserFactory().createParser(obj);
     }
 
     @Override
     public JsonParser createParser(JsonArray array) {
-        return parserFactory.createParser(array);
+        return getParserFactory().createParser(array);
+    }
+
+    /**
+     * Gets the delegate parser factory for JSON values, which is created on demand.
+     *
+     * @return parser factory
+     */
+    private JsonParserFactory getParserFactory() {
+        JsonParserFactory factory = parserFactory;
+        if (factory == null) {
+            factory = provider.createParserFactory(config);
+            parserFactory = factory;
+        }
+        return factory;
     }
 
     @Override
@@ -0,0 +1,99 @@
+package org.ops4j.mpjp.impl;
+
+import java.io.IOException;
+
+import javax.json.JsonArray;
+import javax.json.JsonException;
+import javax.json.JsonObject;
+import javax.json.JsonReader;
+import javax.json.JsonStructure;
+import javax.json.JsonValue;
+import javax.json.JsonValue.ValueType;
+import javax.json.spi.JsonProvider;
+import javax.json.stream.JsonParsingException;
+
+import org.msgpack.core.MessageUnpacker;
+
+/**
+ * A {@link JsonReader} decoding a single MessagePack value directly into a {@link JsonValue} tree, without parser
+ * events.
+ * <p>
+ * Any data following the first value is not read. Extension types are read as for
+ * {@link MessagePackJsonParser#readJsonValue()}.
+ *
+ * @author hwellmann
+ *
+ */
+final class MessagePackJsonReader implements JsonReader {
+
+    private final MessageUnpacker unpacker;
+    private final MessagePackJsonParser valueReader;
+    private boolean done;
+
+    MessagePackJsonReader(MessageUnpacker unpacker, JsonProvider provider, NumberCodec numberCodec,
+            KeyCache keyCache) {
+        this.unpacker = unpacker;
+        this.valueReader = new MessagePackJsonParser(unpacker, provider, numberCodec, keyCache);
+    }
+
+    @Override
+    public JsonStructure read() {
+        JsonValue value = readValue();
+        if (value instanceof JsonStructure) {
+            return (JsonStructure) value;
+        }
+        throw unexpectedType("JsonStructure", value);
+    }
+
+    @Override
+    public JsonObject readObject() {
+        JsonValue value = readValue();
+        if (value.getValueType() == ValueType.OBJECT) {
+            return (JsonObject) value;
+        }
+        throw unexpectedType("JsonObject", value);
+    }
+
+    @Override
+    public JsonArray readArray() {
+        JsonValue value = readValue();
+        if (value.getValueType() == ValueType.ARRAY) {
+            return (JsonArray) value;
+        }
+        throw unexpectedType("JsonArray", value);
+    }
+
+    @Override
+    public JsonValue readValue() {
+        if (done) {
+            throw new IllegalStateException("read or close method already called");
+        }
+        done = true;
+        try {
+            if (!unpacker.hasNext()) {
+                throw new JsonParsingException("No value to read", location());
+            }
+        } catch (IOException exc) {
+            throw new JsonException(exc.getMessage(), exc);
+        }
+        return valueReader.readJsonValue();
+    }
+
+    private JsonParsingException unexpectedType(String expected, JsonValue value) {
+        return new JsonParsingException("Cannot read " + expected + ", found " + value.getValueType(), location());
+    }
+
+    private JsonLocationImpl location() {
+        return new JsonLocationImpl(unpacker.getTotalReadBytes());
+    }
+
+    @Override
+    public void close() {
+        done = true;
+        try {
+            unpacker.close();
+        } catch (IOException exc) {
+            throw new JsonException(exc.getMessage(), exc);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package org.ops4j.mpjp.impl;
+
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.util.Map;
+
+import javax.json.JsonReader;
+import javax.json.JsonReaderFactory;
+
+/**
+ * Factory for {@link JsonReader}s decoding MessagePack, with the configuration of a
+ * {@link MessagePackJsonParserFactory}.
+ *
+ * @author hwellmann
+ *
+ */
+public class MessagePackJsonReaderFactory implements JsonReaderFactory {
+
+    private final MessagePackJsonParserFactory parserFactory;
+
+    public MessagePackJsonReaderFactory(MessagePackJsonParserFactory parserFactory) {
+        this.parserFactory = parserFactory;
+    }
+
+    @Override
+    public JsonReader createReader(Reader reader) {
+        throw new UnsupportedOperationException("Reader is not supported for this reader, please use InputStream");
+    }
+
+    @Override
+    public JsonReader createReader(InputStream in) {
+        return parserFactory.createReader(in);
+    }
+
+    /**
+     * Creates a reader for the given stream. The charset is ignored, since MessagePack strings are always encoded as
+     * UTF-8.
+     */
+    @Override
+    public JsonReader createReader(InputStream in, Charset charset) {
+        return createReader(in);
+    }
+
+    @Override
+    public Map<String, ?> getConfigInUse() {
+        return parserFactory.getConfigInUse();
+    }
+}
@@ -0,0 +1,59 @@
+package org.ops4j.mpjp.impl;
+
+import java.io.OutputStream;
+
+import javax.json.JsonArray;
+import javax.json.JsonObject;
+import javax.json.JsonStructure;
+import javax.json.JsonValue;
+import javax.json.JsonWriter;
+
+/**
+ * A {@link JsonWriter} encoding a {@link JsonValue} tree directly to MessagePack, without generator events.
+ * <p>
+ * Objects with the reserved extension type members are written as extension types, as by
+ * {@link MessagePackJsonGenerator#write(JsonValue)}. The output stream is flushed after writing the value.
+ *
+ * @author hwellmann
+ *
+ */
+final class MessagePackJsonWriter implements JsonWriter {
+
+    private final MessagePackJsonGenerator generator;
+    private boolean done;
+
+    MessagePackJsonWriter(OutputStream os, NumberCodec numberCodec, EncodedKeyCache keyCache) {
+        this.generator = new MessagePackJsonGenerator(os, numberCodec, keyCache);
+    }
+
+    @Override
+    public void writeArray(JsonArray array) {
+        write(array);
+    }
+
+    @Override
+    public void writeObject(JsonObject object) {
+        write(object);
+    }
+
+    @Override
+    public void write(JsonStructure value) {
+        write((JsonValue) value);
+    }
+
+    @Override
+    public void write(JsonValue value) {
+        if (done) {
+            throw new IllegalStateException("write or close method already called");
+        }
+        done = true;
+        generator.write(value);
+        generator.flush();
+    }
+
+    @Override
+    public void close() {
+        done = true;
+        generator.close();
+    }
+}
@@ -0,0 +1,49 @@
+package org.ops4j.mpjp.impl;
+
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.util.Map;
+
+import javax.json.JsonWriter;
+import javax.json.JsonWriterFactory;
+
+/**
+ * Factory for {@link JsonWriter}s encoding MessagePack, with the configuration of a
+ * {@link MessagePackJsonGeneratorFactory}.
+ *
+ * @author hwellmann
+ *
+ */
+public class MessagePackJsonWriterFactory implements JsonWriterFactory {
+
+    private final MessagePackJsonGeneratorFactory generatorFactory;
+
+    public MessagePackJsonWriterFactory(MessagePackJsonGeneratorFactory generatorFactory) {
+        this.generatorFactory = generatorFactory;
+    }
+
+    @Override
+    public JsonWriter createWriter(Writer writer) {
+        throw new UnsupportedOperationException("Writer is not supported by this writer, please use OutputStream");
+    }
+
+    @Override
+    public JsonWriter createWriter(OutputStream out) {
+        return generatorFactory.createWriter(out);
+    }
+
+    /**
+     * Creates a writer for the given stream. The charset is ignored, since MessagePack strings are always encoded as
+     * UTF-8.
+     */
+    @Override
+    public JsonWriter createWriter(OutputStream out, Charset charset) {
+        return createWriter(out);
+    }
+
+    @Override
+    public Map<String, ?> getConfigInUse() {
+        return generatorFactory.getConfigInUse();
+    }
+}
@@ -0,0 +1,615 @@
+package org.ops4j.mpjp.impl;
+
+import static org.ops4j.mpjp.api.ExtensionTypes.KEY_PAYLOAD;
+import static org.ops4j.mpjp.api.ExtensionTypes.KEY_TYPE;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import javax.json.JsonException;
+import javax.json.JsonNumber;
+import javax.json.JsonString;
+import javax.json.JsonValue;
+import javax.json.stream.JsonGenerationException;
+import javax.json.stream.JsonGenerator;
+
+import org.msgpack.core.MessagePack;
+import org.msgpack.core.MessagePacker;
+import org.ops4j.mpjp.api.ResettableJsonGenerator;
+
+/**
+ * A {@link JsonGenerator} which writes MessagePack in a single pass, without an intermediate {@code JsonValue}.
+ * <p>
+ * The output of each top-level value is collected in a growable buffer. Since MessagePack requires the number of child
+ * elements to be known at the start of a map or an array, this generator reserves a fixed-width {@code map32} or
+ * {@code array32} header for each open structure, counts the entries and patches the header on {@link #writeEnd()}.
+ * The buffer is written to the output stream when the top-level value is complete.
+ * <p>
+ * In compact mode, the offsets and final sizes of all reserved headers are recorded. When the top-level value is
+ * complete, the buffer is rewritten in a single pass, shrinking each header to the smallest format for its size. The
+ * output is then identical to the output of {@link MessagePackJsonGenerator#write(JsonValue)}.
+ * <p>
+ * Objects starting with a {@link org.ops4j.mpjp.api.ExtensionTypes#KEY_TYPE} property are written as extension
+ * types.
+ * <p>
+ * A generator can be rebound to another output stream by {@link #reset(OutputStream)}, reusing its buffer.
+ *
+ * @author hwellmann
+ *
+ */
+public class MessagePackStreamingJsonGenerator implements ResettableJsonGenerator, Poolable {
+
+    private static final byte KIND_ARRAY = 0;
+    private static final byte KIND_MAP = 1;
+    private static final byte KIND_EXTENSION = 2;
+
+    private static final int INITIAL_DEPTH = 16;
+
+    private static final byte[] MAP32_HEADER = { (byte) 0xdf, 0, 0, 0, 0 };
+    private static final byte[] ARRAY32_HEADER = { (byte) 0xdd, 0, 0, 0, 0 };
+
+    private OutputStream os;
+    private final GrowableBufferOutput buffer;
+    private final MessagePacker packer;
+    private final boolean compact;
+    private final NumberCodec numberCodec;
+    private final JsonValueEncoder encoder;
+
+    /** Total number of bytes written by the packer at the start of the buffer. */
+    private long base;
+
+    private int[] offsets = new int[INITIAL_DEPTH];
+    private int[] counts = new int[INITIAL_DEPTH];
+    private byte[] kinds = new byte[INITIAL_DEPTH];
+    private int depth;
+
+    /** Indexes of the headers of open structures in compact mode. */
+    private int[] headerIndexes = new int[INITIAL_DEPTH];
+
+    /** Offsets, kinds and sizes of all reserved headers of the current top-level value in compact mode. */
+    private int[] headerOffsets = new int[INITIAL_DEPTH];
+    private byte[] headerKinds = new byte[INITIAL_DEPTH];
+    private int[] headerSizes = new int[INITIAL_DEPTH];
+    private int headerCount;
+
+    private boolean keyPending;
+
+    private String extensionKey;
+    private Integer extensionType;
+    private String extensionPayload;
+
+    private InstancePool<MessagePackStreamingJsonGenerator> pool;
+    private boolean closed;
+    private boolean keepOpen;
+
+    public MessagePackStreamingJsonGenerator(OutputStream os) {
+        this(os, false);
+    }
+
+    public MessagePackStreamingJsonGenerator(OutputStream os, boolean compact) {
+        this(os, compact, NumberCodec.DEFAULT, null);
+    }
+
+    MessagePackStreamingJsonGenerator(OutputStream os, boolean compact, NumberCodec numberCodec,
+            EncodedKeyCache keyCache) {
+        this.os = os;
+        this.buffer = new GrowableBufferOutput();
+        this.packer = MessagePack.newDefaultPacker(buffer);
+        this.compact = compact;
+        this.numberCodec = numberCodec;
+        this.encoder = new JsonValueEncoder(numberCodec, keyCache);
+    }
+
+    void setPool(InstancePool<MessagePackStreamingJsonGenerator> pool) {
+        this.pool = pool;
+    }
+
+    @Override
+    public void reset(OutputStream out) {
+        try {
+            packer.reset(buffer);
+        } catch (IOException exc) {
+            throw new JsonException(exc.getMessage(), exc);
+        }
+        buffer.truncate(0);
+        this.os = out;
+        base = 0;
+        depth = 0;
+        headerCount = 0;
+        keyPending = false;
+        extensionKey = null;
+        extensionType = null;
+        extensionPayload = null;
+        closed = false;
+    }
+
+    /**
+     * Makes {@link #close()} only flush the output stream, for a generator shared by a document writer which owns the
+     * stream.
+     */
+    void keepOpen() {
+        this.keepOpen = true;
+    }
+
+    /**
+     * Checks if the current top-level value is complete.
+     *
+     * @throws JsonGenerationException
+     *             if the current top-level value is incomplete
+     */
+    void checkComplete() {
+        if (depth > 0) {
+            throw new JsonGenerationException("Generating incomplete JSON");
+        }
+    }
+
+    /**
+     * Checks if this generator may be reset and reused, which is the case after closing it.
+     *
+     * @return true if generator may be reused
+     */
+    @Override
+    public boolean isReusable() {
+        return closed;
+    }
+
+    @Override
+    public JsonGenerator writeStartObject() {
+        return writeStart(KIND_MAP, MAP32_HEADER);
+    }
+
+    @Override
+    public JsonGenerator writeStartObject(String name) {
+        writeKey(name);
+        return writeStartObject();
+    }
+
+    @Override
+    public JsonGenerator writeStartArray() {
+        return writeStart(KIND_ARRAY, ARRAY32_HEADER);
+    }
+
+    @Override
+    public JsonGenerator writeStartArray(String name) {
+        writeKey(name);
+        return writeStartArray();
+    }
+
+    private JsonGenerator writeStart(byte kind, byte[] header) {
+        beforeValue();
+        int offset = currentOffset();
+        try {
+            packer.writePayload(header);
+        } catch (IOException exc) {
+            throw new JsonException(exc.getMessage(), exc);
+        }
+        push(kind, offset);
+        if (compact) {
+            headerIndexes[depth - 1] = recordHeader(kind, offset);
+        }
+        return this;
+    }
+
+    private int recordHeader(byte kind, int offset) {
+        if (headerCount == headerKinds.length) {
+            headerKinds = Arrays.copyOf(headerKinds, 2 * headerCount);
+            headerOffsets = Arrays.copyOf(headerOffsets, 2 * headerCount);
+            headerSizes = Arrays.copyOf(headerSizes, 2 * headerCount);
+        }
+        headerKinds[headerCount] = kind;
+        headerOffsets[headerCount] = offset;
+        return headerCount++;
+    }
+
+    private void push(byte kind, int offset) {
+        if (depth == kinds.length) {
+            kinds = Arrays.copyOf(kinds, 2 * depth);
+            offsets = Arrays.copyOf(offsets, 2 * depth);
+            counts = Arrays.copyOf(counts, 2 * depth);
+            headerIndexes = Arrays.copyOf(headerIndexes, 2 * depth);
+        }
+        kinds[depth] = kind;
+        offsets[depth] = offset;
+        counts[depth] = 0;
+        depth++;
+    }
+
+    private int currentOffset() {
+        return (int) (packer.getTotalWrittenBytes() - base);
+    }
+
+    @Override
+    public JsonGenerator writeKey(String name) {
+        if (isInExtension()) {
+            extensionKey = name;
+            keyPending = true;
+            return this;
+        }
+        checkContextForObject();
+        int top = depth - 1;
+        if (counts[top] == 0 && KEY_TYPE.equals(name)) {
+            startExtension(top);
+            return this;
+        }
+        counts[top]++;
+        keyPending = true;
+        try {
+            encoder.writeKey(packer, name);
+        } catch (IOException exc) {
+            throw new JsonException(exc.getMessage(), exc);
+        }
+        return this;
+    }
+
+    /**
+     * Turns the current object into an extension type. The reserved map header is discarded, the extension is written
+     * when the object ends.
+     *
+     * @param top
+     *            index of current scope
+     */
+    private void startExtension(int top) {
+        try {
+            packer.flush();
+        } catch (IOException exc) {
+            throw new JsonException(exc.getMessage(), exc);
+        }
+        buffer.truncate(offsets[top]);
+        base = packer.getTotalWrittenBytes() - offsets[top];
+        if (compact) {
+            // the reserved header is the last one recorded
+            headerCount--;
+        }
+        kinds[top] = KIND_EXTENSION;
+        extensionKey = KEY_TYPE;
+        extensionType = null;
+        extensionPayload = null;
+        keyPending = true;
+    }
+
+    private boolean isInExtension() {
+        return depth > 0 && kinds[depth - 1] == KIND_EXTENSION;
+    }
+
+    private void setExtensionProperty(String key, Object value) {
+        if (!keyPending || !key.equals(extensionKey)) {
+            throw new JsonGenerationException("invalid value for extension type property " + extensionKey);
+        }
+        if (KEY_TYPE.equals(key)) {
+            extensionType = ((Number) value).intValue();
+        } else {
+            extensionPayload = (String) value;
+        }
+        keyPending = false;
+    }
+
+    private void writeExtension() throws IOException {
+        if (extensionType == null || extensionPayload == null) {
+            throw new JsonGenerationException("extension type requires properties " + KEY_TYPE + " and " + KEY_PAYLOAD);
+        }
+        packer.packExtensionTypeHeader(extensionType.byteValue(), extensionPayload.length());
+        packer.writePayload(extensionPayload.getBytes(StandardCharsets.ISO_8859_1));
+    }
+
+    @Override
+    public JsonGenerator write(String name, JsonValue value) {
+        writeKey(name);
+        return write(value);
+    }
+
+    @Override
+    public JsonGenerator write(String name, String value) {
+        writeKey(name);
+        return write(value);
+    }
+
+    @Override
+    public JsonGenerator write(String name, BigInteger value) {
+        writeKey(name);
+        return write(value);
+    }
+
+    @Override
+    public JsonGenerator write(String name, BigDecimal value) {
+        writeKey(name);
+        return write(value);
+    }
+
+    @Override
+    public JsonGenerator write(String name, int value) {
+        writeKey(name);
+        return write(value);
+    }
+
+    @Override
+    public JsonGenerator write(String name, long value) {
+        writeKey(name);
+        return write(value);
+    }
+
+    @Override
+    public JsonGenerator write(String name, double value) {
+        writeKey(name);
+        return write(value);
+    }
+
+    @Override
+    public JsonGenerator write(String name, boolean value) {
+        writeKey(name);
+        return write(value);
+    }
+
+    @Override
+    public JsonGenerator writeNull(String name) {
+        writeKey(name);
+        return writeNull();
+    }
+
+    @Override
+    public JsonGenerator writeEnd() {
+        if (depth == 0) {
+            throw new JsonGenerationException("writeEnd() cannot be called in no context");
+        }
+        if (keyPending) {
+            throw new JsonGenerationException("value expected for key");
+        }
+        int top = depth - 1;
+        try {
+            if (kinds[top] == KIND_EXTENSION) {
+                writeExtension();
+            } else if (compact) {
+                headerSizes[headerIndexes[top]] = counts[top];
+            } else {
+                buffer.putInt(offsets[top] + 1, counts[top]);
+            }
+            depth--;
+            afterValue();
+        } catch (IOException exc) {
+            throw new JsonException(exc.getMessage(), exc);
+        }
+        return this;
+    }
+
+    @Override
+    public JsonGenerator write(JsonValue value) {
+        if (isInExtension()) {
+            if (value instanceof JsonNumber) {
+                setExtensionProperty(KEY_TYPE, ((JsonNumber) value).intValue());
+            } else if (value instanceof JsonString) {
+                setExtensionProperty(KEY_PAYLOAD, ((JsonString) value).getString());
+            } else {
+                setExtensionProperty("", value);
+            }
+            return this;
+        }
+        beforeValue();
+        try {
+            encoder.encode(packer, value);
+            afterValue();
+        } catch (IOException exc) {
+            throw new JsonException(exc.getMessage(), exc);
+        }
+        return this;
+    }
+
+    @Override
+    public JsonGenerator write(String value) {
+        if (isInExtension()) {
+            setExtensionProperty(KEY_PAYLOAD, value);
+            return this;
+        }
+        beforeValue();
+        try {
+            packer.packString(value);
+            afterValue();
+        } catch (IOException exc) {
+            throw new JsonException(exc.getMessage(), exc);
+        }
+        return this;
+    }
+
+    @Override
+    public JsonGenerator write(BigDecimal value) {
+        if (isInExtension()) {
+            setExtensionProperty(KEY_TYPE, value);
+            return this;
+        }
+        beforeValue();
+        try {
+            numberCodec.packBigDecimal(packer, value);
+            afterValue();
+        } catch (IOException exc) {
+            throw new JsonException(exc.getMessage(), exc);
+        }
+        return this;
+    }
+
+    @Override
+    public JsonGenerator write(BigInteger value) {
+        if (isInExtension()) {
+            setExtensionProperty(KEY_TYPE, value);
+            return this;
+        }
+        beforeValue();
+        try {
+            numberCodec.packBigInteger(packer, value);
+            afterValue();
+        } catch (IOException exc) {
+            throw new JsonException(exc.getMessage(), exc);
+        }
+        return this;
+    }
+
+    @Override
+    public JsonGenerator write(int value) {
+        return write((long) value);
+    }
+
+    @Override
+    public JsonGenerator write(long value) {
+        if (isInExtension()) {
+            setExtensionProperty(KEY_TYPE, value);
+            return this;
+        }
+        beforeValue();
+        try {
+            packer.packLong(value);
+            afterValue();
+        } catch (IOException exc) {
+            throw new JsonException(exc.getMessage(), exc);
+        }
+        return this;
+    }
+
+    @Override
+    public JsonGenerator write(double value) {
+        beforeValue();
+        try {
+            packer.packDouble(value);
+            afterValue();
+        } catch (IOException exc) {
+            throw new JsonException(exc.getMessage(), exc);
+        }
+        return this;
+    }
+
+    @Override
+    public JsonGenerator write(boolean value) {
+        beforeValue();
+        try {
+            packer.packBoolean(value);
+            afterValue();
+        } catch (IOException exc) {
+            throw new JsonException(exc.getMessage(), exc);
+        }
+        return this;
+    }
+
+    @Override
+    public JsonGenerator writeNull() {
+        beforeValue();
+        try {
+            packer.packNil();
+            afterValue();
+        } catch (IOException exc) {
+            throw new JsonException(exc.getMessage(), exc);
+        }
+        return this;
+    }
+
+    private void beforeValue() {
+        checkContextForValue();
+        if (depth > 0 && kinds[depth - 1] == KIND_ARRAY) {
+            counts[depth - 1]++;
+        }
+        keyPending = false;
+    }
+
+    /**
+     * Writes the buffered output to the stream when a top-level value is complete.
+     *
+     * @throws IOException
+     *             on write error
+     */
+    private void afterValue() throws IOException {
+        if (depth == 0) {
+            packer.flush();
+            if (headerCount > 0) {
+                compactHeaders();
+            }
+            buffer.writeTo(os);
+            base = packer.getTotalWrittenBytes();
+        }
+    }
+
+    /**
+     * Rewrites the buffer in a single pass, moving all content between reserved headers towards the start and
+     * replacing each header by its compact form.
+     */
+    private void compactHeaders() {
+        byte[] array = buffer.array();
+        int src = 0;
+        int dest = 0;
+        for (int i = 0; i < headerCount; i++) {
+            int offset = headerOffsets[i];
+            int length = offset - src;
+            System.arraycopy(array, src, array, dest, length);
+            dest += length;
+            dest = putCompactHeader(array, dest, headerKinds[i], headerSizes[i]);
+            src = offset + MAP32_HEADER.length;
+        }
+        int length = buffer.size() - src;
+        System.arraycopy(array, src, array, dest, length);
+        buffer.truncate(dest + length);
+        headerCount = 0;
+    }
+
+    private static int putCompactHeader(byte[] array, int offset, byte kind, int size) {
+        int pos = offset;
+        if (size < (1 << 4)) {
+            array[pos++] = (byte) (((kind == KIND_MAP) ? 0x80 : 0x90) | size);
+        } else if (size < (1 << 16)) {
+            array[pos++] = (byte) ((kind == KIND_MAP) ? 0xde : 0xdc);
+            array[pos++] = (byte) (size >>> 8);
+            array[pos++] = (byte) size;
+        } else {
+            array[pos++] = (byte) ((kind == KIND_MAP) ? 0xdf : 0xdd);
+            array[pos++] = (byte) (size >>> 24);
+            array[pos++] = (byte) (size >>> 16);
+            array[pos++] = (byte) (size >>> 8);
+            array[pos++] = (byte) size;
+        }
+        return pos;
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        checkComplete();
+        if (keepOpen) {
+            flush();
+            return;
+        }
+        closed = true;
+        try {
+            packer.close();
+            os.close();
+        } catch (IOException exc) {
+            throw new JsonException(exc.getMessage(), exc);
+        }
+        if (pool != null) {
+            pool.release(this);
+        }
+    }
+
+    @Override
+    public void flush() {
+        try {
+            os.flush();
+        } catch (IOException exc) {
+            throw new JsonException(exc.getMessage(), exc);
+        }
+    }
+
+    private void checkContextForValue() {
+        if (depth == 0) {
+            return;
+        }
+        byte kind = kinds[depth - 1];
+        if (kind == KIND_EXTENSION || (kind == KIND_MAP && !keyPending)) {
+            throw new JsonGenerationException("value scope expected");
+        }
+    }
+
+    private void checkContextForObject() {
+        if (depth == 0 || kinds[depth - 1] != KIND_MAP || keyPending) {
+            throw new JsonGenerationException("object scope expected");
+        }
+    }
+}
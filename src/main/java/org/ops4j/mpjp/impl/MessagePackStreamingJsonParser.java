@@ -0,0 +1,589 @@
+package org.ops4j.mpjp.impl;
+
+import static org.ops4j.mpjp.api.ExtensionTypes.KEY_PAYLOAD;
+import static org.ops4j.mpjp.api.ExtensionTypes.KEY_TYPE;
+import static org.ops4j.mpjp.impl.CheckedRunnable.unchecked;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+import javax.json.JsonArray;
+import javax.json.JsonException;
+import javax.json.JsonNumber;
+import javax.json.JsonObject;
+import javax.json.JsonValue;
+import javax.json.spi.JsonProvider;
+import javax.json.stream.JsonLocation;
+import javax.json.stream.JsonParser;
+
+import org.msgpack.core.ExtensionTypeHeader;
+import org.msgpack.core.MessageFormat;
+import org.msgpack.core.MessageIntegerOverflowException;
+import org.msgpack.core.MessageNeverUsedFormatException;
+import org.msgpack.core.MessagePack;
+import org.msgpack.core.MessageUnpacker;
+import org.msgpack.core.buffer.InputStreamBufferInput;
+import org.msgpack.core.buffer.MessageBufferInput;
+import org.msgpack.value.ValueType;
+import org.ops4j.mpjp.api.BinaryJsonString;
+import org.ops4j.mpjp.api.ExtensionValue;
+import org.ops4j.mpjp.api.ResettableJsonParser;
+
+/**
+ * A {@link JsonParser} which generates parser events on demand, directly from a MessagePack stream.
+ * <p>
+ * Unlike {@link JsonValueJsonParser}, this parser does not build an intermediate {@code JsonStructure}. The only state
+ * kept is a stack of counters for the remaining entries of all open maps and arrays. Subtrees are only materialized
+ * when requested by {@link #getObject()}, {@link #getArray()} or {@link #getValue()}.
+ * <p>
+ * Keys, strings and binaries are decoded lazily on {@link #getString()} or {@link #getValue()}, and skipped by their
+ * header length otherwise. {@link #skipObject()} and {@link #skipArray()} skip all remaining entries of the enclosing
+ * structure by header arithmetic, without decoding any values.
+ * <p>
+ * Extension types are reported as objects with the properties defined in {@link org.ops4j.mpjp.api.ExtensionTypes}.
+ * <p>
+ * A parser can be rebound to another input stream by {@link #reset(InputStream)}, reusing the buffers of the
+ * unpacker and the stack of open structures.
+ *
+ * @author hwellmann
+ *
+ */
+public class MessagePackStreamingJsonParser implements ResettableJsonParser, Poolable {
+
+    private static final byte KIND_ARRAY = 0;
+    private static final byte KIND_MAP = 1;
+    private static final byte KIND_EXTENSION = 2;
+
+    private static final byte NUMBER_LONG = 0;
+    private static final byte NUMBER_DOUBLE = 1;
+    private static final byte NUMBER_OBJECT = 2;
+
+    /** Doubles with a smaller magnitude always have a fractional part in their decimal representation. */
+    private static final double MIN_INTEGRAL_DOUBLE = 1e7;
+
+    private static final int INITIAL_DEPTH = 16;
+
+    private final MessageUnpacker unpacker;
+    private final JsonProvider provider;
+    private final MessagePackJsonParser valueReader;
+    private final NumberCodec numberCodec;
+
+    /** Input of the unpacker, if owned by this parser. */
+    private MessageBufferInput input;
+    private InstancePool<MessagePackStreamingJsonParser> pool;
+    private boolean closed;
+    private boolean documentMode;
+
+    /** Number of bytes read before the start of the current top-level value. */
+    private long documentOffset;
+
+    /**
+     * Remaining items per open structure. For maps, keys and values are counted separately, so an even number
+     * indicates that a key is expected next.
+     */
+    private long[] remaining = new long[INITIAL_DEPTH];
+    private byte[] kinds = new byte[INITIAL_DEPTH];
+    private int depth;
+
+    private Event event;
+    private String string;
+
+    /**
+     * Type of the string or binary value of the current event which has not been decoded yet, or null.
+     */
+    private ValueType pendingType;
+
+    /**
+     * Binary value of the current event, if decoded.
+     */
+    private BinaryJsonString binary;
+
+    /**
+     * The current number is held in one of the following slots, depending on its kind. A {@code JsonNumber} is only
+     * created on demand for {@code long} and {@code double} values.
+     */
+    private byte numberKind;
+    private long longValue;
+    private double doubleValue;
+    private JsonNumber number;
+    private ExtensionValue extension;
+
+    public MessagePackStreamingJsonParser(MessageUnpacker unpacker, JsonProvider provider) {
+        this(unpacker, provider, NumberCodec.DEFAULT, null);
+    }
+
+    MessagePackStreamingJsonParser(MessageUnpacker unpacker, JsonProvider provider, NumberCodec numberCodec,
+            KeyCache keyCache) {
+        this.unpacker = unpacker;
+        this.provider = provider;
+        this.numberCodec = numberCodec;
+        this.valueReader = new MessagePackJsonParser(unpacker, provider, numberCodec, keyCache);
+    }
+
+    MessagePackStreamingJsonParser(MessageBufferInput input, JsonProvider provider, NumberCodec numberCodec,
+            KeyCache keyCache) {
+        this(MessagePack.DEFAULT_UNPACKER_CONFIG.newUnpacker(input), provider, numberCodec, keyCache);
+        this.input = input;
+    }
+
+    void setPool(InstancePool<MessagePackStreamingJsonParser> pool) {
+        this.pool = pool;
+    }
+
+    @Override
+    public void reset(InputStream is) {
+        if (input instanceof InputStreamBufferInput) {
+            InputStreamBufferInput streamInput = (InputStreamBufferInput) input;
+            unchecked(() -> streamInput.reset(is));
+            reset(streamInput);
+        } else {
+            reset(new InputStreamBufferInput(is));
+        }
+    }
+
+    /**
+     * Rebinds this parser to the given input.
+     *
+     * @param newInput
+     *            MessagePack input
+     */
+    void reset(MessageBufferInput newInput) {
+        this.input = newInput;
+        unchecked(() -> unpacker.reset(newInput));
+        startDocument();
+        closed = false;
+    }
+
+    /**
+     * Prepares this parser for reading the next top-level value from the current input.
+     */
+    void startDocument() {
+        documentOffset = unpacker.getTotalReadBytes();
+        depth = 0;
+        event = null;
+        string = null;
+        pendingType = null;
+        binary = null;
+        number = null;
+        extension = null;
+    }
+
+    /**
+     * Skips the remainder of the current top-level value, or the entire value if no event has been read.
+     */
+    void skipDocument() {
+        if (event == null) {
+            unchecked(() -> unpacker.skipValue());
+        } else {
+            unchecked(this::skipPending);
+            while (depth > 0) {
+                skipToEnd();
+            }
+        }
+    }
+
+    /**
+     * Enables document mode for a parser shared by a document reader, which owns the unpacker. In this mode, top-level
+     * scalars are accepted, and {@link #close()} is a no-op. Locations are always relative to the start of the current
+     * top-level value.
+     */
+    void enableDocumentMode() {
+        this.documentMode = true;
+    }
+
+    /**
+     * Checks if this parser may be reset and reused. This is only the case when the parser has been closed, since the
+     * caller may still hold an open parser after reading the top-level value.
+     *
+     * @return true if parser may be reused
+     */
+    @Override
+    public boolean isReusable() {
+        return closed;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return event == null || depth > 0;
+    }
+
+    @Override
+    public Event next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        try {
+            skipPending();
+            binary = null;
+            event = readEvent();
+        } catch (IOException exc) {
+            throw new JsonException(exc.getMessage(), exc);
+        }
+        return event;
+    }
+
+    private Event readEvent() throws IOException {
+        if (event == null) {
+            return readTopLevelEvent();
+        }
+        int top = depth - 1;
+        long left = remaining[top];
+        if (left == 0) {
+            depth--;
+            return (kinds[top] == KIND_ARRAY) ? Event.END_ARRAY : Event.END_OBJECT;
+        }
+        remaining[top] = left - 1;
+        switch (kinds[top]) {
+        case KIND_MAP:
+            if ((left & 1) == 0) {
+                pendingType = ValueType.STRING;
+                return Event.KEY_NAME;
+            }
+            return readValueEvent();
+        case KIND_EXTENSION:
+            return readExtensionEvent(left);
+        default:
+            return readValueEvent();
+        }
+    }
+
+    private Event readTopLevelEvent() throws IOException {
+        ValueType valueType = unpacker.getNextFormat().getValueType();
+        switch (valueType) {
+        case ARRAY:
+        case MAP:
+        case EXTENSION:
+            return readValueEvent();
+        default:
+            if (documentMode) {
+                return readValueEvent();
+            }
+            throw new JsonException("Cannot parse top-level value of type " + valueType);
+        }
+    }
+
+    private Event readValueEvent() throws IOException {
+        MessageFormat mf = unpacker.getNextFormat();
+        switch (mf.getValueType()) {
+        case NIL:
+            unpacker.unpackNil();
+            return Event.VALUE_NULL;
+        case BOOLEAN:
+            return unpacker.unpackBoolean() ? Event.VALUE_TRUE : Event.VALUE_FALSE;
+        case INTEGER:
+            try {
+                longValue = unpacker.unpackLong();
+                numberKind = NUMBER_LONG;
+            } catch (MessageIntegerOverflowException exc) {
+                setNumber(provider.createValue(exc.getBigInteger()));
+            }
+            return Event.VALUE_NUMBER;
+        case FLOAT:
+            doubleValue = unpacker.unpackDouble();
+            numberKind = NUMBER_DOUBLE;
+            return Event.VALUE_NUMBER;
+        case STRING:
+        case BINARY:
+            pendingType = mf.getValueType();
+            return Event.VALUE_STRING;
+        case ARRAY:
+            push(KIND_ARRAY, unpacker.unpackArrayHeader());
+            return Event.START_ARRAY;
+        case MAP:
+            push(KIND_MAP, 2L * unpacker.unpackMapHeader());
+            return Event.START_OBJECT;
+        case EXTENSION:
+            ExtensionTypeHeader header = unpacker.unpackExtensionTypeHeader();
+            byte[] payload = unpacker.readPayload(header.getLength());
+            if (numberCodec.isDecimalExtension(header.getType())) {
+                setNumber(provider.createValue(NumberCodec.decodeDecimal(payload)));
+                return Event.VALUE_NUMBER;
+            }
+            extension = valueReader.createExtension(header.getType(), payload);
+            push(KIND_EXTENSION, 4);
+            return Event.START_OBJECT;
+        default:
+            throw new MessageNeverUsedFormatException("Unknown value type");
+        }
+    }
+
+    /**
+     * Generates the events for the intermediate representation of an extension type, which is an object with two
+     * properties.
+     *
+     * @param left
+     *            number of remaining events in extension scope
+     * @return event
+     */
+    private Event readExtensionEvent(long left) {
+        if (left == 4) {
+            string = KEY_TYPE;
+            return Event.KEY_NAME;
+        } else if (left == 3) {
+            longValue = extension.getExtensionType();
+            numberKind = NUMBER_LONG;
+            return Event.VALUE_NUMBER;
+        } else if (left == 2) {
+            string = KEY_PAYLOAD;
+            return Event.KEY_NAME;
+        }
+        string = extension.getPayloadString();
+        return Event.VALUE_STRING;
+    }
+
+    private void decodePending() throws IOException {
+        if (pendingType == ValueType.BINARY) {
+            int length = unpacker.unpackBinaryHeader();
+            binary = BinaryJsonString.of(unpacker.readPayload(length));
+            string = null;
+        } else if (event == Event.KEY_NAME) {
+            string = valueReader.readKey();
+        } else {
+            string = unpacker.unpackString();
+        }
+        pendingType = null;
+    }
+
+    private void skipPending() throws IOException {
+        if (pendingType != null) {
+            unpacker.skipValue();
+            pendingType = null;
+        }
+    }
+
+    private void setNumber(JsonNumber value) {
+        number = value;
+        numberKind = NUMBER_OBJECT;
+    }
+
+    private void push(byte kind, long size) {
+        if (depth == kinds.length) {
+            kinds = Arrays.copyOf(kinds, 2 * depth);
+            remaining = Arrays.copyOf(remaining, 2 * depth);
+        }
+        kinds[depth] = kind;
+        remaining[depth] = size;
+        depth++;
+    }
+
+    @Override
+    public String getString() {
+        if (event == null) {
+            throw new IllegalStateException();
+        }
+        switch (event) {
+        case KEY_NAME:
+        case VALUE_STRING:
+            if (pendingType != null) {
+                unchecked(this::decodePending);
+            }
+            return (binary == null) ? string : binary.getString();
+        case VALUE_NUMBER:
+            switch (numberKind) {
+            case NUMBER_LONG:
+                return Long.toString(longValue);
+            case NUMBER_DOUBLE:
+                // same as DoubleJsonNumber.toString()
+                return BigDecimal.valueOf(doubleValue).toString();
+            default:
+                return number.toString();
+            }
+        default:
+            throw new IllegalStateException(event.toString());
+        }
+    }
+
+    @Override
+    public boolean isIntegralNumber() {
+        checkNumber();
+        switch (numberKind) {
+        case NUMBER_LONG:
+            return true;
+        case NUMBER_DOUBLE:
+            return Math.abs(doubleValue) >= MIN_INTEGRAL_DOUBLE && Double.isFinite(doubleValue)
+                    && BigDecimal.valueOf(doubleValue).scale() == 0;
+        default:
+            return number.isIntegral();
+        }
+    }
+
+    @Override
+    public int getInt() {
+        checkNumber();
+        switch (numberKind) {
+        case NUMBER_LONG:
+            return (int) longValue;
+        case NUMBER_DOUBLE:
+            if (doubleValue > Integer.MIN_VALUE && doubleValue < Integer.MAX_VALUE) {
+                return (int) doubleValue;
+            }
+            return BigDecimal.valueOf(doubleValue).intValue();
+        default:
+            return number.intValue();
+        }
+    }
+
+    @Override
+    public long getLong() {
+        checkNumber();
+        switch (numberKind) {
+        case NUMBER_LONG:
+            return longValue;
+        case NUMBER_DOUBLE:
+            if (doubleValue > Long.MIN_VALUE && doubleValue < Long.MAX_VALUE) {
+                return (long) doubleValue;
+            }
+            return BigDecimal.valueOf(doubleValue).longValue();
+        default:
+            return number.longValue();
+        }
+    }
+
+    @Override
+    public BigDecimal getBigDecimal() {
+        checkNumber();
+        switch (numberKind) {
+        case NUMBER_LONG:
+            return BigDecimal.valueOf(longValue);
+        case NUMBER_DOUBLE:
+            return BigDecimal.valueOf(doubleValue);
+        default:
+            return number.bigDecimalValue();
+        }
+    }
+
+    private void checkNumber() {
+        if (event != Event.VALUE_NUMBER) {
+            throw new IllegalStateException(String.valueOf(event));
+        }
+    }
+
+    private JsonNumber currentNumber() {
+        switch (numberKind) {
+        case NUMBER_LONG:
+            return new LongJsonNumber(longValue);
+        case NUMBER_DOUBLE:
+            return new DoubleJsonNumber(doubleValue);
+        default:
+            return number;
+        }
+    }
+
+    @Override
+    public JsonLocation getLocation() {
+        return new JsonLocationImpl(unpacker.getTotalReadBytes() - documentOffset);
+    }
+
+    @Override
+    public JsonObject getObject() {
+        if (event != Event.START_OBJECT) {
+            throw new IllegalStateException(String.valueOf(event));
+        }
+        int top = depth - 1;
+        JsonObject object;
+        if (kinds[top] == KIND_EXTENSION) {
+            object = extension;
+        } else {
+            object = valueReader.readObject((int) (remaining[top] / 2));
+        }
+        depth--;
+        event = Event.END_OBJECT;
+        return object;
+    }
+
+    @Override
+    public JsonArray getArray() {
+        if (event != Event.START_ARRAY) {
+            throw new IllegalStateException(String.valueOf(event));
+        }
+        JsonArray array = valueReader.readArray((int) remaining[depth - 1]);
+        depth--;
+        event = Event.END_ARRAY;
+        return array;
+    }
+
+    @Override
+    public JsonValue getValue() {
+        if (event == null) {
+            throw new IllegalStateException();
+        }
+        switch (event) {
+        case START_ARRAY:
+            return getArray();
+        case START_OBJECT:
+            return getObject();
+        case VALUE_FALSE:
+            return JsonValue.FALSE;
+        case VALUE_TRUE:
+            return JsonValue.TRUE;
+        case VALUE_NULL:
+            return JsonValue.NULL;
+        case KEY_NAME:
+            return provider.createValue(getString());
+        case VALUE_STRING:
+            if (pendingType == ValueType.BINARY) {
+                unchecked(this::decodePending);
+            }
+            return (binary == null) ? provider.createValue(getString()) : binary;
+        case VALUE_NUMBER:
+            return currentNumber();
+        default:
+            throw new IllegalStateException(event.toString());
+        }
+    }
+
+    @Override
+    public void skipObject() {
+        if (depth > 0 && kinds[depth - 1] != KIND_ARRAY) {
+            skipToEnd();
+        }
+    }
+
+    @Override
+    public void skipArray() {
+        if (depth > 0 && kinds[depth - 1] == KIND_ARRAY) {
+            skipToEnd();
+        }
+    }
+
+    /**
+     * Skips all remaining entries of the innermost open structure and moves to its end event. The entries are skipped
+     * by header length, without decoding. The entries of an extension type have been read with the header.
+     */
+    private void skipToEnd() {
+        int top = depth - 1;
+        byte kind = kinds[top];
+        if (kind != KIND_EXTENSION) {
+            unchecked(() -> {
+                skipPending();
+                skipValues(remaining[top]);
+            });
+        }
+        depth--;
+        event = (kind == KIND_ARRAY) ? Event.END_ARRAY : Event.END_OBJECT;
+    }
+
+    private void skipValues(long count) throws IOException {
+        long left = count;
+        while (left > Integer.MAX_VALUE) {
+            unpacker.skipValue(Integer.MAX_VALUE);
+            left -= Integer.MAX_VALUE;
+        }
+        unpacker.skipValue((int) left);
+    }
+
+    @Override
+    public void close() {
+        if (closed || documentMode) {
+            return;
+        }
+        closed = true;
+        unchecked(() -> unpacker.close());
+        if (pool != null) {
+            pool.release(this);
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package org.ops4j.mpjp.impl;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.Map;
+
+import javax.json.JsonException;
+import javax.json.JsonNumber;
+import javax.json.stream.JsonGenerationException;
+
+import org.msgpack.core.MessagePacker;
+import org.ops4j.mpjp.api.BigDecimalStrategy;
+import org.ops4j.mpjp.api.MessagePackConfig;
+
+/**
+ * Writes numbers in the most compact MessagePack format, and reads decimal extension types.
+ * <p>
+ * Integral values are written as MessagePack integers without allocating a {@code BigInteger}, unless they exceed
+ * 64 bits. Decimal values are written according to the configured {@link BigDecimalStrategy}. Integers exceeding 64
+ * bits are written with the {@code STRING} and {@code EXTENSION} strategies, and rejected with the default
+ * {@code DOUBLE} strategy, which would silently lose precision.
+ *
+ * @author hwellmann
+ *
+ */
+final class NumberCodec {
+
+    /**
+     * Codec with default configuration.
+     */
+    static final NumberCodec DEFAULT = new NumberCodec(BigDecimalStrategy.DOUBLE, 0);
+
+    private static final int SCALE_LENGTH = 4;
+
+    /** Decimal values with fewer digits always fit into a {@code long}. */
+    private static final int MAX_LONG_PRECISION = 19;
+
+    private final BigDecimalStrategy strategy;
+    private final byte extensionType;
+
+    NumberCodec(BigDecimalStrategy strategy, int extensionType) {
+        if (extensionType < 0 || extensionType > Byte.MAX_VALUE) {
+            throw new IllegalArgumentException("decimal extension type must be in range 0 to 127: " + extensionType);
+        }
+        this.strategy = strategy;
+        this.extensionType = (byte) extensionType;
+    }
+
+    static NumberCodec of(Map<String, ?> config) {
+        BigDecimalStrategy strategy = ConfigProperties.getEnum(config, MessagePackConfig.BIG_DECIMAL_STRATEGY,
+                BigDecimalStrategy.class, BigDecimalStrategy.DOUBLE);
+        int extensionType = ConfigProperties.getInt(config, MessagePackConfig.BIG_DECIMAL_EXTENSION_TYPE, 0);
+        if (strategy == BigDecimalStrategy.DOUBLE && extensionType == 0) {
+            return DEFAULT;
+        }
+        return new NumberCodec(strategy, extensionType);
+    }
+
+    /**
+     * Checks if extension values of the given type are decimals written by this codec.
+     *
+     * @param type
+     *            extension type
+     * @return true if values of this type shall be read as numbers
+     */
+    boolean isDecimalExtension(int type) {
+        return strategy == BigDecimalStrategy.EXTENSION && type == extensionType;
+    }
+
+    void packNumber(MessagePacker packer, JsonNumber number) throws IOException {
+        if (number instanceof LongJsonNumber) {
+            packer.packLong(number.longValueExact());
+        } else if (number instanceof DoubleJsonNumber) {
+            packer.packDouble(number.doubleValue());
+        } else if (number.isIntegral()) {
+            packIntegral(packer, number);
+        } else if (strategy == BigDecimalStrategy.DOUBLE) {
+            packer.packDouble(number.doubleValue());
+        } else {
+            packBigDecimal(packer, number.bigDecimalValue());
+        }
+    }
+
+    private void packIntegral(MessagePacker packer, JsonNumber number) throws IOException {
+        long value;
+        try {
+            value = number.longValueExact();
+        } catch (ArithmeticException exc) {
+            packBigInteger(packer, number.bigIntegerValue());
+            return;
+        }
+        packer.packLong(value);
+    }
+
+    void packBigDecimal(MessagePacker packer, BigDecimal value) throws IOException {
+        if (value.scale() != 0) {
+            packDecimal(packer, value);
+        } else if (value.precision() < MAX_LONG_PRECISION) {
+            packer.packLong(value.longValue());
+        } else {
+            packBigInteger(packer, value.toBigInteger());
+        }
+    }
+
+    void packBigInteger(MessagePacker packer, BigInteger value) throws IOException {
+        int bitLength = value.bitLength();
+        if (bitLength < Long.SIZE || (bitLength == Long.SIZE && value.signum() > 0)) {
+            packer.packBigInteger(value);
+        } else if (strategy == BigDecimalStrategy.DOUBLE) {
+            throw new JsonGenerationException("Integer exceeds 64 bits: " + value
+                    + ", use BigDecimalStrategy STRING or EXTENSION to write it");
+        } else {
+            packDecimal(packer, new BigDecimal(value));
+        }
+    }
+
+    private void packDecimal(MessagePacker packer, BigDecimal value) throws IOException {
+        switch (strategy) {
+        case STRING:
+            packer.packString(value.toString());
+            break;
+        case EXTENSION:
+            byte[] payload = encodeDecimal(value);
+            packer.packExtensionTypeHeader(extensionType, payload.length);
+            packer.writePayload(payload);
+            break;
+        default:
+            packer.packDouble(value.doubleValue());
+        }
+    }
+
+    static byte[] encodeDecimal(BigDecimal value) {
+        byte[] unscaled = value.unscaledValue().toByteArray();
+        return ByteBuffer.allocate(SCALE_LENGTH + unscaled.length).putInt(value.scale()).put(unscaled).array();
+    }
+
+    static BigDecimal decodeDecimal(byte[] payload) {
+        if (payload.length <= SCALE_LENGTH) {
+            throw new JsonException("Invalid decimal extension payload of length " + payload.length);
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(payload);
+        int scale = buffer.getInt();
+        byte[] unscaled = new byte[payload.length - SCALE_LENGTH];
+        buffer.get(unscaled);
+        return new BigDecimal(new BigInteger(unscaled), scale);
+    }
+}
@@ -0,0 +1,155 @@
+package org.ops4j.mpjp.impl;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import javax.json.JsonException;
+
+import org.msgpack.core.MessageFormat;
+import org.msgpack.core.buffer.MessageBufferInput;
+import org.msgpack.value.ValueType;
+
+/**
+ * Decodes the elements of a top-level MessagePack array in parallel.
+ * <p>
+ * A structural pre-scan locates the start of each element, only evaluating headers. The elements are then split into
+ * contiguous ranges which are decoded by fork/join tasks, each with its own unpacker. The results are returned in
+ * the original order.
+ *
+ * @author hwellmann
+ *
+ */
+final class ParallelArrayReader {
+
+    /**
+     * Decodes a range of consecutive array elements.
+     *
+     * @param <T>
+     *            element type
+     */
+    @FunctionalInterface
+    interface RangeDecoder<T> {
+
+        /**
+         * Decodes the given number of values from the given input, storing them in the result list.
+         *
+         * @param input
+         *            input containing exactly the values of the range
+         * @param result
+         *            result list
+         * @param from
+         *            result index of first value
+         * @param count
+         *            number of values
+         */
+        void decode(MessageBufferInput input, List<T> result, int from, int count);
+    }
+
+    /** Number of tasks per worker thread, to balance elements of different sizes. */
+    private static final int TASKS_PER_THREAD = 4;
+
+    private final ByteBuffer buffer;
+
+    /** Start positions of all elements, followed by the end position of the array. */
+    private final int[] offsets;
+
+    /**
+     * Scans the array contained in the remaining bytes of the given buffer. The buffer is read in big-endian order,
+     * whatever its own byte order.
+     *
+     * @param data
+     *            MessagePack data
+     */
+    ParallelArrayReader(ByteBuffer data) {
+        this.buffer = data.duplicate().order(ByteOrder.BIG_ENDIAN);
+        int position = buffer.position();
+        MessageFormat format = MessagePackBytes.format(buffer, position);
+        if (format.getValueType() != ValueType.ARRAY) {
+            throw new JsonException("Expected top-level array, found " + format.getValueType());
+        }
+        int size = MessagePackBytes.containerSize(buffer, position, format);
+        offsets = new int[size + 1];
+        int pos = position + MessagePackBytes.headerLength(format);
+        try {
+            for (int i = 0; i < size; i++) {
+                offsets[i] = pos;
+                pos = MessagePackBytes.skip(buffer, pos);
+            }
+        } catch (IndexOutOfBoundsException exc) {
+            throw new JsonException("Truncated array element at offset " + pos, exc);
+        }
+        if (pos > buffer.limit()) {
+            throw new JsonException("Truncated array at offset " + buffer.limit());
+        }
+        offsets[size] = pos;
+    }
+
+    int size() {
+        return offsets.length - 1;
+    }
+
+    /**
+     * Decodes all elements on the given pool.
+     *
+     * @param pool
+     *            fork/join pool
+     * @param decoder
+     *            decoder for element ranges
+     * @return list of decoded elements in original order
+     */
+    <T> List<T> decode(ForkJoinPool pool, RangeDecoder<T> decoder) {
+        int size = size();
+        List<T> result = new ArrayList<>(Collections.nCopies(size, null));
+        int tasks = pool.getParallelism() * TASKS_PER_THREAD;
+        int rangeSize = Math.max(1, (size + tasks - 1) / tasks);
+        pool.invoke(new DecodeTask<>(decoder, result, 0, size, rangeSize));
+        return result;
+    }
+
+    private MessageBufferInput input(int from, int to) {
+        ByteBuffer range = buffer.duplicate();
+        range.limit(offsets[to]);
+        range.position(offsets[from]);
+        return MessagePackJsonParserFactory.toBufferInput(range.slice());
+    }
+
+    /**
+     * Splits the element range in halves until it is small enough to be decoded sequentially.
+     */
+    private final class DecodeTask<T> extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final RangeDecoder<T> decoder;
+        private final List<T> result;
+        private final int from;
+        private final int to;
+        private final int rangeSize;
+
+        DecodeTask(RangeDecoder<T> decoder, List<T> result, int from, int to, int rangeSize) {
+            this.decoder = decoder;
+            this.result = result;
+            this.from = from;
+            this.to = to;
+            this.rangeSize = rangeSize;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= rangeSize) {
+                if (to > from) {
+                    decoder.decode(input(from, to), result, from, to - from);
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new DecodeTask<>(decoder, result, from, middle, rangeSize),
+                    new DecodeTask<>(decoder, result, middle, to, rangeSize));
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package org.ops4j.mpjp.impl;
+
+/**
+ * An object which can be managed by an {@link InstancePool}.
+ *
+ * @author hwellmann
+ *
+ */
+interface Poolable {
+
+    /**
+     * Checks if this instance is no longer in use and may be reset and handed out again.
+     *
+     * @return true if instance may be reused
+     */
+    boolean isReusable();
+}
@@ -0,0 +1,159 @@
+package org.ops4j.mpjp.impl;
+
+import java.io.IOException;
+
+/**
+ * Codecs for arrays of numeric primitives, writing the same MessagePack values as JSON-B with the MessagePack provider.
+ * Elements are written and read without boxing.
+ *
+ * @author hwellmann
+ *
+ */
+enum PrimitiveArrayCodec implements ValueCodec {
+
+    BYTE_ARRAY(byte.class) {
+        @Override
+        public void write(BindingWriter writer, Object value) throws IOException {
+            byte[] array = (byte[]) value;
+            writer.packer().packArrayHeader(array.length);
+            for (byte element : array) {
+                writer.writeInt(element);
+            }
+        }
+
+        @Override
+        public Object read(BindingReader reader) throws IOException {
+            byte[] array = new byte[reader.readArrayHeader()];
+            for (int i = 0; i < array.length; i++) {
+                array[i] = (byte) reader.readLong(Byte.MIN_VALUE, Byte.MAX_VALUE, byte.class);
+            }
+            return array;
+        }
+    },
+
+    SHORT_ARRAY(short.class) {
+        @Override
+        public void write(BindingWriter writer, Object value) throws IOException {
+            short[] array = (short[]) value;
+            writer.packer().packArrayHeader(array.length);
+            for (short element : array) {
+                writer.writeInt(element);
+            }
+        }
+
+        @Override
+        public Object read(BindingReader reader) throws IOException {
+            short[] array = new short[reader.readArrayHeader()];
+            for (int i = 0; i < array.length; i++) {
+                array[i] = (short) reader.readLong(Short.MIN_VALUE, Short.MAX_VALUE, short.class);
+            }
+            return array;
+        }
+    },
+
+    INT_ARRAY(int.class) {
+        @Override
+        public void write(BindingWriter writer, Object value) throws IOException {
+            int[] array = (int[]) value;
+            writer.packer().packArrayHeader(array.length);
+            for (int element : array) {
+                writer.writeInt(element);
+            }
+        }
+
+        @Override
+        public Object read(BindingReader reader) throws IOException {
+            int[] array = new int[reader.readArrayHeader()];
+            for (int i = 0; i < array.length; i++) {
+                array[i] = (int) reader.readLong(Integer.MIN_VALUE, Integer.MAX_VALUE, int.class);
+            }
+            return array;
+        }
+    },
+
+    /**
+     * Unlike single long values, JSON-B writes the elements of long arrays as numbers even beyond the integer range of
+     * a double.
+     */
+    LONG_ARRAY(long.class) {
+        @Override
+        public void write(BindingWriter writer, Object value) throws IOException {
+            long[] array = (long[]) value;
+            writer.packer().packArrayHeader(array.length);
+            for (long element : array) {
+                writer.packer().packLong(element);
+            }
+        }
+
+        @Override
+        public Object read(BindingReader reader) throws IOException {
+            long[] array = new long[reader.readArrayHeader()];
+            for (int i = 0; i < array.length; i++) {
+                array[i] = reader.readLong();
+            }
+            return array;
+        }
+    },
+
+    FLOAT_ARRAY(float.class) {
+        @Override
+        public void write(BindingWriter writer, Object value) throws IOException {
+            float[] array = (float[]) value;
+            writer.packer().packArrayHeader(array.length);
+            for (float element : array) {
+                writer.writeFloat(element);
+            }
+        }
+
+        @Override
+        public Object read(BindingReader reader) throws IOException {
+            float[] array = new float[reader.readArrayHeader()];
+            for (int i = 0; i < array.length; i++) {
+                array[i] = (float) reader.readDouble();
+            }
+            return array;
+        }
+    },
+
+    DOUBLE_ARRAY(double.class) {
+        @Override
+        public void write(BindingWriter writer, Object value) throws IOException {
+            double[] array = (double[]) value;
+            writer.packer().packArrayHeader(array.length);
+            for (double element : array) {
+                writer.writeDouble(element);
+            }
+        }
+
+        @Override
+        public Object read(BindingReader reader) throws IOException {
+            double[] array = new double[reader.readArrayHeader()];
+            for (int i = 0; i < array.length; i++) {
+                array[i] = reader.readDouble();
+            }
+            return array;
+        }
+    };
+
+    private final Class<?> componentType;
+
+    PrimitiveArrayCodec(Class<?> componentType) {
+        this.componentType = componentType;
+    }
+
+    /**
+     * Gets the codec for arrays with the given component type.
+     *
+     * @param componentType
+     *            component type
+     * @return codec, or null if the component type is not a numeric primitive
+     */
+    static PrimitiveArrayCodec of(Class<?> componentType) {
+        for (PrimitiveArrayCodec codec : values()) {
+            if (codec.componentType == componentType) {
+                return codec;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,122 @@
+package org.ops4j.mpjp.impl;
+
+import static org.ops4j.mpjp.impl.CheckedCallable.callUnchecked;
+
+import java.io.IOException;
+
+import javax.json.JsonArrayBuilder;
+import javax.json.JsonException;
+import javax.json.JsonObjectBuilder;
+import javax.json.JsonValue;
+import javax.json.spi.JsonProvider;
+
+import org.msgpack.core.MessageUnpacker;
+import org.msgpack.value.ValueType;
+import org.ops4j.mpjp.api.MessagePackProjection;
+
+/**
+ * Reads the parts of a MessagePack document selected by a {@link MessagePackProjection}. Selected values are decoded
+ * by a {@link MessagePackJsonParser}, all other values are skipped by header length.
+ * <p>
+ * Objects and arrays on a selected path are always included, even if none of their entries match. Object members
+ * which are not selected are omitted, as are members which are not structures if the path continues beyond them.
+ * Arrays keep their length, so that element indices are preserved: elements which are not selected, or which are not
+ * structures if the path continues beyond them, are replaced by {@code null}.
+ *
+ * @author hwellmann
+ *
+ */
+final class ProjectionReader {
+
+    private final MessageUnpacker unpacker;
+    private final JsonProvider provider;
+    private final MessagePackJsonParser valueReader;
+
+    ProjectionReader(MessageUnpacker unpacker, JsonProvider provider, NumberCodec numberCodec, KeyCache keyCache) {
+        this.unpacker = unpacker;
+        this.provider = provider;
+        this.valueReader = new MessagePackJsonParser(unpacker, provider, numberCodec, keyCache);
+    }
+
+    /**
+     * Reads the selected parts of the next top-level value.
+     *
+     * @param projection
+     *            selected paths
+     * @return pruned value
+     * @throws JsonException
+     *             if the top-level value is not a structure
+     */
+    JsonValue read(MessagePackProjection projection) {
+        return callUnchecked(() -> readTopLevel(projection));
+    }
+
+    private JsonValue readTopLevel(MessagePackProjection projection) throws IOException {
+        if (projection.isComplete()) {
+            return valueReader.readJsonValue();
+        }
+        ValueType valueType = unpacker.getNextFormat().getValueType();
+        if (valueType != ValueType.MAP && valueType != ValueType.ARRAY) {
+            throw new JsonException("Cannot parse top-level value of type " + valueType);
+        }
+        return readValue(projection);
+    }
+
+    /**
+     * Reads the selected parts of the next value.
+     *
+     * @param projection
+     *            selected paths
+     * @return pruned value, or null if nothing is selected
+     * @throws IOException
+     *             on read error
+     */
+    private JsonValue readValue(MessagePackProjection projection) throws IOException {
+        if (projection.isComplete()) {
+            return valueReader.readJsonValue();
+        }
+        switch (unpacker.getNextFormat().getValueType()) {
+        case MAP:
+            return readObject(projection);
+        case ARRAY:
+            return readArray(projection);
+        default:
+            unpacker.skipValue();
+            return null;
+        }
+    }
+
+    private JsonValue readObject(MessagePackProjection projection) throws IOException {
+        int size = unpacker.unpackMapHeader();
+        JsonObjectBuilder builder = provider.createObjectBuilder();
+        for (int i = 0; i < size; i++) {
+            String key = valueReader.readKey();
+            MessagePackProjection member = projection.member(key);
+            if (member == null) {
+                unpacker.skipValue();
+            } else {
+                JsonValue value = readValue(member);
+                if (value != null) {
+                    builder.add(key, value);
+                }
+            }
+        }
+        return builder.build();
+    }
+
+    private JsonValue readArray(MessagePackProjection projection) throws IOException {
+        int size = unpacker.unpackArrayHeader();
+        JsonArrayBuilder builder = provider.createArrayBuilder();
+        for (int i = 0; i < size; i++) {
+            MessagePackProjection element = projection.element(i);
+            if (element == null) {
+                unpacker.skipValue();
+                builder.addNull();
+            } else {
+                JsonValue value = readValue(element);
+                builder.add((value == null) ? JsonValue.NULL : value);
+            }
+        }
+        return builder.build();
+    }
+}
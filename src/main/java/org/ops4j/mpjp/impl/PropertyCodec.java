@@ -0,0 +1,392 @@
+package org.ops4j.mpjp.impl;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+
+import javax.json.bind.JsonbException;
+
+/**
+ * Writes and reads a single bean property, using method handles for its accessors.
+ * <p>
+ * Primitive properties have dedicated subclasses invoking their accessors with the exact primitive type, so that
+ * values are never boxed. All other properties use a {@link ValueCodec}.
+ *
+ * @author hwellmann
+ *
+ */
+abstract class PropertyCodec {
+
+    /** Non-null placeholder for the values of primitive properties. */
+    static final Object PRIMITIVE = new Object();
+
+    private static final String ACCESS_FAILED = "Cannot access property ";
+
+    /**
+     * Property with an {@code int}, {@code short} or {@code byte} value.
+     */
+    private static final class IntProperty extends PropertyCodec {
+
+        private final Class<?> javaType;
+        private final long min;
+        private final long max;
+
+        IntProperty(BeanProperty property, Class<?> javaType, long min, long max) {
+            super(property, int.class);
+            this.javaType = javaType;
+            this.min = min;
+            this.max = max;
+        }
+
+        @Override
+        void write(BindingWriter writer, Object bean, Object value) throws IOException {
+            int primitive;
+            try {
+                primitive = (int) getter.invokeExact(bean);
+                // CHECKSTYLE:SKIP
+            } catch (Throwable exc) {
+                throw failure(exc);
+            }
+            writeName(writer);
+            writer.writeInt(primitive);
+        }
+
+        @Override
+        void read(BindingReader reader, Object bean) throws IOException {
+            if (reader.readNil()) {
+                return;
+            }
+            int value = (int) reader.readLong(min, max, javaType);
+            try {
+                setter.invokeExact(bean, value);
+                // CHECKSTYLE:SKIP
+            } catch (Throwable exc) {
+                throw failure(exc);
+            }
+        }
+    }
+
+    /**
+     * Property with a {@code long} value.
+     */
+    private static final class LongProperty extends PropertyCodec {
+
+        LongProperty(BeanProperty property) {
+            super(property, long.class);
+        }
+
+        @Override
+        void write(BindingWriter writer, Object bean, Object value) throws IOException {
+            long primitive;
+            try {
+                primitive = (long) getter.invokeExact(bean);
+                // CHECKSTYLE:SKIP
+            } catch (Throwable exc) {
+                throw failure(exc);
+            }
+            writeName(writer);
+            writer.writeLong(primitive);
+        }
+
+        @Override
+        void read(BindingReader reader, Object bean) throws IOException {
+            if (reader.readNil()) {
+                return;
+            }
+            long value = reader.readLong();
+            try {
+                setter.invokeExact(bean, value);
+                // CHECKSTYLE:SKIP
+            } catch (Throwable exc) {
+                throw failure(exc);
+            }
+        }
+    }
+
+    /**
+     * Property with a {@code double} value.
+     */
+    private static final class DoubleProperty extends PropertyCodec {
+
+        DoubleProperty(BeanProperty property) {
+            super(property, double.class);
+        }
+
+        @Override
+        void write(BindingWriter writer, Object bean, Object value) throws IOException {
+            double primitive;
+            try {
+                primitive = (double) getter.invokeExact(bean);
+                // CHECKSTYLE:SKIP
+            } catch (Throwable exc) {
+                throw failure(exc);
+            }
+            writeName(writer);
+            writer.writeDouble(primitive);
+        }
+
+        @Override
+        void read(BindingReader reader, Object bean) throws IOException {
+            if (reader.readNil()) {
+                return;
+            }
+            double value = reader.readDouble();
+            try {
+                setter.invokeExact(bean, value);
+                // CHECKSTYLE:SKIP
+            } catch (Throwable exc) {
+                throw failure(exc);
+            }
+        }
+    }
+
+    /**
+     * Property with a {@code float} value.
+     */
+    private static final class FloatProperty extends PropertyCodec {
+
+        FloatProperty(BeanProperty property) {
+            super(property, float.class);
+        }
+
+        @Override
+        void write(BindingWriter writer, Object bean, Object value) throws IOException {
+            float primitive;
+            try {
+                primitive = (float) getter.invokeExact(bean);
+                // CHECKSTYLE:SKIP
+            } catch (Throwable exc) {
+                throw failure(exc);
+            }
+            writeName(writer);
+            writer.writeFloat(primitive);
+        }
+
+        @Override
+        void read(BindingReader reader, Object bean) throws IOException {
+            if (reader.readNil()) {
+                return;
+            }
+            float value = (float) reader.readDouble();
+            try {
+                setter.invokeExact(bean, value);
+                // CHECKSTYLE:SKIP
+            } catch (Throwable exc) {
+                throw failure(exc);
+            }
+        }
+    }
+
+    /**
+     * Property with a {@code boolean} value.
+     */
+    private static final class BooleanProperty extends PropertyCodec {
+
+        BooleanProperty(BeanProperty property) {
+            super(property, boolean.class);
+        }
+
+        @Override
+        void write(BindingWriter writer, Object bean, Object value) throws IOException {
+            boolean primitive;
+            try {
+                primitive = (boolean) getter.invokeExact(bean);
+                // CHECKSTYLE:SKIP
+            } catch (Throwable exc) {
+                throw failure(exc);
+            }
+            writeName(writer);
+            writer.packer().packBoolean(primitive);
+        }
+
+        @Override
+        void read(BindingReader reader, Object bean) throws IOException {
+            if (reader.readNil()) {
+                return;
+            }
+            boolean value = reader.readBoolean();
+            try {
+                setter.invokeExact(bean, value);
+                // CHECKSTYLE:SKIP
+            } catch (Throwable exc) {
+                throw failure(exc);
+            }
+        }
+    }
+
+    /**
+     * Property with a reference value, written by a value codec. Null values are omitted, like in JSON-B.
+     */
+    private static final class ObjectProperty extends PropertyCodec {
+
+        private final ValueCodec codec;
+
+        ObjectProperty(BeanProperty property, ValueCodec codec) {
+            super(property, Object.class);
+            this.codec = codec;
+        }
+
+        @Override
+        Object get(Object bean) {
+            try {
+                return (Object) getter.invokeExact(bean);
+                // CHECKSTYLE:SKIP
+            } catch (Throwable exc) {
+                throw failure(exc);
+            }
+        }
+
+        @Override
+        void write(BindingWriter writer, Object bean, Object value) throws IOException {
+            if (value != null) {
+                writeName(writer);
+                codec.write(writer, value);
+            }
+        }
+
+        @Override
+        void read(BindingReader reader, Object bean) throws IOException {
+            Object value = reader.read(codec);
+            try {
+                setter.invokeExact(bean, value);
+                // CHECKSTYLE:SKIP
+            } catch (Throwable exc) {
+                throw failure(exc);
+            }
+        }
+    }
+
+    /** Getter of type {@code (Object)T}, or null if the property is not readable. */
+    protected final MethodHandle getter;
+
+    /** Setter of type {@code (Object,T)void}, or null if the property is not writable. */
+    protected final MethodHandle setter;
+
+    private final String name;
+    private final String readName;
+    private final byte[] encodedName;
+
+    private PropertyCodec(BeanProperty property, Class<?> valueType) {
+        this.name = property.getWriteName();
+        this.readName = property.getReadName();
+        this.encodedName = EncodedKeyCache.encode(name);
+        this.getter = (property.getGetter() == null) ? null
+                : property.getGetter().asType(MethodType.methodType(valueType, Object.class));
+        this.setter = (property.getSetter() == null) ? null
+                : MethodHandles.explicitCastArguments(property.getSetter(),
+                        MethodType.methodType(void.class, Object.class, valueType));
+    }
+
+    /**
+     * Checks if the given type has a dedicated primitive property codec. {@code char} values are written as strings
+     * and use a value codec.
+     *
+     * @param type
+     *            raw property type
+     * @return true for primitive types except {@code char}
+     */
+    static boolean isPrimitive(Class<?> type) {
+        return type.isPrimitive() && type != char.class;
+    }
+
+    /**
+     * Creates a codec for the given property.
+     *
+     * @param property
+     *            bean property
+     * @param codec
+     *            value codec, or null for an unadapted primitive property, see {@link #isPrimitive(Class)}
+     * @return property codec
+     */
+    static PropertyCodec of(BeanProperty property, ValueCodec codec) {
+        if (codec != null) {
+            return new ObjectProperty(property, codec);
+        }
+        Class<?> type = property.getRawType();
+        if (type == int.class) {
+            return new IntProperty(property, type, Integer.MIN_VALUE, Integer.MAX_VALUE);
+        } else if (type == short.class) {
+            return new IntProperty(property, type, Short.MIN_VALUE, Short.MAX_VALUE);
+        } else if (type == byte.class) {
+            return new IntProperty(property, type, Byte.MIN_VALUE, Byte.MAX_VALUE);
+        } else if (type == long.class) {
+            return new LongProperty(property);
+        } else if (type == double.class) {
+            return new DoubleProperty(property);
+        } else if (type == float.class) {
+            return new FloatProperty(property);
+        } else if (type == boolean.class) {
+            return new BooleanProperty(property);
+        }
+        throw new IllegalArgumentException("no codec for " + type);
+    }
+
+    String getName() {
+        return name;
+    }
+
+    String getReadName() {
+        return readName;
+    }
+
+    boolean isReadable() {
+        return getter != null;
+    }
+
+    boolean isWritable() {
+        return setter != null;
+    }
+
+    /**
+     * Gets the property value of the given bean. Primitive properties return {@link #PRIMITIVE} instead and get their
+     * value unboxed in {@link #write(BindingWriter, Object, Object)}.
+     *
+     * @param bean
+     *            bean
+     * @return property value, null if omitted
+     */
+    Object get(Object bean) {
+        return PRIMITIVE;
+    }
+
+    /**
+     * Writes the name and value of this property, unless the value is null.
+     *
+     * @param writer
+     *            binding writer
+     * @param bean
+     *            bean
+     * @param value
+     *            property value obtained by {@link #get(Object)}
+     * @throws IOException
+     *             on write error
+     */
+    abstract void write(BindingWriter writer, Object bean, Object value) throws IOException;
+
+    /**
+     * Reads the value of this property and sets it on the given bean.
+     *
+     * @param reader
+     *            binding reader
+     * @param bean
+     *            bean
+     * @throws IOException
+     *             on read error
+     */
+    abstract void read(BindingReader reader, Object bean) throws IOException;
+
+    void writeName(BindingWriter writer) throws IOException {
+        writer.packer().writePayload(encodedName);
+    }
+
+    RuntimeException failure(Throwable exc) {
+        if (exc instanceof RuntimeException) {
+            return (RuntimeException) exc;
+        }
+        if (exc instanceof Error) {
+            throw (Error) exc;
+        }
+        return new JsonbException(ACCESS_FAILED + name, exc);
+    }
+}
@@ -0,0 +1,176 @@
+package org.ops4j.mpjp.impl;
+
+import java.io.IOException;
+import java.lang.invoke.MethodType;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+import javax.json.bind.JsonbException;
+
+/**
+ * Codecs for scalar Java types, writing the same MessagePack values as JSON-B with the MessagePack provider.
+ *
+ * @author hwellmann
+ *
+ */
+enum ScalarCodec implements ValueCodec {
+
+    STRING(String.class) {
+        @Override
+        public void write(BindingWriter writer, Object value) throws IOException {
+            writer.packer().packString((String) value);
+        }
+
+        @Override
+        public Object read(BindingReader reader) throws IOException {
+            return reader.readString();
+        }
+    },
+
+    CHARACTER(Character.class) {
+        @Override
+        public void write(BindingWriter writer, Object value) throws IOException {
+            writer.packer().packString(value.toString());
+        }
+
+        @Override
+        public Object read(BindingReader reader) throws IOException {
+            String value = reader.readString();
+            if (value.length() != 1) {
+                throw new JsonbException("Cannot bind string of length " + value.length() + " to char");
+            }
+            return value.charAt(0);
+        }
+    },
+
+    BOOLEAN(Boolean.class) {
+        @Override
+        public void write(BindingWriter writer, Object value) throws IOException {
+            writer.packer().packBoolean((Boolean) value);
+        }
+
+        @Override
+        public Object read(BindingReader reader) throws IOException {
+            return reader.readBoolean();
+        }
+    },
+
+    BYTE(Byte.class) {
+        @Override
+        public void write(BindingWriter writer, Object value) throws IOException {
+            writer.writeInt((Byte) value);
+        }
+
+        @Override
+        public Object read(BindingReader reader) throws IOException {
+            return (byte) reader.readLong(Byte.MIN_VALUE, Byte.MAX_VALUE, byte.class);
+        }
+    },
+
+    SHORT(Short.class) {
+        @Override
+        public void write(BindingWriter writer, Object value) throws IOException {
+            writer.writeInt((Short) value);
+        }
+
+        @Override
+        public Object read(BindingReader reader) throws IOException {
+            return (short) reader.readLong(Short.MIN_VALUE, Short.MAX_VALUE, short.class);
+        }
+    },
+
+    INTEGER(Integer.class) {
+        @Override
+        public void write(BindingWriter writer, Object value) throws IOException {
+            writer.writeInt((Integer) value);
+        }
+
+        @Override
+        public Object read(BindingReader reader) throws IOException {
+            return (int) reader.readLong(Integer.MIN_VALUE, Integer.MAX_VALUE, int.class);
+        }
+    },
+
+    LONG(Long.class) {
+        @Override
+        public void write(BindingWriter writer, Object value) throws IOException {
+            writer.writeLong((Long) value);
+        }
+
+        @Override
+        public Object read(BindingReader reader) throws IOException {
+            return reader.readLong();
+        }
+    },
+
+    FLOAT(Float.class) {
+        @Override
+        public void write(BindingWriter writer, Object value) throws IOException {
+            writer.writeFloat((Float) value);
+        }
+
+        @Override
+        public Object read(BindingReader reader) throws IOException {
+            return (float) reader.readDouble();
+        }
+    },
+
+    DOUBLE(Double.class) {
+        @Override
+        public void write(BindingWriter writer, Object value) throws IOException {
+            writer.writeDouble((Double) value);
+        }
+
+        @Override
+        public Object read(BindingReader reader) throws IOException {
+            return reader.readDouble();
+        }
+    },
+
+    BIG_DECIMAL(BigDecimal.class) {
+        @Override
+        public void write(BindingWriter writer, Object value) throws IOException {
+            writer.writeBigDecimal((BigDecimal) value);
+        }
+
+        @Override
+        public Object read(BindingReader reader) throws IOException {
+            return reader.readBigDecimal();
+        }
+    },
+
+    BIG_INTEGER(BigInteger.class) {
+        @Override
+        public void write(BindingWriter writer, Object value) throws IOException {
+            writer.writeBigInteger((BigInteger) value);
+        }
+
+        @Override
+        public Object read(BindingReader reader) throws IOException {
+            return reader.readBigInteger();
+        }
+    };
+
+    private final Class<?> javaType;
+
+    ScalarCodec(Class<?> javaType) {
+        this.javaType = javaType;
+    }
+
+    /**
+     * Gets the codec for the given scalar type or its primitive counterpart.
+     *
+     * @param type
+     *            Java type
+     * @return codec, or null if the type is not a scalar
+     */
+    static ScalarCodec of(Class<?> type) {
+        Class<?> boxed = MethodType.methodType(type).wrap().returnType();
+        for (ScalarCodec codec : values()) {
+            if (codec.javaType == boxed) {
+                return codec;
+            }
+        }
+        return null;
+    }
+}
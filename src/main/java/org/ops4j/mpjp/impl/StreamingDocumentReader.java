@@ -0,0 +1,94 @@
+package org.ops4j.mpjp.impl;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Type;
+import java.util.NoSuchElementException;
+
+import javax.json.JsonException;
+import javax.json.JsonValue;
+import javax.json.bind.Jsonb;
+import javax.json.spi.JsonProvider;
+import javax.json.stream.JsonParser;
+
+import org.msgpack.core.MessagePack;
+import org.msgpack.core.MessageUnpacker;
+import org.ops4j.mpjp.api.MessagePackDocumentReader;
+
+/**
+ * A {@link MessagePackDocumentReader} based on a single {@link MessagePackStreamingJsonParser}.
+ *
+ * @author hwellmann
+ *
+ */
+public class StreamingDocumentReader implements MessagePackDocumentReader {
+
+    private final MessageUnpacker unpacker;
+    private final MessagePackStreamingJsonParser parser;
+
+    /** Has the parser been handed out for the current document? */
+    private boolean inDocument;
+
+    StreamingDocumentReader(InputStream is, JsonProvider provider, NumberCodec numberCodec, KeyCache keyCache) {
+        this(MessagePack.newDefaultUnpacker(is), provider, numberCodec, keyCache);
+    }
+
+    StreamingDocumentReader(MessageUnpacker unpacker, JsonProvider provider, NumberCodec numberCodec,
+            KeyCache keyCache) {
+        this.unpacker = unpacker;
+        this.parser = new MessagePackStreamingJsonParser(unpacker, provider, numberCodec, keyCache);
+        parser.enableDocumentMode();
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (inDocument) {
+            parser.skipDocument();
+            inDocument = false;
+        }
+        try {
+            return unpacker.hasNext();
+        } catch (IOException exc) {
+            throw new JsonException(exc.getMessage(), exc);
+        }
+    }
+
+    @Override
+    public JsonParser nextParser() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        parser.startDocument();
+        inDocument = true;
+        return parser;
+    }
+
+    @Override
+    public JsonValue readValue() {
+        JsonParser documentParser = nextParser();
+        documentParser.next();
+        return documentParser.getValue();
+    }
+
+    @Override
+    public <T> T readValue(Jsonb jsonb, Type type) {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return jsonb.fromJson(new DocumentInputStream(this), type);
+    }
+
+    @Override
+    public <T> T readValue(Jsonb jsonb, Class<T> type) {
+        return readValue(jsonb, (Type) type);
+    }
+
+    @Override
+    public void close() {
+        try {
+            unpacker.close();
+        } catch (IOException exc) {
+            throw new JsonException(exc.getMessage(), exc);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package org.ops4j.mpjp.impl;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import javax.json.JsonException;
+import javax.json.JsonValue;
+import javax.json.bind.Jsonb;
+import javax.json.stream.JsonGenerator;
+
+import org.ops4j.mpjp.api.MessagePackDocumentWriter;
+
+/**
+ * A {@link MessagePackDocumentWriter} based on a single {@link MessagePackStreamingJsonGenerator} with compact headers.
+ *
+ * @author hwellmann
+ *
+ */
+public class StreamingDocumentWriter implements MessagePackDocumentWriter {
+
+    private final OutputStream os;
+    private final MessagePackStreamingJsonGenerator generator;
+
+    StreamingDocumentWriter(OutputStream os, NumberCodec numberCodec, EncodedKeyCache keyCache) {
+        this.os = os;
+        this.generator = new MessagePackStreamingJsonGenerator(os, true, numberCodec, keyCache);
+        generator.keepOpen();
+    }
+
+    @Override
+    public JsonGenerator nextGenerator() {
+        generator.checkComplete();
+        return generator;
+    }
+
+    @Override
+    public void write(JsonValue value) {
+        nextGenerator().write(value);
+    }
+
+    @Override
+    public void write(Jsonb jsonb, Object object) {
+        generator.checkComplete();
+        jsonb.toJson(object, new DocumentOutputStream(this));
+    }
+
+    @Override
+    public void flush() {
+        generator.flush();
+    }
+
+    @Override
+    public void close() {
+        generator.close();
+        try {
+            os.close();
+        } catch (IOException exc) {
+            throw new JsonException(exc.getMessage(), exc);
+        }
+    }
+}
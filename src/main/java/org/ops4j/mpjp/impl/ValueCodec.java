@@ -0,0 +1,37 @@
+package org.ops4j.mpjp.impl;
+
+import java.io.IOException;
+
+/**
+ * Writes and reads values of a given Java type directly as MessagePack, for a {@link MessagePackJsonBinder}.
+ * <p>
+ * Codecs are immutable once initialized and may be shared by multiple threads. Null values are handled by the caller.
+ *
+ * @author hwellmann
+ *
+ */
+interface ValueCodec {
+
+    /**
+     * Writes the given value.
+     *
+     * @param writer
+     *            binding writer
+     * @param value
+     *            value, not null
+     * @throws IOException
+     *             on write error
+     */
+    void write(BindingWriter writer, Object value) throws IOException;
+
+    /**
+     * Reads a value. The next value is not {@code nil}.
+     *
+     * @param reader
+     *            binding reader
+     * @return value
+     * @throws IOException
+     *             on read error
+     */
+    Object read(BindingReader reader) throws IOException;
+}
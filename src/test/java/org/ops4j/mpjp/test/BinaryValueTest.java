@@ -0,0 +1,183 @@
+package org.ops4j.mpjp.test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Base64;
+
+import javax.json.Json;
+import javax.json.JsonArray;
+import javax.json.JsonObject;
+import javax.json.JsonReader;
+import javax.json.JsonValue;
+import javax.json.JsonWriter;
+import javax.json.bind.Jsonb;
+import javax.json.bind.JsonbBuilder;
+import javax.json.bind.JsonbConfig;
+import javax.json.stream.JsonGenerator;
+import javax.json.stream.JsonParser;
+import javax.json.stream.JsonParser.Event;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.msgpack.core.MessageFormat;
+import org.msgpack.core.MessagePack;
+import org.msgpack.core.MessagePacker;
+import org.msgpack.core.MessageUnpacker;
+import org.ops4j.mpjp.api.BinaryAdapter;
+import org.ops4j.mpjp.api.BinaryJsonString;
+import org.ops4j.mpjp.api.ByteBufferAdapter;
+import org.ops4j.mpjp.api.MessagePackJsonProvider;
+import org.ops4j.mpjp.test.model.Attachment;
+
+public class BinaryValueTest {
+
+    private static final byte[] CONTENT = { 0, 1, 2, (byte) 0xfe, (byte) 0xff };
+
+    private static final byte[] THUMBNAIL = new byte[300];
+
+    private static byte[] record() throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        MessagePacker packer = MessagePack.newDefaultPacker(baos);
+        packer.packMapHeader(2);
+        packer.packString("name");
+        packer.packString("doc");
+        packer.packString("content");
+        packer.packBinaryHeader(CONTENT.length);
+        packer.writePayload(CONTENT);
+        packer.close();
+        return baos.toByteArray();
+    }
+
+    @ParameterizedTest
+    @EnumSource(GeneratorMode.class)
+    public void shouldBindBinaryProperties(GeneratorMode mode) throws IOException {
+        JsonbConfig config = new JsonbConfig().withAdapters(new BinaryAdapter(), new ByteBufferAdapter());
+        Attachment attachment = mode.roundTrip(config, new Attachment("doc", CONTENT, ByteBuffer.wrap(THUMBNAIL)),
+                bytes -> {
+                    MessageUnpacker unpacker = MessagePack.newDefaultUnpacker(bytes);
+                    assertThat(unpacker.unpackMapHeader()).isEqualTo(3);
+                    assertThat(unpacker.unpackString()).isEqualTo("content");
+                    assertThat(unpacker.getNextFormat()).isEqualTo(MessageFormat.BIN8);
+                    assertThat(unpacker.readPayload(unpacker.unpackBinaryHeader())).isEqualTo(CONTENT);
+                    assertThat(unpacker.unpackString()).isEqualTo("name");
+                    assertThat(unpacker.unpackString()).isEqualTo("doc");
+                    assertThat(unpacker.unpackString()).isEqualTo("thumbnail");
+                    assertThat(unpacker.getNextFormat()).isEqualTo(MessageFormat.BIN16);
+                    assertThat(unpacker.readPayload(unpacker.unpackBinaryHeader())).isEqualTo(THUMBNAIL);
+                });
+        assertThat(attachment.getName()).isEqualTo("doc");
+        assertThat(attachment.getContent()).isEqualTo(CONTENT);
+        assertThat(attachment.getThumbnail()).isEqualTo(ByteBuffer.wrap(THUMBNAIL));
+    }
+
+    @ParameterizedTest
+    @EnumSource(GeneratorMode.class)
+    public void shouldUseSmallestBinaryHeader(GeneratorMode mode) throws IOException {
+        int[] lengths = { 0, 0xff, 0x100, 0xffff, 0x10000 };
+        MessageFormat[] formats = { MessageFormat.BIN8, MessageFormat.BIN8, MessageFormat.BIN16, MessageFormat.BIN16,
+            MessageFormat.BIN32 };
+        MessagePackJsonProvider provider = mode.provider();
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (JsonGenerator generator = provider.createGeneratorFactory(null).createGenerator(baos)) {
+            generator.writeStartArray();
+            for (int length : lengths) {
+                generator.write(BinaryJsonString.of(payload(length)));
+            }
+            generator.writeEnd();
+        }
+
+        MessageUnpacker unpacker = MessagePack.newDefaultUnpacker(baos.toByteArray());
+        unpacker.unpackArrayHeader();
+        for (int i = 0; i < lengths.length; i++) {
+            assertThat(unpacker.getNextFormat()).isEqualTo(formats[i]);
+            assertThat(unpacker.unpackBinaryHeader()).isEqualTo(lengths[i]);
+            unpacker.readPayload(lengths[i]);
+        }
+
+        JsonArray array;
+        try (JsonReader reader = provider.createReader(new ByteArrayInputStream(baos.toByteArray()))) {
+            array = reader.readArray();
+        }
+        for (int i = 0; i < lengths.length; i++) {
+            assertThat(((BinaryJsonString) array.get(i)).getBytes()).isEqualTo(payload(lengths[i]));
+        }
+    }
+
+    private static byte[] payload(int length) {
+        byte[] payload = new byte[length];
+        for (int i = 0; i < length; i++) {
+            payload[i] = (byte) i;
+        }
+        return payload;
+    }
+
+    @Test
+    public void shouldBindBase64WithTextJson() {
+        Jsonb jsonb = JsonbBuilder.create(new JsonbConfig().withAdapters(new BinaryAdapter(), new ByteBufferAdapter()));
+        String json = jsonb.toJson(new Attachment("doc", CONTENT, null));
+        assertThat(json).isEqualTo("{\"content\":\"" + Base64.getEncoder().encodeToString(CONTENT)
+                + "\",\"name\":\"doc\"}");
+        assertThat(jsonb.fromJson(json, Attachment.class).getContent()).isEqualTo(CONTENT);
+    }
+
+    @Test
+    public void shouldParseBinaryValue() throws IOException {
+        MessagePackJsonProvider provider = new MessagePackJsonProvider();
+        try (JsonParser parser = provider.createParser(record())) {
+            parser.next();
+            parser.next();
+            parser.next();
+            assertThat(parser.next()).isEqualTo(Event.KEY_NAME);
+            assertThat(parser.next()).isEqualTo(Event.VALUE_STRING);
+            JsonValue value = parser.getValue();
+            assertThat(value).isInstanceOf(BinaryJsonString.class);
+            assertThat(((BinaryJsonString) value).getBytes()).isEqualTo(CONTENT);
+            assertThat(parser.getString()).isEqualTo(Base64.getEncoder().encodeToString(CONTENT));
+        }
+        try (JsonParser parser = provider.createParser(record())) {
+            parser.next();
+            parser.next();
+            parser.next();
+            parser.next();
+            parser.next();
+            assertThat(parser.getString()).isEqualTo(Base64.getEncoder().encodeToString(CONTENT));
+            assertThat(parser.getValue()).isInstanceOf(BinaryJsonString.class);
+        }
+    }
+
+    @Test
+    public void shouldPreserveBinaryValueInTree() throws IOException {
+        MessagePackJsonProvider provider = new MessagePackJsonProvider();
+        byte[] record = record();
+        JsonObject object;
+        try (JsonReader reader = provider.createReader(new ByteArrayInputStream(record))) {
+            object = reader.readObject();
+        }
+        assertThat(object.get("content")).isInstanceOf(BinaryJsonString.class);
+        assertThat(object.getString("content")).isEqualTo(Base64.getEncoder().encodeToString(CONTENT));
+        assertThat(provider.createLazyValue(record).asJsonObject().get("content"))
+                .isInstanceOf(BinaryJsonString.class);
+
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (JsonWriter writer = provider.createWriter(baos)) {
+            writer.writeObject(object);
+        }
+        assertThat(baos.toByteArray()).isEqualTo(record);
+    }
+
+    @Test
+    public void shouldEqualBase64String() {
+        BinaryJsonString binary = BinaryJsonString.of(CONTENT);
+        JsonValue text = Json.createValue(Base64.getEncoder().encodeToString(CONTENT));
+        assertThat(binary).isEqualTo(text);
+        assertThat(text).isEqualTo(binary);
+        assertThat(binary).hasSameHashCodeAs(text);
+        assertThat(binary).isEqualTo(BinaryJsonString.of(ByteBuffer.wrap(CONTENT.clone())));
+        assertThat(binary.toString()).isEqualTo(text.toString());
+    }
+}
@@ -0,0 +1,106 @@
+package org.ops4j.mpjp.test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.NoSuchElementException;
+
+import javax.json.Json;
+import javax.json.JsonObject;
+import javax.json.JsonValue;
+import javax.json.bind.Jsonb;
+import javax.json.bind.JsonbBuilder;
+import javax.json.stream.JsonGenerationException;
+import javax.json.stream.JsonGenerator;
+import javax.json.stream.JsonParser;
+import javax.json.stream.JsonParser.Event;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.ops4j.mpjp.api.MessagePackDocumentReader;
+import org.ops4j.mpjp.api.MessagePackDocumentWriter;
+import org.ops4j.mpjp.api.MessagePackJsonProvider;
+import org.ops4j.mpjp.test.model.Person;
+
+public class DocumentStreamTest {
+
+    private MessagePackJsonProvider provider;
+    private Jsonb jsonb;
+
+    @BeforeEach
+    public void setUp() {
+        provider = new MessagePackJsonProvider();
+        jsonb = JsonbBuilder.newBuilder().withProvider(provider).build();
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        jsonb.close();
+    }
+
+    @Test
+    public void shouldWriteAndReadConcatenatedDocuments() {
+        JsonObject object = Json.createObjectBuilder().add("id", 17).add("tags", Json.createArrayBuilder().add("a"))
+                .build();
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (MessagePackDocumentWriter writer = provider.createDocumentWriter(baos)) {
+            writer.write(jsonb, new Person("Mickey", "Mouse"));
+            writer.write(object);
+            writer.nextGenerator().write(42);
+            JsonGenerator generator = writer.nextGenerator();
+            generator.writeStartArray().write("x").write(true).writeEnd();
+            generator.close();
+            writer.write(jsonb, new Person("Donald", "Duck"));
+        }
+
+        try (MessagePackDocumentReader reader = provider.createDocumentReader(
+                new ByteArrayInputStream(baos.toByteArray()))) {
+            assertThat(reader.hasNext()).isTrue();
+            Person mickey = reader.readValue(jsonb, Person.class);
+            assertThat(mickey.getFirstName()).isEqualTo("Mickey");
+            assertThat(reader.readValue()).isEqualTo(object);
+            assertThat(reader.readValue()).isEqualTo(Json.createValue(42));
+
+            JsonParser parser = reader.nextParser();
+            assertThat(parser.next()).isEqualTo(Event.START_ARRAY);
+            assertThat(parser.next()).isEqualTo(Event.VALUE_STRING);
+
+            Person donald = reader.readValue(jsonb, Person.class);
+            assertThat(donald.getLastName()).isEqualTo("Duck");
+            assertThat(reader.hasNext()).isFalse();
+            assertThatThrownBy(reader::readValue).isInstanceOf(NoSuchElementException.class);
+        }
+    }
+
+    @Test
+    public void shouldSkipUnreadDocuments() {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (MessagePackDocumentWriter writer = provider.createDocumentWriter(baos)) {
+            for (int i = 0; i < 3; i++) {
+                writer.write(Json.createObjectBuilder().add("index", i).build());
+            }
+        }
+
+        try (MessagePackDocumentReader reader = provider.createDocumentReader(
+                new ByteArrayInputStream(baos.toByteArray()))) {
+            reader.nextParser();
+            JsonParser parser = reader.nextParser();
+            parser.next();
+            assertThat(parser.getObject().getInt("index")).isEqualTo(1);
+            assertThat(parser.hasNext()).isFalse();
+            JsonValue last = reader.readValue();
+            assertThat(last.asJsonObject().getInt("index")).isEqualTo(2);
+        }
+    }
+
+    @Test
+    public void shouldRejectIncompleteDocument() {
+        MessagePackDocumentWriter writer = provider.createDocumentWriter(new ByteArrayOutputStream());
+        writer.nextGenerator().writeStartObject();
+        assertThatThrownBy(() -> writer.write(JsonValue.NULL)).isInstanceOf(JsonGenerationException.class);
+        assertThatThrownBy(writer::close).isInstanceOf(JsonGenerationException.class);
+    }
+}
@@ -0,0 +1,91 @@
+package org.ops4j.mpjp.test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.json.stream.JsonGenerator;
+import javax.json.stream.JsonGeneratorFactory;
+
+import org.junit.jupiter.api.Test;
+import org.msgpack.core.MessagePack;
+import org.msgpack.core.MessagePacker;
+import org.ops4j.mpjp.api.MessagePackConfig;
+import org.ops4j.mpjp.api.MessagePackJsonProvider;
+
+public class EncodedKeyCacheTest {
+
+    private static final List<String> KEYS = Arrays.asList("id", "firstName", "größe", "äöü€",
+            repeat("k", 31), repeat("k", 32), repeat("ü", 20), repeat("€", 64), repeat("x", 255), repeat("y", 256),
+            repeat("0123456789", 10));
+
+    private static String repeat(String s, int times) {
+        return String.join("", Collections.nCopies(times, s));
+    }
+
+    private static byte[] expected() throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        MessagePacker packer = MessagePack.newDefaultPacker(baos);
+        for (int round = 0; round < 2; round++) {
+            packer.packMapHeader(KEYS.size());
+            for (int i = 0; i < KEYS.size(); i++) {
+                packer.packString(KEYS.get(i));
+                packer.packInt(i);
+            }
+        }
+        packer.close();
+        return baos.toByteArray();
+    }
+
+    private static byte[] generate(Map<String, ?> config) {
+        JsonGeneratorFactory factory = new MessagePackJsonProvider().createGeneratorFactory(config);
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        for (int round = 0; round < 2; round++) {
+            try (JsonGenerator generator = factory.createGenerator(baos)) {
+                generator.writeStartObject();
+                for (int i = 0; i < KEYS.size(); i++) {
+                    generator.write(KEYS.get(i), i);
+                }
+                generator.writeEnd();
+            }
+        }
+        return baos.toByteArray();
+    }
+
+    private static Map<String, Object> config(boolean streaming, int cacheSize) {
+        Map<String, Object> config = new HashMap<>();
+        config.put(MessagePackConfig.GENERATOR_STREAMING, streaming);
+        config.put(MessagePackConfig.GENERATOR_COMPACT_HEADERS, true);
+        config.put(MessagePackConfig.GENERATOR_KEY_CACHE_SIZE, cacheSize);
+        return config;
+    }
+
+    @Test
+    public void shouldWriteSameBytesAsPacker() throws IOException {
+        byte[] expected = expected();
+        assertThat(generate(config(false, 1024))).isEqualTo(expected);
+        assertThat(generate(config(false, 0))).isEqualTo(expected);
+        assertThat(generate(config(true, 1024))).isEqualTo(expected);
+        assertThat(generate(config(true, 0))).isEqualTo(expected);
+    }
+
+    @Test
+    public void shouldWriteSameBytesWithCollisions() throws IOException {
+        assertThat(generate(config(false, 1))).isEqualTo(expected());
+        assertThat(generate(config(true, 1))).isEqualTo(expected());
+    }
+
+    @Test
+    public void shouldRejectInvalidSize() {
+        assertThatThrownBy(() -> new MessagePackJsonProvider()
+                .createGeneratorFactory(Collections.singletonMap(MessagePackConfig.GENERATOR_KEY_CACHE_SIZE, -1)))
+                        .isInstanceOf(IllegalArgumentException.class);
+    }
+}
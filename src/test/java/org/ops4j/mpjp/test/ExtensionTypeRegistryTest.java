@@ -0,0 +1,160 @@
+package org.ops4j.mpjp.test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.ops4j.mpjp.api.ExtensionTypes.KEY_PAYLOAD;
+import static org.ops4j.mpjp.api.ExtensionTypes.KEY_TYPE;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.UUID;
+
+import javax.json.Json;
+import javax.json.JsonObject;
+import javax.json.JsonValue;
+import javax.json.JsonWriter;
+import javax.json.bind.JsonbConfig;
+import javax.json.bind.JsonbException;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.msgpack.core.MessagePack;
+import org.msgpack.core.MessageUnpacker;
+import org.ops4j.mpjp.api.ExtensionAdapter;
+import org.ops4j.mpjp.api.ExtensionCodecs;
+import org.ops4j.mpjp.api.ExtensionTypeRegistry;
+import org.ops4j.mpjp.api.ExtensionValue;
+import org.ops4j.mpjp.api.MessagePackJsonProvider;
+import org.ops4j.mpjp.test.model.Shipment;
+
+public class ExtensionTypeRegistryTest {
+
+    private static final UUID ID = UUID.fromString("123e4567-e89b-12d3-a456-426614174000");
+
+    private static final LocalDate DUE = LocalDate.of(2021, 3, 14);
+
+    private static final Instant SHIPPED = Instant.ofEpochSecond(1615712400L, 123456789);
+
+    private static final BigDecimal WEIGHT = new BigDecimal("-12345678901234567890.125");
+
+    private final ExtensionTypeRegistry registry = new ExtensionTypeRegistry()
+            .register(1, ExtensionCodecs.localDate())
+            .register(2, ExtensionCodecs.instant())
+            .register(3, ExtensionCodecs.uuid())
+            .register(4, ExtensionCodecs.bigDecimal());
+
+    private JsonbConfig createConfig() {
+        return new JsonbConfig().withAdapters(
+                new ExtensionAdapter<LocalDate>(registry) { },
+                new ExtensionAdapter<Instant>(registry) { },
+                new ExtensionAdapter<UUID>(registry) { },
+                new ExtensionAdapter<BigDecimal>(registry) { });
+    }
+
+    @ParameterizedTest
+    @EnumSource(GeneratorMode.class)
+    public void shouldBindRegisteredTypes(GeneratorMode mode) throws IOException {
+        Shipment shipment = mode.roundTrip(createConfig(), new Shipment(ID, DUE, SHIPPED, WEIGHT), bytes -> {
+            JsonObject object = mode.provider().createReader(new ByteArrayInputStream(bytes)).readObject();
+            assertThat(((ExtensionValue) object.get("due")).getPayloadLength()).isEqualTo(4);
+            assertThat(((ExtensionValue) object.get("shipped")).getPayloadLength()).isEqualTo(12);
+            assertThat(((ExtensionValue) object.get("id")).getPayloadLength()).isEqualTo(16);
+            assertThat(registry.fromExtension((ExtensionValue) object.get("weight"))).isEqualTo(WEIGHT);
+        });
+        assertThat(shipment.getId()).isEqualTo(ID);
+        assertThat(shipment.getDue()).isEqualTo(DUE);
+        assertThat(shipment.getShipped()).isEqualTo(SHIPPED);
+        assertThat(shipment.getWeight()).isEqualTo(WEIGHT);
+    }
+
+    @Test
+    public void shouldWriteFixedWidthPayload() throws Exception {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        GeneratorMode.BUFFERED.jsonb(createConfig()).toJson(new Shipment(null, DUE, null, null), baos);
+
+        MessageUnpacker unpacker = MessagePack.newDefaultUnpacker(baos.toByteArray());
+        assertThat(unpacker.unpackMapHeader()).isEqualTo(1);
+        assertThat(unpacker.unpackString()).isEqualTo("due");
+        assertThat(unpacker.unpackValue().asExtensionValue().getData()).containsExactly(0, 0, 0x49, 0x0c);
+        assertThat(unpacker.hasNext()).isFalse();
+    }
+
+    @Test
+    public void shouldReadObjectView() {
+        ExtensionValue extension = registry.toExtension(DUE);
+        JsonObject object = Json.createObjectBuilder()
+                .add(KEY_TYPE, 1)
+                .add(KEY_PAYLOAD, extension.getPayloadString())
+                .build();
+        assertThat(registry.fromExtension(object, LocalDate.class)).isEqualTo(DUE);
+    }
+
+    @Test
+    public void shouldRoundTripEdgeValues() {
+        assertThat(registry.fromExtension(registry.toExtension(LocalDate.of(1, 1, 1))))
+                .isEqualTo(LocalDate.of(1, 1, 1));
+        assertThat(registry.fromExtension(registry.toExtension(Instant.MAX))).isEqualTo(Instant.MAX);
+        assertThat(registry.fromExtension(registry.toExtension(Instant.ofEpochSecond(-1, 5))))
+                .isEqualTo(Instant.ofEpochSecond(-1, 5));
+        assertThat(registry.fromExtension(registry.toExtension(BigDecimal.ZERO))).isEqualTo(BigDecimal.ZERO);
+    }
+
+    @Test
+    public void shouldRejectInvalidValues() {
+        assertThatThrownBy(() -> registry.fromExtension(registry.toExtension(ID), LocalDate.class))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> registry.fromExtension(ExtensionValue.of(1, new byte[3])))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> registry.fromExtension(JsonValue.NULL, LocalDate.class))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> registry.toExtension("text")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void shouldRejectUnregisteredType() {
+        ExtensionValue unregistered = ExtensionValue.of(9, new byte[4]);
+        assertThat(registry.getCodec(String.class)).isNull();
+        assertThatThrownBy(() -> registry.fromExtension(unregistered)).isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("9");
+        assertThatThrownBy(() -> registry.fromExtension(unregistered, LocalDate.class))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        JsonbConfig config = createConfig();
+        byte[] bytes = toMessagePack(Json.createObjectBuilder().add("due", unregistered).build());
+        assertThatThrownBy(() -> GeneratorMode.BUFFERED.jsonb(config).fromJson(new ByteArrayInputStream(bytes),
+                Shipment.class)).isInstanceOf(JsonbException.class);
+    }
+
+    @Test
+    public void shouldRejectTruncatedPayloads() {
+        assertThatThrownBy(() -> registry.fromExtension(ExtensionValue.of(2, new byte[11])))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> registry.fromExtension(ExtensionValue.of(3, new byte[15])))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> registry.fromExtension(ExtensionValue.of(4, new byte[3])))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static byte[] toMessagePack(JsonObject object) {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (JsonWriter writer = new MessagePackJsonProvider().createWriter(baos)) {
+            writer.writeObject(object);
+        }
+        return baos.toByteArray();
+    }
+
+    @Test
+    public void shouldRejectDuplicateRegistration() {
+        assertThatThrownBy(() -> registry.register(1, ExtensionCodecs.localDate()))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new ExtensionTypeRegistry().register(-129, ExtensionCodecs.uuid()))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> registry.register(5, ExtensionCodecs.uuid()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,140 @@
+package org.ops4j.mpjp.test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.ops4j.mpjp.api.ExtensionTypes.KEY_PAYLOAD;
+import static org.ops4j.mpjp.api.ExtensionTypes.KEY_TYPE;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+import javax.json.Json;
+import javax.json.JsonArray;
+import javax.json.JsonException;
+import javax.json.JsonObject;
+import javax.json.JsonReader;
+import javax.json.JsonWriter;
+import javax.json.bind.JsonbConfig;
+import javax.json.stream.JsonGenerator;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.msgpack.core.ExtensionTypeHeader;
+import org.msgpack.core.MessageFormat;
+import org.msgpack.core.MessagePack;
+import org.msgpack.core.MessageUnpacker;
+import org.ops4j.mpjp.api.ExtensionValue;
+import org.ops4j.mpjp.api.MessagePackJsonProvider;
+import org.ops4j.mpjp.test.model.ExtensionLocalDateAdapter;
+import org.ops4j.mpjp.test.model.Member;
+
+public class ExtensionValueTest {
+
+    private static final byte[] PAYLOAD = { 0, (byte) 0x80, (byte) 0xff, 'x' };
+
+    @ParameterizedTest
+    @EnumSource(GeneratorMode.class)
+    public void shouldBindExtensionValue(GeneratorMode mode) throws IOException {
+        JsonbConfig config = new JsonbConfig().withAdapters(new ExtensionLocalDateAdapter());
+        Member member = mode.roundTrip(config, new Member("Chris", "Potter", LocalDate.of(1992, 5, 13)), bytes -> {
+            MessageUnpacker unpacker = MessagePack.newDefaultUnpacker(bytes);
+            assertThat(unpacker.unpackMapHeader()).isEqualTo(3);
+            for (int i = 0; i < 4; i++) {
+                unpacker.skipValue();
+            }
+            assertThat(unpacker.unpackString()).isEqualTo("since");
+            ExtensionTypeHeader header = unpacker.unpackExtensionTypeHeader();
+            assertThat(header.getType()).isEqualTo((byte) 1);
+            assertThat(new String(unpacker.readPayload(header.getLength()), StandardCharsets.US_ASCII))
+                    .isEqualTo("1992-05-13");
+        });
+        assertThat(member.getSince()).isEqualTo(LocalDate.of(1992, 5, 13));
+    }
+
+    @ParameterizedTest
+    @EnumSource(GeneratorMode.class)
+    public void shouldUseSmallestExtensionHeader(GeneratorMode mode) throws IOException {
+        int[] lengths = { 1, 2, 3, 4, 8, 16, 17, 0xff, 0x100, 0x10000 };
+        MessageFormat[] formats = { MessageFormat.FIXEXT1, MessageFormat.FIXEXT2, MessageFormat.EXT8,
+            MessageFormat.FIXEXT4, MessageFormat.FIXEXT8, MessageFormat.FIXEXT16, MessageFormat.EXT8, MessageFormat.EXT8,
+            MessageFormat.EXT16, MessageFormat.EXT32 };
+        MessagePackJsonProvider provider = mode.provider();
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (JsonGenerator generator = provider.createGeneratorFactory(null).createGenerator(baos)) {
+            generator.writeStartArray();
+            for (int length : lengths) {
+                generator.write(ExtensionValue.of(9, new byte[length]));
+            }
+            generator.writeEnd();
+        }
+
+        MessageUnpacker unpacker = MessagePack.newDefaultUnpacker(baos.toByteArray());
+        unpacker.unpackArrayHeader();
+        for (int i = 0; i < lengths.length; i++) {
+            assertThat(unpacker.getNextFormat()).isEqualTo(formats[i]);
+            assertThat(unpacker.unpackExtensionTypeHeader().getLength()).isEqualTo(lengths[i]);
+            unpacker.readPayload(lengths[i]);
+        }
+
+        JsonArray array = provider.createReader(new ByteArrayInputStream(baos.toByteArray())).readArray();
+        for (int i = 0; i < lengths.length; i++) {
+            assertThat(((ExtensionValue) array.get(i)).getPayloadLength()).isEqualTo(lengths[i]);
+        }
+    }
+
+    @Test
+    public void shouldRejectTruncatedPayload() {
+        byte[] truncated = { (byte) 0xd6, 5, 1, 2 };
+        assertThatThrownBy(() -> new MessagePackJsonProvider().createReader(new ByteArrayInputStream(truncated)).readValue())
+                .isInstanceOf(JsonException.class);
+    }
+
+    @Test
+    public void shouldReadAndWriteBinaryPayload() {
+        MessagePackJsonProvider provider = new MessagePackJsonProvider();
+        JsonObject object = Json.createObjectBuilder().add("ext", ExtensionValue.of(-5, PAYLOAD)).build();
+
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (JsonWriter writer = provider.createWriter(baos)) {
+            writer.writeObject(object);
+        }
+        byte[] bytes = baos.toByteArray();
+
+        JsonObject read;
+        try (JsonReader reader = provider.createReader(new ByteArrayInputStream(bytes))) {
+            read = reader.readObject();
+        }
+        ExtensionValue extension = (ExtensionValue) read.get("ext");
+        assertThat(extension.getExtensionType()).isEqualTo((byte) -5);
+        assertThat(extension.getPayloadBytes()).isEqualTo(PAYLOAD);
+        assertThat(read).isEqualTo(object);
+
+        ExtensionValue lazy = (ExtensionValue) provider.createLazyValue(bytes).asJsonObject().get("ext");
+        assertThat(lazy).isEqualTo(extension);
+    }
+
+    @Test
+    public void shouldProvideObjectView() {
+        ExtensionValue extension = ExtensionValue.of(7, new byte[] { 'a', 'b', 'c', 'd' }, 1, 2);
+        assertThat(extension.getPayload()).isEqualTo(ByteBuffer.wrap(new byte[] { 'b', 'c' }));
+        assertThat(extension.getInt(KEY_TYPE)).isEqualTo(7);
+        assertThat(extension.getString(KEY_PAYLOAD)).isEqualTo("bc");
+        assertThat(extension.containsKey(KEY_TYPE)).isTrue();
+
+        JsonObject object = Json.createObjectBuilder().add(KEY_TYPE, 7).add(KEY_PAYLOAD, "bc").build();
+        assertThat(extension).isEqualTo(object);
+        assertThat(object).isEqualTo(extension);
+        assertThat(extension).hasSameHashCodeAs(object);
+        assertThat(extension.toString()).isEqualTo(object.toString());
+    }
+
+    @Test
+    public void shouldRejectInvalidType() {
+        assertThatThrownBy(() -> ExtensionValue.of(128, PAYLOAD)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,143 @@
+package org.ops4j.mpjp.test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+import javax.json.JsonException;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.msgpack.core.MessagePack;
+import org.msgpack.core.MessagePacker;
+import org.ops4j.mpjp.api.MessagePackFieldExtractor;
+import org.ops4j.mpjp.api.MessagePackJsonProvider;
+
+public class FieldExtractorTest {
+
+    private final MessagePackJsonProvider provider = new MessagePackJsonProvider();
+
+    private byte[] message;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        MessagePacker packer = MessagePack.newDefaultPacker(baos);
+        packer.packMapHeader(4);
+        packer.packInt(7);
+        packer.packString("integer key");
+        packer.packString("payload");
+        packer.packArrayHeader(2);
+        packer.packMapHeader(1);
+        packer.packString("routing");
+        packer.packString("ignored");
+        packer.packBinaryHeader(3);
+        packer.writePayload(new byte[] { 1, 2, 3 });
+        packer.packString("headers");
+        packer.packMapHeader(4);
+        packer.packString("röuting");
+        packer.packString("umlaut");
+        packer.packString("routing");
+        packer.packString("orders.eu");
+        packer.packString("priority");
+        packer.packInt(5);
+        packer.packString("express");
+        packer.packBoolean(true);
+        packer.packString("items");
+        packer.packArrayHeader(2);
+        packer.packDouble(1.5);
+        packer.packLong(3_000_000_000L);
+        packer.close();
+        message = baos.toByteArray();
+    }
+
+    @Test
+    public void shouldExtractScalars() {
+        ByteBuffer buffer = ByteBuffer.wrap(message);
+        assertThat(provider.createFieldExtractor("/headers/routing").getString(message)).isEqualTo("orders.eu");
+        assertThat(provider.createFieldExtractor("/headers/röuting").getString(buffer)).isEqualTo("umlaut");
+        assertThat(provider.createFieldExtractor("/headers/priority").getLong(message, -1)).isEqualTo(5);
+        assertThat(provider.createFieldExtractor("/headers/express").getBoolean(buffer, false)).isTrue();
+        assertThat(provider.createFieldExtractor("/items/0").getDouble(buffer, 0)).isEqualTo(1.5);
+        assertThat(provider.createFieldExtractor("/items/1").getLong(buffer, 0)).isEqualTo(3_000_000_000L);
+        assertThat(provider.createFieldExtractor("/payload/0/routing").getString(buffer)).isEqualTo("ignored");
+        assertThat(buffer.position()).isZero();
+    }
+
+    @Test
+    public void shouldReturnDefaultOnMiss() {
+        assertThat(provider.createFieldExtractor("/headers/missing").getString(message)).isNull();
+        assertThat(provider.createFieldExtractor("/items/2").getLong(message, -1)).isEqualTo(-1);
+        assertThat(provider.createFieldExtractor("/items/01").getLong(message, -1)).isEqualTo(-1);
+        assertThat(provider.createFieldExtractor("/headers/routing/deeper").find(ByteBuffer.wrap(message)))
+                .isEqualTo(-1);
+    }
+
+    @Test
+    public void shouldExtractFromBufferRange() {
+        byte[] padded = new byte[message.length + 3];
+        System.arraycopy(message, 0, padded, 3, message.length);
+        ByteBuffer buffer = ByteBuffer.wrap(padded, 3, message.length).slice();
+        assertThat(provider.createFieldExtractor("/headers/routing").getString(buffer)).isEqualTo("orders.eu");
+    }
+
+    @Test
+    public void shouldRejectUnexpectedType() {
+        MessagePackFieldExtractor extractor = provider.createFieldExtractor("/headers/routing");
+        assertThatThrownBy(() -> extractor.getLong(message, 0)).isInstanceOf(JsonException.class)
+                .hasMessageContaining("/headers/routing");
+    }
+
+    @Test
+    public void shouldRejectTruncatedData() {
+        byte[] truncated = Arrays.copyOf(message, message.length - 12);
+        MessagePackFieldExtractor extractor = provider.createFieldExtractor("/items/1");
+        assertThatThrownBy(() -> extractor.getLong(truncated, 0)).isInstanceOf(JsonException.class);
+    }
+
+    @Test
+    public void shouldIgnoreBufferByteOrder() throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(message).order(ByteOrder.LITTLE_ENDIAN);
+        assertThat(provider.createFieldExtractor("/items/0").getDouble(buffer, 0)).isEqualTo(1.5);
+        assertThat(provider.createFieldExtractor("/items/1").getLong(buffer, 0)).isEqualTo(3_000_000_000L);
+        assertThat(provider.createFieldExtractor("/headers/express").getBoolean(buffer, false)).isTrue();
+        assertThat(buffer.order()).isEqualTo(ByteOrder.LITTLE_ENDIAN);
+
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (MessagePacker packer = MessagePack.newDefaultPacker(baos)) {
+            packer.packMapHeader(1);
+            packer.packString("n");
+            packer.packInt(300);
+        }
+        ByteBuffer small = ByteBuffer.wrap(baos.toByteArray()).order(ByteOrder.LITTLE_ENDIAN);
+        assertThat(provider.createFieldExtractor("/n").getLong(small, 0)).isEqualTo(300);
+    }
+
+    @Test
+    public void shouldExtractFromByteArray() {
+        assertThat(provider.createFieldExtractor("/items/0").getDouble(message, 0)).isEqualTo(1.5);
+        assertThat(provider.createFieldExtractor("/items/1").getDouble(message, 0)).isEqualTo(3e9);
+        assertThat(provider.createFieldExtractor("/headers/express").getBoolean(message, false)).isTrue();
+        assertThat(provider.createFieldExtractor("/headers/missing").getBoolean(message, true)).isTrue();
+    }
+
+    @Test
+    public void shouldRejectLongOverflow() throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (MessagePacker packer = MessagePack.newDefaultPacker(baos)) {
+            packer.packMapHeader(1);
+            packer.packString("n");
+            packer.packBigInteger(BigInteger.ONE.shiftLeft(64).subtract(BigInteger.ONE));
+        }
+        byte[] bytes = baos.toByteArray();
+        assertThatThrownBy(() -> provider.createFieldExtractor("/n").getLong(bytes, 0))
+                .isInstanceOf(JsonException.class).hasMessageContaining("18446744073709551615");
+        assertThat(provider.createFieldExtractor("/n").getDouble(bytes, 0)).isEqualTo(0x1p64);
+    }
+}
@@ -0,0 +1,86 @@
+package org.ops4j.mpjp.test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.json.bind.Jsonb;
+import javax.json.bind.JsonbBuilder;
+import javax.json.bind.JsonbConfig;
+import javax.json.stream.JsonGeneratorFactory;
+
+import org.ops4j.mpjp.api.MessagePackConfig;
+import org.ops4j.mpjp.api.MessagePackJsonProvider;
+
+/**
+ * Generator modes of the provider, as a source for parameterized tests. Each mode creates providers and runs JSON-B
+ * round trips with the corresponding configuration.
+ */
+public enum GeneratorMode {
+
+    BUFFERED(false),
+
+    STREAMING(true);
+
+    /**
+     * Checks the MessagePack data written in a round trip.
+     */
+    @FunctionalInterface
+    public interface BytesCheck {
+
+        void check(byte[] bytes) throws IOException;
+    }
+
+    private final boolean streaming;
+
+    GeneratorMode(boolean streaming) {
+        this.streaming = streaming;
+    }
+
+    public MessagePackJsonProvider provider() {
+        return new MessagePackJsonProvider(Collections.singletonMap(MessagePackConfig.GENERATOR_STREAMING, streaming));
+    }
+
+    /**
+     * Creates a generator factory with the given configuration and the streaming property of this mode.
+     *
+     * @param config
+     *            generator configuration
+     * @return generator factory
+     */
+    public JsonGeneratorFactory generatorFactory(Map<String, ?> config) {
+        Map<String, Object> properties = new HashMap<>(config);
+        properties.put(MessagePackConfig.GENERATOR_STREAMING, streaming);
+        return new MessagePackJsonProvider().createGeneratorFactory(properties);
+    }
+
+    public Jsonb jsonb(JsonbConfig config) {
+        return JsonbBuilder.newBuilder().withConfig(config).withProvider(provider()).build();
+    }
+
+    /**
+     * Writes the given value with JSON-B, checks the MessagePack data and reads the value back.
+     *
+     * @param config
+     *            JSON-B configuration
+     * @param value
+     *            value to be written
+     * @param check
+     *            check of the MessagePack data
+     * @return value read back
+     * @throws IOException
+     *             if the check fails to read the data
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T roundTrip(JsonbConfig config, T value, BytesCheck check) throws IOException {
+        Jsonb jsonb = jsonb(config);
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        jsonb.toJson(value, baos);
+        byte[] bytes = baos.toByteArray();
+        check.check(bytes);
+        return (T) jsonb.fromJson(new ByteArrayInputStream(bytes), value.getClass());
+    }
+}
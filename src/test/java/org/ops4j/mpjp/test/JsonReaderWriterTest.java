@@ -0,0 +1,143 @@
+package org.ops4j.mpjp.test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Map;
+
+import javax.json.Json;
+import javax.json.JsonArray;
+import javax.json.JsonObject;
+import javax.json.JsonReader;
+import javax.json.JsonReaderFactory;
+import javax.json.JsonStructure;
+import javax.json.JsonValue;
+import javax.json.JsonWriter;
+import javax.json.JsonWriterFactory;
+import javax.json.stream.JsonGenerator;
+import javax.json.stream.JsonParsingException;
+
+import org.junit.jupiter.api.Test;
+import org.ops4j.mpjp.api.BigDecimalStrategy;
+import org.ops4j.mpjp.api.MessagePackConfig;
+import org.ops4j.mpjp.api.MessagePackJsonProvider;
+
+public class JsonReaderWriterTest {
+
+    private static final String TEXT = "{'name':'Donald','age':84,'ratio':0.5,'active':true,'spouse':null,"
+            + "'tags':['duck','größe',[1,2,{}]],'address':{'city':'Duckburg','zip':'12345'}}";
+
+    private final MessagePackJsonProvider provider = new MessagePackJsonProvider();
+
+    private static JsonObject textObject() {
+        try (JsonReader reader = Json.createReader(new StringReader(TEXT.replace('\'', '"')))) {
+            return reader.readObject();
+        }
+    }
+
+    private byte[] write(JsonValue value) {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (JsonWriter writer = provider.createWriter(baos)) {
+            writer.write(value);
+        }
+        return baos.toByteArray();
+    }
+
+    private JsonReader reader(byte[] bytes) {
+        return provider.createReader(new ByteArrayInputStream(bytes));
+    }
+
+    @Test
+    public void shouldWriteAndReadObject() {
+        JsonObject object = textObject();
+        byte[] bytes = write(object);
+        try (JsonReader reader = reader(bytes)) {
+            assertThat(reader.readObject()).isEqualTo(object);
+        }
+    }
+
+    @Test
+    public void shouldWriteSameBytesAsGenerator() {
+        JsonObject object = textObject();
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (JsonGenerator generator = provider.createGenerator(baos)) {
+            generator.write(object);
+        }
+        assertThat(write(object)).isEqualTo(baos.toByteArray());
+    }
+
+    @Test
+    public void shouldReadArrayAndValue() {
+        JsonArray array = textObject().getJsonArray("tags");
+        try (JsonReader reader = reader(write(array))) {
+            assertThat(reader.readArray()).isEqualTo(array);
+        }
+        try (JsonReader reader = reader(write(array))) {
+            JsonStructure structure = reader.read();
+            assertThat(structure).isEqualTo(array);
+        }
+        try (JsonReader reader = reader(write(Json.createValue("scalar")))) {
+            assertThat(reader.readValue()).isEqualTo(Json.createValue("scalar"));
+        }
+    }
+
+    @Test
+    public void shouldRejectUnexpectedType() {
+        byte[] bytes = write(textObject().getJsonArray("tags"));
+        try (JsonReader reader = reader(bytes)) {
+            assertThatThrownBy(reader::readObject).isInstanceOf(JsonParsingException.class);
+        }
+        try (JsonReader reader = reader(write(JsonValue.TRUE))) {
+            assertThatThrownBy(reader::read).isInstanceOf(JsonParsingException.class);
+        }
+        try (JsonReader reader = reader(new byte[0])) {
+            assertThatThrownBy(reader::readValue).isInstanceOf(JsonParsingException.class);
+        }
+    }
+
+    @Test
+    public void shouldReadAndWriteOnlyOnce() {
+        try (JsonReader reader = reader(write(textObject()))) {
+            reader.readObject();
+            assertThatThrownBy(reader::readObject).isInstanceOf(IllegalStateException.class);
+        }
+        try (JsonWriter writer = provider.createWriter(new ByteArrayOutputStream())) {
+            writer.writeObject(textObject());
+            assertThatThrownBy(() -> writer.writeObject(textObject())).isInstanceOf(IllegalStateException.class);
+        }
+    }
+
+    @Test
+    public void shouldUseFactoryConfiguration() {
+        Map<String, ?> config = Collections.singletonMap(MessagePackConfig.BIG_DECIMAL_STRATEGY,
+                BigDecimalStrategy.EXTENSION);
+        JsonWriterFactory writerFactory = provider.createWriterFactory(config);
+        JsonReaderFactory readerFactory = provider.createReaderFactory(config);
+        assertThat(writerFactory.getConfigInUse()).isEqualTo(config);
+
+        JsonObject object = Json.createObjectBuilder().add("amount", new BigDecimal("1234.5678")).build();
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (JsonWriter writer = writerFactory.createWriter(baos, StandardCharsets.UTF_8)) {
+            writer.writeObject(object);
+        }
+        try (JsonReader reader = readerFactory.createReader(new ByteArrayInputStream(baos.toByteArray()))) {
+            assertThat(reader.readObject().getJsonNumber("amount").bigDecimalValue())
+                    .isEqualTo(new BigDecimal("1234.5678"));
+        }
+    }
+
+    @Test
+    public void shouldRejectCharacterStreams() {
+        assertThatThrownBy(() -> provider.createReader(new StringReader("{}")))
+                .isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> provider.createWriterFactory(null).createWriter(new StringWriter()))
+                .isInstanceOf(UnsupportedOperationException.class);
+    }
+}
@@ -0,0 +1,228 @@
+package org.ops4j.mpjp.test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.ops4j.mpjp.api.ExtensionTypes.KEY_PAYLOAD;
+import static org.ops4j.mpjp.api.ExtensionTypes.KEY_TYPE;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.json.Json;
+import javax.json.JsonException;
+import javax.json.JsonObject;
+import javax.json.JsonValue;
+import javax.json.stream.JsonGenerator;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.msgpack.core.MessageBufferPacker;
+import org.msgpack.core.MessagePack;
+import org.ops4j.mpjp.api.BigDecimalStrategy;
+import org.ops4j.mpjp.api.BinaryJsonString;
+import org.ops4j.mpjp.api.ExtensionValue;
+import org.ops4j.mpjp.api.MessagePackConfig;
+
+/**
+ * Checks the exact bytes written for {@link JsonValue} trees by both generator modes. Streaming generators use compact
+ * headers, so that structures opened by events are written like those of the buffered generator.
+ */
+public class JsonValueEncodingTest {
+
+    private static final BigDecimal DECIMAL = new BigDecimal("1.25");
+
+    private static final BigInteger HUGE = BigInteger.ONE.shiftLeft(70);
+
+    private static final int DECIMAL_TYPE = 42;
+
+    @FunctionalInterface
+    private interface Writer {
+
+        void write(JsonGenerator generator);
+    }
+
+    @FunctionalInterface
+    private interface Packing {
+
+        void pack(MessageBufferPacker packer) throws IOException;
+    }
+
+    private static byte[] generate(GeneratorMode mode, Map<String, ?> config, Writer writer) {
+        Map<String, Object> properties = new HashMap<>(config);
+        properties.put(MessagePackConfig.GENERATOR_COMPACT_HEADERS, true);
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        JsonGenerator generator = mode.generatorFactory(properties).createGenerator(baos);
+        writer.write(generator);
+        generator.close();
+        return baos.toByteArray();
+    }
+
+    private static byte[] generate(GeneratorMode mode, JsonValue value) {
+        return generate(mode, Collections.emptyMap(), g -> g.write(value));
+    }
+
+    private static byte[] pack(Packing packing) throws IOException {
+        MessageBufferPacker packer = MessagePack.newDefaultBufferPacker();
+        packing.pack(packer);
+        packer.close();
+        return packer.toByteArray();
+    }
+
+    private static void packExtension(MessageBufferPacker packer, int type, byte[] payload) throws IOException {
+        packer.packExtensionTypeHeader((byte) type, payload.length);
+        packer.writePayload(payload);
+    }
+
+    private static byte[] decimalPayload(BigDecimal value) {
+        byte[] unscaled = value.unscaledValue().toByteArray();
+        return ByteBuffer.allocate(Integer.BYTES + unscaled.length).putInt(value.scale()).put(unscaled).array();
+    }
+
+    private static JsonObject createTree() {
+        return Json.createObjectBuilder()
+                .add("name", "tree")
+                .add("tags", Json.createArrayBuilder().add("a").add(1).add(true).addNull())
+                .add("inner", Json.createObjectBuilder().add("ratio", 2.5).add("empty", Json.createArrayBuilder()))
+                .build();
+    }
+
+    private static void packTree(MessageBufferPacker packer) throws IOException {
+        packer.packMapHeader(3);
+        packer.packString("name").packString("tree");
+        packer.packString("tags").packArrayHeader(4).packString("a").packInt(1).packBoolean(true).packNil();
+        packer.packString("inner").packMapHeader(2);
+        packer.packString("ratio").packDouble(2.5);
+        packer.packString("empty").packArrayHeader(0);
+    }
+
+    @ParameterizedTest
+    @EnumSource(GeneratorMode.class)
+    public void shouldWriteNestedTree(GeneratorMode mode) throws IOException {
+        JsonValue array = Json.createArrayBuilder().add(createTree()).add(-200L).add("x").build();
+
+        assertThat(generate(mode, array)).isEqualTo(pack(p -> {
+            p.packArrayHeader(3);
+            packTree(p);
+            p.packLong(-200L).packString("x");
+        }));
+    }
+
+    @ParameterizedTest
+    @EnumSource(GeneratorMode.class)
+    public void shouldWriteExtensionAndBinaryValues(GeneratorMode mode) throws IOException {
+        JsonObject legacy = Json.createObjectBuilder()
+                .add(KEY_TYPE, 7)
+                .add(KEY_PAYLOAD, "\u0001\u00ff")
+                .build();
+        JsonValue array = Json.createArrayBuilder()
+                .add(ExtensionValue.of(5, new byte[] { 1, 2, 3 }))
+                .add(BinaryJsonString.of(new byte[] { 9, 8 }))
+                .add(legacy)
+                .build();
+
+        assertThat(generate(mode, array)).isEqualTo(pack(p -> {
+            p.packArrayHeader(3);
+            packExtension(p, 5, new byte[] { 1, 2, 3 });
+            p.packBinaryHeader(2).writePayload(new byte[] { 9, 8 });
+            packExtension(p, 7, new byte[] { 1, (byte) 0xff });
+        }));
+    }
+
+    @ParameterizedTest
+    @EnumSource(GeneratorMode.class)
+    public void shouldWriteObjectWithTypeAndOtherMembersAsMap(GeneratorMode mode) throws IOException {
+        JsonValue array = Json.createArrayBuilder()
+                .add(Json.createObjectBuilder().add(KEY_TYPE, 7).add(KEY_PAYLOAD, "a").add("extra", 1))
+                .add(Json.createObjectBuilder().add(KEY_TYPE, 7).add("extra", "a"))
+                .build();
+
+        assertThat(generate(mode, array)).isEqualTo(pack(p -> {
+            p.packArrayHeader(2);
+            p.packMapHeader(3);
+            p.packString(KEY_TYPE).packInt(7);
+            p.packString(KEY_PAYLOAD).packString("a");
+            p.packString("extra").packInt(1);
+            p.packMapHeader(2);
+            p.packString(KEY_TYPE).packInt(7);
+            p.packString("extra").packString("a");
+        }));
+    }
+
+    @ParameterizedTest
+    @EnumSource(GeneratorMode.class)
+    public void shouldWriteBigDecimalAsDouble(GeneratorMode mode) throws IOException {
+        JsonValue array = Json.createArrayBuilder().add(DECIMAL).add(new BigDecimal("3")).build();
+
+        assertThat(generate(mode, array)).isEqualTo(pack(p -> p.packArrayHeader(2).packDouble(1.25).packInt(3)));
+    }
+
+    @ParameterizedTest
+    @EnumSource(GeneratorMode.class)
+    public void shouldRejectHugeIntegerAsDouble(GeneratorMode mode) {
+        JsonValue array = Json.createArrayBuilder().add(DECIMAL).add(HUGE).build();
+
+        assertThatThrownBy(() -> generate(mode, array)).isInstanceOf(JsonException.class)
+                .hasMessageContaining(HUGE.toString());
+    }
+
+    @ParameterizedTest
+    @EnumSource(GeneratorMode.class)
+    public void shouldWriteBigNumbersAsString(GeneratorMode mode) throws IOException {
+        Map<String, ?> config = Collections.singletonMap(MessagePackConfig.BIG_DECIMAL_STRATEGY,
+                BigDecimalStrategy.STRING);
+        JsonValue array = Json.createArrayBuilder().add(DECIMAL).add(HUGE).build();
+
+        assertThat(generate(mode, config, g -> g.write(array))).isEqualTo(pack(p -> p.packArrayHeader(2)
+                .packString(DECIMAL.toString()).packString(HUGE.toString())));
+    }
+
+    @ParameterizedTest
+    @EnumSource(GeneratorMode.class)
+    public void shouldWriteBigNumbersAsExtension(GeneratorMode mode) throws IOException {
+        Map<String, Object> config = new HashMap<>();
+        config.put(MessagePackConfig.BIG_DECIMAL_STRATEGY, BigDecimalStrategy.EXTENSION);
+        config.put(MessagePackConfig.BIG_DECIMAL_EXTENSION_TYPE, DECIMAL_TYPE);
+        JsonValue array = Json.createArrayBuilder().add(DECIMAL).add(HUGE).build();
+
+        assertThat(generate(mode, config, g -> g.write(array))).isEqualTo(pack(p -> {
+            p.packArrayHeader(2);
+            packExtension(p, DECIMAL_TYPE, decimalPayload(DECIMAL));
+            packExtension(p, DECIMAL_TYPE, decimalPayload(new BigDecimal(HUGE)));
+        }));
+    }
+
+    @ParameterizedTest
+    @EnumSource(GeneratorMode.class)
+    public void shouldWriteNamedValuesInOpenObject(GeneratorMode mode) throws IOException {
+        ExtensionValue extension = ExtensionValue.of(5, new byte[] { 1 });
+        byte[] bytes = generate(mode, Collections.emptyMap(), g -> g.writeStartObject()
+                .write("tree", createTree())
+                .write("count", 1)
+                .write("extension", extension)
+                .writeStartArray("list")
+                .write(extension)
+                .write(JsonValue.EMPTY_JSON_OBJECT)
+                .writeEnd()
+                .write("last", JsonValue.NULL)
+                .writeEnd());
+
+        assertThat(bytes).isEqualTo(pack(p -> {
+            p.packMapHeader(5);
+            p.packString("tree");
+            packTree(p);
+            p.packString("count").packInt(1);
+            p.packString("extension");
+            packExtension(p, 5, new byte[] { 1 });
+            p.packString("list").packArrayHeader(2);
+            packExtension(p, 5, new byte[] { 1 });
+            p.packMapHeader(0);
+            p.packString("last").packNil();
+        }));
+    }
+}
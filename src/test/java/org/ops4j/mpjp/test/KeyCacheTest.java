@@ -0,0 +1,100 @@
+package org.ops4j.mpjp.test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import javax.json.JsonObject;
+import javax.json.stream.JsonParser;
+import javax.json.stream.JsonParser.Event;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.msgpack.core.MessagePack;
+import org.msgpack.core.MessagePacker;
+import org.ops4j.mpjp.api.MessagePackConfig;
+import org.ops4j.mpjp.api.MessagePackJsonProvider;
+import org.ops4j.mpjp.api.MessagePackParserFactory;
+
+public class KeyCacheTest {
+
+    private static final String LONG_KEY = String.join("", Collections.nCopies(10, "0123456789"));
+
+    private MessagePackJsonProvider provider;
+    private byte[] record;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        provider = new MessagePackJsonProvider();
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        MessagePacker packer = MessagePack.newDefaultPacker(baos);
+        packer.packMapHeader(3);
+        packer.packString("firstName");
+        packer.packString("Donald");
+        packer.packString("größe");
+        packer.packInt(120);
+        packer.packString(LONG_KEY);
+        packer.packBoolean(true);
+        packer.close();
+        record = baos.toByteArray();
+    }
+
+    private List<String> readKeys(MessagePackParserFactory factory) {
+        List<String> keys = new ArrayList<>();
+        try (JsonParser parser = factory.createParser(record)) {
+            while (parser.hasNext()) {
+                if (parser.next() == Event.KEY_NAME) {
+                    keys.add(parser.getString());
+                }
+            }
+        }
+        return keys;
+    }
+
+    @Test
+    public void shouldReturnIdenticalKeys() {
+        MessagePackParserFactory factory = provider.createParserFactory(null);
+        List<String> first = readKeys(factory);
+        List<String> second = readKeys(factory);
+        assertThat(first).containsExactly("firstName", "größe", LONG_KEY);
+        assertThat(second.get(0)).isSameAs(first.get(0));
+        assertThat(second.get(1)).isSameAs(first.get(1));
+        assertThat(second.get(2)).isEqualTo(LONG_KEY).isNotSameAs(first.get(2));
+    }
+
+    @Test
+    public void shouldReturnIdenticalKeysForObjects() {
+        MessagePackParserFactory factory = provider.createParserFactory(null);
+        JsonObject first;
+        try (JsonParser parser = factory.createParser(record)) {
+            parser.next();
+            first = parser.getObject();
+        }
+        List<String> keys = readKeys(factory);
+        assertThat(first.getString("firstName")).isEqualTo("Donald");
+        assertThat(first.keySet()).containsExactlyElementsOf(keys);
+        assertThat(first.keySet().iterator().next()).isSameAs(keys.get(0));
+    }
+
+    @Test
+    public void shouldDisableCache() {
+        MessagePackParserFactory factory = provider
+                .createParserFactory(Collections.singletonMap(MessagePackConfig.KEY_CACHE_SIZE, 0));
+        List<String> first = readKeys(factory);
+        List<String> second = readKeys(factory);
+        assertThat(second).isEqualTo(first);
+        assertThat(second.get(0)).isNotSameAs(first.get(0));
+    }
+
+    @Test
+    public void shouldRejectInvalidSize() {
+        assertThatThrownBy(() -> provider
+                .createParserFactory(Collections.singletonMap(MessagePackConfig.KEY_CACHE_SIZE, -1)))
+                        .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,136 @@
+package org.ops4j.mpjp.test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+
+import javax.json.Json;
+import javax.json.JsonArray;
+import javax.json.JsonException;
+import javax.json.JsonObject;
+import javax.json.JsonObjectBuilder;
+import javax.json.JsonValue;
+
+import org.junit.jupiter.api.Test;
+import org.msgpack.core.MessageBufferPacker;
+import org.msgpack.core.MessagePack;
+import org.ops4j.mpjp.api.MessagePackJsonProvider;
+import org.ops4j.mpjp.impl.MessagePackJsonGenerator;
+
+public class LazyJsonValueTest {
+
+    private final MessagePackJsonProvider provider = new MessagePackJsonProvider();
+
+    private byte[] toMessagePack(JsonValue value) {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        MessagePackJsonGenerator generator = new MessagePackJsonGenerator(baos);
+        generator.write(value);
+        generator.close();
+        return baos.toByteArray();
+    }
+
+    @Test
+    public void shouldReadNestedObject() {
+        JsonObject expected = Json.createObjectBuilder()
+                .add("name", "Mickey")
+                .add("age", 42)
+                .add("height", 1.25)
+                .add("active", true)
+                .add("nothing", JsonValue.NULL)
+                .add("tags", Json.createArrayBuilder().add("a").add(2).add(Json.createObjectBuilder().add("x", 1)))
+                .add("address", Json.createObjectBuilder().add("city", "Duckburg"))
+                .build();
+
+        JsonValue value = provider.createLazyValue(toMessagePack(expected));
+        assertThat(value.getValueType()).isEqualTo(JsonValue.ValueType.OBJECT);
+
+        JsonObject object = value.asJsonObject();
+        assertThat(object.getString("name")).isEqualTo("Mickey");
+        assertThat(object.getInt("age")).isEqualTo(42);
+        assertThat(object.getJsonNumber("height").doubleValue()).isEqualTo(1.25);
+        assertThat(object.getBoolean("active")).isTrue();
+        assertThat(object.isNull("nothing")).isTrue();
+        assertThat(object.getString("missing", "default")).isEqualTo("default");
+        assertThat(object.containsKey("missing")).isFalse();
+        assertThat(object.getJsonObject("address").getString("city")).isEqualTo("Duckburg");
+
+        JsonArray tags = object.getJsonArray("tags");
+        assertThat(tags).hasSize(3);
+        assertThat(tags.getString(0)).isEqualTo("a");
+        assertThat(tags.getInt(1)).isEqualTo(2);
+        assertThat(tags.getJsonObject(2).getInt("x")).isEqualTo(1);
+
+        assertThat(object).isEqualTo(expected);
+        assertThat(expected).isEqualTo(object);
+        assertThat(object.hashCode()).isEqualTo(expected.hashCode());
+        assertThat(object.keySet()).containsExactly("name", "age", "height", "active", "nothing", "tags", "address");
+    }
+
+    @Test
+    public void shouldCacheDecodedMembers() {
+        JsonObject expected = Json.createObjectBuilder()
+                .add("header", Json.createObjectBuilder().add("route", "north"))
+                .build();
+        JsonObject object = provider.createLazyValue(toMessagePack(expected)).asJsonObject();
+        assertThat(object.getJsonObject("header")).isSameAs(object.getJsonObject("header"));
+    }
+
+    @Test
+    public void shouldLookUpKeysInLargeObject() {
+        JsonObjectBuilder builder = Json.createObjectBuilder();
+        for (int i = 0; i < 1000; i++) {
+            builder.add("key" + i, i);
+        }
+        JsonObject object = provider.createLazyValue(toMessagePack(builder.build())).asJsonObject();
+        assertThat(object).hasSize(1000);
+        assertThat(object.getInt("key777")).isEqualTo(777);
+        assertThat(object.get("key1000")).isNull();
+    }
+
+    @Test
+    public void shouldReadLargeUnsignedInteger() throws IOException {
+        BigInteger large = BigInteger.ONE.shiftLeft(63).add(BigInteger.TEN);
+        MessageBufferPacker packer = MessagePack.newDefaultBufferPacker();
+        packer.packArrayHeader(2);
+        packer.packBigInteger(large);
+        packer.packLong(-5);
+        packer.close();
+
+        JsonArray array = provider.createLazyValue(packer.toByteArray()).asJsonArray();
+        assertThat(array.getJsonNumber(0).bigIntegerValue()).isEqualTo(large);
+        assertThat(array.getJsonNumber(1).longValue()).isEqualTo(-5L);
+    }
+
+    @Test
+    public void shouldReadFromBufferPosition() {
+        byte[] bytes = toMessagePack(Json.createArrayBuilder().add("first").add("second").build());
+        ByteBuffer buffer = ByteBuffer.allocate(bytes.length + 3);
+        buffer.position(3);
+        buffer.put(bytes);
+        buffer.position(3);
+
+        JsonArray array = provider.createLazyValue(buffer).asJsonArray();
+        assertThat(array.getString(1)).isEqualTo("second");
+        assertThat(array.toString()).isEqualTo("[\"first\",\"second\"]");
+        assertThat(buffer.position()).isEqualTo(3);
+    }
+
+    @Test
+    public void shouldRejectNonStringKey() throws IOException {
+        MessageBufferPacker packer = MessagePack.newDefaultBufferPacker();
+        packer.packMapHeader(2);
+        packer.packString("name");
+        packer.packString("Donald");
+        packer.packInt(7);
+        packer.packString("seven");
+        packer.close();
+
+        JsonObject object = provider.createLazyValue(packer.toByteArray()).asJsonObject();
+        assertThatThrownBy(() -> object.getString("name")).isInstanceOf(JsonException.class)
+                .hasMessageContaining("INTEGER");
+    }
+}
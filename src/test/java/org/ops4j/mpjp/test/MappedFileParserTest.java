@@ -0,0 +1,126 @@
+package org.ops4j.mpjp.test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import javax.json.JsonArray;
+import javax.json.bind.Jsonb;
+import javax.json.bind.JsonbBuilder;
+import javax.json.stream.JsonParser;
+import javax.json.stream.JsonParser.Event;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.ops4j.mpjp.api.MappedInputStream;
+import org.ops4j.mpjp.api.MessagePackConfig;
+import org.ops4j.mpjp.api.MessagePackJsonProvider;
+import org.ops4j.mpjp.api.MessagePackParserFactory;
+import org.ops4j.mpjp.test.model.Person;
+
+public class MappedFileParserTest {
+
+    private static final int NUM_PERSONS = 500;
+
+    /** Small windows, so that values cross window boundaries. */
+    private static final Map<String, ?> CONFIG = Collections.singletonMap(MessagePackConfig.MAPPED_WINDOW_SIZE, 100);
+
+    private MessagePackJsonProvider provider;
+    private Jsonb jsonb;
+    private Path path;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        provider = new MessagePackJsonProvider(CONFIG);
+        jsonb = JsonbBuilder.newBuilder().withProvider(provider).build();
+        List<Person> persons = new ArrayList<>();
+        for (int i = 0; i < NUM_PERSONS; i++) {
+            persons.add(new Person("First" + i, "Last" + i));
+        }
+        path = Files.createTempFile("mpjp", ".msgpack");
+        try (OutputStream os = Files.newOutputStream(path)) {
+            jsonb.toJson(persons, os);
+        }
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        jsonb.close();
+        Files.delete(path);
+    }
+
+    @Test
+    public void shouldParseMappedFile() {
+        MessagePackParserFactory factory = provider.createParserFactory(null);
+        try (JsonParser parser = factory.createParser(path)) {
+            assertThat(parser.next()).isEqualTo(Event.START_ARRAY);
+            JsonArray array = parser.getArray();
+            assertThat(array).hasSize(NUM_PERSONS);
+            assertThat(array.getJsonObject(NUM_PERSONS - 1).getString("lastName")).isEqualTo("Last499");
+        }
+    }
+
+    @Test
+    public void shouldParseFileChannelFromCurrentPosition() throws IOException {
+        MessagePackParserFactory factory = provider.createParserFactory(null);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            channel.position(3);
+            try (JsonParser parser = factory.createParser(channel)) {
+                assertThat(parser.next()).isEqualTo(Event.START_OBJECT);
+                assertThat(parser.next()).isEqualTo(Event.KEY_NAME);
+                assertThat(parser.getString()).isEqualTo("firstName");
+            }
+            assertThat(channel.isOpen()).isTrue();
+            assertThat(channel.position()).isEqualTo(3);
+        }
+    }
+
+    @Test
+    public void shouldBindMappedFile() throws IOException {
+        Type type = new ArrayList<Person>() {
+            private static final long serialVersionUID = 1L;
+        }.getClass().getGenericSuperclass();
+        try (InputStream is = MappedInputStream.open(path)) {
+            List<Person> persons = jsonb.fromJson(is, type);
+            assertThat(persons).hasSize(NUM_PERSONS);
+            assertThat(persons.get(42).getFirstName()).isEqualTo("First42");
+        }
+    }
+
+    @Test
+    public void shouldMixSingleByteAndBulkReads() throws IOException {
+        byte[] content = Files.readAllBytes(path);
+        MessagePackParserFactory factory = provider.createParserFactory(null);
+        try (MappedInputStream is = MappedInputStream.open(path)) {
+            byte[] bytes = new byte[1];
+            assertThat(is.read(bytes, 0, 1)).isEqualTo(1);
+            assertThat(bytes[0]).isEqualTo(content[0]);
+            assertThat(is.read()).isEqualTo(content[1] & 0xFF);
+            assertThat(is.read()).isEqualTo(content[2] & 0xFF);
+            try (JsonParser parser = factory.createParser(is)) {
+                assertThat(parser.next()).isEqualTo(Event.START_OBJECT);
+            }
+        }
+        try (MappedInputStream is = MappedInputStream.open(path)) {
+            assertThat(is.read()).isEqualTo(content[0] & 0xFF);
+            assertThat(is.skip(content.length - 3)).isEqualTo(content.length - 3);
+            assertThat(is.read()).isEqualTo(content[content.length - 2] & 0xFF);
+            assertThat(is.available()).isEqualTo(1);
+            assertThat(is.read()).isEqualTo(content[content.length - 1] & 0xFF);
+            assertThat(is.read()).isEqualTo(-1);
+            assertThat(is.getChannel().position()).isEqualTo(content.length);
+        }
+    }
+}
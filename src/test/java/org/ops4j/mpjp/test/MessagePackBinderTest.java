@@ -0,0 +1,261 @@
+package org.ops4j.mpjp.test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.lang.reflect.Type;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+import javax.json.Json;
+import javax.json.bind.Jsonb;
+import javax.json.bind.JsonbBuilder;
+import javax.json.bind.JsonbConfig;
+import javax.json.bind.JsonbException;
+import javax.json.bind.config.PropertyNamingStrategy;
+
+import org.junit.jupiter.api.Test;
+import org.ops4j.mpjp.api.ExtensionAdapter;
+import org.ops4j.mpjp.api.ExtensionCodecs;
+import org.ops4j.mpjp.api.ExtensionTypeRegistry;
+import org.ops4j.mpjp.api.MessagePackBinder;
+import org.ops4j.mpjp.api.MessagePackJsonProvider;
+import org.ops4j.mpjp.test.model.Counter;
+import org.ops4j.mpjp.test.model.Member;
+import org.ops4j.mpjp.test.model.Order;
+import org.ops4j.mpjp.test.model.OrderItem;
+import org.ops4j.mpjp.test.model.Person;
+
+public class MessagePackBinderTest {
+
+    private static final Type ORDER_LIST = new ArrayList<Order>() {
+        private static final long serialVersionUID = 1L;
+    }.getClass().getGenericSuperclass();
+
+    private final MessagePackJsonProvider provider = new MessagePackJsonProvider();
+
+    private static Order createOrder() {
+        Order order = new Order();
+        order.note = "fragile";
+        order.setId(1234567890123L);
+        order.setCustomer("Donald Duck");
+        order.setTotal(99.5);
+        order.setDiscount(0.1f);
+        order.setPaid(true);
+        order.setPriority((short) -300);
+        order.setChannel((byte) 7);
+        order.setGrade('A');
+        order.setPrice(new BigDecimal("19.99"));
+        order.setSerial(new BigInteger("123456789012345678901234567890"));
+        order.setStatus(Order.Status.SHIPPED);
+        order.setItems(Arrays.asList(new OrderItem("pen", 3), new OrderItem("ink", 1)));
+        order.setTags(new LinkedHashSet<>(Arrays.asList("gift")));
+        order.setExtra(Json.createObjectBuilder().add("gate", 12).add("express", true).build());
+        order.setDue(LocalDate.of(2021, 3, 14));
+        order.setBuyer(new Person("Daisy", "Duck"));
+        order.setWeights(new double[] { 1.5, -0.25 });
+        order.setChecksum(new byte[] { -1, 0, 127 });
+        order.setSecret("hidden");
+        return order;
+    }
+
+    private static byte[] toJsonb(Jsonb jsonb, Object object) {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        jsonb.toJson(object, baos);
+        return baos.toByteArray();
+    }
+
+    private static void assertOrder(Order order) {
+        assertThat(order.note).isEqualTo("fragile");
+        assertThat(order.getId()).isEqualTo(1234567890123L);
+        assertThat(order.getCustomer()).isEqualTo("Donald Duck");
+        assertThat(order.getTotal()).isEqualTo(99.5);
+        assertThat(order.getDiscount()).isEqualTo(0.1f);
+        assertThat(order.isPaid()).isTrue();
+        assertThat(order.getPriority()).isEqualTo((short) -300);
+        assertThat(order.getChannel()).isEqualTo((byte) 7);
+        assertThat(order.getGrade()).isEqualTo('A');
+        assertThat(order.getRating()).isNull();
+        assertThat(order.getPrice()).isEqualByComparingTo("19.99");
+        assertThat(order.getSerial()).isEqualTo(new BigInteger("123456789012345678901234567890"));
+        assertThat(order.getStatus()).isEqualTo(Order.Status.SHIPPED);
+        assertThat(order.getItems()).extracting(OrderItem::getArticle).containsExactly("pen", "ink");
+        assertThat(order.getItems()).extracting(OrderItem::getQuantity).containsExactly(3, 1);
+        assertThat(order.getTags()).containsExactly("gift");
+        assertThat(order.getExtra().getInt("gate")).isEqualTo(12);
+        assertThat(order.getDue()).isEqualTo(LocalDate.of(2021, 3, 14));
+        assertThat(order.getBuyer().getLastName()).isEqualTo("Duck");
+        assertThat(order.getWeights()).containsExactly(1.5, -0.25);
+        assertThat(order.getChecksum()).containsExactly(-1, 0, 127);
+        assertThat(order.getSecret()).isNull();
+    }
+
+    @Test
+    public void shouldWriteSameBytesAsJsonb() {
+        JsonbConfig config = new JsonbConfig();
+        MessagePackBinder binder = provider.createBinder(config);
+        Jsonb jsonb = JsonbBuilder.newBuilder().withConfig(config).withProvider(provider).build();
+        Order order = createOrder();
+
+        assertThat(binder.isAccelerated(Order.class)).isTrue();
+        assertThat(binder.toMessagePack(order)).isEqualTo(toJsonb(jsonb, order));
+
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        binder.toMessagePack(order, baos);
+        assertThat(baos.toByteArray()).isEqualTo(toJsonb(jsonb, order));
+    }
+
+    @Test
+    public void shouldInvokeEachGetterOnce() {
+        MessagePackBinder binder = provider.createBinder(new JsonbConfig());
+        Counter counter = new Counter();
+        counter.setLabel("clicks");
+
+        assertThat(binder.isAccelerated(Counter.class)).isTrue();
+        byte[] bytes = binder.toMessagePack(counter);
+        assertThat(counter.getReads()).isEqualTo(1);
+        Counter read = binder.fromMessagePack(bytes, Counter.class);
+        assertThat(read.getLabel()).isEqualTo("clicks");
+    }
+
+    @Test
+    public void shouldNotCloseStreams() {
+        MessagePackBinder binder = provider.createBinder(new JsonbConfig());
+        Member member = new Member("Daisy", "Duck", LocalDate.of(2001, 1, 1));
+        OrderItem item = new OrderItem("pen", 3);
+        assertThat(binder.isAccelerated(Member.class)).isFalse();
+        assertThat(binder.isAccelerated(OrderItem.class)).isTrue();
+
+        ClosingOutputStream os = new ClosingOutputStream();
+        binder.toMessagePack(member, os);
+        binder.toMessagePack(item, os);
+        assertThat(os.closed).isFalse();
+
+        ClosingInputStream is = new ClosingInputStream(os.toByteArray());
+        assertThat(binder.<Member> fromMessagePack(is, Member.class).getLastName()).isEqualTo("Duck");
+        assertThat(is.closed).isFalse();
+        is = new ClosingInputStream(binder.toMessagePack(item));
+        assertThat(binder.<OrderItem> fromMessagePack(is, OrderItem.class).getArticle()).isEqualTo("pen");
+        assertThat(is.closed).isFalse();
+    }
+
+    @Test
+    public void shouldReadJsonbOutput() {
+        JsonbConfig config = new JsonbConfig();
+        MessagePackBinder binder = provider.createBinder(config);
+        Jsonb jsonb = JsonbBuilder.newBuilder().withConfig(config).withProvider(provider).build();
+
+        assertOrder(binder.fromMessagePack(toJsonb(jsonb, createOrder()), Order.class));
+        assertOrder(jsonb.fromJson(new ByteArrayInputStream(binder.toMessagePack(createOrder())), Order.class));
+    }
+
+    @Test
+    public void shouldBindListOfBeans() {
+        MessagePackBinder binder = provider.createBinder(new JsonbConfig());
+        Jsonb jsonb = JsonbBuilder.newBuilder().withProvider(provider).build();
+        List<Order> orders = Arrays.asList(createOrder(), null, createOrder());
+
+        assertThat(binder.isAccelerated(ORDER_LIST)).isTrue();
+        byte[] bytes = binder.toMessagePack(orders);
+        assertThat(bytes).isEqualTo(toJsonb(jsonb, orders));
+
+        List<Order> read = binder.fromMessagePack(new ByteArrayInputStream(bytes), ORDER_LIST);
+        assertThat(read).hasSize(3);
+        assertOrder(read.get(0));
+        assertThat(read.get(1)).isNull();
+        assertOrder(read.get(2));
+    }
+
+    @Test
+    public void shouldEmbedUnsupportedSubclass() {
+        MessagePackBinder binder = provider.createBinder(new JsonbConfig());
+        Jsonb jsonb = JsonbBuilder.newBuilder().withProvider(provider).build();
+        Order order = createOrder();
+        order.setBuyer(new Member("Daisy", "Duck", LocalDate.of(2001, 1, 1)));
+
+        assertThat(binder.isAccelerated(Member.class)).isFalse();
+        assertThat(binder.toMessagePack(order)).isEqualTo(toJsonb(jsonb, order));
+    }
+
+    @Test
+    public void shouldUseConfiguredAdapters() {
+        ExtensionTypeRegistry registry = new ExtensionTypeRegistry().register(1, ExtensionCodecs.localDate());
+        JsonbConfig config = new JsonbConfig().withAdapters(new ExtensionAdapter<LocalDate>(registry) { });
+        MessagePackBinder binder = provider.createBinder(config);
+        Jsonb jsonb = JsonbBuilder.newBuilder().withConfig(config).withProvider(provider).build();
+        Member member = new Member("Daisy", "Duck", LocalDate.of(2001, 1, 1));
+
+        assertThat(binder.isAccelerated(Member.class)).isTrue();
+        byte[] bytes = binder.toMessagePack(member);
+        assertThat(bytes).isEqualTo(toJsonb(jsonb, member));
+
+        Member read = binder.fromMessagePack(bytes, Member.class);
+        assertThat(read.getFirstName()).isEqualTo("Daisy");
+        assertThat(read.getSince()).isEqualTo(LocalDate.of(2001, 1, 1));
+    }
+
+    @Test
+    public void shouldFallBackForUnsupportedConfig() {
+        JsonbConfig config = new JsonbConfig()
+                .withPropertyNamingStrategy(PropertyNamingStrategy.LOWER_CASE_WITH_UNDERSCORES);
+        MessagePackBinder binder = provider.createBinder(config);
+        Jsonb jsonb = JsonbBuilder.newBuilder().withConfig(config).withProvider(provider).build();
+        Order order = createOrder();
+
+        assertThat(binder.isAccelerated(Order.class)).isFalse();
+        byte[] bytes = binder.toMessagePack(order);
+        assertThat(bytes).isEqualTo(toJsonb(jsonb, order));
+        assertOrder(binder.fromMessagePack(bytes, Order.class));
+    }
+
+    @Test
+    public void shouldSkipUnknownProperties() {
+        MessagePackBinder binder = provider.createBinder(new JsonbConfig());
+        byte[] bytes = binder.toMessagePack(Json.createObjectBuilder().add("article", "pen")
+                .add("color", Json.createArrayBuilder().add("red")).add("quantity", 2).build());
+
+        OrderItem item = binder.fromMessagePack(bytes, OrderItem.class);
+        assertThat(item.getArticle()).isEqualTo("pen");
+        assertThat(item.getQuantity()).isEqualTo(2);
+    }
+
+    @Test
+    public void shouldRejectOutOfRangeValue() {
+        MessagePackBinder binder = provider.createBinder(new JsonbConfig());
+        byte[] bytes = binder.toMessagePack(Json.createObjectBuilder().add("quantity", 1L << 40).build());
+
+        assertThatThrownBy(() -> binder.fromMessagePack(bytes, OrderItem.class))
+                .isInstanceOf(JsonbException.class);
+    }
+
+    private static final class ClosingOutputStream extends ByteArrayOutputStream {
+
+        private boolean closed;
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+
+    private static final class ClosingInputStream extends ByteArrayInputStream {
+
+        private boolean closed;
+
+        ClosingInputStream(byte[] bytes) {
+            super(bytes);
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package org.ops4j.mpjp.test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.json.Json;
+import javax.json.JsonArrayBuilder;
+import javax.json.JsonObject;
+import javax.json.JsonValue;
+import javax.json.bind.Jsonb;
+import javax.json.bind.JsonbBuilder;
+import javax.json.bind.JsonbConfig;
+import javax.json.stream.JsonGenerator;
+
+import org.junit.jupiter.api.Test;
+import org.msgpack.core.MessageFormat;
+import org.msgpack.core.MessagePack;
+import org.msgpack.core.MessageUnpacker;
+import org.ops4j.mpjp.api.MessagePackConfig;
+import org.ops4j.mpjp.api.MessagePackJsonProvider;
+import org.ops4j.mpjp.impl.MessagePackJsonGenerator;
+import org.ops4j.mpjp.impl.MessagePackStreamingJsonGenerator;
+import org.ops4j.mpjp.test.model.MarriedCouple;
+import org.ops4j.mpjp.test.model.Member;
+import org.ops4j.mpjp.test.model.MessagePackLocalDateAdapter;
+import org.ops4j.mpjp.test.model.Person;
+
+public class MessagePackStreamingJsonGeneratorTest {
+
+    private MessagePackJsonProvider createProvider() {
+        return new MessagePackJsonProvider(Collections.singletonMap(MessagePackConfig.GENERATOR_STREAMING, true));
+    }
+
+    @Test
+    public void shouldWriteNestedStructures() throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        JsonGenerator generator = new MessagePackStreamingJsonGenerator(baos);
+        generator.writeStartObject()
+                .write("name", "Mickey")
+                .writeStartArray("scores")
+                .write(1)
+                .write(2.5)
+                .writeNull()
+                .writeEnd()
+                .writeStartObject("empty")
+                .writeEnd()
+                .writeEnd();
+        generator.close();
+
+        MessageUnpacker unpacker = MessagePack.newDefaultUnpacker(baos.toByteArray());
+        assertThat(unpacker.getNextFormat()).isEqualTo(MessageFormat.MAP32);
+        assertThat(unpacker.unpackMapHeader()).isEqualTo(3);
+        assertThat(unpacker.unpackString()).isEqualTo("name");
+        assertThat(unpacker.unpackString()).isEqualTo("Mickey");
+        assertThat(unpacker.unpackString()).isEqualTo("scores");
+        assertThat(unpacker.getNextFormat()).isEqualTo(MessageFormat.ARRAY32);
+        assertThat(unpacker.unpackArrayHeader()).isEqualTo(3);
+        assertThat(unpacker.unpackInt()).isEqualTo(1);
+        assertThat(unpacker.unpackDouble()).isEqualTo(2.5);
+        unpacker.unpackNil();
+        assertThat(unpacker.unpackString()).isEqualTo("empty");
+        assertThat(unpacker.unpackMapHeader()).isEqualTo(0);
+        assertThat(unpacker.hasNext()).isFalse();
+    }
+
+    @Test
+    public void shouldWriteLargeArray() throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        JsonGenerator generator = new MessagePackStreamingJsonGenerator(baos);
+        generator.writeStartArray();
+        for (int i = 0; i < 100_000; i++) {
+            generator.write("item" + i);
+        }
+        generator.writeEnd();
+        generator.close();
+
+        MessageUnpacker unpacker = MessagePack.newDefaultUnpacker(baos.toByteArray());
+        assertThat(unpacker.unpackArrayHeader()).isEqualTo(100_000);
+        for (int i = 0; i < 100_000; i++) {
+            assertThat(unpacker.unpackString()).isEqualTo("item" + i);
+        }
+        assertThat(unpacker.hasNext()).isFalse();
+    }
+
+    @Test
+    public void shouldRoundTripNestedObject() {
+        Jsonb jsonb = JsonbBuilder.newBuilder().withProvider(createProvider()).build();
+        MarriedCouple couple = new MarriedCouple(new Person("Mickey", "Mouse"), new Person("Minnie", "Mouse"));
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        jsonb.toJson(couple, baos);
+
+        MarriedCouple deserialized = jsonb.fromJson(new ByteArrayInputStream(baos.toByteArray()),
+                MarriedCouple.class);
+        assertThat(deserialized.getHusband().getFirstName()).isEqualTo("Mickey");
+        assertThat(deserialized.getWife().getFirstName()).isEqualTo("Minnie");
+        assertThat(deserialized.getWife().getLastName()).isEqualTo("Mouse");
+    }
+
+    @Test
+    public void shouldWriteCompactHeaders() {
+        JsonArrayBuilder small = Json.createArrayBuilder();
+        JsonArrayBuilder medium = Json.createArrayBuilder();
+        JsonArrayBuilder large = Json.createArrayBuilder();
+        for (int i = 0; i < 70_000; i++) {
+            if (i < 3) {
+                small.add(i);
+            }
+            if (i < 20) {
+                medium.add(Json.createObjectBuilder().add("index", i));
+            }
+            large.add(i % 2 == 0);
+        }
+        JsonObject object = Json.createObjectBuilder()
+                .add("small", small)
+                .add("medium", medium)
+                .add("large", large)
+                .add("empty", Json.createObjectBuilder())
+                .build();
+
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        MessagePackJsonGenerator treeGenerator = new MessagePackJsonGenerator(expected);
+        treeGenerator.write(object);
+        treeGenerator.close();
+
+        ByteArrayOutputStream actual = new ByteArrayOutputStream();
+        JsonGenerator generator = new MessagePackStreamingJsonGenerator(actual, true);
+        generator.writeStartObject();
+        generator.writeStartArray("small");
+        object.getJsonArray("small").forEach(generator::write);
+        generator.writeEnd();
+        generator.writeStartArray("medium");
+        for (JsonValue value : object.getJsonArray("medium")) {
+            generator.writeStartObject().write("index", value.asJsonObject().getInt("index")).writeEnd();
+        }
+        generator.writeEnd();
+        generator.writeStartArray("large");
+        object.getJsonArray("large").forEach(generator::write);
+        generator.writeEnd();
+        generator.writeStartObject("empty").writeEnd();
+        generator.writeEnd();
+        generator.close();
+
+        assertThat(actual.toByteArray()).isEqualTo(expected.toByteArray());
+    }
+
+    @Test
+    public void shouldWriteSameBytesAsDefaultGenerator() {
+        Map<String, Object> config = new HashMap<>();
+        config.put(MessagePackConfig.GENERATOR_STREAMING, true);
+        config.put(MessagePackConfig.GENERATOR_COMPACT_HEADERS, true);
+        JsonbConfig jsonbConfig = new JsonbConfig().withAdapters(new MessagePackLocalDateAdapter());
+        Jsonb compactJsonb = JsonbBuilder.newBuilder().withConfig(jsonbConfig)
+                .withProvider(new MessagePackJsonProvider(config)).build();
+        Jsonb defaultJsonb = JsonbBuilder.newBuilder().withConfig(jsonbConfig)
+                .withProvider(new MessagePackJsonProvider()).build();
+
+        List<Member> members = Arrays.asList(new Member("Chris", "Potter", LocalDate.of(1992, 5, 13)),
+                new Member("Brad", "Mehldau", LocalDate.of(1995, 1, 1)));
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        defaultJsonb.toJson(members, expected);
+        ByteArrayOutputStream actual = new ByteArrayOutputStream();
+        compactJsonb.toJson(members, actual);
+
+        assertThat(actual.toByteArray()).isEqualTo(expected.toByteArray());
+    }
+
+    @Test
+    public void shouldWriteExtensionType() throws IOException {
+        JsonbConfig config = new JsonbConfig().withAdapters(new MessagePackLocalDateAdapter());
+        Jsonb jsonb = JsonbBuilder.newBuilder().withConfig(config).withProvider(createProvider()).build();
+        Member member = new Member("Chris", "Potter", LocalDate.of(1992, 5, 13));
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        jsonb.toJson(member, baos);
+
+        MessageUnpacker unpacker = MessagePack.newDefaultUnpacker(baos.toByteArray());
+        assertThat(unpacker.unpackMapHeader()).isEqualTo(3);
+        unpacker.skipValue(4);
+        assertThat(unpacker.unpackString()).isEqualTo("since");
+        assertThat(unpacker.getNextFormat()).isEqualTo(MessageFormat.EXT8);
+        assertThat(unpacker.unpackExtensionTypeHeader().getLength()).isEqualTo(10);
+
+        Member deserialized = jsonb.fromJson(new ByteArrayInputStream(baos.toByteArray()), Member.class);
+        assertThat(deserialized.getSince()).isEqualTo(LocalDate.of(1992, 5, 13));
+    }
+}
@@ -0,0 +1,334 @@
+package org.ops4j.mpjp.test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import javax.json.Json;
+import javax.json.JsonException;
+import javax.json.JsonObject;
+import javax.json.stream.JsonParser;
+import javax.json.stream.JsonParser.Event;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.msgpack.core.MessagePack;
+import org.msgpack.core.MessagePacker;
+import org.ops4j.mpjp.api.ExtensionTypes;
+import org.ops4j.mpjp.api.MessagePackConfig;
+import org.ops4j.mpjp.api.MessagePackJsonProvider;
+import org.ops4j.mpjp.api.MessagePackParserFactory;
+import org.ops4j.mpjp.api.PoolMode;
+
+public class MessagePackStreamingJsonParserTest {
+
+    private MessagePackJsonProvider provider;
+
+    @BeforeEach
+    public void setUp() {
+        provider = new MessagePackJsonProvider();
+    }
+
+    private JsonParser createParser(ByteArrayOutputStream baos) {
+        return provider.createParser(new ByteArrayInputStream(baos.toByteArray()));
+    }
+
+    @Test
+    public void shouldFormatDoublesLikeJsonNumbers() throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        MessagePacker packer = MessagePack.newDefaultPacker(baos);
+        packer.packArrayHeader(3);
+        packer.packDouble(1e20);
+        packer.packDouble(1e-5);
+        packer.packFloat(0.1f);
+        packer.close();
+
+        JsonParser parser = createParser(baos);
+        assertThat(parser.next()).isEqualTo(Event.START_ARRAY);
+        for (String expected : new String[] { "1.0E+20", "0.000010", "0.10000000149011612" }) {
+            assertThat(parser.next()).isEqualTo(Event.VALUE_NUMBER);
+            assertThat(parser.getString()).isEqualTo(expected).isEqualTo(parser.getValue().toString());
+        }
+    }
+
+    @Test
+    public void shouldGenerateEventsForNestedStructures() throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        MessagePacker packer = MessagePack.newDefaultPacker(baos);
+        packer.packMapHeader(3);
+        packer.packString("name");
+        packer.packString("Mickey");
+        packer.packString("scores");
+        packer.packArrayHeader(3);
+        packer.packInt(42);
+        packer.packDouble(1.5);
+        packer.packBigInteger(new BigInteger("18446744073709551615"));
+        packer.packString("flags");
+        packer.packArrayHeader(3);
+        packer.packBoolean(true);
+        packer.packBoolean(false);
+        packer.packNil();
+        packer.close();
+
+        JsonParser parser = createParser(baos);
+        assertThat(parser.next()).isEqualTo(Event.START_OBJECT);
+        assertThat(parser.next()).isEqualTo(Event.KEY_NAME);
+        assertThat(parser.getString()).isEqualTo("name");
+        assertThat(parser.next()).isEqualTo(Event.VALUE_STRING);
+        assertThat(parser.getString()).isEqualTo("Mickey");
+        assertThat(parser.next()).isEqualTo(Event.KEY_NAME);
+        assertThat(parser.getString()).isEqualTo("scores");
+        assertThat(parser.next()).isEqualTo(Event.START_ARRAY);
+        assertThat(parser.next()).isEqualTo(Event.VALUE_NUMBER);
+        assertThat(parser.isIntegralNumber()).isTrue();
+        assertThat(parser.getInt()).isEqualTo(42);
+        assertThat(parser.getString()).isEqualTo("42");
+        assertThat(parser.next()).isEqualTo(Event.VALUE_NUMBER);
+        assertThat(parser.isIntegralNumber()).isFalse();
+        assertThat(parser.getBigDecimal().doubleValue()).isEqualTo(1.5);
+        assertThat(parser.next()).isEqualTo(Event.VALUE_NUMBER);
+        assertThat(parser.getString()).isEqualTo("18446744073709551615");
+        assertThat(parser.next()).isEqualTo(Event.END_ARRAY);
+        assertThat(parser.next()).isEqualTo(Event.KEY_NAME);
+        assertThat(parser.next()).isEqualTo(Event.START_ARRAY);
+        assertThat(parser.next()).isEqualTo(Event.VALUE_TRUE);
+        assertThat(parser.next()).isEqualTo(Event.VALUE_FALSE);
+        assertThat(parser.next()).isEqualTo(Event.VALUE_NULL);
+        assertThat(parser.next()).isEqualTo(Event.END_ARRAY);
+        assertThat(parser.next()).isEqualTo(Event.END_OBJECT);
+        assertThat(parser.hasNext()).isFalse();
+        parser.close();
+    }
+
+    @Test
+    public void shouldGetObjectInsideArray() throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        MessagePacker packer = MessagePack.newDefaultPacker(baos);
+        packer.packArrayHeader(2);
+        packer.packMapHeader(1);
+        packer.packString("firstName");
+        packer.packString("Tick");
+        packer.packString("Trick");
+        packer.close();
+
+        JsonParser parser = createParser(baos);
+        assertThat(parser.next()).isEqualTo(Event.START_ARRAY);
+        assertThat(parser.next()).isEqualTo(Event.START_OBJECT);
+        JsonObject tick = parser.getObject();
+        assertThat(tick.getString("firstName")).isEqualTo("Tick");
+        assertThat(parser.next()).isEqualTo(Event.VALUE_STRING);
+        assertThat(parser.getString()).isEqualTo("Trick");
+        assertThat(parser.next()).isEqualTo(Event.END_ARRAY);
+        assertThat(parser.hasNext()).isFalse();
+        parser.close();
+    }
+
+    @Test
+    public void shouldSkipObject() throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        MessagePacker packer = MessagePack.newDefaultPacker(baos);
+        packer.packMapHeader(2);
+        packer.packString("ignored");
+        packer.packMapHeader(1);
+        packer.packString("nested");
+        packer.packArrayHeader(2);
+        packer.packInt(1);
+        packer.packInt(2);
+        packer.packString("kept");
+        packer.packInt(3);
+        packer.close();
+
+        JsonParser parser = createParser(baos);
+        assertThat(parser.next()).isEqualTo(Event.START_OBJECT);
+        assertThat(parser.next()).isEqualTo(Event.KEY_NAME);
+        assertThat(parser.next()).isEqualTo(Event.START_OBJECT);
+        parser.skipObject();
+        assertThat(parser.next()).isEqualTo(Event.KEY_NAME);
+        assertThat(parser.getString()).isEqualTo("kept");
+        assertThat(parser.next()).isEqualTo(Event.VALUE_NUMBER);
+        assertThat(parser.getLong()).isEqualTo(3L);
+        assertThat(parser.next()).isEqualTo(Event.END_OBJECT);
+        parser.close();
+    }
+
+    @Test
+    public void shouldSkipArrayOfStringsBinariesAndExtensions() throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        MessagePacker packer = MessagePack.newDefaultPacker(baos);
+        packer.packArrayHeader(3);
+        packer.packArrayHeader(4);
+        packer.packString("first");
+        packer.packBinaryHeader(3);
+        packer.writePayload(new byte[] { 1, 2, 3 });
+        packer.packExtensionTypeHeader((byte) 1, 2);
+        packer.writePayload(new byte[] { 4, 5 });
+        packer.packMapHeader(1);
+        packer.packString("key");
+        packer.packString("value");
+        packer.packString("unread");
+        packer.packBinaryHeader(2);
+        packer.writePayload(new byte[] { 6, 7 });
+        packer.close();
+
+        JsonParser parser = createParser(baos);
+        assertThat(parser.next()).isEqualTo(Event.START_ARRAY);
+        assertThat(parser.next()).isEqualTo(Event.START_ARRAY);
+        assertThat(parser.next()).isEqualTo(Event.VALUE_STRING);
+        parser.skipArray();
+        assertThat(parser.next()).isEqualTo(Event.VALUE_STRING);
+        assertThat(parser.next()).isEqualTo(Event.VALUE_STRING);
+        assertThat(parser.getString()).isEqualTo("Bgc=");
+        assertThat(parser.next()).isEqualTo(Event.END_ARRAY);
+        assertThat(parser.hasNext()).isFalse();
+        parser.close();
+    }
+
+    @Test
+    public void shouldSkipRemainderOfObjectAfterKey() throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        MessagePacker packer = MessagePack.newDefaultPacker(baos);
+        packer.packArrayHeader(2);
+        packer.packMapHeader(2);
+        packer.packString("first");
+        packer.packString("skipped");
+        packer.packString("second");
+        packer.packArrayHeader(1);
+        packer.packString("skipped");
+        packer.packString("next");
+        packer.close();
+
+        JsonParser parser = createParser(baos);
+        assertThat(parser.next()).isEqualTo(Event.START_ARRAY);
+        assertThat(parser.next()).isEqualTo(Event.START_OBJECT);
+        assertThat(parser.next()).isEqualTo(Event.KEY_NAME);
+        assertThat(parser.getString()).isEqualTo("first");
+        assertThat(parser.next()).isEqualTo(Event.VALUE_STRING);
+        assertThat(parser.next()).isEqualTo(Event.KEY_NAME);
+        parser.skipObject();
+        assertThat(parser.next()).isEqualTo(Event.VALUE_STRING);
+        assertThat(parser.getValue()).isEqualTo(Json.createValue("next"));
+        assertThat(parser.next()).isEqualTo(Event.END_ARRAY);
+        parser.close();
+    }
+
+    @Test
+    public void shouldGenerateEventsForExtensionType() throws IOException {
+        byte[] payload = "1992-05-13".getBytes(StandardCharsets.ISO_8859_1);
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        MessagePacker packer = MessagePack.newDefaultPacker(baos);
+        packer.packExtensionTypeHeader((byte) 1, payload.length);
+        packer.writePayload(payload);
+        packer.close();
+
+        JsonParser parser = createParser(baos);
+        assertThat(parser.next()).isEqualTo(Event.START_OBJECT);
+        assertThat(parser.next()).isEqualTo(Event.KEY_NAME);
+        assertThat(parser.getString()).isEqualTo(ExtensionTypes.KEY_TYPE);
+        assertThat(parser.next()).isEqualTo(Event.VALUE_NUMBER);
+        assertThat(parser.getInt()).isEqualTo(1);
+        assertThat(parser.next()).isEqualTo(Event.KEY_NAME);
+        assertThat(parser.getString()).isEqualTo(ExtensionTypes.KEY_PAYLOAD);
+        assertThat(parser.next()).isEqualTo(Event.VALUE_STRING);
+        assertThat(parser.getString()).isEqualTo("1992-05-13");
+        assertThat(parser.next()).isEqualTo(Event.END_OBJECT);
+        assertThat(parser.hasNext()).isFalse();
+        parser.close();
+    }
+
+    @Test
+    public void shouldRejectScalarTopLevelValue() throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        MessagePacker packer = MessagePack.newDefaultPacker(baos);
+        packer.packString("scalar");
+        packer.close();
+
+        JsonParser parser = createParser(baos);
+        assertThatThrownBy(parser::next).isInstanceOf(JsonException.class);
+    }
+
+    @Test
+    public void shouldReadNumbersFromPrimitiveSlots() throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        MessagePacker packer = MessagePack.newDefaultPacker(baos);
+        packer.packArrayHeader(5);
+        packer.packInt(-7);
+        packer.packLong(Long.MAX_VALUE);
+        packer.packBigInteger(BigInteger.ONE.shiftLeft(64).subtract(BigInteger.ONE));
+        packer.packDouble(2.5);
+        packer.packDouble(12345678.0);
+        packer.close();
+
+        JsonParser parser = createParser(baos);
+        assertThat(parser.next()).isEqualTo(Event.START_ARRAY);
+
+        assertThat(parser.next()).isEqualTo(Event.VALUE_NUMBER);
+        assertThat(parser.isIntegralNumber()).isTrue();
+        assertThat(parser.getInt()).isEqualTo(-7);
+        assertThat(parser.getString()).isEqualTo("-7");
+        assertThat(parser.getValue()).isEqualTo(Json.createValue(-7));
+
+        assertThat(parser.next()).isEqualTo(Event.VALUE_NUMBER);
+        assertThat(parser.getLong()).isEqualTo(Long.MAX_VALUE);
+        assertThat(parser.getBigDecimal()).isEqualTo(BigDecimal.valueOf(Long.MAX_VALUE));
+
+        assertThat(parser.next()).isEqualTo(Event.VALUE_NUMBER);
+        assertThat(parser.isIntegralNumber()).isTrue();
+        assertThat(parser.getBigDecimal()).isEqualTo(new BigDecimal("18446744073709551615"));
+
+        assertThat(parser.next()).isEqualTo(Event.VALUE_NUMBER);
+        assertThat(parser.isIntegralNumber()).isFalse();
+        assertThat(parser.getInt()).isEqualTo(2);
+        assertThat(parser.getBigDecimal()).isEqualTo(new BigDecimal("2.5"));
+        assertThat(parser.getValue()).isEqualTo(Json.createValue(2.5));
+
+        assertThat(parser.next()).isEqualTo(Event.VALUE_NUMBER);
+        assertThat(parser.isIntegralNumber()).isEqualTo(Json.createValue(12345678.0).isIntegral());
+        assertThat(parser.getLong()).isEqualTo(12345678L);
+
+        assertThat(parser.next()).isEqualTo(Event.END_ARRAY);
+        assertThat(parser.hasNext()).isFalse();
+    }
+
+    @Test
+    public void shouldParseFromArraysAndBuffers() throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        baos.write(new byte[] { 1, 2, 3 });
+        MessagePacker packer = MessagePack.newDefaultPacker(baos);
+        packer.packMapHeader(1);
+        packer.packString("name");
+        packer.packString("Mickey");
+        packer.close();
+        byte[] bytes = baos.toByteArray();
+        int length = bytes.length - 3;
+
+        ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length);
+        direct.put(bytes).position(3);
+        ByteBuffer heap = ByteBuffer.wrap(bytes, 3, length);
+
+        Map<String, ?> config = Collections.singletonMap(MessagePackConfig.POOL, PoolMode.BOUNDED);
+        for (MessagePackParserFactory factory : Arrays.asList(provider.createParserFactory(null),
+                provider.createParserFactory(config))) {
+            List<JsonParser> parsers = Arrays.asList(factory.createParser(bytes, 3, length),
+                    factory.createParser(heap), factory.createParser(direct));
+            for (JsonParser parser : parsers) {
+                try (JsonParser p = parser) {
+                    assertThat(p.next()).isEqualTo(Event.START_OBJECT);
+                    assertThat(p.getObject().getString("name")).isEqualTo("Mickey");
+                }
+            }
+        }
+        assertThat(heap.position()).isEqualTo(3);
+        assertThat(direct.position()).isEqualTo(3);
+    }
+}
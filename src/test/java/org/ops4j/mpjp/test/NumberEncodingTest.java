@@ -0,0 +1,178 @@
+package org.ops4j.mpjp.test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.json.Json;
+import javax.json.JsonArray;
+import javax.json.JsonException;
+import javax.json.bind.Jsonb;
+import javax.json.bind.JsonbBuilder;
+import javax.json.stream.JsonGenerator;
+import javax.json.stream.JsonGeneratorFactory;
+
+import org.junit.jupiter.api.Test;
+import org.msgpack.core.MessageFormat;
+import org.msgpack.core.MessagePack;
+import org.msgpack.core.MessageUnpacker;
+import org.ops4j.mpjp.api.BigDecimalStrategy;
+import org.ops4j.mpjp.api.MessagePackConfig;
+import org.ops4j.mpjp.api.MessagePackJsonProvider;
+import org.ops4j.mpjp.impl.MessagePackJsonGenerator;
+import org.ops4j.mpjp.test.model.Measurement;
+
+public class NumberEncodingTest {
+
+    private Measurement createMeasurement() {
+        Measurement measurement = new Measurement();
+        measurement.setCount(7);
+        measurement.setTotal(1L << 40);
+        measurement.setRatio(0.5);
+        measurement.setAmount(new BigDecimal("1234.5678"));
+        measurement.setSerial(BigInteger.valueOf(123_456_789));
+        return measurement;
+    }
+
+    private byte[] serialize(Map<String, ?> config, Object object) {
+        Jsonb jsonb = JsonbBuilder.newBuilder().withProvider(new MessagePackJsonProvider(config)).build();
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        jsonb.toJson(object, baos);
+        return baos.toByteArray();
+    }
+
+    private Measurement deserialize(Map<String, ?> config, byte[] bytes) {
+        Jsonb jsonb = JsonbBuilder.newBuilder().withProvider(new MessagePackJsonProvider(config)).build();
+        return jsonb.fromJson(new ByteArrayInputStream(bytes), Measurement.class);
+    }
+
+    private MessageUnpacker unpackAmount(byte[] bytes) throws IOException {
+        MessageUnpacker unpacker = MessagePack.newDefaultUnpacker(bytes);
+        assertThat(unpacker.unpackMapHeader()).isEqualTo(5);
+        assertThat(unpacker.unpackString()).isEqualTo("amount");
+        return unpacker;
+    }
+
+    @Test
+    public void shouldWriteIntegersInCompactFormat() throws IOException {
+        byte[] bytes = serialize(Collections.emptyMap(), createMeasurement());
+        MessageUnpacker unpacker = unpackAmount(bytes);
+        unpacker.skipValue();
+        assertThat(unpacker.unpackString()).isEqualTo("count");
+        assertThat(unpacker.getNextFormat()).isEqualTo(MessageFormat.POSFIXINT);
+        assertThat(unpacker.unpackInt()).isEqualTo(7);
+        assertThat(unpacker.unpackString()).isEqualTo("ratio");
+        assertThat(unpacker.getNextFormat()).isEqualTo(MessageFormat.FLOAT64);
+        assertThat(unpacker.unpackDouble()).isEqualTo(0.5);
+        assertThat(unpacker.unpackString()).isEqualTo("serial");
+        assertThat(unpacker.getNextFormat()).isEqualTo(MessageFormat.UINT32);
+        assertThat(unpacker.unpackBigInteger()).isEqualTo(BigInteger.valueOf(123_456_789));
+        assertThat(unpacker.unpackString()).isEqualTo("total");
+        assertThat(unpacker.getNextFormat()).isEqualTo(MessageFormat.UINT64);
+        assertThat(unpacker.unpackLong()).isEqualTo(1L << 40);
+    }
+
+    @Test
+    public void shouldWriteBigDecimalAsDouble() throws IOException {
+        byte[] bytes = serialize(Collections.emptyMap(), createMeasurement());
+        MessageUnpacker unpacker = unpackAmount(bytes);
+        assertThat(unpacker.getNextFormat()).isEqualTo(MessageFormat.FLOAT64);
+        assertThat(unpacker.unpackDouble()).isEqualTo(1234.5678);
+    }
+
+    @Test
+    public void shouldWriteBigDecimalAsString() throws IOException {
+        Map<String, ?> config = Collections.singletonMap(MessagePackConfig.BIG_DECIMAL_STRATEGY, "string");
+        byte[] bytes = serialize(config, createMeasurement());
+        MessageUnpacker unpacker = unpackAmount(bytes);
+        assertThat(unpacker.unpackString()).isEqualTo("1234.5678");
+
+        Measurement deserialized = deserialize(config, bytes);
+        assertThat(deserialized.getAmount()).isEqualTo(new BigDecimal("1234.5678"));
+    }
+
+    @Test
+    public void shouldRoundTripBigDecimalAsExtension() throws IOException {
+        Map<String, Object> config = new HashMap<>();
+        config.put(MessagePackConfig.BIG_DECIMAL_STRATEGY, BigDecimalStrategy.EXTENSION);
+        config.put(MessagePackConfig.BIG_DECIMAL_EXTENSION_TYPE, 42);
+        byte[] bytes = serialize(config, createMeasurement());
+        MessageUnpacker unpacker = unpackAmount(bytes);
+        assertThat(unpacker.unpackExtensionTypeHeader().getType()).isEqualTo((byte) 42);
+
+        Measurement deserialized = deserialize(config, bytes);
+        assertThat(deserialized.getAmount()).isEqualTo(new BigDecimal("1234.5678"));
+        assertThat(deserialized.getCount()).isEqualTo(7);
+        assertThat(deserialized.getTotal()).isEqualTo(1L << 40);
+        assertThat(deserialized.getRatio()).isEqualTo(0.5);
+        assertThat(deserialized.getSerial()).isEqualTo(BigInteger.valueOf(123_456_789));
+    }
+
+    @Test
+    public void shouldWriteNumbersOfJsonValues() throws IOException {
+        JsonArray array = Json.createArrayBuilder()
+                .add(1)
+                .add(-200L)
+                .add(new BigDecimal("3"))
+                .add(new BigDecimal("2.5"))
+                .build();
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        JsonGenerator generator = new MessagePackJsonGenerator(baos);
+        generator.write(array);
+        generator.close();
+
+        MessageUnpacker unpacker = MessagePack.newDefaultUnpacker(baos.toByteArray());
+        assertThat(unpacker.unpackArrayHeader()).isEqualTo(4);
+        assertThat(unpacker.getNextFormat()).isEqualTo(MessageFormat.POSFIXINT);
+        assertThat(unpacker.unpackInt()).isEqualTo(1);
+        assertThat(unpacker.getNextFormat()).isEqualTo(MessageFormat.INT16);
+        assertThat(unpacker.unpackInt()).isEqualTo(-200);
+        assertThat(unpacker.getNextFormat()).isEqualTo(MessageFormat.POSFIXINT);
+        assertThat(unpacker.unpackInt()).isEqualTo(3);
+        assertThat(unpacker.unpackDouble()).isEqualTo(2.5);
+    }
+
+    @Test
+    public void shouldRejectHugeIntegerAsDouble() {
+        BigInteger huge = BigInteger.ONE.shiftLeft(70);
+        for (boolean streaming : new boolean[] { false, true }) {
+            Map<String, ?> config = Collections.singletonMap(MessagePackConfig.GENERATOR_STREAMING, streaming);
+            JsonGeneratorFactory factory = new MessagePackJsonProvider().createGeneratorFactory(config);
+            assertThatThrownBy(() -> factory.createGenerator(new ByteArrayOutputStream()).writeStartArray()
+                    .write(BigInteger.ONE.shiftLeft(64).subtract(BigInteger.ONE)).write(huge).writeEnd().close())
+                            .isInstanceOf(JsonException.class).hasMessageContaining(huge.toString());
+            assertThatThrownBy(() -> factory.createGenerator(new ByteArrayOutputStream())
+                    .write(new BigDecimal(huge.negate())).close()).isInstanceOf(JsonException.class);
+            assertThatThrownBy(() -> factory.createGenerator(new ByteArrayOutputStream())
+                    .write(Json.createArrayBuilder().add(huge).build()).close())
+                            .isInstanceOf(JsonException.class);
+        }
+    }
+
+    @Test
+    public void shouldWriteHugeIntegerAsString() throws IOException {
+        BigInteger huge = BigInteger.ONE.shiftLeft(70);
+        Map<String, ?> config = Collections.singletonMap(MessagePackConfig.BIG_DECIMAL_STRATEGY,
+                BigDecimalStrategy.STRING);
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        JsonGenerator generator = new MessagePackJsonProvider(config).createGeneratorFactory(null)
+                .createGenerator(baos);
+        generator.writeStartArray().write(huge).write(BigInteger.ONE.shiftLeft(64).subtract(BigInteger.ONE))
+                .writeEnd();
+        generator.close();
+
+        MessageUnpacker unpacker = MessagePack.newDefaultUnpacker(baos.toByteArray());
+        assertThat(unpacker.unpackArrayHeader()).isEqualTo(2);
+        assertThat(unpacker.unpackString()).isEqualTo(huge.toString());
+        assertThat(unpacker.getNextFormat()).isEqualTo(MessageFormat.UINT64);
+        assertThat(unpacker.unpackBigInteger()).isEqualTo(BigInteger.ONE.shiftLeft(64).subtract(BigInteger.ONE));
+    }
+}
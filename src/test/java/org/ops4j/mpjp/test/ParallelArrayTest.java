@@ -0,0 +1,119 @@
+package org.ops4j.mpjp.test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import javax.json.Json;
+import javax.json.JsonArray;
+import javax.json.JsonArrayBuilder;
+import javax.json.JsonException;
+import javax.json.bind.Jsonb;
+import javax.json.bind.JsonbBuilder;
+import javax.json.stream.JsonParser;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.ops4j.mpjp.api.MessagePackDocumentWriter;
+import org.ops4j.mpjp.api.MessagePackJsonProvider;
+import org.ops4j.mpjp.api.MessagePackParserFactory;
+import org.ops4j.mpjp.test.model.Person;
+
+public class ParallelArrayTest {
+
+    private static final int NUM_PERSONS = 1000;
+
+    private MessagePackJsonProvider provider;
+    private MessagePackParserFactory factory;
+    private Jsonb jsonb;
+    private ForkJoinPool pool;
+
+    @BeforeEach
+    public void setUp() {
+        provider = new MessagePackJsonProvider();
+        factory = provider.createParserFactory(null);
+        jsonb = JsonbBuilder.newBuilder().withProvider(provider).build();
+        pool = new ForkJoinPool(4);
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        pool.shutdown();
+        jsonb.close();
+    }
+
+    private ByteBuffer writePersons() {
+        List<Person> persons = new ArrayList<>();
+        for (int i = 0; i < NUM_PERSONS; i++) {
+            persons.add(new Person("First" + i, "Last" + i));
+        }
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        jsonb.toJson(persons, baos);
+        return ByteBuffer.wrap(baos.toByteArray());
+    }
+
+    @Test
+    public void shouldBindElementsInOrder() {
+        List<Person> persons = factory.readArray(writePersons(), jsonb, Person.class, pool);
+        assertThat(persons).hasSize(NUM_PERSONS);
+        for (int i = 0; i < NUM_PERSONS; i++) {
+            assertThat(persons.get(i).getLastName()).isEqualTo("Last" + i);
+        }
+    }
+
+    @Test
+    public void shouldReadJsonArrayInOrder() {
+        ByteBuffer buffer = writePersons();
+        JsonArray expected;
+        try (JsonParser parser = factory.createParser(buffer)) {
+            parser.next();
+            expected = parser.getArray();
+        }
+        assertThat(factory.readArray(buffer, pool)).isEqualTo(expected);
+        assertThat(buffer.position()).isZero();
+    }
+
+    @Test
+    public void shouldReadScalarAndEmptyArrays() {
+        JsonArray mixed = Json.createArrayBuilder().add(1).add("two").addNull().add(Json.createArrayBuilder())
+                .add(true).build();
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (MessagePackDocumentWriter writer = provider.createDocumentWriter(baos)) {
+            writer.write(mixed);
+        }
+        assertThat(factory.readArray(ByteBuffer.wrap(baos.toByteArray()), pool)).isEqualTo(mixed);
+
+        assertThat(factory.readArray(ByteBuffer.wrap(new byte[] { (byte) 0x90 }), pool)).isEmpty();
+    }
+
+    @Test
+    public void shouldRejectInvalidInput() {
+        assertThatThrownBy(() -> factory.readArray(ByteBuffer.wrap(new byte[] { (byte) 0x80 }), pool))
+                .isInstanceOf(JsonException.class);
+        assertThatThrownBy(() -> factory.readArray(ByteBuffer.wrap(new byte[] { (byte) 0x92, 1, (byte) 0xa3 }), pool))
+                .isInstanceOf(JsonException.class);
+    }
+
+    @Test
+    public void shouldIgnoreBufferByteOrder() {
+        JsonArrayBuilder builder = Json.createArrayBuilder();
+        for (int i = 0; i < 20; i++) {
+            builder.add(i * 1000);
+        }
+        JsonArray numbers = builder.build();
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (MessagePackDocumentWriter writer = provider.createDocumentWriter(baos)) {
+            writer.write(numbers);
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(baos.toByteArray()).order(ByteOrder.LITTLE_ENDIAN);
+        assertThat(factory.readArray(buffer, pool)).isEqualTo(numbers);
+        assertThat(buffer.order()).isEqualTo(ByteOrder.LITTLE_ENDIAN);
+    }
+}
@@ -0,0 +1,165 @@
+package org.ops4j.mpjp.test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.json.JsonObject;
+import javax.json.bind.Jsonb;
+import javax.json.bind.JsonbBuilder;
+import javax.json.stream.JsonGenerator;
+import javax.json.stream.JsonGeneratorFactory;
+import javax.json.stream.JsonParser;
+import javax.json.stream.JsonParser.Event;
+import javax.json.stream.JsonParserFactory;
+
+import org.junit.jupiter.api.Test;
+import org.ops4j.mpjp.api.MessagePackConfig;
+import org.ops4j.mpjp.api.MessagePackJsonProvider;
+import org.ops4j.mpjp.api.PoolMode;
+import org.ops4j.mpjp.api.ResettableJsonGenerator;
+import org.ops4j.mpjp.api.ResettableJsonParser;
+import org.ops4j.mpjp.test.model.Measurement;
+
+public class PooledParserGeneratorTest {
+
+    private MessagePackJsonProvider provider = new MessagePackJsonProvider();
+
+    private byte[] generate(String name) {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        return generate(provider.createGeneratorFactory(null).createGenerator(baos), baos, name);
+    }
+
+    private byte[] generate(JsonGenerator generator, ByteArrayOutputStream baos, String name) {
+        generator.writeStartObject().write("name", name).writeStartArray("tags").write(1).write("x").writeEnd()
+                .writeEnd().close();
+        return baos.toByteArray();
+    }
+
+    private JsonObject parse(JsonParser parser) {
+        assertThat(parser.next()).isEqualTo(Event.START_OBJECT);
+        return parser.getObject();
+    }
+
+    @Test
+    public void shouldResetParser() {
+        byte[] bytes1 = generate("Donald");
+        byte[] bytes2 = generate("Daisy");
+
+        JsonParser parser = provider.createParser(new ByteArrayInputStream(bytes1));
+        assertThat(parser).isInstanceOf(ResettableJsonParser.class);
+        assertThat(parser.next()).isEqualTo(Event.START_OBJECT);
+        assertThat(parser.next()).isEqualTo(Event.KEY_NAME);
+
+        ((ResettableJsonParser) parser).reset(new ByteArrayInputStream(bytes2));
+        assertThat(parse(parser).getString("name")).isEqualTo("Daisy");
+    }
+
+    @Test
+    public void shouldResetGeneratorWithPendingOutput() {
+        for (boolean streaming : new boolean[] { false, true }) {
+            Map<String, ?> config = Collections.singletonMap(MessagePackConfig.GENERATOR_STREAMING, streaming);
+            JsonGeneratorFactory factory = provider.createGeneratorFactory(config);
+            ByteArrayOutputStream discarded = new ByteArrayOutputStream();
+            JsonGenerator generator = factory.createGenerator(discarded);
+            generator.writeStartObject().write("name", "Gyro");
+
+            ByteArrayOutputStream baos = new ByteArrayOutputStream();
+            ((ResettableJsonGenerator) generator).reset(baos);
+            byte[] bytes = generate(generator, baos, "Gladstone");
+
+            assertThat(discarded.size()).isZero();
+            JsonObject object = parse(provider.createParser(new ByteArrayInputStream(bytes)));
+            assertThat(object.getString("name")).isEqualTo("Gladstone");
+            assertThat(object.getJsonArray("tags")).hasSize(2);
+        }
+    }
+
+    @Test
+    public void shouldReuseClosedInstancesFromBoundedPool() {
+        Map<String, Object> config = Collections.singletonMap(MessagePackConfig.POOL, PoolMode.BOUNDED);
+        JsonGeneratorFactory generatorFactory = provider.createGeneratorFactory(config);
+        JsonParserFactory parserFactory = provider.createParserFactory(config);
+
+        ByteArrayOutputStream baos1 = new ByteArrayOutputStream();
+        JsonGenerator generator1 = generatorFactory.createGenerator(baos1);
+        byte[] bytes1 = generate(generator1, baos1, "Huey");
+        ByteArrayOutputStream baos2 = new ByteArrayOutputStream();
+        JsonGenerator generator2 = generatorFactory.createGenerator(baos2);
+        assertThat(generator2).isSameAs(generator1);
+        byte[] bytes2 = generate(generator2, baos2, "Dewey");
+
+        JsonParser parser1 = parserFactory.createParser(new ByteArrayInputStream(bytes1));
+        JsonParser parser2 = parserFactory.createParser(new ByteArrayInputStream(bytes2));
+        assertThat(parser2).isNotSameAs(parser1);
+        assertThat(parse(parser1).getString("name")).isEqualTo("Huey");
+        parser1.close();
+        parser1.close();
+
+        JsonParser parser3 = parserFactory.createParser(new ByteArrayInputStream(bytes1));
+        assertThat(parser3).isSameAs(parser1);
+        assertThat(parse(parser3).getString("name")).isEqualTo("Huey");
+        assertThat(parse(parser2).getString("name")).isEqualTo("Dewey");
+    }
+
+    @Test
+    public void shouldReuseClosedParsersPerThread() {
+        Map<String, Object> config = Collections.singletonMap(MessagePackConfig.POOL, "thread_local");
+        JsonParserFactory parserFactory = provider.createParserFactory(config);
+        byte[] bytes = generate("Louie");
+
+        JsonParser parser1 = parserFactory.createParser(new ByteArrayInputStream(bytes));
+        assertThat(parser1.next()).isEqualTo(Event.START_OBJECT);
+        JsonParser parser2 = parserFactory.createParser(new ByteArrayInputStream(bytes));
+        assertThat(parser2).isNotSameAs(parser1);
+
+        assertThat(parse(parser2).getString("name")).isEqualTo("Louie");
+        JsonParser parser3 = parserFactory.createParser(new ByteArrayInputStream(bytes));
+        assertThat(parser3).isNotSameAs(parser2);
+        parser3.close();
+        JsonParser parser4 = parserFactory.createParser(new ByteArrayInputStream(bytes));
+        assertThat(parser4).isSameAs(parser3);
+        assertThat(parse(parser4).getString("name")).isEqualTo("Louie");
+    }
+
+    @Test
+    public void shouldRoundTripWithPooledJsonb() throws Exception {
+        Map<String, Object> config = Collections.singletonMap(MessagePackConfig.POOL, PoolMode.THREAD_LOCAL);
+        try (Jsonb jsonb = JsonbBuilder.newBuilder().withProvider(new MessagePackJsonProvider(config)).build()) {
+            for (int i = 0; i < 3; i++) {
+                Measurement measurement = new Measurement();
+                measurement.setCount(i);
+                measurement.setTotal(1L << 40);
+                ByteArrayOutputStream baos = new ByteArrayOutputStream();
+                jsonb.toJson(measurement, baos);
+                Measurement copy = jsonb.fromJson(new ByteArrayInputStream(baos.toByteArray()), Measurement.class);
+                assertThat(copy.getCount()).isEqualTo(i);
+                assertThat(copy.getTotal()).isEqualTo(1L << 40);
+            }
+        }
+    }
+
+    @Test
+    public void shouldShareDefaultFactories() {
+        assertThat(provider.createParserFactory(null)).isSameAs(provider.createParserFactory(Collections.emptyMap()));
+        assertThat(provider.createGeneratorFactory(Collections.emptyMap()))
+                .isSameAs(provider.createGeneratorFactory(null));
+    }
+
+    @Test
+    public void shouldCacheFactoriesPerConfig() {
+        Map<String, Object> config = new HashMap<>();
+        config.put(MessagePackConfig.GENERATOR_STREAMING, true);
+        JsonGeneratorFactory factory = provider.createGeneratorFactory(config);
+        assertThat(provider.createGeneratorFactory(Collections.singletonMap(MessagePackConfig.GENERATOR_STREAMING,
+                true))).isSameAs(factory);
+
+        config.put(MessagePackConfig.GENERATOR_COMPACT_HEADERS, true);
+        assertThat(provider.createGeneratorFactory(config)).isNotSameAs(factory);
+        assertThat(provider.createGeneratorFactory(null)).isNotSameAs(factory);
+    }
+}
@@ -0,0 +1,111 @@
+package org.ops4j.mpjp.test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+
+import javax.json.Json;
+import javax.json.JsonException;
+import javax.json.JsonReader;
+import javax.json.JsonValue;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.ops4j.mpjp.api.MessagePackDocumentWriter;
+import org.ops4j.mpjp.api.MessagePackJsonProvider;
+import org.ops4j.mpjp.api.MessagePackParserFactory;
+import org.ops4j.mpjp.api.MessagePackProjection;
+
+public class ProjectionTest {
+
+    private static final String ORDER = "{'header': {'tenant': 'acme', 'user': 'duke'}, "
+            + "'items': [{'sku': 'A1', 'qty': 2, 'tags': ['x', 'y']}, {'sku': 'B2', 'qty': 1}, {'qty': 3}, 42], "
+            + "'a/b': {'c~d': true}, 'total': 17.5}";
+
+    private MessagePackParserFactory factory;
+    private byte[] order;
+
+    @BeforeEach
+    public void setUp() {
+        MessagePackJsonProvider provider = new MessagePackJsonProvider();
+        factory = provider.createParserFactory(null);
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (MessagePackDocumentWriter writer = provider.createDocumentWriter(baos)) {
+            writer.write(json(ORDER));
+        }
+        order = baos.toByteArray();
+    }
+
+    private static JsonValue json(String text) {
+        try (JsonReader reader = Json.createReader(new StringReader(text.replace('\'', '"')))) {
+            return reader.readValue();
+        }
+    }
+
+    private JsonValue project(String... pointers) {
+        return factory.readProjection(new ByteArrayInputStream(order), MessagePackProjection.of(pointers));
+    }
+
+    @Test
+    public void shouldSelectNestedMembers() {
+        assertThat(project("/header/tenant", "/total"))
+                .isEqualTo(json("{'header': {'tenant': 'acme'}, 'total': 17.5}"));
+    }
+
+    @Test
+    public void shouldSelectWildcardElements() {
+        assertThat(project("/items/*/sku"))
+                .isEqualTo(json("{'items': [{'sku': 'A1'}, {'sku': 'B2'}, {}, null]}"));
+    }
+
+    @Test
+    public void shouldCombineIndexAndWildcardPaths() {
+        assertThat(project("/items/0/tags", "/items/*/qty", "/items/3"))
+                .isEqualTo(json("{'items': [{'qty': 2, 'tags': ['x', 'y']}, {'qty': 1}, {'qty': 3}, 42]}"));
+    }
+
+    @Test
+    public void shouldKeepIndicesOfUnselectedElements() {
+        assertThat(project("/items/1/sku", "/items/3"))
+                .isEqualTo(json("{'items': [null, {'sku': 'B2'}, null, 42]}"));
+    }
+
+    @Test
+    public void shouldNotApplyWildcardToMembers() {
+        assertThat(project("/header/*")).isEqualTo(json("{'header': {}}"));
+    }
+
+    @Test
+    public void shouldSelectEscapedMembers() {
+        assertThat(project("/a~1b/c~0d")).isEqualTo(json("{'a/b': {'c~d': true}}"));
+    }
+
+    @Test
+    public void shouldSelectEntireDocument() {
+        assertThat(project("", "/header")).isEqualTo(json(ORDER));
+    }
+
+    @Test
+    public void shouldReturnEmptyObjectWithoutMatch() {
+        assertThat(project("/missing", "/header/missing/deeper"))
+                .isEqualTo(json("{'header': {}}"));
+    }
+
+    @Test
+    public void shouldProjectBuffer() {
+        ByteBuffer buffer = ByteBuffer.wrap(order);
+        JsonValue header = factory.readProjection(buffer, MessagePackProjection.of("/header/user"));
+        assertThat(header).isEqualTo(json("{'header': {'user': 'duke'}}"));
+        assertThat(buffer.position()).isZero();
+    }
+
+    @Test
+    public void shouldRejectInvalidPointer() {
+        assertThatThrownBy(() -> MessagePackProjection.of("header")).isInstanceOf(JsonException.class);
+        assertThatThrownBy(() -> MessagePackProjection.of("/a~2")).isInstanceOf(JsonException.class);
+    }
+}
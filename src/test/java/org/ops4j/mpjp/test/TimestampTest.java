@@ -0,0 +1,160 @@
+package org.ops4j.mpjp.test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.ops4j.mpjp.api.ExtensionTypes.KEY_PAYLOAD;
+import static org.ops4j.mpjp.api.ExtensionTypes.KEY_TYPE;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Date;
+
+import javax.json.Json;
+import javax.json.JsonException;
+import javax.json.JsonObject;
+import javax.json.bind.JsonbConfig;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.msgpack.core.MessagePack;
+import org.msgpack.core.MessagePacker;
+import org.msgpack.core.MessageUnpacker;
+import org.ops4j.mpjp.api.DateAdapter;
+import org.ops4j.mpjp.api.ExtensionCodecs;
+import org.ops4j.mpjp.api.ExtensionTypes;
+import org.ops4j.mpjp.api.ExtensionValue;
+import org.ops4j.mpjp.api.InstantAdapter;
+import org.ops4j.mpjp.api.MessagePackJsonProvider;
+import org.ops4j.mpjp.api.OffsetDateTimeAdapter;
+import org.ops4j.mpjp.test.model.Reading;
+
+public class TimestampTest {
+
+    private static final Instant TIME = Instant.ofEpochSecond(1615712400L, 123456789);
+
+    private static final OffsetDateTime RECORDED = OffsetDateTime.of(2021, 3, 14, 9, 26, 53, 0, ZoneOffset.UTC);
+
+    private static final Date CREATED = new Date(1615712400000L);
+
+    @ParameterizedTest
+    @EnumSource(GeneratorMode.class)
+    public void shouldBindTimestamps(GeneratorMode mode) throws IOException {
+        JsonbConfig config = new JsonbConfig()
+                .withAdapters(new InstantAdapter(), new OffsetDateTimeAdapter(), new DateAdapter());
+        Reading reading = mode.roundTrip(config, new Reading(TIME, RECORDED, CREATED), bytes -> {
+            JsonObject object = provider().createReader(new ByteArrayInputStream(bytes)).readObject();
+            assertThat(((ExtensionValue) object.get("time")).getTimestamp()).isEqualTo(TIME);
+            assertThat(((ExtensionValue) object.get("created")).getPayloadLength()).isEqualTo(4);
+        });
+        assertThat(reading.getTime()).isEqualTo(TIME);
+        assertThat(reading.getRecorded()).isEqualTo(RECORDED);
+        assertThat(reading.getCreated()).isEqualTo(CREATED);
+    }
+
+    private static void assertPayloadLength(Instant instant, int length) {
+        ExtensionValue timestamp = ExtensionValue.ofTimestamp(instant);
+        assertThat(timestamp.getExtensionType()).isEqualTo(ExtensionTypes.TIMESTAMP);
+        assertThat(timestamp.getPayloadLength()).isEqualTo(length);
+        assertThat(timestamp.getTimestamp()).isEqualTo(instant);
+    }
+
+    @Test
+    public void shouldUseMostCompactForm() {
+        assertPayloadLength(Instant.EPOCH, 4);
+        assertPayloadLength(Instant.ofEpochSecond(0xffffffffL), 4);
+        assertPayloadLength(Instant.ofEpochSecond(0x100000000L), 8);
+        assertPayloadLength(Instant.ofEpochSecond(0, 1), 8);
+        assertPayloadLength(Instant.ofEpochSecond(0x3ffffffffL, 999999999), 8);
+        assertPayloadLength(Instant.ofEpochSecond(0x400000000L), 12);
+        assertPayloadLength(Instant.ofEpochSecond(-1, 999999999), 12);
+        assertPayloadLength(Instant.MIN, 12);
+        assertPayloadLength(Instant.MAX, 12);
+    }
+
+    @Test
+    public void shouldReadTimestampWrittenByMessagePack() throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        MessagePacker packer = MessagePack.newDefaultPacker(baos);
+        packer.packArrayHeader(3);
+        packer.packExtensionTypeHeader((byte) -1, 4);
+        packer.writePayload(new byte[] { 0x60, 0x4d, (byte) 0xd0, (byte) 0x90 });
+        packer.packExtensionTypeHeader((byte) -1, 8);
+        packer.writePayload(new byte[] { 0, 0, 0, 4, 0x60, 0x4d, (byte) 0xd0, (byte) 0x90 });
+        packer.packExtensionTypeHeader((byte) -1, 12);
+        packer.writePayload(new byte[] { 0, 0, 0, 0, -1, -1, -1, -1, -1, -1, -1, -1 });
+        packer.close();
+
+        ExtensionValue[] values = provider().createReader(new ByteArrayInputStream(baos.toByteArray()))
+                .readArray().toArray(new ExtensionValue[3]);
+        assertThat(values[0].getTimestamp()).isEqualTo(Instant.ofEpochSecond(1615712400L));
+        assertThat(values[1].getTimestamp()).isEqualTo(Instant.ofEpochSecond(1615712400L, 1));
+        assertThat(values[2].getTimestamp()).isEqualTo(Instant.ofEpochSecond(-1));
+    }
+
+    @Test
+    public void shouldWriteFixExtHeader() throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        provider().createWriter(baos).write(ExtensionValue.ofTimestamp(Instant.ofEpochSecond(1615712400L)));
+        assertThat(baos.toByteArray()).containsExactly(0xd6, 0xff, 0x60, 0x4d, 0xd0, 0x90);
+
+        MessageUnpacker unpacker = MessagePack.newDefaultUnpacker(baos.toByteArray());
+        assertThat(unpacker.unpackExtensionTypeHeader().getType()).isEqualTo((byte) -1);
+    }
+
+    @Test
+    public void shouldReadStringsAndObjectView() {
+        InstantAdapter adapter = new InstantAdapter();
+        assertThat(adapter.adaptFromJson(Json.createValue("2021-03-14T09:00:00.123456789Z")))
+                .isEqualTo(Instant.ofEpochSecond(1615712400L, 123456789));
+        assertThat(new OffsetDateTimeAdapter().adaptFromJson(Json.createValue("2021-03-14T10:26:53+01:00")))
+                .isEqualTo(OffsetDateTime.of(2021, 3, 14, 10, 26, 53, 0, ZoneOffset.ofHours(1)));
+
+        ExtensionValue timestamp = ExtensionValue.ofTimestamp(TIME);
+        JsonObject object = Json.createObjectBuilder()
+                .add(KEY_TYPE, -1)
+                .add(KEY_PAYLOAD, timestamp.getPayloadString())
+                .build();
+        assertThat(adapter.adaptFromJson(object)).isEqualTo(TIME);
+    }
+
+    @Test
+    public void shouldRejectInvalidTimestamps() {
+        assertThatThrownBy(() -> ExtensionValue.of(1, new byte[4]).getTimestamp())
+                .isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> ExtensionValue.of(-1, new byte[5]).getTimestamp())
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new InstantAdapter().adaptFromJson(ExtensionValue.of(1, new byte[4])))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(ExtensionCodecs.timestamp().getJavaType()).isEqualTo(Instant.class);
+    }
+
+    @Test
+    public void shouldRejectInvalidPayloads() {
+        for (int length : new int[] { 0, 3, 7, 11, 13 }) {
+            assertThatThrownBy(() -> ExtensionValue.of(-1, new byte[length]).getTimestamp())
+                    .isInstanceOf(IllegalArgumentException.class).hasMessageContaining(Integer.toString(length));
+        }
+        byte[] timestamp64 = { (byte) 0xee, 0x6b, 0x28, 0x00, 0, 0, 0, 0 };
+        assertThatThrownBy(() -> ExtensionValue.of(-1, timestamp64).getTimestamp())
+                .isInstanceOf(IllegalArgumentException.class).hasMessageContaining("1000000000");
+        byte[] timestamp96 = { 0x3b, (byte) 0x9a, (byte) 0xca, 0x00, 0, 0, 0, 0, 0, 0, 0, 0 };
+        assertThatThrownBy(() -> ExtensionValue.of(-1, timestamp96).getTimestamp())
+                .isInstanceOf(IllegalArgumentException.class).hasMessageContaining("1000000000");
+    }
+
+    @Test
+    public void shouldRejectTruncatedTimestamp() {
+        byte[] truncated = { (byte) 0xd7, (byte) 0xff, 0, 0, 0, 4 };
+        assertThatThrownBy(() -> provider().createReader(new ByteArrayInputStream(truncated)).readValue())
+                .isInstanceOf(JsonException.class);
+    }
+
+    private static MessagePackJsonProvider provider() {
+        return new MessagePackJsonProvider();
+    }
+}
@@ -0,0 +1,45 @@
+package org.ops4j.mpjp.test.model;
+
+import java.nio.ByteBuffer;
+
+public class Attachment {
+
+    private String name;
+
+    private byte[] content;
+
+    private ByteBuffer thumbnail;
+
+    public Attachment() {
+    }
+
+    public Attachment(String name, byte[] content, ByteBuffer thumbnail) {
+        this.name = name;
+        this.content = content;
+        this.thumbnail = thumbnail;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public byte[] getContent() {
+        return content;
+    }
+
+    public void setContent(byte[] content) {
+        this.content = content;
+    }
+
+    public ByteBuffer getThumbnail() {
+        return thumbnail;
+    }
+
+    public void setThumbnail(ByteBuffer thumbnail) {
+        this.thumbnail = thumbnail;
+    }
+}
@@ -0,0 +1,23 @@
+package org.ops4j.mpjp.test.model;
+
+import javax.json.bind.annotation.JsonbTransient;
+
+public class Counter {
+
+    private String label;
+    private int reads;
+
+    public String getLabel() {
+        reads++;
+        return label;
+    }
+
+    public void setLabel(String label) {
+        this.label = label;
+    }
+
+    @JsonbTransient
+    public int getReads() {
+        return reads;
+    }
+}
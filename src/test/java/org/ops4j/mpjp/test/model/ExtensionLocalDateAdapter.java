@@ -0,0 +1,25 @@
+package org.ops4j.mpjp.test.model;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+import javax.json.JsonValue;
+import javax.json.bind.adapter.JsonbAdapter;
+
+import org.ops4j.mpjp.api.ExtensionValue;
+
+public class ExtensionLocalDateAdapter implements JsonbAdapter<LocalDate, JsonValue> {
+
+    @Override
+    public JsonValue adaptToJson(LocalDate date) {
+        return ExtensionValue.of(1, date.toString().getBytes(StandardCharsets.US_ASCII));
+    }
+
+    @Override
+    public LocalDate adaptFromJson(JsonValue value) {
+        if (!(value instanceof ExtensionValue)) {
+            throw new IllegalArgumentException("not an extension value: " + value);
+        }
+        return LocalDate.parse(((ExtensionValue) value).getPayloadString());
+    }
+}
@@ -0,0 +1,52 @@
+package org.ops4j.mpjp.test.model;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+public class Measurement {
+    private int count;
+    private long total;
+    private double ratio;
+    private BigDecimal amount;
+    private BigInteger serial;
+
+    public int getCount() {
+        return count;
+    }
+
+    public void setCount(int count) {
+        this.count = count;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public void setTotal(long total) {
+        this.total = total;
+    }
+
+    public double getRatio() {
+        return ratio;
+    }
+
+    public void setRatio(double ratio) {
+        this.ratio = ratio;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public void setAmount(BigDecimal amount) {
+        this.amount = amount;
+    }
+
+    public BigInteger getSerial() {
+        return serial;
+    }
+
+    public void setSerial(BigInteger serial) {
+        this.serial = serial;
+    }
+}
@@ -0,0 +1,206 @@
+package org.ops4j.mpjp.test.model;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+import javax.json.JsonObject;
+import javax.json.bind.annotation.JsonbProperty;
+import javax.json.bind.annotation.JsonbTransient;
+import javax.json.bind.annotation.JsonbTypeAdapter;
+
+public class Order {
+
+    public enum Status {
+        OPEN, SHIPPED, CANCELLED
+    }
+
+    public String note;
+
+    private long id;
+    private String customer;
+    private double total;
+    private float discount;
+    private boolean paid;
+    private short priority;
+    private byte channel;
+    private char grade;
+    private Integer rating;
+    private BigDecimal price;
+    private BigInteger serial;
+    private Status status;
+    private List<OrderItem> items;
+    private Set<String> tags;
+    private JsonObject extra;
+    private LocalDate due;
+    private Person buyer;
+    private double[] weights;
+    private byte[] checksum;
+    private String secret;
+
+    public long getId() {
+        return id;
+    }
+
+    public void setId(long id) {
+        this.id = id;
+    }
+
+    @JsonbProperty("customer_name")
+    public String getCustomer() {
+        return customer;
+    }
+
+    @JsonbProperty("customer_name")
+    public void setCustomer(String customer) {
+        this.customer = customer;
+    }
+
+    public double getTotal() {
+        return total;
+    }
+
+    public void setTotal(double total) {
+        this.total = total;
+    }
+
+    public float getDiscount() {
+        return discount;
+    }
+
+    public void setDiscount(float discount) {
+        this.discount = discount;
+    }
+
+    public boolean isPaid() {
+        return paid;
+    }
+
+    public void setPaid(boolean paid) {
+        this.paid = paid;
+    }
+
+    public short getPriority() {
+        return priority;
+    }
+
+    public void setPriority(short priority) {
+        this.priority = priority;
+    }
+
+    public byte getChannel() {
+        return channel;
+    }
+
+    public void setChannel(byte channel) {
+        this.channel = channel;
+    }
+
+    public char getGrade() {
+        return grade;
+    }
+
+    public void setGrade(char grade) {
+        this.grade = grade;
+    }
+
+    public Integer getRating() {
+        return rating;
+    }
+
+    public void setRating(Integer rating) {
+        this.rating = rating;
+    }
+
+    public BigDecimal getPrice() {
+        return price;
+    }
+
+    public void setPrice(BigDecimal price) {
+        this.price = price;
+    }
+
+    public BigInteger getSerial() {
+        return serial;
+    }
+
+    public void setSerial(BigInteger serial) {
+        this.serial = serial;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public List<OrderItem> getItems() {
+        return items;
+    }
+
+    public void setItems(List<OrderItem> items) {
+        this.items = items;
+    }
+
+    public Set<String> getTags() {
+        return tags;
+    }
+
+    public void setTags(Set<String> tags) {
+        this.tags = tags;
+    }
+
+    public JsonObject getExtra() {
+        return extra;
+    }
+
+    public void setExtra(JsonObject extra) {
+        this.extra = extra;
+    }
+
+    @JsonbTypeAdapter(ExtensionLocalDateAdapter.class)
+    public LocalDate getDue() {
+        return due;
+    }
+
+    public void setDue(LocalDate due) {
+        this.due = due;
+    }
+
+    public Person getBuyer() {
+        return buyer;
+    }
+
+    public void setBuyer(Person buyer) {
+        this.buyer = buyer;
+    }
+
+    public double[] getWeights() {
+        return weights;
+    }
+
+    public void setWeights(double[] weights) {
+        this.weights = weights;
+    }
+
+    public byte[] getChecksum() {
+        return checksum;
+    }
+
+    public void setChecksum(byte[] checksum) {
+        this.checksum = checksum;
+    }
+
+    @JsonbTransient
+    public String getSecret() {
+        return secret;
+    }
+
+    public void setSecret(String secret) {
+        this.secret = secret;
+    }
+}
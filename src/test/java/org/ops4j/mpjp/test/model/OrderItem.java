@@ -0,0 +1,31 @@
+package org.ops4j.mpjp.test.model;
+
+public class OrderItem {
+
+    private String article;
+    private int quantity;
+
+    public OrderItem() {
+    }
+
+    public OrderItem(String article, int quantity) {
+        this.article = article;
+        this.quantity = quantity;
+    }
+
+    public String getArticle() {
+        return article;
+    }
+
+    public void setArticle(String article) {
+        this.article = article;
+    }
+
+    public int getQuantity() {
+        return quantity;
+    }
+
+    public void setQuantity(int quantity) {
+        this.quantity = quantity;
+    }
+}
@@ -0,0 +1,45 @@
+package org.ops4j.mpjp.test.model;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.Date;
+
+public class Reading {
+
+    private Instant time;
+    private OffsetDateTime recorded;
+    private Date created;
+
+    public Reading() {
+    }
+
+    public Reading(Instant time, OffsetDateTime recorded, Date created) {
+        this.time = time;
+        this.recorded = recorded;
+        this.created = created;
+    }
+
+    public Instant getTime() {
+        return time;
+    }
+
+    public void setTime(Instant time) {
+        this.time = time;
+    }
+
+    public OffsetDateTime getRecorded() {
+        return recorded;
+    }
+
+    public void setRecorded(OffsetDateTime recorded) {
+        this.recorded = recorded;
+    }
+
+    public Date getCreated() {
+        return created;
+    }
+
+    public void setCreated(Date created) {
+        this.created = created;
+    }
+}
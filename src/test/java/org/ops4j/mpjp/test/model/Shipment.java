@@ -0,0 +1,56 @@
+package org.ops4j.mpjp.test.model;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.UUID;
+
+public class Shipment {
+
+    private UUID id;
+    private LocalDate due;
+    private Instant shipped;
+    private BigDecimal weight;
+
+    public Shipment() {
+    }
+
+    public Shipment(UUID id, LocalDate due, Instant shipped, BigDecimal weight) {
+        this.id = id;
+        this.due = due;
+        this.shipped = shipped;
+        this.weight = weight;
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public void setId(UUID id) {
+        this.id = id;
+    }
+
+    public LocalDate getDue() {
+        return due;
+    }
+
+    public void setDue(LocalDate due) {
+        this.due = due;
+    }
+
+    public Instant getShipped() {
+        return shipped;
+    }
+
+    public void setShipped(Instant shipped) {
+        this.shipped = shipped;
+    }
+
+    public BigDecimal getWeight() {
+        return weight;
+    }
+
+    public void setWeight(BigDecimal weight) {
+        this.weight = weight;
+    }
+}